@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2022, Oracle Corporation and/or its affiliates.  All rights reserved.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package oracle.weblogic.deploy.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import oracle.weblogic.deploy.aliases.AliasSnapshotStore;
+import oracle.weblogic.deploy.json.JsonException;
+import oracle.weblogic.deploy.json.JsonStreamTranslator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.python.core.PyDictionary;
+import org.python.core.PySystemState;
+
+/**
+ * Measures loading the alias category definitions, both by parsing the category JSON files bundled with
+ * the tooling and by reading the snapshots kept by AliasSnapshotStore.  The category ALL loads every
+ * category, as a full alias resolution does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AliasCategoryBenchmark {
+    private static final String CATEGORY_DIR = "oracle/weblogic/deploy/aliases/category_modules/";
+    private static final String CATEGORY_EXTENSION = ".json";
+    private static final String ALL_CATEGORIES = "ALL";
+
+    @Param({"Server", "SecurityConfiguration", "Domain", ALL_CATEGORIES})
+    private String category;
+
+    private final Map<String, byte[]> categoryFiles = new LinkedHashMap<>();
+    private File snapshotDirectory;
+    private AliasSnapshotStore snapshotStore;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, JsonException, URISyntaxException {
+        PySystemState.initialize();
+        List<String> names = ALL_CATEGORIES.equals(category) ? listCategories() : Collections.singletonList(category);
+        for (String name : names) {
+            categoryFiles.put(name, readResource(CATEGORY_DIR + name + CATEGORY_EXTENSION));
+        }
+
+        snapshotDirectory = BenchmarkFiles.createTempDirectory("alias");
+        snapshotStore = new AliasSnapshotStore(snapshotDirectory, "12.2.1.4.0", "OFFLINE");
+        for (Map.Entry<String, byte[]> entry : categoryFiles.entrySet()) {
+            snapshotStore.save(entry.getKey(), parseCategory(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkFiles.delete(snapshotDirectory);
+    }
+
+    @Benchmark
+    public void parseCategoryFiles(Blackhole blackhole) throws JsonException {
+        for (Map.Entry<String, byte[]> entry : categoryFiles.entrySet()) {
+            blackhole.consume(parseCategory(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    @Benchmark
+    public void loadCategorySnapshots(Blackhole blackhole) {
+        for (String name : categoryFiles.keySet()) {
+            blackhole.consume(snapshotStore.load(name));
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Private Helper Methods                                                //
+    ///////////////////////////////////////////////////////////////////////////
+
+    private static PyDictionary parseCategory(String name, byte[] content) throws JsonException {
+        return new JsonStreamTranslator(name + CATEGORY_EXTENSION, new ByteArrayInputStream(content)).parse();
+    }
+
+    // The category files are listed from the core jar, or from the core classes directory in a development build.
+    //
+    private static List<String> listCategories() throws IOException, URISyntaxException {
+        URL serverUrl = getResource(CATEGORY_DIR + "Server" + CATEGORY_EXTENSION);
+        List<String> result = new ArrayList<>();
+        if ("jar".equals(serverUrl.getProtocol())) {
+            JarFile jarFile = ((JarURLConnection) serverUrl.openConnection()).getJarFile();
+            Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                addCategory(result, entries.nextElement().getName());
+            }
+        } else {
+            File[] files = new File(serverUrl.toURI()).getParentFile().listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    addCategory(result, CATEGORY_DIR + file.getName());
+                }
+            }
+        }
+        Collections.sort(result);
+        return result;
+    }
+
+    private static void addCategory(List<String> categories, String entryName) {
+        if (entryName.startsWith(CATEGORY_DIR) && entryName.endsWith(CATEGORY_EXTENSION)) {
+            int end = entryName.length() - CATEGORY_EXTENSION.length();
+            categories.add(entryName.substring(CATEGORY_DIR.length(), end));
+        }
+    }
+
+    private static byte[] readResource(String path) throws IOException {
+        try (InputStream inputStream = getResource(path).openStream()) {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int bytesRead;
+            while ((bytesRead = inputStream.read(buffer)) >= 0) {
+                outputStream.write(buffer, 0, bytesRead);
+            }
+            return outputStream.toByteArray();
+        }
+    }
+
+    private static URL getResource(String path) throws IOException {
+        URL url = AliasCategoryBenchmark.class.getClassLoader().getResource(path);
+        if (url == null) {
+            throw new IOException("Alias category resource not found: " + path);
+        }
+        return url;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2022, Oracle Corporation and/or its affiliates.  All rights reserved.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package oracle.weblogic.deploy.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import oracle.weblogic.deploy.util.WLSDeployArchive;
+import oracle.weblogic.deploy.util.WLSDeployArchiveIOException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures adding, listing and extracting archive entries with WLSDeployArchive, using generated
+ * classpath libraries.  Each add or extract invocation starts from an empty archive or directory.
+ * Use -p extractThreads=1 to compare parallel extraction with the serial case.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ArchiveBenchmark {
+
+    @Param({"10000"})
+    private int entryCount;
+
+    @Param({"4096"})
+    private int entrySize;
+
+    @Param({"0"})
+    private int extractThreads;
+
+    private File directory;
+    private File[] sourceFiles;
+    private File sourceArchive;
+    private File targetArchive;
+    private File extractDirectory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = BenchmarkFiles.createTempDirectory("archive");
+        File sourceDirectory = new File(directory, "source");
+        if (!sourceDirectory.mkdir()) {
+            throw new IOException("Unable to create directory " + sourceDirectory);
+        }
+        sourceFiles = ArchiveGenerator.generateFiles(sourceDirectory, entryCount, entrySize);
+
+        sourceArchive = new File(directory, "source-archive.zip");
+        ArchiveGenerator.generateArchive(sourceArchive, entryCount, entrySize);
+        targetArchive = new File(directory, "target-archive.zip");
+        extractDirectory = new File(directory, "domain");
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpInvocation() throws IOException {
+        BenchmarkFiles.delete(targetArchive);
+        BenchmarkFiles.delete(extractDirectory);
+        if (!extractDirectory.mkdir()) {
+            throw new IOException("Unable to create directory " + extractDirectory);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkFiles.delete(directory);
+    }
+
+    @Benchmark
+    public File addEntries() throws WLSDeployArchiveIOException {
+        WLSDeployArchive archive = new WLSDeployArchive(targetArchive.getPath());
+        try {
+            archive.beginBatch();
+            for (File sourceFile : sourceFiles) {
+                archive.addClasspathLibrary(sourceFile);
+            }
+            archive.commitBatch();
+        } finally {
+            archive.close();
+        }
+        return targetArchive;
+    }
+
+    @Benchmark
+    public List<String> listEntries() throws WLSDeployArchiveIOException {
+        WLSDeployArchive archive = new WLSDeployArchive(sourceArchive.getPath());
+        try {
+            return archive.listClasspathLibraries();
+        } finally {
+            archive.close();
+        }
+    }
+
+    @Benchmark
+    public File extractEntries() throws WLSDeployArchiveIOException {
+        WLSDeployArchive archive = new WLSDeployArchive(sourceArchive.getPath());
+        try {
+            archive.setExtractThreadCount(extractThreads);
+            archive.extractClasspathLibraries(extractDirectory);
+        } finally {
+            archive.close();
+        }
+        return extractDirectory;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2022, Oracle Corporation and/or its affiliates.  All rights reserved.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package oracle.weblogic.deploy.benchmarks;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import oracle.weblogic.deploy.util.WLSDeployArchive;
+
+/**
+ * Generates synthetic files and archives for the archive benchmarks.  The file content is half random
+ * bytes and half repeated text, so that it compresses about as well as typical application binaries.
+ * The same arguments always produce the same content.
+ */
+public final class ArchiveGenerator {
+    private static final long SEED = 20220101L;
+    private static final byte[] TEXT = "<weblogic-web-app><context-root>/benchmark</context-root></weblogic-web-app>\n"
+        .getBytes(StandardCharsets.UTF_8);
+
+    private ArchiveGenerator() {
+        // hide the constructor for this utility class
+    }
+
+    /**
+     * Get the name of a generated file.
+     *
+     * @param index the index of the file
+     * @return the file name
+     */
+    public static String getFileName(int index) {
+        return String.format("library-%05d.jar", index);
+    }
+
+    /**
+     * Generate files in the specified directory, as input for adding to an archive.
+     *
+     * @param directory the directory for the files, which must exist
+     * @param fileCount the number of files
+     * @param fileSize  the size of each file, in bytes
+     * @return the generated files
+     * @throws IOException if an error occurs writing the files
+     */
+    public static File[] generateFiles(File directory, int fileCount, int fileSize) throws IOException {
+        Random random = new Random(SEED);
+        byte[] content = new byte[fileSize];
+        File[] files = new File[fileCount];
+        for (int i = 0; i < fileCount; i++) {
+            files[i] = new File(directory, getFileName(i));
+            fillContent(random, content);
+            try (OutputStream outputStream = new FileOutputStream(files[i])) {
+                outputStream.write(content);
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Generate an archive file with the specified number of classpath libraries, as input for listing
+     * and extracting.
+     *
+     * @param archiveFile the archive file to create
+     * @param fileCount   the number of libraries
+     * @param fileSize    the size of each library, in bytes
+     * @throws IOException if an error occurs writing the archive
+     */
+    public static void generateArchive(File archiveFile, int fileCount, int fileSize) throws IOException {
+        Random random = new Random(SEED);
+        byte[] content = new byte[fileSize];
+        String directoryName = WLSDeployArchive.ARCHIVE_CPLIB_TARGET_DIR + "/";
+        try (ZipOutputStream zipOutputStream = new ZipOutputStream(new FileOutputStream(archiveFile))) {
+            zipOutputStream.putNextEntry(new ZipEntry(directoryName));
+            zipOutputStream.closeEntry();
+            for (int i = 0; i < fileCount; i++) {
+                fillContent(random, content);
+                zipOutputStream.putNextEntry(new ZipEntry(directoryName + getFileName(i)));
+                zipOutputStream.write(content);
+                zipOutputStream.closeEntry();
+            }
+        }
+    }
+
+    private static void fillContent(Random random, byte[] content) {
+        int randomLength = content.length / 2;
+        byte[] randomBytes = new byte[randomLength];
+        random.nextBytes(randomBytes);
+        System.arraycopy(randomBytes, 0, content, 0, randomLength);
+        for (int i = randomLength; i < content.length; i++) {
+            content[i] = TEXT[i % TEXT.length];
+        }
+    }
+}
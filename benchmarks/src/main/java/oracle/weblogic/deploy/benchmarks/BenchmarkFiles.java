@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2022, Oracle Corporation and/or its affiliates.  All rights reserved.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package oracle.weblogic.deploy.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * File helpers shared by the benchmarks, which generate their input in temporary directories.
+ */
+public final class BenchmarkFiles {
+
+    private BenchmarkFiles() {
+        // hide the constructor for this utility class
+    }
+
+    /**
+     * Create a new temporary directory.
+     *
+     * @param prefix the prefix for the directory name
+     * @return the directory
+     * @throws IOException if the directory cannot be created
+     */
+    public static File createTempDirectory(String prefix) throws IOException {
+        return Files.createTempDirectory("wdt-benchmark-" + prefix).toFile();
+    }
+
+    /**
+     * Delete a file, or a directory and everything under it.  Missing files are ignored.
+     *
+     * @param file the file or directory to delete
+     * @throws IOException if a file cannot be deleted
+     */
+    public static void delete(File file) throws IOException {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        Files.deleteIfExists(file.toPath());
+    }
+
+    /**
+     * Read the entire content of a file.
+     *
+     * @param file the file
+     * @return the file content
+     * @throws IOException if the file cannot be read
+     */
+    public static byte[] readAllBytes(File file) throws IOException {
+        return Files.readAllBytes(file.toPath());
+    }
+}
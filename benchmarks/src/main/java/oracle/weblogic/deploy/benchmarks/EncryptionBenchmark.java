@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2022, Oracle Corporation and/or its affiliates.  All rights reserved.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package oracle.weblogic.deploy.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import oracle.weblogic.deploy.encrypt.EncryptionException;
+import oracle.weblogic.deploy.encrypt.EncryptionUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput of encrypting and decrypting model values with EncryptionUtils, with a new salt
+ * for each value or with one salt shared by all of the values.  The bulk benchmarks process a model's
+ * worth of values in one call, as the encrypt tool and the model loading do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EncryptionBenchmark {
+    private static final char[] PASSPHRASE = "benchmark-passphrase".toCharArray();
+    private static final int BULK_VALUE_COUNT = 64;
+
+    @Param({"16", "1024"})
+    private int clearTextLength;
+
+    @Param({"false", "true"})
+    private boolean sharedSalt;
+
+    private String clearText;
+    private String cipherText;
+    private byte[] salt;
+    private List<String> clearTexts;
+    private List<String> cipherTexts;
+
+    @Setup(Level.Trial)
+    public void setUp() throws EncryptionException {
+        char[] characters = new char[clearTextLength];
+        Arrays.fill(characters, 'p');
+        clearText = new String(characters);
+        salt = sharedSalt ? EncryptionUtils.createSharedSalt() : null;
+        cipherText = EncryptionUtils.encryptString(clearText, PASSPHRASE, salt);
+
+        clearTexts = new ArrayList<>();
+        for (int i = 0; i < BULK_VALUE_COUNT; i++) {
+            clearTexts.add(clearText);
+        }
+        cipherTexts = EncryptionUtils.encryptAll(clearTexts, PASSPHRASE, salt);
+    }
+
+    @Benchmark
+    public String encrypt() throws EncryptionException {
+        return EncryptionUtils.encryptString(clearText, PASSPHRASE, salt);
+    }
+
+    @Benchmark
+    public char[] decrypt() throws EncryptionException {
+        return EncryptionUtils.decryptString(cipherText, PASSPHRASE);
+    }
+
+    @Benchmark
+    public List<String> encryptAll() throws EncryptionException {
+        return EncryptionUtils.encryptAll(clearTexts, PASSPHRASE, salt);
+    }
+
+    @Benchmark
+    public List<char[]> decryptAll() throws EncryptionException {
+        EncryptionUtils.clearKeyCache();
+        return EncryptionUtils.decryptAll(cipherTexts, PASSPHRASE);
+    }
+}
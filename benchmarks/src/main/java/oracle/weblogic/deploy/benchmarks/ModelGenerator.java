@@ -0,0 +1,315 @@
+/*
+ * Copyright (c) 2022, Oracle Corporation and/or its affiliates.  All rights reserved.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package oracle.weblogic.deploy.benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Generates synthetic domain models of a requested size, in YAML or JSON, so that the parsing benchmarks
+ * do not depend on model files from a real domain.  The model has the usual top-level sections, with
+ * servers, data sources and applications repeated until the file reaches the requested size.  The same
+ * size and format always produce the same model.
+ */
+public final class ModelGenerator {
+    private static final long BYTES_PER_MEGABYTE = 1024L * 1024L;
+
+    // the share of the model used by the servers, then the data sources; the applications use the rest
+    private static final double SERVER_SHARE = 0.5;
+    private static final double DATA_SOURCE_SHARE = 0.8;
+
+    /**
+     * The model file formats.
+     */
+    public enum Format {
+        YAML("yaml"),
+        JSON("json");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private ModelGenerator() {
+        // hide the constructor for this utility class
+    }
+
+    /**
+     * Generate a model file of approximately the specified size in the specified directory.
+     *
+     * @param directory     the directory for the model file
+     * @param format        the model format
+     * @param sizeMegabytes the minimum size of the model, in megabytes
+     * @return the model file
+     * @throws IOException if an error occurs writing the file
+     */
+    public static File generate(File directory, Format format, int sizeMegabytes) throws IOException {
+        File modelFile = new File(directory, "model-" + sizeMegabytes + "mb." + format.getExtension());
+        long targetBytes = sizeMegabytes * BYTES_PER_MEGABYTE;
+
+        ModelWriter modelWriter =
+            format == Format.YAML ? new YamlModelWriter(modelFile) : new JsonModelWriter(modelFile);
+        try (ModelWriter writer = modelWriter) {
+            writer.beginObject("domainInfo");
+            writer.attribute("AdminUserName", "weblogic");
+            writer.attribute("AdminPassword", "{AES}c2FtcGxlLWVuY3J5cHRlZC1wYXNzd29yZA==");
+            writer.endObject();
+
+            writer.beginObject("topology");
+            writer.attribute("Name", "benchmark_domain");
+            writer.attribute("AdminServerName", "admin-server");
+            writer.beginObject("Server");
+            for (int i = 0; writer.getByteCount() < targetBytes * SERVER_SHARE; i++) {
+                writeServer(writer, i);
+            }
+            writer.endObject();
+            writer.endObject();
+
+            writer.beginObject("resources");
+            writer.beginObject("JDBCSystemResource");
+            for (int i = 0; writer.getByteCount() < targetBytes * DATA_SOURCE_SHARE; i++) {
+                writeDataSource(writer, i);
+            }
+            writer.endObject();
+            writer.endObject();
+
+            writer.beginObject("appDeployments");
+            writer.beginObject("Application");
+            for (int i = 0; writer.getByteCount() < targetBytes; i++) {
+                writeApplication(writer, i);
+            }
+            writer.endObject();
+            writer.endObject();
+        }
+        return modelFile;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Private Helper Methods                                                //
+    ///////////////////////////////////////////////////////////////////////////
+
+    private static void writeServer(ModelWriter writer, int index) throws IOException {
+        String name = "managed-server-" + index;
+        writer.beginObject(name);
+        writer.attribute("ListenAddress", "host-" + index + ".example.com");
+        writer.attribute("ListenPort", 7001 + index % 1000);
+        writer.attribute("Cluster", "cluster-" + index % 10);
+        writer.attribute("Notes", "Generated server \"" + name + "\" for benchmarks");
+        writer.beginObject("SSL");
+        writer.attribute("Enabled", true);
+        writer.attribute("ListenPort", 8001 + index % 1000);
+        writer.endObject();
+        writer.beginObject("Log");
+        writer.attribute("FileName", "logs/" + name + ".log");
+        writer.attribute("RotationType", "bySize");
+        writer.attribute("FileMinSize", 5000);
+        writer.endObject();
+        writer.beginObject("ServerStart");
+        writer.attribute("Arguments", "-Xms512m -Xmx1024m -Dweblogic.Name=" + name);
+        writer.endObject();
+        writer.endObject();
+    }
+
+    private static void writeDataSource(ModelWriter writer, int index) throws IOException {
+        String name = "datasource-" + index;
+        writer.beginObject(name);
+        writer.attribute("Target", "cluster-" + index % 10);
+        writer.beginObject("JdbcResource");
+        writer.beginObject("JDBCDataSourceParams");
+        writer.attribute("JNDIName", "jdbc/" + name);
+        writer.endObject();
+        writer.beginObject("JDBCDriverParams");
+        writer.attribute("DriverName", "oracle.jdbc.OracleDriver");
+        writer.attribute("URL", "jdbc:oracle:thin:@//db-" + index % 100 + ".example.com:1521/service");
+        writer.attribute("PasswordEncrypted", "@@SECRET:" + name + ":password@@");
+        writer.beginObject("Properties");
+        writer.beginObject("user");
+        writer.attribute("Value", "user_" + index);
+        writer.endObject();
+        writer.endObject();
+        writer.endObject();
+        writer.beginObject("JDBCConnectionPoolParams");
+        writer.attribute("InitialCapacity", 0);
+        writer.attribute("MaxCapacity", 15);
+        writer.attribute("TestConnectionsOnReserve", true);
+        writer.endObject();
+        writer.endObject();
+        writer.endObject();
+    }
+
+    private static void writeApplication(ModelWriter writer, int index) throws IOException {
+        String name = "application-" + index;
+        writer.beginObject(name);
+        writer.attribute("SourcePath", "wlsdeploy/applications/" + name + ".war");
+        writer.attribute("ModuleType", "war");
+        writer.attribute("Target", "cluster-" + index % 10);
+        writer.attribute("StagingMode", "stage");
+        writer.endObject();
+    }
+
+    /**
+     * Writes the nested objects and scalar attributes of a model, counting the characters written.
+     */
+    private abstract static class ModelWriter implements AutoCloseable {
+        private final Writer writer;
+        private long byteCount;
+
+        ModelWriter(File file) throws IOException {
+            writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8));
+        }
+
+        long getByteCount() {
+            return byteCount;
+        }
+
+        abstract void beginObject(String name) throws IOException;
+
+        abstract void endObject() throws IOException;
+
+        abstract void attribute(String name, String value) throws IOException;
+
+        abstract void attribute(String name, long value) throws IOException;
+
+        abstract void attribute(String name, boolean value) throws IOException;
+
+        void write(String text) throws IOException {
+            writer.write(text);
+            byteCount += text.length();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    private static final class YamlModelWriter extends ModelWriter {
+        private static final String INDENT = "    ";
+        private int depth;
+
+        YamlModelWriter(File file) throws IOException {
+            super(file);
+        }
+
+        @Override
+        void beginObject(String name) throws IOException {
+            writeName(name);
+            write("\n");
+            depth++;
+        }
+
+        @Override
+        void endObject() {
+            depth--;
+        }
+
+        @Override
+        void attribute(String name, String value) throws IOException {
+            writeName(name);
+            write(" '" + value.replace("'", "''") + "'\n");
+        }
+
+        @Override
+        void attribute(String name, long value) throws IOException {
+            writeName(name);
+            write(" " + value + "\n");
+        }
+
+        @Override
+        void attribute(String name, boolean value) throws IOException {
+            writeName(name);
+            write(" " + value + "\n");
+        }
+
+        private void writeName(String name) throws IOException {
+            for (int i = 0; i < depth; i++) {
+                write(INDENT);
+            }
+            write(name + ":");
+        }
+    }
+
+    private static final class JsonModelWriter extends ModelWriter {
+        // one entry per open object, true until the first member of that object is written
+        private final Deque<Boolean> firstMember = new ArrayDeque<>();
+
+        JsonModelWriter(File file) throws IOException {
+            super(file);
+            write("{");
+            firstMember.push(Boolean.TRUE);
+        }
+
+        @Override
+        void beginObject(String name) throws IOException {
+            writeName(name);
+            write("{");
+            firstMember.push(Boolean.TRUE);
+        }
+
+        @Override
+        void endObject() throws IOException {
+            firstMember.pop();
+            write("\n" + indent() + "}");
+        }
+
+        @Override
+        void attribute(String name, String value) throws IOException {
+            writeName(name);
+            write(quote(value));
+        }
+
+        @Override
+        void attribute(String name, long value) throws IOException {
+            writeName(name);
+            write(Long.toString(value));
+        }
+
+        @Override
+        void attribute(String name, boolean value) throws IOException {
+            writeName(name);
+            write(Boolean.toString(value));
+        }
+
+        @Override
+        public void close() throws IOException {
+            endObject();
+            write("\n");
+            super.close();
+        }
+
+        private void writeName(String name) throws IOException {
+            if (!firstMember.pop()) {
+                write(",");
+            }
+            firstMember.push(Boolean.FALSE);
+            write("\n" + indent() + quote(name) + ": ");
+        }
+
+        private String indent() {
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < firstMember.size(); i++) {
+                builder.append("    ");
+            }
+            return builder.toString();
+        }
+
+        private static String quote(String text) {
+            return '"' + text.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+        }
+    }
+}
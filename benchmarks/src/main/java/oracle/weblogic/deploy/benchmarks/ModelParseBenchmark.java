@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2022, Oracle Corporation and/or its affiliates.  All rights reserved.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package oracle.weblogic.deploy.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import oracle.weblogic.deploy.json.JsonException;
+import oracle.weblogic.deploy.json.JsonTranslator;
+import oracle.weblogic.deploy.yaml.YamlException;
+import oracle.weblogic.deploy.yaml.YamlTranslator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.python.core.PyDictionary;
+import org.python.core.PySystemState;
+
+/**
+ * Measures parsing generated YAML and JSON models of 1, 10 and 100 megabytes with the translators
+ * used by the tools, including reading the model file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ModelParseBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int sizeMegabytes;
+
+    @Param({"YAML", "JSON"})
+    private ModelGenerator.Format format;
+
+    private File directory;
+    private String modelFileName;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        PySystemState.initialize();
+        directory = BenchmarkFiles.createTempDirectory("model");
+        modelFileName = ModelGenerator.generate(directory, format, sizeMegabytes).getPath();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkFiles.delete(directory);
+    }
+
+    @Benchmark
+    public PyDictionary parseModel() throws JsonException, YamlException {
+        if (format == ModelGenerator.Format.YAML) {
+            return new YamlTranslator(modelFileName, true).parse();
+        }
+        return new JsonTranslator(modelFileName, true).parse();
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2022, Oracle Corporation and/or its affiliates.  All rights reserved.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package oracle.weblogic.deploy.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import oracle.weblogic.deploy.util.PyOrderedDict;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.python.core.PyDictionary;
+import org.python.core.PyInteger;
+import org.python.core.PyObject;
+import org.python.core.PyString;
+import org.python.core.PySystemState;
+
+/**
+ * Measures the PyOrderedDict operations used most while processing a model: lookups and stores of
+ * existing keys, building a dictionary, and deep copies of a model-like tree of dictionaries.
+ * Run with -prof gc, the allocation per operation of buildModel approximates the heap retained by a model.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PyOrderedDictBenchmark {
+    private static final int ATTRIBUTES_PER_FOLDER = 8;
+    private static final PyString LISTEN_PORT = new PyString("ListenPort");
+    private static final PyString SSL = new PyString("SSL");
+    private static final PyInteger SSL_PORT = new PyInteger(7002);
+
+    @Param({"100", "10000"})
+    private int size;
+
+    private PyString[] keys;
+    private PyOrderedDict dictionary;
+    private PyOrderedDict model;
+    private PyString[] attributeNames;
+    private PyString[] attributeValues;
+    private int nextKey;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PySystemState.initialize();
+        keys = new PyString[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = new PyString("managed-server-" + i);
+        }
+        attributeNames = new PyString[ATTRIBUTES_PER_FOLDER];
+        attributeValues = new PyString[ATTRIBUTES_PER_FOLDER];
+        for (int i = 0; i < ATTRIBUTES_PER_FOLDER; i++) {
+            attributeNames[i] = new PyString("Attribute" + i);
+            attributeValues[i] = new PyString("value-" + i);
+        }
+        dictionary = buildDictionary();
+        model = buildModel();
+    }
+
+    @Benchmark
+    public PyObject get() {
+        return dictionary.__finditem__(nextKey());
+    }
+
+    @Benchmark
+    public PyOrderedDict put() {
+        dictionary.__setitem__(nextKey(), keys[0]);
+        return dictionary;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public PyOrderedDict build() {
+        return buildDictionary();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public PyOrderedDict buildModel() {
+        // a folder of servers, each with a nested folder and some attributes
+        PyOrderedDict result = new PyOrderedDict();
+        for (PyString key : keys) {
+            PyOrderedDict server = new PyOrderedDict();
+            for (int i = 0; i < ATTRIBUTES_PER_FOLDER; i++) {
+                server.__setitem__(attributeNames[i], attributeValues[i]);
+            }
+            PyOrderedDict ssl = new PyOrderedDict();
+            ssl.__setitem__(LISTEN_PORT, SSL_PORT);
+            server.__setitem__(SSL, ssl);
+            result.__setitem__(key, server);
+        }
+        return result;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public PyOrderedDict deepcopy() {
+        return model.__deepcopy__(new PyDictionary());
+    }
+
+    private PyOrderedDict buildDictionary() {
+        PyOrderedDict result = new PyOrderedDict();
+        for (PyString key : keys) {
+            result.__setitem__(key, key);
+        }
+        return result;
+    }
+
+    private PyString nextKey() {
+        PyString key = keys[nextKey];
+        nextKey = (nextKey + 1) % keys.length;
+        return key;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2022, Oracle Corporation and/or its affiliates.  All rights reserved.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package oracle.weblogic.deploy.json;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import oracle.weblogic.deploy.benchmarks.BenchmarkFiles;
+import oracle.weblogic.deploy.benchmarks.ModelGenerator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.python.core.PyDictionary;
+import org.python.core.PySystemState;
+
+/**
+ * Compares the streaming JSON reader with the Antlr parse tree implementation it replaced, parsing a
+ * generated model held in memory so that only the parsing is measured.  This benchmark is in the json
+ * package because the parse tree implementation is not public.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class JsonParserBenchmark {
+    private static final String MODEL_NAME = "benchmark-model.json";
+
+    /**
+     * The JSON parser implementations.
+     */
+    public enum Parser {
+        STREAM,
+        PARSE_TREE
+    }
+
+    @Param({"1", "10"})
+    private int sizeMegabytes;
+
+    @Param({"STREAM", "PARSE_TREE"})
+    private Parser parser;
+
+    private byte[] model;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        PySystemState.initialize();
+        File directory = BenchmarkFiles.createTempDirectory("json");
+        try {
+            File modelFile = ModelGenerator.generate(directory, ModelGenerator.Format.JSON, sizeMegabytes);
+            model = BenchmarkFiles.readAllBytes(modelFile);
+        } finally {
+            BenchmarkFiles.delete(directory);
+        }
+    }
+
+    @Benchmark
+    public PyDictionary parse() throws JsonException {
+        InputStream stream = new ByteArrayInputStream(model);
+        JsonStreamTranslator translator = new JsonStreamTranslator(MODEL_NAME, stream, true);
+        if (parser == Parser.STREAM) {
+            return translator.parse();
+        }
+        return translator.parseInternalWithParseTree(MODEL_NAME, stream);
+    }
+}
@@ -0,0 +1,309 @@
+/*
+ * Copyright (c) 2022, Oracle Corporation and/or its affiliates.  All rights reserved.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package oracle.weblogic.deploy.aliases;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import oracle.weblogic.deploy.logging.PlatformLogger;
+import oracle.weblogic.deploy.logging.WLSDeployLogFactory;
+import oracle.weblogic.deploy.util.PyRealBoolean;
+import oracle.weblogic.deploy.util.WebLogicDeployToolingVersion;
+
+import org.python.core.Py;
+import org.python.core.PyDictionary;
+import org.python.core.PyFloat;
+import org.python.core.PyInteger;
+import org.python.core.PyList;
+import org.python.core.PyLong;
+import org.python.core.PyObject;
+import org.python.core.PyString;
+
+/**
+ * Stores snapshots of the alias folder dictionaries after they have been resolved for a WebLogic Server
+ * version and WLST mode, so that later tool runs can skip parsing the category JSON files and resolving them.
+ * Each folder is saved in its own snapshot when it is first resolved, so a tool run only saves and loads the
+ * folders that it uses.
+ * The snapshots are kept in a directory for each WebLogic Deploy Tooling build, and in a subdirectory for
+ * each WebLogic Server version and WLST mode, so a snapshot is never used with alias data it was not created from.
+ * <p>
+ * The snapshots use a compact binary form that holds the dictionaries, lists and scalar values used in the
+ * resolved alias data.  Shared references within a snapshot are preserved.  Problems reading or writing a
+ * snapshot are logged and otherwise ignored, since the snapshot can always be rebuilt from the JSON files.
+ */
+public class AliasSnapshotStore {
+    private static final String CLASS = AliasSnapshotStore.class.getName();
+    private static final PlatformLogger LOGGER = WLSDeployLogFactory.getLogger("wlsdeploy.aliases");
+
+    private static final int MAGIC = 0x57445441;    // WDTA
+    private static final int FORMAT_VERSION = 2;
+    private static final String SNAPSHOT_FILE_EXTENSION = ".snapshot";
+
+    private static final byte TAG_NONE = 0;
+    private static final byte TAG_STRING = 1;
+    private static final byte TAG_INTEGER = 2;
+    private static final byte TAG_LONG = 3;
+    private static final byte TAG_FLOAT = 4;
+    private static final byte TAG_TRUE = 5;
+    private static final byte TAG_FALSE = 6;
+    private static final byte TAG_LIST = 7;
+    private static final byte TAG_DICTIONARY = 8;
+    private static final byte TAG_REFERENCE = 9;
+
+    private final File snapshotDirectory;
+
+    /**
+     * Create a store for the snapshots of the specified WebLogic Server version and WLST mode.
+     *
+     * @param cacheDirectory the top-level cache directory, or null to use the default directory
+     * @param wlsVersion     the WebLogic Server version the snapshots are resolved for
+     * @param wlstMode       the name of the WLST mode the snapshots are resolved for
+     */
+    public AliasSnapshotStore(File cacheDirectory, String wlsVersion, String wlstMode) {
+        File topDirectory = cacheDirectory == null ? getDefaultCacheDirectory() : cacheDirectory;
+        File buildDirectory = new File(topDirectory, toFileName(WebLogicDeployToolingVersion.getFullVersion()));
+        this.snapshotDirectory = new File(buildDirectory, toFileName(wlsVersion) + '-' + toFileName(wlstMode));
+    }
+
+    /**
+     * Get the default top-level cache directory, in the user's home directory.
+     *
+     * @return the default cache directory
+     */
+    public static File getDefaultCacheDirectory() {
+        return new File(System.getProperty("user.home"), ".wlsdeploy" + File.separator + "cache"
+            + File.separator + "aliases");
+    }
+
+    /**
+     * Get the directory that holds the snapshots for this WebLogic Server version and WLST mode.
+     *
+     * @return the snapshot directory
+     */
+    public File getSnapshotDirectory() {
+        return snapshotDirectory;
+    }
+
+    /**
+     * Load the snapshot for the specified alias folder.
+     *
+     * @param folderPath the model path of the alias folder, starting with the category name
+     * @return the snapshot, or null if there is no usable snapshot for the folder
+     */
+    public PyObject load(String folderPath) {
+        final String METHOD = "load";
+
+        LOGGER.entering(CLASS, METHOD, folderPath);
+        File snapshotFile = getSnapshotFile(folderPath);
+        PyObject result = null;
+        if (snapshotFile.isFile()) {
+            try (InputStream inputStream = new BufferedInputStream(new FileInputStream(snapshotFile))) {
+                result = readSnapshot(inputStream, folderPath);
+                LOGGER.fine("WLSDPLY-08230", folderPath, snapshotFile);
+            } catch (IOException | RuntimeException e) {
+                LOGGER.fine("WLSDPLY-08231", e, folderPath, snapshotFile, e.getLocalizedMessage());
+            }
+        }
+        LOGGER.exiting(CLASS, METHOD, result != null);
+        return result;
+    }
+
+    /**
+     * Save the snapshot for the specified alias folder, replacing any existing snapshot.
+     *
+     * @param folderPath the model path of the alias folder, starting with the category name
+     * @param snapshot   the snapshot to save
+     */
+    public void save(String folderPath, PyObject snapshot) {
+        final String METHOD = "save";
+
+        LOGGER.entering(CLASS, METHOD, folderPath);
+        File snapshotFile = getSnapshotFile(folderPath);
+        File tempFile = null;
+        try {
+            if (!snapshotDirectory.isDirectory() && !snapshotDirectory.mkdirs() && !snapshotDirectory.isDirectory()) {
+                throw new IOException(snapshotDirectory.getPath());
+            }
+            tempFile = File.createTempFile(toFileName(folderPath), ".tmp", snapshotDirectory);
+            try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(tempFile))) {
+                writeSnapshot(outputStream, folderPath, snapshot);
+            }
+            Files.move(tempFile.toPath(), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            tempFile = null;
+            LOGGER.fine("WLSDPLY-08232", folderPath, snapshotFile);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.fine("WLSDPLY-08233", e, folderPath, snapshotFile, e.getLocalizedMessage());
+        } finally {
+            if (tempFile != null && tempFile.exists() && !tempFile.delete()) {
+                tempFile.deleteOnExit();
+            }
+        }
+        LOGGER.exiting(CLASS, METHOD);
+    }
+
+    /**
+     * Write a snapshot in the binary form.
+     *
+     * @param outputStream the stream to write to
+     * @param folderPath   the model path of the alias folder, which is checked when the snapshot is read
+     * @param snapshot     the snapshot
+     * @throws IOException if an error occurs writing the stream, or the snapshot contains an unsupported value
+     */
+    static void writeSnapshot(OutputStream outputStream, String folderPath, PyObject snapshot) throws IOException {
+        DataOutputStream dataOutput = new DataOutputStream(outputStream);
+        dataOutput.writeInt(MAGIC);
+        dataOutput.writeInt(FORMAT_VERSION);
+        writeString(dataOutput, folderPath);
+        writeValue(dataOutput, snapshot, new IdentityHashMap<PyObject, Integer>());
+        dataOutput.flush();
+    }
+
+    /**
+     * Read a snapshot in the binary form.
+     *
+     * @param inputStream  the stream to read from
+     * @param folderPath   the model path of the alias folder that the snapshot must be for
+     * @return the snapshot
+     * @throws IOException if an error occurs reading the stream, or the stream is not a snapshot of the folder
+     */
+    static PyObject readSnapshot(InputStream inputStream, String folderPath) throws IOException {
+        DataInputStream dataInput = new DataInputStream(inputStream);
+        if (dataInput.readInt() != MAGIC || dataInput.readInt() != FORMAT_VERSION
+            || !folderPath.equals(readString(dataInput))) {
+            throw new IOException(folderPath);
+        }
+        return readValue(dataInput, new ArrayList<PyObject>());
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Private Helper Methods                                                //
+    ///////////////////////////////////////////////////////////////////////////
+
+    private File getSnapshotFile(String folderPath) {
+        return new File(snapshotDirectory, toFileName(folderPath) + SNAPSHOT_FILE_EXTENSION);
+    }
+
+    private static String toFileName(String name) {
+        return name == null ? "none" : name.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    private static void writeValue(DataOutputStream dataOutput, PyObject value, Map<PyObject, Integer> containers)
+        throws IOException {
+
+        if (value == null || value == Py.None) {
+            dataOutput.writeByte(TAG_NONE);
+        } else if (value instanceof PyRealBoolean) {
+            dataOutput.writeByte(((PyRealBoolean) value).getValue() ? TAG_TRUE : TAG_FALSE);
+        } else if (value instanceof PyString) {
+            dataOutput.writeByte(TAG_STRING);
+            writeString(dataOutput, value.toString());
+        } else if (value instanceof PyInteger) {
+            dataOutput.writeByte(TAG_INTEGER);
+            dataOutput.writeInt(((PyInteger) value).getValue());
+        } else if (value instanceof PyLong) {
+            byte[] bytes = ((PyLong) value).getValue().toByteArray();
+            dataOutput.writeByte(TAG_LONG);
+            dataOutput.writeInt(bytes.length);
+            dataOutput.write(bytes);
+        } else if (value instanceof PyFloat) {
+            dataOutput.writeByte(TAG_FLOAT);
+            dataOutput.writeDouble(((PyFloat) value).getValue());
+        } else if (containers.containsKey(value)) {
+            dataOutput.writeByte(TAG_REFERENCE);
+            dataOutput.writeInt(containers.get(value));
+        } else if (value instanceof PyList) {
+            containers.put(value, containers.size());
+            dataOutput.writeByte(TAG_LIST);
+            dataOutput.writeInt(value.__len__());
+            PyObject iterator = value.__iter__();
+            for (PyObject item = iterator.__iternext__(); item != null; item = iterator.__iternext__()) {
+                writeValue(dataOutput, item, containers);
+            }
+        } else if (value instanceof PyDictionary) {
+            containers.put(value, containers.size());
+            PyDictionary dictionary = (PyDictionary) value;
+            dataOutput.writeByte(TAG_DICTIONARY);
+            dataOutput.writeInt(dictionary.__len__());
+            PyObject iterator = dictionary.keys().__iter__();
+            for (PyObject key = iterator.__iternext__(); key != null; key = iterator.__iternext__()) {
+                writeValue(dataOutput, key, containers);
+                writeValue(dataOutput, dictionary.__finditem__(key), containers);
+            }
+        } else {
+            throw new IOException(value.getClass().getName());
+        }
+    }
+
+    private static PyObject readValue(DataInputStream dataInput, List<PyObject> containers) throws IOException {
+        byte tag = dataInput.readByte();
+        switch (tag) {
+            case TAG_NONE:
+                return Py.None;
+            case TAG_STRING:
+                return new PyString(readString(dataInput));
+            case TAG_INTEGER:
+                return new PyInteger(dataInput.readInt());
+            case TAG_LONG:
+                byte[] bytes = new byte[dataInput.readInt()];
+                dataInput.readFully(bytes);
+                return new PyLong(new BigInteger(bytes));
+            case TAG_FLOAT:
+                return new PyFloat(dataInput.readDouble());
+            case TAG_TRUE:
+                return new PyRealBoolean(true);
+            case TAG_FALSE:
+                return new PyRealBoolean(false);
+            case TAG_REFERENCE:
+                return containers.get(dataInput.readInt());
+            case TAG_LIST:
+                PyList list = new PyList();
+                containers.add(list);
+                int size = dataInput.readInt();
+                for (int i = 0; i < size; i++) {
+                    list.append(readValue(dataInput, containers));
+                }
+                return list;
+            case TAG_DICTIONARY:
+                PyDictionary dictionary = new PyDictionary();
+                containers.add(dictionary);
+                int entryCount = dataInput.readInt();
+                for (int i = 0; i < entryCount; i++) {
+                    PyObject key = readValue(dataInput, containers);
+                    dictionary.__setitem__(key, readValue(dataInput, containers));
+                }
+                return dictionary;
+            default:
+                throw new IOException(String.valueOf(tag));
+        }
+    }
+
+    private static void writeString(DataOutputStream dataOutput, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        dataOutput.writeInt(bytes.length);
+        dataOutput.write(bytes);
+    }
+
+    private static String readString(DataInputStream dataInput) throws IOException {
+        byte[] bytes = new byte[dataInput.readInt()];
+        dataInput.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -1,10 +1,12 @@
 /*
- * Copyright (c) 2017, 2019, Oracle Corporation and/or its affiliates.  All rights reserved.
+ * Copyright (c) 2017, 2022, Oracle Corporation and/or its affiliates.  All rights reserved.
  * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
  */
 package oracle.weblogic.deploy.aliases;
 
 import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -37,6 +39,11 @@ public final class VersionUtils {
     private static final int VERSION_SIZE = 1;
     private static final int VERSION_INDEX = 0;
 
+    // the alias files use a small set of versions and ranges, so the parsed forms are kept for the life of the JVM
+    private static final ConcurrentMap<String, ParsedVersion> VERSION_CACHE =
+        new ConcurrentHashMap<String, ParsedVersion>();
+    private static final ConcurrentMap<String, ParsedRange> RANGE_CACHE = new ConcurrentHashMap<String, ParsedRange>();
+
     private VersionUtils() {
         // hide the constructor on this utility class
     }
@@ -64,83 +71,7 @@ public final class VersionUtils {
             throw iae;
         }
 
-        String[] tmp = thisVersion.split("-");
-        String strippedThisVersion = tmp[0];
-        String[] thisVersionElements = strippedThisVersion.split("\\.");
-
-        tmp = otherVersion.split("-");
-        String strippedOtherVersion = tmp[0];
-        String[] otherVersionElements = strippedOtherVersion.split("\\.");
-
-        int fieldsToCompare;
-        if (thisVersionElements.length <= otherVersionElements.length) {
-            fieldsToCompare = thisVersionElements.length;
-        } else {
-            fieldsToCompare = otherVersionElements.length;
-        }
-
-        int result = 0;
-        int idx;
-        for (idx = 0; idx < fieldsToCompare; idx++) {
-            int thisVersionNumber = parseVersionElement(thisVersionElements[idx], thisVersion);
-            int otherVersionNumber = parseVersionElement(otherVersionElements[idx], otherVersion);
-
-            if (thisVersionNumber > otherVersionNumber) {
-                result = 1;
-                break;
-            } else if (thisVersionNumber < otherVersionNumber) {
-                result = -1;
-                break;
-            }
-        }
-
-        // Version fields compared so far are equal so check to see if one version number
-        // has more fields than the other.  Extra fields only count if their value is
-        // greater than zero.
-        //
-        if (result == 0 && thisVersionElements.length != otherVersionElements.length) {
-            if (thisVersionElements.length > otherVersionElements.length) {
-                for (int i = otherVersionElements.length; i < thisVersionElements.length; i++) {
-                    int thisVersionNumber = Integer.parseInt(thisVersionElements[i]);
-                    if (thisVersionNumber > 0) {
-                        result = 1;
-                        break;
-                    }
-                }
-            } else {
-                result = -1;
-            }
-        }
-
-        // Finally, look to see if one or both versions have a qualifier if they are otherwise the same.
-        //
-        if (result == 0) {
-            int useCase = 0;
-            if (thisVersion.indexOf('-') != -1) {
-                useCase += 1;
-            }
-            if (otherVersion.indexOf('-') != -1) {
-                useCase += 2;
-            }
-            switch (useCase) {
-                case 0:
-                    break;
-
-                case 1:
-                    result = -1;
-                    break;
-
-                case 2:
-                    result = 1;
-                    break;
-
-                case 3:
-                    String thisQualifier = thisVersion.substring(thisVersion.indexOf('-'));
-                    String otherQualifier = otherVersion.substring(otherVersion.indexOf('-'));
-                    result = thisQualifier.compareTo(otherQualifier);
-                    break;
-            }
-        }
+        int result = getParsedVersion(thisVersion).compareTo(getParsedVersion(otherVersion));
         LOGGER.exiting(CLASS, METHOD, result);
         return result;
     }
@@ -165,23 +96,22 @@ public final class VersionUtils {
             throw iae;
         }
 
-        String[] versions = getLowerAndUpperVersionStrings(range);
-        LOGGER.finest("WLSDPLY-08201", range, Arrays.asList(versions));
+        ParsedRange parsedRange = getParsedRange(range);
+        LOGGER.finest("WLSDPLY-08201", range, Arrays.asList(parsedRange.versions));
+        ParsedVersion parsedVersion = getParsedVersion(version);
         boolean result = false;
-        switch (versions.length) {
+        switch (parsedRange.versions.length) {
             case RANGE_SIZE:
-                String lowerVersion = versions[RANGE_LOW_INDEX];
-                String upperVersion = versions[RANGE_HIGH_INDEX];
-                boolean inclusiveStart = range.startsWith("[");
-                boolean inclusiveEnd = range.endsWith("]");
+                String lowerVersion = parsedRange.versions[RANGE_LOW_INDEX];
+                String upperVersion = parsedRange.versions[RANGE_HIGH_INDEX];
 
-                int lowerCompare = compareVersions(version, lowerVersion);
+                int lowerCompare = parsedVersion.compareTo(getParsedVersion(lowerVersion));
                 LOGGER.finest("WLSDPLY-08202", version, lowerVersion, lowerCompare);
-                if (lowerCompare > 0 || (lowerCompare == 0 && inclusiveStart)) {
+                if (lowerCompare > 0 || (lowerCompare == 0 && parsedRange.inclusiveStart)) {
                     if (!StringUtils.isEmpty(upperVersion)) {
-                        int upperCompare = compareVersions(version, upperVersion);
+                        int upperCompare = parsedVersion.compareTo(getParsedVersion(upperVersion));
                         LOGGER.finest("WLSDPLY-08203", version, upperVersion, upperCompare);
-                        if (upperCompare < 0 || (upperCompare == 0 && inclusiveEnd)) {
+                        if (upperCompare < 0 || (upperCompare == 0 && parsedRange.inclusiveEnd)) {
                             result = true;
                         }
                     } else {
@@ -192,13 +122,14 @@ public final class VersionUtils {
                 break;
 
             case VERSION_SIZE:
-                String singleVersion = versions[VERSION_INDEX];
-                result = (compareVersions(version, singleVersion) == 0);
+                String singleVersion = parsedRange.versions[VERSION_INDEX];
+                result = (parsedVersion.compareTo(getParsedVersion(singleVersion)) == 0);
                 LOGGER.finest("WLSDPLY-08205", version, singleVersion, result);
                 break;
 
             default:
-                VersionException ve = new VersionException("WLSDPLY-08206", range, Arrays.asList(versions));
+                VersionException ve =
+                    new VersionException("WLSDPLY-08206", range, Arrays.asList(parsedRange.versions));
                 LOGGER.throwing(CLASS, METHOD, ve);
                 throw ve;
         }
@@ -311,36 +242,7 @@ public final class VersionUtils {
         final String METHOD = "getLowerAndUpperVersionStrings";
         LOGGER.entering(CLASS, METHOD, range);
 
-        if (StringUtils.isEmpty(range)) {
-            String message = ExceptionHelper.getMessage("WLSDPLY-08215");
-            IllegalArgumentException iae = new IllegalArgumentException(message);
-            LOGGER.throwing(CLASS, METHOD, iae);
-            throw iae;
-        }
-
-        Matcher rangeMatcher = VERSION_RANGE_REGEX.matcher(range);
-        Matcher versionMatcher = VERSION_REGEX.matcher(range);
-
-        String[] result;
-        if (rangeMatcher.matches()) {
-            String lowerVersion = rangeMatcher.group(RANGE_LOW_GROUP);
-            String upperVersion = rangeMatcher.group(RANGE_HIGH_GROUP);
-
-            if (StringUtils.isEmpty(upperVersion)) {
-                upperVersion = null;
-            }
-            result = new String[RANGE_SIZE];
-            result[RANGE_LOW_INDEX] = lowerVersion;
-            result[RANGE_HIGH_INDEX] = upperVersion;
-        } else if (versionMatcher.matches()) {
-            String version = versionMatcher.group(VERSION_GROUP);
-            result = new String[VERSION_SIZE];
-            result[VERSION_INDEX] = version;
-        } else {
-            VersionException ve = new VersionException("WLSDPLY-08216", range);
-            LOGGER.throwing(CLASS, METHOD, ve);
-            throw ve;
-        }
+        String[] result = getParsedRange(range).versions.clone();
         LOGGER.exiting(CLASS, METHOD, Arrays.toString(result));
         return result;
     }
@@ -375,6 +277,77 @@ public final class VersionUtils {
         return result;
     }
 
+    /**
+     * Get the parsed form of the version, parsing it the first time it is used.
+     *
+     * @param version the version string, which must not be empty
+     * @return the parsed version
+     */
+    static ParsedVersion getParsedVersion(String version) {
+        ParsedVersion result = VERSION_CACHE.get(version);
+        if (result == null) {
+            result = new ParsedVersion(version);
+            ParsedVersion existing = VERSION_CACHE.putIfAbsent(version, result);
+            if (existing != null) {
+                result = existing;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the parsed form of the version range, matching it against the range and version patterns
+     * the first time it is used.
+     *
+     * @param range the version range
+     * @return the parsed range
+     * @throws VersionException if the range is not a valid version or version range
+     * @throws IllegalArgumentException if the range argument is empty or null
+     */
+    static ParsedRange getParsedRange(String range) throws VersionException {
+        final String METHOD = "getParsedRange";
+
+        if (StringUtils.isEmpty(range)) {
+            String message = ExceptionHelper.getMessage("WLSDPLY-08215");
+            IllegalArgumentException iae = new IllegalArgumentException(message);
+            LOGGER.throwing(CLASS, METHOD, iae);
+            throw iae;
+        }
+
+        ParsedRange result = RANGE_CACHE.get(range);
+        if (result != null) {
+            return result;
+        }
+
+        Matcher rangeMatcher = VERSION_RANGE_REGEX.matcher(range);
+        Matcher versionMatcher = VERSION_REGEX.matcher(range);
+
+        String[] versions;
+        if (rangeMatcher.matches()) {
+            String lowerVersion = rangeMatcher.group(RANGE_LOW_GROUP);
+            String upperVersion = rangeMatcher.group(RANGE_HIGH_GROUP);
+
+            if (StringUtils.isEmpty(upperVersion)) {
+                upperVersion = null;
+            }
+            versions = new String[RANGE_SIZE];
+            versions[RANGE_LOW_INDEX] = lowerVersion;
+            versions[RANGE_HIGH_INDEX] = upperVersion;
+        } else if (versionMatcher.matches()) {
+            String version = versionMatcher.group(VERSION_GROUP);
+            versions = new String[VERSION_SIZE];
+            versions[VERSION_INDEX] = version;
+        } else {
+            VersionException ve = new VersionException("WLSDPLY-08216", range);
+            LOGGER.throwing(CLASS, METHOD, ve);
+            throw ve;
+        }
+
+        result = new ParsedRange(versions, range.startsWith("["), range.endsWith("]"));
+        ParsedRange existing = RANGE_CACHE.putIfAbsent(range, result);
+        return existing == null ? result : existing;
+    }
+
     private static int parseVersionElement(String element, String version) throws VersionException {
         final String METHOD = "parseVersionElement";
 
@@ -388,4 +361,120 @@ public final class VersionUtils {
         }
         return result;
     }
+
+    /**
+     * A version string split into its numeric fields and qualifier.  The fields are parsed once, and a field
+     * that is not a number is reported when a comparison reaches it, as it was when the string was split for
+     * every comparison.
+     */
+    static final class ParsedVersion {
+        private final String version;
+        private final String[] elements;
+        private final int[] numbers;
+        private final int invalidIndex;
+        private final String qualifier;
+
+        private ParsedVersion(String version) {
+            if (StringUtils.isEmpty(version)) {
+                throw new IllegalArgumentException(ExceptionHelper.getMessage("WLSDPLY-08200"));
+            }
+            this.version = version;
+            this.elements = version.split("-")[0].split("\\.");
+            this.numbers = new int[elements.length];
+
+            int invalid = -1;
+            for (int i = 0; i < elements.length; i++) {
+                try {
+                    numbers[i] = Integer.parseInt(elements[i]);
+                } catch (NumberFormatException nfe) {
+                    if (invalid == -1) {
+                        invalid = i;
+                    }
+                }
+            }
+            this.invalidIndex = invalid;
+
+            int qualifierIndex = version.indexOf('-');
+            this.qualifier = qualifierIndex == -1 ? null : version.substring(qualifierIndex);
+        }
+
+        /**
+         * Compare this version with another version, using the rules described for compareVersions().
+         *
+         * @param other the other version
+         * @return 0 if the versions are equal, greater than zero if this version is newer,
+         *         and less than zero if this version is older
+         * @throws VersionException if a compared field is not a number
+         */
+        int compareTo(ParsedVersion other) throws VersionException {
+            int fieldsToCompare = Math.min(elements.length, other.elements.length);
+
+            int result = 0;
+            for (int idx = 0; idx < fieldsToCompare; idx++) {
+                int thisVersionNumber = getNumber(idx);
+                int otherVersionNumber = other.getNumber(idx);
+
+                if (thisVersionNumber > otherVersionNumber) {
+                    result = 1;
+                    break;
+                } else if (thisVersionNumber < otherVersionNumber) {
+                    result = -1;
+                    break;
+                }
+            }
+
+            // Version fields compared so far are equal so check to see if one version number
+            // has more fields than the other.  Extra fields only count if their value is
+            // greater than zero.
+            //
+            if (result == 0 && elements.length != other.elements.length) {
+                if (elements.length > other.elements.length) {
+                    for (int i = other.elements.length; i < elements.length; i++) {
+                        int thisVersionNumber = i == invalidIndex ? Integer.parseInt(elements[i]) : numbers[i];
+                        if (thisVersionNumber > 0) {
+                            result = 1;
+                            break;
+                        }
+                    }
+                } else {
+                    result = -1;
+                }
+            }
+
+            // Finally, look to see if one or both versions have a qualifier if they are otherwise the same.
+            //
+            if (result == 0) {
+                if (qualifier != null && other.qualifier != null) {
+                    result = qualifier.compareTo(other.qualifier);
+                } else if (qualifier != null) {
+                    result = -1;
+                } else if (other.qualifier != null) {
+                    result = 1;
+                }
+            }
+            return result;
+        }
+
+        private int getNumber(int index) throws VersionException {
+            if (index == invalidIndex) {
+                parseVersionElement(elements[index], version);
+            }
+            return numbers[index];
+        }
+    }
+
+    /**
+     * A version range split into its lower and upper versions, or its single version.
+     */
+    static final class ParsedRange {
+        private final String[] versions;
+        private final boolean inclusiveStart;
+        private final boolean inclusiveEnd;
+
+        private ParsedRange(String[] versions, boolean inclusiveStart, boolean inclusiveEnd) {
+            this.versions = versions;
+            this.inclusiveStart = inclusiveStart;
+            this.inclusiveEnd = inclusiveEnd;
+        }
+    }
 }
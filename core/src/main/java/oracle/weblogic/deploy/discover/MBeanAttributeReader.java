@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2022, Oracle Corporation and/or its affiliates.  All rights reserved.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package oracle.weblogic.deploy.discover;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.JMException;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.MBeanParameterInfo;
+import javax.management.MBeanServerConnection;
+import javax.management.ObjectName;
+
+import oracle.weblogic.deploy.logging.PlatformLogger;
+import oracle.weblogic.deploy.logging.WLSDeployLogFactory;
+
+/**
+ * Reads the attributes of an MBean directly from the MBean server connection, so that online discovery
+ * does not need a separate WLST call for each attribute.  The attribute values are read with a single
+ * getAttributes call.  The set state of the attributes is read with the isSet operation of the MBean,
+ * if the MBean has one.
+ */
+public class MBeanAttributeReader {
+    private static final String CLASS = MBeanAttributeReader.class.getName();
+    private static final PlatformLogger LOGGER = WLSDeployLogFactory.getLogger("wlsdeploy.discover");
+
+    private static final String IS_SET_OPERATION = "isSet";
+    private static final String[] IS_SET_SIGNATURE = { String.class.getName() };
+    private static final String TYPE_KEY = "Type";
+
+    private final MBeanServerConnection connection;
+
+    // whether the MBeans of each type have the isSet operation, so the MBean info is read once per type
+    private final ConcurrentMap<String, Boolean> hasIsSetByType = new ConcurrentHashMap<>();
+
+    /**
+     * Create a reader for the MBeans of the connection.
+     *
+     * @param connection the MBean server connection
+     */
+    public MBeanAttributeReader(MBeanServerConnection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Get the values of the MBean attributes with a single getAttributes call.  An attribute that could not
+     * be read is not included in the result, so that the caller can read it another way.
+     *
+     * @param objectName     the object name of the MBean
+     * @param attributeNames the names of the attributes to read
+     * @return the values of the attributes that were read, keyed by attribute name
+     * @throws DiscoverException if the attributes could not be read from the MBean server
+     */
+    public Map<String, Object> getAttributeValues(ObjectName objectName, String[] attributeNames)
+        throws DiscoverException {
+        final String METHOD = "getAttributeValues";
+        LOGGER.entering(CLASS, METHOD, objectName, attributeNames.length);
+
+        Map<String, Object> result = new HashMap<>();
+        if (attributeNames.length > 0) {
+            AttributeList attributes;
+            try {
+                attributes = connection.getAttributes(objectName, attributeNames);
+            } catch (JMException | IOException e) {
+                DiscoverException de = new DiscoverException("WLSDPLY-06810", e, objectName, e.getLocalizedMessage());
+                LOGGER.throwing(CLASS, METHOD, de);
+                throw de;
+            }
+            for (Object item : attributes) {
+                Attribute attribute = (Attribute) item;
+                result.put(attribute.getName(), attribute.getValue());
+            }
+        }
+        LOGGER.exiting(CLASS, METHOD, result.size());
+        return result;
+    }
+
+    /**
+     * Get the names of the MBean attributes that are not set.  All the attributes are considered set
+     * if the MBean does not have an isSet operation.
+     *
+     * @param objectName     the object name of the MBean
+     * @param attributeNames the names of the attributes to check
+     * @return the names of the attributes that are not set
+     * @throws DiscoverException if the set state could not be read from the MBean server
+     */
+    public Set<String> getUnsetAttributeNames(ObjectName objectName, String[] attributeNames)
+        throws DiscoverException {
+        final String METHOD = "getUnsetAttributeNames";
+        LOGGER.entering(CLASS, METHOD, objectName, attributeNames.length);
+
+        Set<String> result = new HashSet<>();
+        if (attributeNames.length > 0 && hasIsSetOperation(objectName)) {
+            for (String attributeName : attributeNames) {
+                Object isSet;
+                try {
+                    isSet = connection.invoke(objectName, IS_SET_OPERATION, new Object[] { attributeName },
+                        IS_SET_SIGNATURE);
+                } catch (JMException | IOException e) {
+                    DiscoverException de =
+                        new DiscoverException("WLSDPLY-06811", e, attributeName, objectName, e.getLocalizedMessage());
+                    LOGGER.throwing(CLASS, METHOD, de);
+                    throw de;
+                }
+                if (Boolean.FALSE.equals(isSet)) {
+                    result.add(attributeName);
+                }
+            }
+        }
+        LOGGER.exiting(CLASS, METHOD, result);
+        return result;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////////////
+    //                             Private helper methods                                        //
+    ///////////////////////////////////////////////////////////////////////////////////////////////
+
+    private boolean hasIsSetOperation(ObjectName objectName) throws DiscoverException {
+        final String METHOD = "hasIsSetOperation";
+
+        String type = objectName.getKeyProperty(TYPE_KEY);
+        if (type != null && hasIsSetByType.containsKey(type)) {
+            return hasIsSetByType.get(type);
+        }
+
+        MBeanInfo info;
+        try {
+            info = connection.getMBeanInfo(objectName);
+        } catch (JMException | IOException e) {
+            DiscoverException de = new DiscoverException("WLSDPLY-06812", e, objectName, e.getLocalizedMessage());
+            LOGGER.throwing(CLASS, METHOD, de);
+            throw de;
+        }
+
+        boolean result = false;
+        for (MBeanOperationInfo operation : info.getOperations()) {
+            MBeanParameterInfo[] parameters = operation.getSignature();
+            if (IS_SET_OPERATION.equals(operation.getName()) && parameters.length == 1
+                && IS_SET_SIGNATURE[0].equals(parameters[0].getType())) {
+                result = true;
+                break;
+            }
+        }
+        if (type != null) {
+            hasIsSetByType.put(type, result);
+        }
+        LOGGER.finer("WLSDPLY-06813", objectName, result);
+        return result;
+    }
+}
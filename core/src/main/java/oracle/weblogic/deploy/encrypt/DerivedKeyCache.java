@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2022, Oracle Corporation and/or its affiliates.  All rights reserved.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package oracle.weblogic.deploy.encrypt;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A bounded cache of the AES key material derived from a passphrase and salt, so that values encrypted
+ * with the same passphrase and salt only pay for the PBKDF2 derivation once per run.
+ * <p>
+ * The cache is keyed by a SHA-256 digest of the passphrase and salt, so it holds no copy of the passphrase.
+ * The key material is held in byte arrays that are zeroed when an entry is evicted or the cache is cleared.
+ * The least recently used entry is evicted when the cache is full.
+ */
+class DerivedKeyCache {
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private final Map<ByteBuffer, byte[]> entries;
+    private int hitCount;
+    private int missCount;
+
+    /**
+     * Create a cache that holds at most the specified number of keys.
+     *
+     * @param maxEntries the maximum number of keys
+     */
+    DerivedKeyCache(final int maxEntries) {
+        entries = new LinkedHashMap<ByteBuffer, byte[]>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ByteBuffer, byte[]> eldest) {
+                if (size() > maxEntries) {
+                    Arrays.fill(eldest.getValue(), (byte) 0);
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Compute the cache key for a passphrase and salt.
+     *
+     * @param passphrase the passphrase
+     * @param salt the salt
+     * @return the cache key
+     * @throws NoSuchAlgorithmException if the digest algorithm is not available
+     */
+    static ByteBuffer getCacheKey(char[] passphrase, byte[] salt) throws NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+        ByteBuffer passphraseBytes = UTF_8.encode(CharBuffer.wrap(passphrase));
+        digest.update(passphraseBytes);
+        if (passphraseBytes.hasArray()) {
+            Arrays.fill(passphraseBytes.array(), (byte) 0);
+        }
+        digest.update((byte) 0);
+        digest.update(salt);
+        return ByteBuffer.wrap(digest.digest());
+    }
+
+    /**
+     * Get a copy of the key material for the specified cache key.
+     *
+     * @param cacheKey the cache key
+     * @return a copy of the key material, or null if it is not in the cache
+     */
+    synchronized byte[] get(ByteBuffer cacheKey) {
+        byte[] keyBytes = entries.get(cacheKey);
+        if (keyBytes == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        return keyBytes.clone();
+    }
+
+    /**
+     * Add a copy of the key material for the specified cache key.
+     *
+     * @param cacheKey the cache key
+     * @param keyBytes the key material
+     */
+    synchronized void put(ByteBuffer cacheKey, byte[] keyBytes) {
+        byte[] previous = entries.put(cacheKey, keyBytes.clone());
+        if (previous != null) {
+            Arrays.fill(previous, (byte) 0);
+        }
+    }
+
+    /**
+     * Zero and remove all of the cached key material.
+     */
+    synchronized void clear() {
+        Iterator<byte[]> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Arrays.fill(iterator.next(), (byte) 0);
+            iterator.remove();
+        }
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized int getHitCount() {
+        return hitCount;
+    }
+
+    synchronized int getMissCount() {
+        return missCount;
+    }
+}
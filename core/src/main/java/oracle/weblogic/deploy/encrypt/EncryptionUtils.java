@@ -1,17 +1,23 @@
 /*
- * Copyright (c) 2017, 2019, Oracle Corporation and/or its affiliates.  All rights reserved.
+ * Copyright (c) 2017, 2022, Oracle Corporation and/or its affiliates.  All rights reserved.
  * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
  */
 package oracle.weblogic.deploy.encrypt;
 
+import java.nio.ByteBuffer;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.security.spec.InvalidKeySpecException;
-import java.security.spec.KeySpec;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
 
 import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
@@ -33,6 +39,13 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
  * This class provides basic encryption/decryption capabilities.
+ * <p>
+ * The AES keys derived from the passphrase are cached for the life of the process, keyed by passphrase and
+ * salt, so that decrypting a value again, or encrypting and decrypting values that share a salt, does not
+ * repeat the PBKDF2 derivation.  Values encrypted with a shared salt use the same {AES} format as other values.
+ * <p>
+ * The encryptAll(), decryptAll(), and deriveKeys() methods process a list of values across a fork-join pool
+ * sized to the available processors, since each key derivation is CPU-bound and independent of the others.
  */
 public final class EncryptionUtils {
     private static final String CLASS = EncryptionUtils.class.getName();
@@ -55,7 +68,10 @@ public final class EncryptionUtils {
     private static final int NONCE_POS = 1;
     private static final int SALT_POS = 2;
 
+    private static final int MAX_CACHED_KEYS = 256;
+
     private static final SecureRandom RANDOM = new SecureRandom();
+    private static final DerivedKeyCache KEY_CACHE = new DerivedKeyCache(MAX_CACHED_KEYS);
 
     private EncryptionUtils() {
         // hide the constructor for this utility class
@@ -123,6 +139,22 @@ public final class EncryptionUtils {
      * @throws EncryptionException if an error occurs while encrypting the characters
      */
     public static String encryptString(String clearText, final char[] userPassphrase) throws EncryptionException {
+        return encryptString(clearText, userPassphrase, null);
+    }
+
+    /**
+     * Get the encrypted string for the specified characters, using the specified salt for the key derivation.
+     * Using the same salt for all of the values in a model means that the key is derived only once to encrypt
+     * them, and only once to decrypt them.  Each value still uses its own random nonce.
+     *
+     * @param clearText the characters to encrypt
+     * @param userPassphrase the passphrase to use for encryption/decryption
+     * @param sharedSalt the salt from createSharedSalt(), or null to use a new random salt for this value
+     * @return the encrypted string
+     * @throws EncryptionException if an error occurs while encrypting the characters
+     */
+    public static String encryptString(String clearText, final char[] userPassphrase, byte[] sharedSalt)
+        throws EncryptionException {
         final String METHOD = "encryptString";
 
         if (userPassphrase == null || userPassphrase.length == 0) {
@@ -133,8 +165,7 @@ public final class EncryptionUtils {
 
         String result = clearText;
         if (!StringUtils.isEmpty(clearText)) {
-            final byte[] salt = new byte[SALT_SIZE];
-            RANDOM.nextBytes(salt);
+            final byte[] salt = sharedSalt != null ? sharedSalt : createSharedSalt();
             SecretKey key = getKey(userPassphrase, salt);
             Cipher cipher = getCipher();
             try {
@@ -155,9 +186,203 @@ public final class EncryptionUtils {
         return  result;
     }
 
+    /**
+     * Get the encrypted strings for a list of values, processing the values in parallel.
+     *
+     * @param clearTexts the values to encrypt
+     * @param userPassphrase the passphrase to use for encryption/decryption
+     * @return the encrypted strings, in the same order as the values
+     * @throws EncryptionException if an error occurs while encrypting any of the values
+     */
+    public static List<String> encryptAll(List<String> clearTexts, final char[] userPassphrase)
+        throws EncryptionException {
+        return encryptAll(clearTexts, userPassphrase, null);
+    }
+
+    /**
+     * Get the encrypted strings for a list of values, processing the values in parallel.
+     * Empty and null values are returned unchanged, as they are by encryptString().
+     *
+     * @param clearTexts the values to encrypt
+     * @param userPassphrase the passphrase to use for encryption/decryption
+     * @param sharedSalt the salt from createSharedSalt(), or null to use a new random salt for each value
+     * @return the encrypted strings, in the same order as the values
+     * @throws EncryptionException if an error occurs while encrypting any of the values
+     */
+    public static List<String> encryptAll(final List<String> clearTexts, final char[] userPassphrase,
+                                          final byte[] sharedSalt) throws EncryptionException {
+        final String METHOD = "encryptAll";
+
+        LOGGER.entering(CLASS, METHOD, clearTexts.size(), sharedSalt != null);
+        checkPassphrase(userPassphrase, METHOD);
+
+        // derive the shared key up front, so the parallel tasks do not all derive it at once
+        if (sharedSalt != null && !clearTexts.isEmpty()) {
+            getKey(userPassphrase, sharedSalt);
+        }
+
+        final String[] results = new String[clearTexts.size()];
+        runAll(clearTexts.size(), new IndexedWork() {
+            @Override
+            public void run(int index) throws EncryptionException {
+                results[index] = encryptString(clearTexts.get(index), userPassphrase, sharedSalt);
+            }
+        });
+        List<String> result = new ArrayList<>(Arrays.asList(results));
+        LOGGER.exiting(CLASS, METHOD);
+        return result;
+    }
+
+    /**
+     * Get the unencrypted characters for a list of encrypted strings, processing the strings in parallel.
+     * The key for each distinct salt is derived only once.  Empty, null, and unencrypted values
+     * return null, as they do from decryptString().
+     *
+     * @param cipherTexts the encrypted strings
+     * @param userPassphrase the passphrase used to encrypt the strings
+     * @return the unencrypted characters, in the same order as the encrypted strings
+     * @throws EncryptionException if an error occurs while decrypting any of the strings
+     */
+    public static List<char[]> decryptAll(final List<String> cipherTexts, final char[] userPassphrase)
+        throws EncryptionException {
+        final String METHOD = "decryptAll";
+
+        LOGGER.entering(CLASS, METHOD, cipherTexts.size());
+        checkPassphrase(userPassphrase, METHOD);
+
+        deriveKeys(cipherTexts, userPassphrase);
+
+        final char[][] results = new char[cipherTexts.size()][];
+        runAll(cipherTexts.size(), new IndexedWork() {
+            @Override
+            public void run(int index) throws EncryptionException {
+                results[index] = decryptString(cipherTexts.get(index), userPassphrase);
+            }
+        });
+        List<char[]> result = new ArrayList<>(Arrays.asList(results));
+        LOGGER.exiting(CLASS, METHOD);
+        return result;
+    }
+
+    /**
+     * Derive and cache the keys for a list of encrypted strings, processing the distinct salts in parallel,
+     * without decrypting the strings.  This lets the strings be decrypted one at a time later, when they are
+     * used, without repeating the derivation.  Only as many keys as the cache holds are derived.
+     * Empty, null, and unencrypted values are skipped.
+     *
+     * @param cipherTexts the encrypted strings
+     * @param userPassphrase the passphrase used to encrypt the strings
+     * @return the number of keys that were derived or already cached
+     * @throws EncryptionException if an error occurs while deriving any of the keys
+     */
+    public static int deriveKeys(List<String> cipherTexts, final char[] userPassphrase) throws EncryptionException {
+        final String METHOD = "deriveKeys";
+
+        LOGGER.entering(CLASS, METHOD, cipherTexts.size());
+        checkPassphrase(userPassphrase, METHOD);
+
+        Map<ByteBuffer, byte[]> distinctSalts = new LinkedHashMap<>();
+        for (String cipherText : cipherTexts) {
+            if (distinctSalts.size() == MAX_CACHED_KEYS) {
+                break;
+            }
+            if (!StringUtils.isEmpty(cipherText)) {
+                List<byte[]> parts = getCipherComponents(cipherText);
+                if (parts.size() == CIPHER_SECTIONS) {
+                    byte[] salt = parts.get(SALT_POS);
+                    distinctSalts.put(ByteBuffer.wrap(salt), salt);
+                }
+            }
+        }
+
+        final List<byte[]> salts = new ArrayList<>(distinctSalts.values());
+        runAll(salts.size(), new IndexedWork() {
+            @Override
+            public void run(int index) throws EncryptionException {
+                getKey(userPassphrase, salts.get(index));
+            }
+        });
+        LOGGER.exiting(CLASS, METHOD, salts.size());
+        return salts.size();
+    }
+
+    /**
+     * Create a new random salt, to be passed to encryptString() for each of a set of values.
+     *
+     * @return the salt
+     */
+    public static byte[] createSharedSalt() {
+        final byte[] salt = new byte[SALT_SIZE];
+        RANDOM.nextBytes(salt);
+        return salt;
+    }
+
+    /**
+     * Zero and discard the cached keys.  This is called when the tool exits, and may be called
+     * earlier once no more values will be encrypted or decrypted.
+     */
+    public static void clearKeyCache() {
+        LOGGER.fine("WLSDPLY-04007", KEY_CACHE.getHitCount(), KEY_CACHE.getMissCount());
+        KEY_CACHE.clear();
+    }
+
+    private static void checkPassphrase(char[] userPassphrase, String method) throws EncryptionException {
+        if (userPassphrase == null || userPassphrase.length == 0) {
+            EncryptionException ee = new EncryptionException("WLSDPLY-04000");
+            LOGGER.throwing(CLASS, method, ee);
+            throw ee;
+        }
+    }
+
+    // Run the work for each index, across a pool that is shut down when the work is done.
+    // The first failure is thrown once all of the started tasks have finished.
+    //
+    private static void runAll(int count, IndexedWork work) throws EncryptionException {
+        int parallelism = Math.min(Runtime.getRuntime().availableProcessors(), count);
+        if (parallelism <= 1) {
+            for (int index = 0; index < count; index++) {
+                work.run(index);
+            }
+            return;
+        }
+
+        AtomicReference<EncryptionException> failure = new AtomicReference<>();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new IndexRangeTask(work, 0, count, failure));
+        } finally {
+            pool.shutdown();
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+    }
+
     private static SecretKey getKey(final char[] userPassphrase, byte[] saltBytes) throws EncryptionException {
         final String METHOD = "getKey";
 
+        ByteBuffer cacheKey;
+        try {
+            cacheKey = DerivedKeyCache.getCacheKey(userPassphrase, saltBytes);
+        } catch (NoSuchAlgorithmException nsae) {
+            EncryptionException ee = new EncryptionException("WLSDPLY-04003", nsae, nsae.getLocalizedMessage());
+            LOGGER.throwing(CLASS, METHOD, ee);
+            throw ee;
+        }
+
+        byte[] keyBytes = KEY_CACHE.get(cacheKey);
+        if (keyBytes == null) {
+            keyBytes = deriveKey(userPassphrase, saltBytes);
+            KEY_CACHE.put(cacheKey, keyBytes);
+        }
+        SecretKey result = new SecretKeySpec(keyBytes, SECRET_KEY_SPEC_ALGORITHM);
+        Arrays.fill(keyBytes, (byte) 0);
+        return result;
+    }
+
+    private static byte[] deriveKey(final char[] userPassphrase, byte[] saltBytes) throws EncryptionException {
+        final String METHOD = "deriveKey";
+
         SecretKeyFactory factory;
         try {
             factory = SecretKeyFactory.getInstance(SECRET_KEY_FACTORY_ALGORITHM);
@@ -167,15 +392,16 @@ public final class EncryptionUtils {
             throw ee;
         }
 
-        SecretKey result;
-        KeySpec spec = new PBEKeySpec(userPassphrase, saltBytes, ITERATIONS, AES_KEY_SIZE);
+        byte[] result;
+        PBEKeySpec spec = new PBEKeySpec(userPassphrase, saltBytes, ITERATIONS, AES_KEY_SIZE);
         try {
-            SecretKey tmp = factory.generateSecret(spec);
-            result = new SecretKeySpec(tmp.getEncoded(), SECRET_KEY_SPEC_ALGORITHM);
+            result = factory.generateSecret(spec).getEncoded();
         } catch (InvalidKeySpecException ikse) {
             EncryptionException ee = new EncryptionException("WLSDPLY-04004", ikse, ikse.getLocalizedMessage());
             LOGGER.throwing(CLASS, METHOD, ee);
             throw ee;
+        } finally {
+            spec.clearPassword();
         }
         return result;
     }
@@ -222,4 +448,42 @@ public final class EncryptionUtils {
         }
         return result;
     }
+
+    private interface IndexedWork {
+        void run(int index) throws EncryptionException;
+    }
+
+    private static class IndexRangeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient IndexedWork work;
+        private final int start;
+        private final int end;
+        private final AtomicReference<EncryptionException> failure;
+
+        IndexRangeTask(IndexedWork work, int start, int end, AtomicReference<EncryptionException> failure) {
+            this.work = work;
+            this.start = start;
+            this.end = end;
+            this.failure = failure;
+        }
+
+        @Override
+        protected void compute() {
+            if (failure.get() != null) {
+                return;
+            }
+            if (end - start == 1) {
+                try {
+                    work.run(start);
+                } catch (EncryptionException ee) {
+                    failure.compareAndSet(null, ee);
+                }
+            } else {
+                int middle = (start + end) >>> 1;
+                invokeAll(new IndexRangeTask(work, start, middle, failure),
+                    new IndexRangeTask(work, middle, end, failure));
+            }
+        }
+    }
 }
@@ -31,7 +31,9 @@ import org.python.core.PyObject;
 import org.python.core.PyString;
 
 /**
- * This class does the heavy-lifting of walking the parse tree and performing the conversion into a Python dictionary.
+ * This class does the heavy-lifting of parsing the JSON input and performing the conversion into a Python dictionary.
+ * The input is parsed in a single pass by JsonStreamReader; the parse tree listener methods are only used by
+ * the reference Antlr implementation in parseInternalWithParseTree().
  */
 public abstract class AbstractJsonTranslator extends JSONBaseListener {
 
@@ -294,6 +296,37 @@ public abstract class AbstractJsonTranslator extends JSONBaseListener {
     protected PyDictionary parseInternal(String jsonFileName, InputStream jsonStream) throws JsonException {
         final String METHOD = "parseInternal";
 
+        PyDictionary result = null;
+        if (jsonStream != null) {
+            JsonErrorListener errorListener = new JsonErrorListener(jsonFileName, false);
+            try {
+                JsonStreamReader reader =
+                    new JsonStreamReader(jsonStream, errorListener, useOrderedDict, getLogger(), getClassName());
+                result = reader.read();
+            } catch (IOException ioe) {
+                JsonException ex =
+                    new JsonException("WLSDPLY-18007", ioe, "JSON", jsonFileName, ioe.getLocalizedMessage());
+                getLogger().throwing(getClassName(), METHOD, ex);
+                throw ex;
+            }
+            checkErrorCount(jsonFileName, errorListener, METHOD);
+        }
+        return result;
+    }
+
+    /**
+     * Parse the JSON input by building an Antlr parse tree and walking it with this listener.  This was the
+     * parsing implementation before JsonStreamReader, and is retained as the reference implementation that
+     * the streaming reader is tested and benchmarked against.
+     *
+     * @param jsonFileName the file name used in messages
+     * @param jsonStream the JSON input
+     * @return the python dictionary corresponding to the JSON input, or null if the input stream is null
+     * @throws JsonException if an error occurs while reading the input
+     */
+    PyDictionary parseInternalWithParseTree(String jsonFileName, InputStream jsonStream) throws JsonException {
+        final String METHOD = "parseInternalWithParseTree";
+
         PyDictionary result = null;
         if (jsonStream != null) {
             JsonErrorListener errorListener = new JsonErrorListener(jsonFileName, false);
@@ -319,18 +352,23 @@ public abstract class AbstractJsonTranslator extends JSONBaseListener {
                 getLogger().throwing(getClassName(), METHOD, ex);
                 throw ex;
             }
-
-            int errorCount = errorListener.getErrorCount();
-            if (errorCount > 0) {
-                JsonException je = new JsonException("WLSDPLY-18017", "JSON", errorCount, jsonFileName);
-                getLogger().throwing(getClassName(), METHOD, je);
-                throw je;
-            }
+            checkErrorCount(jsonFileName, errorListener, METHOD);
             result = fileDict;
         }
         return result;
     }
 
+    private void checkErrorCount(String jsonFileName, JsonErrorListener errorListener, String callingMethod)
+        throws JsonException {
+
+        int errorCount = errorListener.getErrorCount();
+        if (errorCount > 0) {
+            JsonException je = new JsonException("WLSDPLY-18017", "JSON", errorCount, jsonFileName);
+            getLogger().throwing(getClassName(), callingMethod, je);
+            throw je;
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private void addToArrayIfNeeded() {
         ValueType myValueType = currentValueType.pop();
@@ -0,0 +1,378 @@
+/*
+ * Copyright (c) 2022, Oracle Corporation and/or its affiliates.  All rights reserved.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package oracle.weblogic.deploy.json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+import oracle.weblogic.deploy.exception.ExceptionHelper;
+import oracle.weblogic.deploy.logging.PlatformLogger;
+import oracle.weblogic.deploy.util.PyOrderedDict;
+import oracle.weblogic.deploy.util.PyRealBoolean;
+
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+import org.python.core.Py;
+import org.python.core.PyDictionary;
+import org.python.core.PyFloat;
+import org.python.core.PyList;
+import org.python.core.PyLong;
+import org.python.core.PyObject;
+import org.python.core.PyString;
+
+/**
+ * A single-pass JSON reader that builds the Python dictionaries, lists and scalar values directly as it reads
+ * the characters of the input, without building a token stream or parse tree first.  It accepts the same
+ * input as the JSON.g4 grammar and produces the same values as the parse tree listener in AbstractJsonTranslator.
+ * <p>
+ * Syntax errors are reported to the JsonErrorListener with the line and position of the offending character,
+ * and the first syntax error ends the parse.  A duplicate key for an object value is reported by throwing a
+ * ParseCancellationException, as the parse tree listener does.
+ */
+class JsonStreamReader {
+    private static final int BUFFER_SIZE = 8192;
+    private static final int EOF = -1;
+
+    private final Reader reader;
+    private final JsonErrorListener errorListener;
+    private final boolean useOrderedDict;
+    private final PlatformLogger logger;
+    private final String className;
+
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder text = new StringBuilder();
+    private int bufferPosition;
+    private int bufferLimit;
+
+    // the line and position of the current character, matching the Antlr conventions
+    private int line = 1;
+    private int position = -1;
+    private int current;
+
+    /**
+     * Create a reader for the specified UTF-8 input stream.
+     *
+     * @param inputStream    the JSON input
+     * @param errorListener  the listener that syntax errors are reported to
+     * @param useOrderedDict whether to build ordered dictionaries
+     * @param logger         the logger for value conversion warnings
+     * @param className      the class name for logging
+     */
+    JsonStreamReader(InputStream inputStream, JsonErrorListener errorListener, boolean useOrderedDict,
+                     PlatformLogger logger, String className) {
+        this.reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8);
+        this.errorListener = errorListener;
+        this.useOrderedDict = useOrderedDict;
+        this.logger = logger;
+        this.className = className;
+    }
+
+    /**
+     * Read the JSON input.  If the input has a syntax error, it is reported to the error listener and
+     * the partially-built dictionary is returned.
+     *
+     * @return the dictionary for the top-level JSON object, which is empty if the top-level value is not an object
+     * @throws IOException if an error occurs reading the input
+     * @throws ParseCancellationException if an object contains a duplicate key for an object value
+     */
+    PyDictionary read() throws IOException {
+        PyDictionary fileDict = newDictionary();
+        try {
+            next();
+            skipWhitespace();
+            if (current == '{') {
+                readObject(fileDict);
+            } else {
+                readValue();
+            }
+        } catch (JsonSyntaxError error) {
+            // already reported to the error listener
+        }
+        return fileDict;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Private Helper Methods                                                //
+    ///////////////////////////////////////////////////////////////////////////
+
+    private PyObject readValue() throws IOException {
+        switch (current) {
+            case '{':
+                return readObject(newDictionary());
+            case '[':
+                return readArray();
+            case '"':
+                return new PyString(readString());
+            case 't':
+                readLiteral("true");
+                return new PyRealBoolean(true);
+            case 'f':
+                readLiteral("false");
+                return new PyRealBoolean(false);
+            case 'n':
+                readLiteral("null");
+                return Py.None;
+            default:
+                if (current == '-' || isDigit(current)) {
+                    return readNumber();
+                }
+                throw syntaxError("WLSDPLY-18029", describeCurrent(), "a value");
+        }
+    }
+
+    // The current character is the opening brace.  Consumes the closing brace.
+    //
+    private PyDictionary readObject(PyDictionary dictionary) throws IOException {
+        final String METHOD = "readObject";
+
+        next();
+        skipWhitespace();
+        if (current == '}') {
+            next();
+            return dictionary;
+        }
+
+        while (true) {
+            if (current != '"') {
+                throw syntaxError("WLSDPLY-18029", describeCurrent(), "a string");
+            }
+            PyString key = new PyString(readString());
+            skipWhitespace();
+            expect(':');
+            skipWhitespace();
+
+            if (current == '{' && dictionary.has_key(key)) {
+                String message = ExceptionHelper.getMessage("WLSDPLY-18028", key.toString());
+                ParseCancellationException ex = new ParseCancellationException(message);
+                logger.throwing(className, METHOD, ex);
+                throw ex;
+            }
+            dictionary.__setitem__(key, readValue());
+
+            skipWhitespace();
+            if (current == ',') {
+                next();
+                skipWhitespace();
+            } else if (current == '}') {
+                next();
+                return dictionary;
+            } else {
+                throw syntaxError("WLSDPLY-18029", describeCurrent(), "',' or '}'");
+            }
+        }
+    }
+
+    // The current character is the opening bracket.  Consumes the closing bracket.
+    //
+    private PyList readArray() throws IOException {
+        PyList list = new PyList();
+        next();
+        skipWhitespace();
+        if (current == ']') {
+            next();
+            return list;
+        }
+
+        while (true) {
+            list.append(readValue());
+            skipWhitespace();
+            if (current == ',') {
+                next();
+                skipWhitespace();
+            } else if (current == ']') {
+                next();
+                return list;
+            } else {
+                throw syntaxError("WLSDPLY-18029", describeCurrent(), "',' or ']'");
+            }
+        }
+    }
+
+    // The current character is the opening quote.  Consumes the closing quote.
+    //
+    private String readString() throws IOException {
+        text.setLength(0);
+        next();
+        while (current != '"') {
+            if (current == EOF) {
+                throw syntaxError("WLSDPLY-18030");
+            } else if (current == '\\') {
+                next();
+                text.append(readEscapedCharacter());
+            } else {
+                text.append((char) current);
+            }
+            next();
+        }
+        next();
+        return text.toString();
+    }
+
+    // The current character follows the backslash.  Leaves the last character of the sequence as current.
+    //
+    private char readEscapedCharacter() throws IOException {
+        switch (current) {
+            case '"':
+            case '\\':
+            case '/':
+                return (char) current;
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    next();
+                    int digit = Character.digit(current, 16);
+                    if (current == EOF || digit < 0) {
+                        throw syntaxError("WLSDPLY-18031", describeCurrent());
+                    }
+                    value = (value << 4) + digit;
+                }
+                return (char) value;
+            default:
+                throw syntaxError("WLSDPLY-18031", describeCurrent());
+        }
+    }
+
+    // Leaves the first character after the number as current.
+    //
+    private PyObject readNumber() throws IOException {
+        text.setLength(0);
+        boolean isFloat = false;
+        if (current == '-') {
+            appendAndNext();
+        }
+        if (current == '0') {
+            appendAndNext();
+        } else {
+            readDigits();
+        }
+        if (current == '.') {
+            isFloat = true;
+            appendAndNext();
+            readDigits();
+        }
+        if (current == 'e' || current == 'E') {
+            isFloat = true;
+            appendAndNext();
+            if (current == '+' || current == '-') {
+                appendAndNext();
+            }
+            readDigits();
+        }
+
+        String numberText = text.toString();
+        if (isFloat) {
+            try {
+                return new PyFloat(Double.parseDouble(numberText));
+            } catch (NumberFormatException nfe) {
+                logger.warning("WLSDPLY-18025", nfe, numberText, nfe.getLocalizedMessage());
+                return new PyFloat(0.0);
+            }
+        }
+        try {
+            return new PyLong(Long.parseLong(numberText));
+        } catch (NumberFormatException nfe) {
+            logger.warning("WLSDPLY-18024", nfe, numberText, nfe.getLocalizedMessage());
+            return new PyLong(0L);
+        }
+    }
+
+    private void readDigits() throws IOException {
+        if (!isDigit(current)) {
+            throw syntaxError("WLSDPLY-18029", describeCurrent(), "a digit");
+        }
+        while (isDigit(current)) {
+            appendAndNext();
+        }
+    }
+
+    // Leaves the first character after the literal as current.
+    //
+    private void readLiteral(String literal) throws IOException {
+        for (int i = 0; i < literal.length(); i++) {
+            if (current != literal.charAt(i)) {
+                throw syntaxError("WLSDPLY-18029", describeCurrent(), "'" + literal + "'");
+            }
+            next();
+        }
+    }
+
+    private void expect(char expected) throws IOException {
+        if (current != expected) {
+            throw syntaxError("WLSDPLY-18029", describeCurrent(), "'" + expected + "'");
+        }
+        next();
+    }
+
+    private void skipWhitespace() throws IOException {
+        while (current == ' ' || current == '\t' || current == '\n' || current == '\r') {
+            next();
+        }
+    }
+
+    private void appendAndNext() throws IOException {
+        text.append((char) current);
+        next();
+    }
+
+    private void next() throws IOException {
+        if (current == '\n') {
+            line++;
+            position = 0;
+        } else if (current != EOF) {
+            position++;
+        }
+
+        if (bufferPosition == bufferLimit) {
+            bufferLimit = reader.read(buffer, 0, BUFFER_SIZE);
+            bufferPosition = 0;
+            if (bufferLimit <= 0) {
+                bufferLimit = 0;
+                current = EOF;
+                return;
+            }
+        }
+        current = buffer[bufferPosition++];
+    }
+
+    private PyDictionary newDictionary() {
+        return useOrderedDict ? new PyOrderedDict() : new PyDictionary();
+    }
+
+    private String describeCurrent() {
+        return current == EOF ? "<EOF>" : "'" + (char) current + "'";
+    }
+
+    private JsonSyntaxError syntaxError(String key, Object... params) {
+        errorListener.syntaxError(null, null, line, position, ExceptionHelper.getMessage(key, params), null);
+        return new JsonSyntaxError();
+    }
+
+    private static boolean isDigit(int c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Ends the parse after a syntax error has been reported to the error listener.
+     */
+    private static final class JsonSyntaxError extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        JsonSyntaxError() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2022, Oracle Corporation and/or its affiliates.  All rights reserved.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package oracle.weblogic.deploy.json;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import org.python.core.PyDictionary;
+import org.python.core.PyList;
+import org.python.core.PyObject;
+
+/**
+ * A JSON writer that walks the Python dictionaries and lists of a model and writes them directly to the
+ * output, in the format that the Python PythonToJson class has always used: four spaces of indent,
+ * each entry on its own line, and " : " between the keys and values.  String values are stripped of
+ * leading and trailing whitespace.
+ * <p>
+ * The writer does not buffer the output, so it should be given a buffered writer.
+ */
+public class JsonStreamWriter {
+    private static final String INDENT_UNIT = "    ";
+    private static final String LINE_SEPARATOR = System.getProperty("line.separator");
+
+    private final Writer writer;
+
+    /**
+     * Create a writer for the specified output.
+     *
+     * @param writer the output writer
+     */
+    public JsonStreamWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Write the Python dictionary to the output, and flush it.  Nothing is written if the dictionary is None.
+     *
+     * @param dictionary the Python dictionary
+     * @throws IOException if an error occurs writing the output
+     */
+    public void write(PyObject dictionary) throws IOException {
+        if (dictionary instanceof PyDictionary) {
+            writeDictionary((PyDictionary) dictionary, "");
+        }
+        writer.flush();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Private Helper Methods                                                //
+    ///////////////////////////////////////////////////////////////////////////
+
+    private void writeDictionary(PyDictionary dictionary, String indent) throws IOException {
+        String entryIndent = indent + INDENT_UNIT;
+        String endLine = "";
+        writer.write('{');
+        PyObject iterator = dictionary.__iter__();
+        for (PyObject key = iterator.__iternext__(); key != null; key = iterator.__iternext__()) {
+            writer.write(endLine);
+            writer.write(LINE_SEPARATOR);
+            endLine = ",";
+            writer.write(entryIndent);
+            writer.write('"');
+            writer.write(escapeText(key.toString()));
+            writer.write("\" : ");
+            writeValue(dictionary.__finditem__(key), entryIndent);
+        }
+        writer.write(LINE_SEPARATOR);
+        writer.write(indent);
+        writer.write('}');
+    }
+
+    private void writeList(PyList list, String indent) throws IOException {
+        String elementIndent = indent + INDENT_UNIT;
+        String endLine = "";
+        writer.write('[');
+        PyObject iterator = list.__iter__();
+        for (PyObject element = iterator.__iternext__(); element != null; element = iterator.__iternext__()) {
+            writer.write(endLine);
+            writer.write(LINE_SEPARATOR);
+            endLine = ",";
+            writer.write(elementIndent);
+            writeValue(element, elementIndent);
+        }
+        writer.write(LINE_SEPARATOR);
+        writer.write(indent);
+        writer.write(']');
+    }
+
+    private void writeValue(PyObject value, String indent) throws IOException {
+        if (value instanceof PyDictionary) {
+            writeDictionary((PyDictionary) value, indent);
+        } else if (value instanceof PyList) {
+            writeList((PyList) value, indent);
+        } else {
+            writer.write(formatScalar(value));
+        }
+    }
+
+    private static String formatScalar(PyObject value) {
+        String typeName = value.getType().fastGetName();
+        switch (typeName) {
+            case "str":
+            case "unicode":
+                return '"' + escapeText(value.invoke("strip").toString()) + '"';
+
+            case "bool":
+                return value.__nonzero__() ? "true" : "false";
+
+            case "int":
+            case "long":
+                return value.__str__().toString();
+
+            case "NoneType":
+                return "null";
+
+            default:
+                // floats and other values are written as their Java values, as StringBuilder.append() does
+                return String.valueOf(value.__tojava__(Object.class));
+        }
+    }
+
+    // The escapes, including the doubled backslash of the escapes for control characters, are the same
+    // as the Python implementation used, so the output is unchanged.
+    //
+    private static String escapeText(String text) {
+        String result = text;
+        if (result.indexOf('\\') >= 0) {
+            result = result.replace("\\", "\\\\");
+        }
+        if (result.indexOf('"') >= 0) {
+            result = result.replace("\"", "\\\"");
+        }
+        result = result.replace("\n", "\\\\n");
+        result = result.replace("\b", "\\\\b");
+        result = result.replace("\f", "\\\\f");
+        result = result.replace("\r", "\\\\r");
+        result = result.replace("\t", "\\\\t");
+        return result.replace("\\/", "\\\\/");
+    }
+}
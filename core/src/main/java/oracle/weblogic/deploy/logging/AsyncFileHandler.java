@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2022, Oracle Corporation and/or its affiliates.  All rights reserved.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package oracle.weblogic.deploy.logging;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.ErrorManager;
+import java.util.logging.FileHandler;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogManager;
+import java.util.logging.LogRecord;
+
+import oracle.weblogic.deploy.util.StringUtils;
+import oracle.weblogic.deploy.util.WLSDeployContext;
+
+/**
+ * This handler writes the log file on a background thread, so that the tool thread only adds each record to
+ * a bounded, lock-free queue.  The log file is written by a java.util.logging.FileHandler, which uses the
+ * java.util.logging.FileHandler properties that the WLSDeployLoggingConfig sets.
+ *
+ * <p>If the queue is full, records below the WARNING level are dropped and counted, and WARNING and SEVERE
+ * records wait for room.  At the end of the tool, the queued records are written, followed by a message with
+ * the number of dropped records, if any.
+ *
+ * <p>The handler is used in place of the FileHandler when the wlsdeploy.asyncFileLogging system property is true.
+ * The queue size can be set with the oracle.weblogic.deploy.logging.AsyncFileHandler.size property.
+ */
+public class AsyncFileHandler extends WLSDeployLogEndHandler {
+    private static final String CLASS = AsyncFileHandler.class.getName();
+
+    private static final String LEVEL_PROPERTY = ".level";
+    private static final String SIZE_PROPERTY = ".size";
+    private static final int DEFAULT_QUEUE_SIZE = 8192;
+    private static final long WRITER_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long PRODUCER_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final Handler targetHandler;
+    private final LogRecordRingBuffer queue;
+    private final Thread writerThread;
+    private final AtomicLong queuedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong writtenCount = new AtomicLong();
+    private volatile boolean writerWaiting = false;
+    private volatile boolean closed = false;
+
+    /**
+     * This default constructor is called by the LogManager, and writes to a FileHandler configured
+     * with the java.util.logging.FileHandler properties.
+     *
+     * @throws IOException if the log file cannot be opened
+     */
+    public AsyncFileHandler() throws IOException {
+        this(new FileHandler(), getQueueSize(CLASS + SIZE_PROPERTY));
+        setLevel(getLevel(CLASS + LEVEL_PROPERTY));
+    }
+
+    /**
+     * Create a handler that writes to the target handler on a background thread.
+     *
+     * @param targetHandler the handler that writes the records
+     * @param queueSize     the minimum number of records the queue holds
+     */
+    AsyncFileHandler(Handler targetHandler, int queueSize) {
+        super();
+        this.targetHandler = targetHandler;
+        this.queue = new LogRecordRingBuffer(queueSize);
+        this.writerThread = new Thread(new Writer(), "wlsdeploy-log-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Add the log record to the queue for the writer thread.
+     *
+     * @param logRecord the log record
+     */
+    @Override
+    public void publish(LogRecord logRecord) {
+        if (closed || !isLoggable(logRecord)) {
+            return;
+        }
+
+        // the caller is inferred from the stack of the thread that logged the record
+        logRecord.getSourceClassName();
+
+        boolean mustWrite = logRecord.getLevel().intValue() >= Level.WARNING.intValue();
+        while (!queue.offer(logRecord)) {
+            if (!mustWrite || closed) {
+                droppedCount.incrementAndGet();
+                return;
+            }
+            wakeWriter();
+            LockSupport.parkNanos(this, PRODUCER_PARK_NANOS);
+        }
+        queuedCount.incrementAndGet();
+        if (writerWaiting) {
+            wakeWriter();
+        }
+    }
+
+    /**
+     * Wait for the queued records to be written, and flush the target handler.
+     */
+    @Override
+    public void flush() {
+        drain();
+        targetHandler.flush();
+    }
+
+    /**
+     * Write the queued records, stop the writer thread, and close the target handler.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        drain();
+        closed = true;
+        wakeWriter();
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        targetHandler.close();
+    }
+
+    /**
+     * Write the queued records and the number of dropped records before the tool exits.
+     *
+     * @param context the context of the tool
+     */
+    @Override
+    public void logEnd(WLSDeployContext context) {
+        flush();
+        long dropped = droppedCount.get();
+        if (dropped > 0) {
+            PlatformLogger logger = WLSDeployLogFactory.getLogger("wlsdeploy.exit");
+            LogRecord logRecord = new LogRecord(Level.WARNING, "WLSDPLY-21004");
+            logRecord.setLoggerName(logger.getName());
+            logRecord.setParameters(new Object[] { dropped, queue.capacity(), CLASS + SIZE_PROPERTY });
+            logRecord.setResourceBundle(logger.getUnderlyingLogger().getResourceBundle());
+            logRecord.setSourceClassName(CLASS);
+            logRecord.setSourceMethodName("logEnd");
+            targetHandler.publish(logRecord);
+            targetHandler.flush();
+        }
+    }
+
+    /**
+     * Get the number of records that were added to the queue.
+     *
+     * @return the number of queued records
+     */
+    public long getQueuedCount() {
+        return queuedCount.get();
+    }
+
+    /**
+     * Get the number of records that were dropped because the queue was full.
+     *
+     * @return the number of dropped records
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Get the number of records that are waiting in the queue.
+     *
+     * @return the number of records in the queue
+     */
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////////////
+    //                             Private helper methods                                        //
+    ///////////////////////////////////////////////////////////////////////////////////////////////
+
+    // wait until the writer has finished publishing every record that was queued before the call,
+    // not just taken it from the queue, so that a flush of the target handler cannot overtake it
+    private void drain() {
+        long target = queuedCount.get();
+        while (writtenCount.get() < target && writerThread.isAlive()) {
+            wakeWriter();
+            LockSupport.parkNanos(this, PRODUCER_PARK_NANOS);
+        }
+    }
+
+    private void wakeWriter() {
+        LockSupport.unpark(writerThread);
+    }
+
+    private static int getQueueSize(String sizePropertyName) {
+        String sizePropertyValue = LogManager.getLogManager().getProperty(sizePropertyName);
+
+        int size = DEFAULT_QUEUE_SIZE;
+        if (!StringUtils.isEmpty(sizePropertyValue)) {
+            try {
+                size = Integer.parseInt(sizePropertyValue.trim());
+            } catch (NumberFormatException nfe) {
+                // Best effort only...
+            }
+        }
+        return size;
+    }
+
+    private static Level getLevel(String levelPropertyName) {
+        String levelPropertyValue = LogManager.getLogManager().getProperty(levelPropertyName);
+
+        Level level = Level.ALL;
+        if (!StringUtils.isEmpty(levelPropertyValue)) {
+            try {
+                level = Level.parse(levelPropertyValue.trim());
+            } catch (IllegalArgumentException iae) {
+                // Best effort only...
+            }
+        }
+        return level;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////////////
+    //                             Private helper classes                                        //
+    ///////////////////////////////////////////////////////////////////////////////////////////////
+
+    private class Writer implements Runnable {
+        @Override
+        public void run() {
+            while (true) {
+                LogRecord logRecord = queue.poll();
+                if (logRecord != null) {
+                    write(logRecord);
+                } else if (closed && queue.isEmpty()) {
+                    break;
+                } else {
+                    // check again after setting the flag, so that a record added before it was set is not missed
+                    writerWaiting = true;
+                    if (queue.isEmpty() && !closed) {
+                        LockSupport.parkNanos(this, WRITER_PARK_NANOS);
+                    }
+                    writerWaiting = false;
+                }
+            }
+        }
+
+        private void write(LogRecord logRecord) {
+            try {
+                targetHandler.publish(logRecord);
+            } catch (RuntimeException e) {
+                reportError(null, e, ErrorManager.WRITE_FAILURE);
+            } finally {
+                writtenCount.incrementAndGet();
+            }
+        }
+    }
+}
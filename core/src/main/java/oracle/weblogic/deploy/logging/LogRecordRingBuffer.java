@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2022, Oracle Corporation and/or its affiliates.  All rights reserved.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package oracle.weblogic.deploy.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.logging.LogRecord;
+
+/**
+ * A bounded, lock-free queue of log records, with any number of producer threads and a single consumer thread.
+ * <p>
+ * Producers claim a sequence number with a compare-and-set on the tail, and then store the record in the slot
+ * for that sequence.  The consumer takes the records in sequence order, and treats an empty slot as the end of
+ * the queue, since the producer that claimed it has not stored its record yet.
+ */
+class LogRecordRingBuffer {
+    private final AtomicReferenceArray<LogRecord> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+
+    // only written by the consumer thread
+    private volatile long head;
+
+    /**
+     * Create a buffer that holds at least the specified number of records.
+     * The capacity is rounded up to a power of two.
+     *
+     * @param minimumCapacity the minimum number of records
+     */
+    LogRecordRingBuffer(int minimumCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(minimumCapacity, 2) - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Get the number of records the buffer can hold.
+     *
+     * @return the capacity
+     */
+    int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Add a record to the end of the queue, if there is room.
+     *
+     * @param logRecord the record
+     * @return true if the record was added, false if the queue is full
+     */
+    boolean offer(LogRecord logRecord) {
+        while (true) {
+            long sequence = tail.get();
+            if (sequence - head > mask) {
+                return false;
+            }
+            if (tail.compareAndSet(sequence, sequence + 1)) {
+                slots.lazySet((int) sequence & mask, logRecord);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Remove the record at the head of the queue.  This must only be called from the consumer thread.
+     *
+     * @return the record, or null if the queue is empty
+     */
+    LogRecord poll() {
+        long sequence = head;
+        int index = (int) sequence & mask;
+        LogRecord logRecord = slots.get(index);
+        if (logRecord != null) {
+            slots.lazySet(index, null);
+            head = sequence + 1;
+        }
+        return logRecord;
+    }
+
+    /**
+     * Is the queue empty, with every record that was added taken by the consumer?
+     *
+     * @return true if the queue is empty
+     */
+    boolean isEmpty() {
+        return head == tail.get();
+    }
+
+    /**
+     * Get the number of records in the queue, including any that are still being stored by producers.
+     *
+     * @return the number of records
+     */
+    int size() {
+        return (int) (tail.get() - head);
+    }
+}
@@ -45,7 +45,8 @@ public class SummaryHandler extends WLSDeployLogEndHandler {
     private final PlatformLogger LOGGER;
     private final Handler outputTargetHandler;
     private final List<LevelHandler> handlers = new ArrayList<>();
-    private boolean closed = false;
+    private int minimumLevelValue = Level.OFF.intValue();
+    private volatile boolean closed = false;
 
     /**
      * This default constructor is populated with the handler properties loaded by the WLSDeployCustomizeLoggingConfig.
@@ -87,10 +88,11 @@ public class SummaryHandler extends WLSDeployLogEndHandler {
      * @param logRecord to tally and save in handler with matching Level category
      */
     @Override
-    public synchronized void publish(LogRecord logRecord) {
+    public void publish(LogRecord logRecord) {
         // after close, take yourself out of the mix. The stored up log messages are going to go to the
-        // console handler anyway
-        if (!closed) {
+        // console handler anyway.  Most records are below the category levels, and are skipped without
+        // locking, so this does not serialize the logging threads.  Each LevelHandler is synchronized.
+        if (!closed && logRecord.getLevel().intValue() >= minimumLevelValue) {
             for (Handler handler : handlers) {
                 handler.publish(logRecord);
             }
@@ -177,6 +179,7 @@ public class SummaryHandler extends WLSDeployLogEndHandler {
         levelHandler.setFilter(null);
         levelHandler.setLevel(level);
         handlers.add(levelHandler);
+        minimumLevelValue = Math.min(minimumLevelValue, level.intValue());
     }
 
     private Handler getOutputTargetHandler() {
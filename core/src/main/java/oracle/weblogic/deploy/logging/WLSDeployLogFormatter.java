@@ -22,18 +22,13 @@ public class WLSDeployLogFormatter extends Formatter {
     private static final String DATE_FORMAT_STRING = "####<{0,date} {0,time}>";
     private static final String LINE_SEPARATOR = System.getProperty("line.separator");
 
-    private final Object[] args;
-    private final MessageFormat formatter;
-    private final Date date;
-
-    /**
-     * The constructor.
-     */
-    public WLSDeployLogFormatter() {
-        this.date = new Date();
-        this.args = new Object[1];
-        this.formatter = new MessageFormat(DATE_FORMAT_STRING);
-    }
+    // the formatters and the last timestamp are kept per thread, so format() does not need to be synchronized
+    private final ThreadLocal<TimestampFormatter> timestampFormatter = new ThreadLocal<TimestampFormatter>() {
+        @Override
+        protected TimestampFormatter initialValue() {
+            return new TimestampFormatter();
+        }
+    };
 
     /**
      * Formats the log record.
@@ -42,15 +37,10 @@ public class WLSDeployLogFormatter extends Formatter {
      * @return the formatted log record
      */
     @Override
-    public synchronized String format(LogRecord logRecord) {
+    public String format(LogRecord logRecord) {
         StringBuilder sb = new StringBuilder();
 
-        date.setTime(logRecord.getMillis());
-        args[0] = date;
-
-        StringBuffer text = new StringBuffer();
-        formatter.format(args, text, null);
-        sb.append(text);
+        sb.append(timestampFormatter.get().format(logRecord.getMillis()));
 
         // Level
         sb.append(" <");
@@ -99,4 +89,23 @@ public class WLSDeployLogFormatter extends Formatter {
         sb.append(LINE_SEPARATOR);
         return sb.toString();
     }
+
+    // The timestamp text only shows whole seconds, so the text is reused for records in the same second.
+    //
+    private static class TimestampFormatter {
+        private final MessageFormat formatter = new MessageFormat(DATE_FORMAT_STRING);
+        private final Object[] args = { new Date() };
+        private long second = Long.MIN_VALUE;
+        private String text;
+
+        String format(long millis) {
+            long recordSecond = millis / 1000L;
+            if (recordSecond != second) {
+                ((Date) args[0]).setTime(millis);
+                text = formatter.format(args, new StringBuffer(), null).toString();
+                second = recordSecond;
+            }
+            return text;
+        }
+    }
 }
@@ -45,6 +45,7 @@ public class WLSDeployLoggingConfig {
     static final String WLSDEPLOY_SUMMARY_STDOUT_HANDLER =
         "oracle.weblogic.deploy.logging.WLSDeploySummaryStdoutHandler";
     private static final String FILE_HANDLER = "java.util.logging.FileHandler";
+    private static final String ASYNC_FILE_HANDLER = AsyncFileHandler.class.getName();
     private static final List<String> DEFAULT_HANDLERS = new ArrayList<>(Arrays.asList(
         WLSDEPLOY_STDOUT_CONSOLE_HANDLER,
         WLSDEPLOY_STDERR_CONSOLE_HANDLER,
@@ -75,6 +76,7 @@ public class WLSDeployLoggingConfig {
     private static final String DEFAULT_FILE_HANDLER_COUNT = "1";
     private static final String DEFAULT_FILE_HANDLER_APPEND = "false";
     private static final String DEFAULT_DEBUG_TO_STDOUT = "false";
+    private static final String DEFAULT_ASYNC_FILE_LOGGING = "false";
 
     private static final String LOG_FORMATTER = WLSDeployLogFormatter.class.getName();
 
@@ -116,6 +118,12 @@ public class WLSDeployLoggingConfig {
      */
     public static final String WLSDEPLOY_DEBUG_TO_STDOUT_PROP = WLSDEPLOY_LOGGER_NAME + ".debugToStdout";
 
+    /**
+     * Java System property to write the log file on a background thread, using the AsyncFileHandler
+     * in place of the FileHandler.  The default is false.
+     */
+    public static final String WLSDEPLOY_ASYNC_FILE_LOGGING_PROP = WLSDEPLOY_LOGGER_NAME + ".asyncFileLogging";
+
     private static File loggingDirectory;
     private static File loggingPropertiesFile;
 
@@ -214,6 +222,7 @@ public class WLSDeployLoggingConfig {
             }
         }
         ensureRootLoggerLevelIsSet(logProps);
+        useAsyncFileHandlerIfRequested(handlers, logProps);
 
         // Uncomment to debug log properties that will be passed to the LogManager
         // LoggingUtils.printLogProperties(logProps, "Final log properties :  ");
@@ -293,6 +302,18 @@ public class WLSDeployLoggingConfig {
         }
     }
 
+    // The AsyncFileHandler writes through a FileHandler, so the FileHandler properties are left in place.
+    //
+    private static void useAsyncFileHandlerIfRequested(List<String> handlers, Properties logProps) {
+        String asyncString = System.getProperty(WLSDEPLOY_ASYNC_FILE_LOGGING_PROP, DEFAULT_ASYNC_FILE_LOGGING);
+        int fileHandlerIndex = handlers.indexOf(FILE_HANDLER);
+        if (Boolean.parseBoolean(asyncString) && fileHandlerIndex >= 0) {
+            List<String> newHandlers = new ArrayList<>(handlers);
+            newHandlers.set(fileHandlerIndex, ASYNC_FILE_HANDLER);
+            logProps.setProperty(HANDLERS_PROP, StringUtils.getCommaSeparatedListString(newHandlers));
+        }
+    }
+
     private void ensureRootLoggerLevelIsSet(Properties logProps) {
         for (String loggerName : WLSDEPLOY_ROOT_LOGGERS) {
             String loggerLevelProp = loggerName + LOGGER_LEVEL_PROP;
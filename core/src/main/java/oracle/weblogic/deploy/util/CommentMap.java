@@ -16,7 +16,8 @@ import java.util.Map;
 public class CommentMap {
     public static final String BLANK_LINE_KEY = "__BLANK_LINE__";
 
-    private final Map<String, List<String>> commentMap = new HashMap<>();
+    // most dictionaries have no comments, so the map is created when the first comment is added
+    private Map<String, List<String>> commentMap;
 
     public void addBlankLine(String key) {
         getOrCreateComments(key).add(BLANK_LINE_KEY);
@@ -27,11 +28,14 @@ public class CommentMap {
     }
 
     public List<String> getComments(String key) {
-        List<String> comments = commentMap.get(key);
+        List<String> comments = (commentMap == null) ? null : commentMap.get(key);
         return (comments == null) ? Collections.<String>emptyList() : comments;
     }
 
     private List<String> getOrCreateComments(String key) {
+        if (commentMap == null) {
+            commentMap = new HashMap<>();
+        }
         List<String> comments = commentMap.get(key);
         if(comments == null) {
             comments = new ArrayList<>();
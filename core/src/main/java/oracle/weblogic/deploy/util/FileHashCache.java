@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2022, Oracle Corporation and/or its affiliates.  All rights reserved.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package oracle.weblogic.deploy.util;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.zip.CRC32;
+
+import oracle.weblogic.deploy.exception.ExceptionHelper;
+import oracle.weblogic.deploy.logging.PlatformLogger;
+import oracle.weblogic.deploy.logging.WLSDeployLogFactory;
+
+/**
+ * A cache of the hash values and CRC-32 checksums of files, keyed by the canonical path of the file and
+ * validated against the size and last modified time of the file.  Both values are computed in a single,
+ * streaming pass over the file content the first time a file is requested, and are reused until the size
+ * or last modified time of the file changes.
+ * <p>
+ * If a cache file is specified, the cache is loaded from that file when it is created and written back to
+ * it by save(), so that unchanged files are not read again by later runs.  Problems reading or writing the
+ * cache file are logged and otherwise ignored, since the cache can always be rebuilt from the files.
+ */
+public class FileHashCache {
+    private static final String CLASS = FileHashCache.class.getName();
+    private static final PlatformLogger LOGGER = WLSDeployLogFactory.getLogger("wlsdeploy.util");
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final String CACHE_FILE_COMMENT = "WebLogic Deploy Tooling file hash cache";
+    private static final String VALUE_SEPARATOR = ",";
+    private static final int VALUE_FIELD_COUNT = 4;
+
+    // A file modified this close to the time it was hashed could be modified again without changing its
+    // size or last modified time, so its values are only trusted for the current run.
+    private static final long MODIFIED_TIME_GRACE_MILLIS = 2000L;
+
+    private final File cacheFile;
+    private final Map<String, CacheEntry> entries = new HashMap<>();
+    private boolean modified;
+    private int hitCount;
+    private int missCount;
+
+    /**
+     * Create an in-memory cache that is not persisted.
+     */
+    public FileHashCache() {
+        this(null);
+    }
+
+    /**
+     * Create a cache that is loaded from, and saved to, the specified file.  The file need not exist.
+     *
+     * @param cacheFile the file used to persist the cache, or null to keep the cache in memory only
+     */
+    public FileHashCache(File cacheFile) {
+        this.cacheFile = cacheFile;
+        if (cacheFile != null && cacheFile.isFile()) {
+            load();
+        }
+    }
+
+    /**
+     * Get the file used to persist the cache.
+     *
+     * @return the cache file, or null if the cache is not persisted
+     */
+    public File getCacheFile() {
+        return cacheFile;
+    }
+
+    /**
+     * Get the Base64-encoded hash for the specified file, in the same form as FileUtils.computeHash().
+     *
+     * @param file the file
+     * @return the Base64-encoded hash
+     * @throws IOException if an error occurs reading the file
+     * @throws NoSuchAlgorithmException if an error occurs obtaining the hashing algorithm
+     * @throws IllegalArgumentException if the file is not a valid, existing file
+     */
+    public synchronized String getFileHash(File file) throws IOException, NoSuchAlgorithmException {
+        final String METHOD = "getFileHash";
+
+        LOGGER.entering(CLASS, METHOD, file);
+        String result = getEntry(file).hash;
+        LOGGER.exiting(CLASS, METHOD, result);
+        return result;
+    }
+
+    /**
+     * Get the CRC-32 checksum for the specified file, for comparison with the checksum of an archive entry.
+     *
+     * @param file the file
+     * @return the CRC-32 checksum
+     * @throws IOException if an error occurs reading the file
+     * @throws NoSuchAlgorithmException if an error occurs obtaining the hashing algorithm
+     * @throws IllegalArgumentException if the file is not a valid, existing file
+     */
+    public synchronized long getFileCrc(File file) throws IOException, NoSuchAlgorithmException {
+        final String METHOD = "getFileCrc";
+
+        LOGGER.entering(CLASS, METHOD, file);
+        long result = getEntry(file).crc;
+        LOGGER.exiting(CLASS, METHOD, result);
+        return result;
+    }
+
+    /**
+     * Write the cache to the cache file, if there is one and the cache has changed since it was loaded.
+     * Entries for files that no longer exist are dropped.
+     */
+    public synchronized void save() {
+        final String METHOD = "save";
+
+        LOGGER.entering(CLASS, METHOD, cacheFile, modified);
+        LOGGER.fine("WLSDPLY-01133", cacheFile, hitCount, missCount);
+        if (cacheFile == null || !modified) {
+            LOGGER.exiting(CLASS, METHOD);
+            return;
+        }
+
+        Properties properties = new Properties();
+        for (Map.Entry<String, CacheEntry> mapEntry : entries.entrySet()) {
+            CacheEntry entry = mapEntry.getValue();
+            if (entry.persistent && new File(mapEntry.getKey()).isFile()) {
+                properties.setProperty(mapEntry.getKey(), entry.toValue());
+            }
+        }
+
+        File tempFile = new File(cacheFile.getPath() + ".tmp");
+        try {
+            File parent = cacheFile.getAbsoluteFile().getParentFile();
+            if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+                throw new IOException(ExceptionHelper.getMessage("WLSDPLY-01102", parent));
+            }
+            try (OutputStream outputStream = new FileOutputStream(tempFile)) {
+                properties.store(outputStream, CACHE_FILE_COMMENT);
+            }
+            Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            modified = false;
+        } catch (IOException ioe) {
+            LOGGER.warning("WLSDPLY-01131", ioe, cacheFile, ioe.getLocalizedMessage());
+            if (tempFile.exists() && !tempFile.delete()) {
+                tempFile.deleteOnExit();
+            }
+        }
+        LOGGER.exiting(CLASS, METHOD);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Private Helper Methods                                                //
+    ///////////////////////////////////////////////////////////////////////////
+
+    private CacheEntry getEntry(File file) throws IOException, NoSuchAlgorithmException {
+        FileUtils.validateExistingFile(file);
+
+        File canonicalFile = FileUtils.getCanonicalFile(file);
+        String key = canonicalFile.getPath();
+        long size = canonicalFile.length();
+        long lastModified = canonicalFile.lastModified();
+
+        CacheEntry entry = entries.get(key);
+        if (entry != null && entry.size == size && entry.lastModified == lastModified) {
+            hitCount++;
+            return entry;
+        }
+
+        missCount++;
+        entry = computeEntry(canonicalFile, size, lastModified);
+        entries.put(key, entry);
+        modified |= entry.persistent;
+        return entry;
+    }
+
+    private static CacheEntry computeEntry(File file, long size, long lastModified)
+        throws IOException, NoSuchAlgorithmException {
+
+        MessageDigest messageDigest = FileUtils.getHashDigest();
+        CRC32 crc32 = new CRC32();
+        byte[] readBuffer = new byte[READ_BUFFER_SIZE];
+        try (InputStream inputStream = new FileInputStream(file)) {
+            int bytesRead;
+            while ((bytesRead = inputStream.read(readBuffer)) >= 0) {
+                messageDigest.update(readBuffer, 0, bytesRead);
+                crc32.update(readBuffer, 0, bytesRead);
+            }
+        }
+
+        boolean persistent = System.currentTimeMillis() - lastModified >= MODIFIED_TIME_GRACE_MILLIS;
+        return new CacheEntry(size, lastModified, crc32.getValue(), FileUtils.encodeHash(messageDigest.digest()),
+            persistent);
+    }
+
+    private void load() {
+        final String METHOD = "load";
+
+        LOGGER.entering(CLASS, METHOD, cacheFile);
+        Properties properties = new Properties();
+        try (InputStream inputStream = new FileInputStream(cacheFile)) {
+            properties.load(inputStream);
+        } catch (IOException | IllegalArgumentException e) {
+            LOGGER.warning("WLSDPLY-01130", e, cacheFile, e.getLocalizedMessage());
+            LOGGER.exiting(CLASS, METHOD);
+            return;
+        }
+
+        for (String key : properties.stringPropertyNames()) {
+            CacheEntry entry = CacheEntry.fromValue(properties.getProperty(key));
+            if (entry == null) {
+                LOGGER.fine("WLSDPLY-01132", key, cacheFile);
+                modified = true;
+            } else {
+                entries.put(key, entry);
+            }
+        }
+        LOGGER.exiting(CLASS, METHOD, entries.size());
+    }
+
+    private static final class CacheEntry {
+        private final long size;
+        private final long lastModified;
+        private final long crc;
+        private final String hash;
+        private final boolean persistent;
+
+        CacheEntry(long size, long lastModified, long crc, String hash, boolean persistent) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.crc = crc;
+            this.hash = hash;
+            this.persistent = persistent;
+        }
+
+        String toValue() {
+            return size + VALUE_SEPARATOR + lastModified + VALUE_SEPARATOR + crc + VALUE_SEPARATOR + hash;
+        }
+
+        static CacheEntry fromValue(String value) {
+            String[] fields = value.split(VALUE_SEPARATOR);
+            if (fields.length != VALUE_FIELD_COUNT || StringUtils.isEmpty(fields[3])) {
+                return null;
+            }
+            try {
+                return new CacheEntry(Long.parseLong(fields[0]), Long.parseLong(fields[1]), Long.parseLong(fields[2]),
+                    fields[3], true);
+            } catch (NumberFormatException nfe) {
+                return null;
+            }
+        }
+    }
+}
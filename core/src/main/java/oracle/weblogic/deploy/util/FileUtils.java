@@ -44,6 +44,8 @@ public final class FileUtils {
     private static final int FILE_NAME_POS = 0;
     private static final int FILE_EXT_POS = 1;
     private static final int READ_BUFFER_SIZE = 4096;
+    private static final int HASH_BUFFER_SIZE = 64 * 1024;
+    private static final String HASH_ALGORITHM = "MD5";
 
     private FileUtils() {
         // hide the constructor for this utility class
@@ -562,12 +564,33 @@ public final class FileUtils {
         LOGGER.entering(CLASS, METHOD, file);
         validateExistingFile(file);
 
-        byte[] fileBytes = readFileToByteArray(file);
-        String result = computeHash(fileBytes);
+        String result;
+        try (FileInputStream fis = new FileInputStream(file)) {
+            result = computeHash(fis);
+        }
         LOGGER.exiting(CLASS, METHOD, result);
         return result;
     }
 
+    /**
+     * Compute the Base64-encoded hash for the remaining content of the specified input stream.  The content
+     * is digested as it is read so that large files are never held in memory.  The caller must close the stream.
+     *
+     * @param input the input stream to use
+     * @return the Base64-encoded hash
+     * @throws IOException if an error occurs reading the input stream
+     * @throws NoSuchAlgorithmException if an error occurs obtaining the hashing algorithm
+     */
+    public static String computeHash(InputStream input) throws IOException, NoSuchAlgorithmException {
+        MessageDigest messageDigest = getHashDigest();
+        byte[] readBuffer = new byte[HASH_BUFFER_SIZE];
+        int bytesRead;
+        while ((bytesRead = input.read(readBuffer)) >= 0) {
+            messageDigest.update(readBuffer, 0, bytesRead);
+        }
+        return encodeHash(messageDigest.digest());
+    }
+
     /**
      * Compute the Base64-encoded hash for the specified bytes.
      *
@@ -576,8 +599,28 @@ public final class FileUtils {
      * @throws NoSuchAlgorithmException if an error occurs obtaining the hashing algorithm
      */
     public static String computeHash(byte[] bytes) throws NoSuchAlgorithmException {
-        MessageDigest messageDigest = MessageDigest.getInstance("MD5");
+        MessageDigest messageDigest = getHashDigest();
         byte[] hash = messageDigest.digest(bytes);
+        return encodeHash(hash);
+    }
+
+    /**
+     * Get a new instance of the digest used by the computeHash() methods.
+     *
+     * @return the digest
+     * @throws NoSuchAlgorithmException if an error occurs obtaining the hashing algorithm
+     */
+    static MessageDigest getHashDigest() throws NoSuchAlgorithmException {
+        return MessageDigest.getInstance(HASH_ALGORITHM);
+    }
+
+    /**
+     * Encode a digest value in the same form as the computeHash() methods.
+     *
+     * @param hash the digest value
+     * @return the Base64-encoded hash
+     */
+    static String encodeHash(byte[] hash) {
         return DatatypeConverter.printBase64Binary(hash);
     }
 
@@ -0,0 +1,370 @@
+/*
+ * Copyright (c) 2022, Oracle Corporation and/or its affiliates.  All rights reserved.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package oracle.weblogic.deploy.util;
+
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.python.core.PyObject;
+
+/**
+ * A compact, insertion-ordered hash table of Python keys and values, used as the storage for PyOrderedDict.
+ * <p>
+ * The keys and values are kept in dense arrays in insertion order, and an open-addressing index array maps
+ * the hash of each key to its position in the dense arrays.  There is no entry object per key.  Removed
+ * entries leave a null slot in the dense arrays, and the slots are reclaimed when the arrays are next resized.
+ * The arrays are allocated when the first entry is added.
+ * <p>
+ * A copy of the table shares the key and index arrays with the original, and has its own values array.
+ * Both tables copy the shared arrays before they add or remove a key, so replacing values in a copied
+ * dictionary, which is the common case, never copies the key structure.
+ * <p>
+ * This class is not thread safe.
+ */
+final class OrderedEntryTable implements Iterable<PyObject>, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private static final int INITIAL_CAPACITY = 8;
+    private static final int EMPTY = 0;
+    private static final int REMOVED = -1;
+    private static final int HASH_MULTIPLIER = 0x9E3779B9;
+
+    // the keys and values in insertion order, with null for removed entries
+    private PyObject[] keys;
+    private PyObject[] values;
+
+    // the position of each entry in the dense arrays plus one, or EMPTY or REMOVED
+    private int[] index;
+
+    // the shift that reduces a scrambled hash to an index slot
+    private int indexShift;
+
+    // the number of slots used in the dense arrays, including removed entries
+    private int used;
+
+    // the number of entries
+    private int size;
+
+    // whether the keys and index arrays are shared with another table
+    private boolean keysShared;
+
+    /**
+     * Get the number of entries.
+     *
+     * @return the number of entries
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Get the value for a key.
+     *
+     * @param key the key
+     * @return the value, or null if the key is not in the table
+     */
+    PyObject get(PyObject key) {
+        if (size == 0) {
+            return null;
+        }
+        int slot = findIndexSlot(key);
+        return slot < 0 ? null : values[index[slot] - 1];
+    }
+
+    /**
+     * Set the value for a key.  A new key is added after the existing keys,
+     * and an existing key keeps its position.
+     *
+     * @param key the key
+     * @param value the value
+     */
+    void put(PyObject key, PyObject value) {
+        if (size > 0) {
+            int slot = findIndexSlot(key);
+            if (slot >= 0) {
+                values[index[slot] - 1] = value;
+                return;
+            }
+        }
+        if (keys == null) {
+            resize(INITIAL_CAPACITY);
+        } else if (used == keys.length) {
+            // reclaim the removed slots if that frees a quarter of the arrays, otherwise grow them
+            resize(size < used - (used >> 2) ? keys.length : keys.length << 1);
+        } else if (keysShared) {
+            resize(keys.length);
+        }
+        keys[used] = key;
+        values[used] = value;
+        insertIndex(key, used);
+        used++;
+        size++;
+    }
+
+    /**
+     * Remove a key and its value from the table.
+     *
+     * @param key the key
+     * @return true if the key was removed, false if it was not in the table
+     */
+    boolean remove(PyObject key) {
+        if (size == 0) {
+            return false;
+        }
+        int slot = findIndexSlot(key);
+        if (slot < 0) {
+            return false;
+        }
+        if (keysShared) {
+            // the removed slots are reclaimed by the copy, so the index slot must be found again
+            resize(keys.length);
+            slot = findIndexSlot(key);
+        }
+        int position = index[slot] - 1;
+        keys[position] = null;
+        values[position] = null;
+        index[slot] = REMOVED;
+        size--;
+        if (size == 0) {
+            clear();
+        }
+        return true;
+    }
+
+    /**
+     * Get the most recently added key.
+     *
+     * @return the last key, or null if the table is empty
+     */
+    PyObject lastKey() {
+        for (int i = used - 1; i >= 0; i--) {
+            if (keys[i] != null) {
+                return keys[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Remove all of the entries, and release the arrays.
+     */
+    void clear() {
+        keys = null;
+        values = null;
+        index = null;
+        used = 0;
+        size = 0;
+        keysShared = false;
+    }
+
+    /**
+     * Create a table with the same keys, sharing the key structure with this table.
+     * The values of the new table are null, and are set by the caller with setValueAt().
+     *
+     * @return the new table
+     */
+    OrderedEntryTable copyKeys() {
+        OrderedEntryTable result = new OrderedEntryTable();
+        if (size > 0) {
+            result.keys = keys;
+            result.index = index;
+            result.indexShift = indexShift;
+            result.used = used;
+            result.size = size;
+            result.values = new PyObject[keys.length];
+            result.keysShared = true;
+            keysShared = true;
+        }
+        return result;
+    }
+
+    /**
+     * Create a table with the same keys and values, sharing the key structure with this table.
+     *
+     * @return the new table
+     */
+    OrderedEntryTable copy() {
+        OrderedEntryTable result = copyKeys();
+        if (size > 0) {
+            System.arraycopy(values, 0, result.values, 0, used);
+        }
+        return result;
+    }
+
+    /**
+     * Get the number of positions in the dense arrays, including the positions of removed entries.
+     * The positions from 0 to this number may be passed to keyAt(), valueAt() and setValueAt().
+     *
+     * @return the number of positions
+     */
+    int positions() {
+        return used;
+    }
+
+    /**
+     * Get the key at a position.
+     *
+     * @param position the position
+     * @return the key, or null if the entry at the position was removed
+     */
+    PyObject keyAt(int position) {
+        return keys[position];
+    }
+
+    /**
+     * Get the value at a position.
+     *
+     * @param position the position
+     * @return the value, or null if the entry at the position was removed
+     */
+    PyObject valueAt(int position) {
+        return values[position];
+    }
+
+    /**
+     * Set the value at a position that holds a key.
+     *
+     * @param position the position
+     * @param value the value
+     */
+    void setValueAt(int position, PyObject value) {
+        values[position] = value;
+    }
+
+    /**
+     * Get the keys in insertion order.
+     *
+     * @return a new array of the keys
+     */
+    PyObject[] keysArray() {
+        return compact(keys);
+    }
+
+    /**
+     * Get the values in the insertion order of their keys.
+     *
+     * @return a new array of the values
+     */
+    PyObject[] valuesArray() {
+        return compact(values);
+    }
+
+    /**
+     * Get an iterator over the keys in insertion order.  The iterator does not fail if the table is changed,
+     * it skips keys that are removed, and does not return keys that are added after it was created.
+     *
+     * @return the iterator
+     */
+    @Override
+    public Iterator<PyObject> iterator() {
+        return new KeyIterator(keys, used);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Private Helper Methods                                                //
+    ///////////////////////////////////////////////////////////////////////////
+
+    private PyObject[] compact(PyObject[] slots) {
+        PyObject[] result = new PyObject[size];
+        int count = 0;
+        for (int i = 0; i < used; i++) {
+            if (keys[i] != null) {
+                result[count++] = slots[i];
+            }
+        }
+        return result;
+    }
+
+    // Copy the entries into new arrays of the specified capacity, dropping the removed slots, and rebuild
+    // the index.  The old arrays are left as they were, for any iterators that are using them.
+    //
+    private void resize(int capacity) {
+        PyObject[] newKeys = new PyObject[capacity];
+        PyObject[] newValues = new PyObject[capacity];
+        int count = 0;
+        for (int i = 0; i < used; i++) {
+            if (keys[i] != null) {
+                newKeys[count] = keys[i];
+                newValues[count] = values[i];
+                count++;
+            }
+        }
+        keys = newKeys;
+        values = newValues;
+        keysShared = false;
+        used = count;
+        index = new int[capacity << 1];
+        indexShift = Integer.numberOfLeadingZeros(index.length) + 1;
+        for (int i = 0; i < used; i++) {
+            insertIndex(keys[i], i);
+        }
+    }
+
+    private void insertIndex(PyObject key, int position) {
+        int mask = index.length - 1;
+        int slot = indexSlot(key);
+        while (index[slot] > EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        index[slot] = position + 1;
+    }
+
+    private int findIndexSlot(PyObject key) {
+        int mask = index.length - 1;
+        int slot = indexSlot(key);
+        int entry;
+        while ((entry = index[slot]) != EMPTY) {
+            if (entry != REMOVED) {
+                PyObject candidate = keys[entry - 1];
+                if (candidate == key || candidate.equals(key)) {
+                    return slot;
+                }
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    // Keys such as server names often have consecutive hash codes, which would fill runs of adjacent
+    // slots and make the probes long, so the hash is scrambled before it is reduced to a slot.
+    //
+    private int indexSlot(PyObject key) {
+        return (key.hashCode() * HASH_MULTIPLIER) >>> indexShift;
+    }
+
+    private static final class KeyIterator implements Iterator<PyObject> {
+        private final PyObject[] keys;
+        private final int end;
+        private int position;
+
+        private KeyIterator(PyObject[] keys, int end) {
+            this.keys = keys;
+            this.end = end;
+        }
+
+        @Override
+        public boolean hasNext() {
+            // skip the slots of removed keys
+            while (position < end && keys[position] == null) {
+                position++;
+            }
+            return position < end;
+        }
+
+        @Override
+        public PyObject next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return keys[position++];
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
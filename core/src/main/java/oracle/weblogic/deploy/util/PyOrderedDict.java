@@ -6,12 +6,7 @@ package oracle.weblogic.deploy.util;
 
 import java.io.IOException;
 import java.io.ObjectInputStream;
-import java.util.Collection;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
-import java.util.Map;
-import java.util.Set;
 
 import oracle.weblogic.deploy.exception.ExceptionHelper;
 import oracle.weblogic.deploy.logging.PlatformLogger;
@@ -19,8 +14,11 @@ import oracle.weblogic.deploy.logging.WLSDeployLogFactory;
 
 import org.python.core.Py;
 import org.python.core.PyDictionary;
+import org.python.core.PyFloat;
+import org.python.core.PyInteger;
 import org.python.core.PyIterator;
 import org.python.core.PyList;
+import org.python.core.PyLong;
 import org.python.core.PyObject;
 import org.python.core.PyString;
 import org.python.core.PyTuple;
@@ -29,22 +27,31 @@ import org.python.core.ThreadState;
 
 /**
  * A basic implementation of a Python dictionary that preserves order.
+ * <p>
+ * The entries are stored in a compact OrderedEntryTable, which serves all of the reads without locking.
+ * The PyDictionary table holds the same references, because Jython reads it directly when another
+ * dictionary is created or updated from this one.  The comment map is created only when it is needed.
+ * <p>
+ * Copies of the dictionary, including deep copies, share the key structure of the entry table with the
+ * original until either one adds or removes a key, and share the values that are immutable.
+ * <p>
+ * Like the Python dictionaries in the model, this class does not lock its contents.  A dictionary that is
+ * built by one thread must be handed off before another thread reads or changes it.
  */
 public final class PyOrderedDict extends PyDictionary implements Iterable<PyObject> {
-    private static final long serialVersionUID = 1L;
+    private static final long serialVersionUID = 2L;
 
     private static final PlatformLogger LOGGER = WLSDeployLogFactory.getLogger("wlsdeploy.util");
 
-    private final LinkedHashMap<PyObject, PyObject> linkedHashMap;
+    private final OrderedEntryTable entryTable;
 
-    private final CommentMap commentMap = new CommentMap();
+    private CommentMap commentMap;
 
     /**
      * The no-args constructor.
      */
     public PyOrderedDict() {
-        super(PyType.fromClass(PyOrderedDict.class));
-        this.linkedHashMap = new LinkedHashMap<>();
+        this(new OrderedEntryTable());
     }
 
     /**
@@ -53,9 +60,13 @@ public final class PyOrderedDict extends PyDictionary implements Iterable<PyObje
      * @param other the object to copy
      */
     public PyOrderedDict(PyOrderedDict other) {
-        this();
-        super.update(other);
-        update(other);
+        this(other.entryTable.copy());
+        copyTableEntries();
+    }
+
+    private PyOrderedDict(OrderedEntryTable entryTable) {
+        super(PyType.fromClass(PyOrderedDict.class));
+        this.entryTable = entryTable;
     }
 
     /**
@@ -103,8 +114,8 @@ public final class PyOrderedDict extends PyDictionary implements Iterable<PyObje
             result = -2;
         } else {
             other = (PyOrderedDict) ob_other;
-            int an = this.linkedHashMap.size();
-            int bn = other.linkedHashMap.size();
+            int an = this.entryTable.size();
+            int bn = other.entryTable.size();
             if (an < bn) {
                 result = -1;
             } else if (an > bn) {
@@ -121,7 +132,7 @@ public final class PyOrderedDict extends PyDictionary implements Iterable<PyObje
         akeys.sort();
         bkeys.sort();
 
-        for (int i = 0; i < other.linkedHashMap.size(); i++) {
+        for (int i = 0; i < other.entryTable.size(); i++) {
             PyObject akey = akeys.pyget(i);
             PyObject bkey = bkeys.pyget(i);
             int c = akey._cmp(bkey);
@@ -179,19 +190,13 @@ public final class PyOrderedDict extends PyDictionary implements Iterable<PyObje
                     PyDictionary.class.getName());
             throw Py.TypeError(message);
         }
-        PyOrderedDict newPyOrderedDict = new PyOrderedDict();
-
         // Use value returned from Py.idstr(this) as the key for the entry
         // we add to memo dictionary, which was passed to us by reference.
         // Doing this avoids excessive copying, when the object itself is
         // referenced from one of it's attributes.
+        PyOrderedDict newPyOrderedDict = new PyOrderedDict(entryTable.copyKeys());
         memoDict.__setitem__(new PyString(Py.idstr(this)), newPyOrderedDict);
-
-        for (Map.Entry<PyObject, PyObject> entry : linkedHashMap.entrySet()) {
-            PyObject newKey = doDeepCopy(entry.getKey(), memo);
-            PyObject newValue = doDeepCopy(entry.getValue(), memo);
-            newPyOrderedDict.__setitem__(newKey, newValue);
-        }
+        newPyOrderedDict.deepCopyValues(this, memo);
         return newPyOrderedDict;
     }
 
@@ -200,11 +205,8 @@ public final class PyOrderedDict extends PyDictionary implements Iterable<PyObje
      */
     @Override
     public void __delitem__(PyObject key) {
-        synchronized (this.linkedHashMap){
-            PyObject ret = this.linkedHashMap.remove(key);
-            if (ret == null) {
-                throw Py.KeyError(key.toString());
-            }
+        if (!this.entryTable.remove(key)) {
+            throw Py.KeyError(key.toString());
         }
         super.__delitem__(key);
     }
@@ -220,8 +222,8 @@ public final class PyOrderedDict extends PyDictionary implements Iterable<PyObje
 
         PyObject result = Py.One;
         PyOrderedDict other = (PyOrderedDict)ob_other;
-        int an = this.linkedHashMap.size();
-        int bn = other.linkedHashMap.size();
+        int an = this.entryTable.size();
+        int bn = other.entryTable.size();
         if (an != bn) {
             result = Py.Zero;
         } else {
@@ -257,7 +259,7 @@ public final class PyOrderedDict extends PyDictionary implements Iterable<PyObje
      */
     @Override
     public PyObject __iter__(){
-        return new PyOrderedDictIter(this, this.linkedHashMap.keySet(), PyOrderedDictIter.KEYS);
+        return new PyOrderedDictIter(this, this.entryTable, PyOrderedDictIter.KEYS);
     }
 
     /**
@@ -265,7 +267,7 @@ public final class PyOrderedDict extends PyDictionary implements Iterable<PyObje
      */
     @Override
     public int __len__() {
-        return this.linkedHashMap.size();
+        return this.entryTable.size();
     }
 
     /**
@@ -273,7 +275,7 @@ public final class PyOrderedDict extends PyDictionary implements Iterable<PyObje
      */
     @Override
     public boolean __nonzero__() {
-        return this.linkedHashMap.size() != 0;
+        return this.entryTable.size() != 0;
     }
 
     /**
@@ -281,12 +283,9 @@ public final class PyOrderedDict extends PyDictionary implements Iterable<PyObje
      */
     @Override
     public void __setitem__(PyObject key, PyObject value) {
-        synchronized (this.linkedHashMap) {
-            this.linkedHashMap.put(key, value);
-        }
+        this.entryTable.put(key, value);
         // do not access protected field directly.
         // 2.7 version does not have table variable.
-        // Neither version has synchronization on the table.
         super.__setitem__(key, value);
     }
 
@@ -295,7 +294,7 @@ public final class PyOrderedDict extends PyDictionary implements Iterable<PyObje
      */
     @Override
     public void clear() {
-        this.linkedHashMap.clear();
+        this.entryTable.clear();
         super.clear();
     }
 
@@ -304,9 +303,7 @@ public final class PyOrderedDict extends PyDictionary implements Iterable<PyObje
      */
     @Override
     public PyOrderedDict copy() {
-        PyOrderedDict newPyOrderedDict = new PyOrderedDict();
-        newPyOrderedDict.doUpdate(this);
-        return newPyOrderedDict;
+        return new PyOrderedDict(this);
     }
 
     /**
@@ -322,13 +319,8 @@ public final class PyOrderedDict extends PyDictionary implements Iterable<PyObje
      */
     @Override
     public PyObject get(PyObject key, PyObject default_object) {
-        // Cannot use getOrDefault() as this is a Java 8 method and
-        // the project is attempting to be compatible with Java 7...
-        PyObject result = default_object;
-        if (linkedHashMap.containsKey(key)) {
-            result = linkedHashMap.get(key);
-        }
-        return result;
+        PyObject result = this.entryTable.get(key);
+        return result == null ? default_object : result;
     }
 
     /**
@@ -336,7 +328,7 @@ public final class PyOrderedDict extends PyDictionary implements Iterable<PyObje
      */
     @Override
     public boolean has_key(PyObject key) {
-        return this.linkedHashMap.containsKey(key);
+        return this.entryTable.get(key) != null;
     }
 
     /**
@@ -344,12 +336,13 @@ public final class PyOrderedDict extends PyDictionary implements Iterable<PyObje
      */
     @Override
     public PyList items() {
-        Set<Map.Entry<PyObject, PyObject>> entries = this.linkedHashMap.entrySet();
-        java.util.Vector<PyObject> l = new java.util.Vector<>(entries.size());
-        for (Map.Entry<PyObject, PyObject> entry: entries) {
-            l.add(new PyTuple(new PyObject[] { entry.getKey(), entry.getValue() }));
+        PyObject[] keys = this.entryTable.keysArray();
+        PyObject[] values = this.entryTable.valuesArray();
+        PyObject[] items = new PyObject[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            items[i] = new PyTuple(new PyObject[] { keys[i], values[i] });
         }
-        return new PyList(l.toArray(new PyObject[0]));
+        return new PyList(items);
     }
 
     /**
@@ -357,7 +350,7 @@ public final class PyOrderedDict extends PyDictionary implements Iterable<PyObje
      */
     @Override
     public Iterator<PyObject> iterator(){
-        return new PyOrderedDictIter(this, this.linkedHashMap.keySet(), PyOrderedDictIter.ITEMS);
+        return new PyOrderedDictIter(this, this.entryTable, PyOrderedDictIter.ITEMS);
     }
 
     /**
@@ -365,7 +358,7 @@ public final class PyOrderedDict extends PyDictionary implements Iterable<PyObje
      */
     @Override
     public PyObject iterkeys() {
-        return new PyOrderedDictIter(this, this.linkedHashMap.keySet(), PyOrderedDictIter.KEYS);
+        return new PyOrderedDictIter(this, this.entryTable, PyOrderedDictIter.KEYS);
     }
 
     /**
@@ -373,7 +366,7 @@ public final class PyOrderedDict extends PyDictionary implements Iterable<PyObje
      */
     @Override
     public PyObject itervalues() {
-        return new PyOrderedDictIter(this, this.linkedHashMap.keySet(), PyOrderedDictIter.VALUES);
+        return new PyOrderedDictIter(this, this.entryTable, PyOrderedDictIter.VALUES);
     }
 
     /**
@@ -381,7 +374,7 @@ public final class PyOrderedDict extends PyDictionary implements Iterable<PyObje
      */
     @Override
     public PyObject iteritems() {
-        return new PyOrderedDictIter(this, this.linkedHashMap.keySet(), PyOrderedDictIter.ITEMS);
+        return new PyOrderedDictIter(this, this.entryTable, PyOrderedDictIter.ITEMS);
     }
 
     /**
@@ -389,10 +382,7 @@ public final class PyOrderedDict extends PyDictionary implements Iterable<PyObje
      */
     @Override
     public PyList keys() {
-        Set<PyObject> keys = this.linkedHashMap.keySet();
-        java.util.Vector<PyObject> v = new java.util.Vector<>(keys.size());
-        v.addAll(keys);
-        return new PyList(v.toArray(new PyObject[0]));
+        return new PyList(this.entryTable.keysArray());
     }
 
     /**
@@ -416,6 +406,42 @@ public final class PyOrderedDict extends PyDictionary implements Iterable<PyObje
         return val;
     }
 
+    /**
+     * {@inheritDoc}
+     * The most recently added entry is removed, as it is by the Python OrderedDict.
+     */
+    @Override
+    public PyObject popitem() {
+        PyObject key = this.entryTable.lastKey();
+        if (key == null) {
+            throw Py.KeyError("popitem(): dictionary is empty");
+        }
+        PyObject val = this.get(key);
+        this.__delitem__(key);
+        return new PyTuple(new PyObject[] { key, val });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PyObject setdefault(PyObject key) {
+        return this.setdefault(key, Py.None);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PyObject setdefault(PyObject key, PyObject failobj) {
+        PyObject result = this.entryTable.get(key);
+        if (result == null) {
+            this.__setitem__(key, failobj);
+            result = failobj;
+        }
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -426,12 +452,11 @@ public final class PyOrderedDict extends PyDictionary implements Iterable<PyObje
             return "{...}";
         }
 
-        Set<Map.Entry<PyObject, PyObject>> entries = this.linkedHashMap.entrySet();
         StringBuilder buf = new StringBuilder("{");
-        for (Map.Entry<PyObject, PyObject> entry: entries) {
-            buf.append((entry.getKey()).__repr__());
+        for (PyObject key : this.entryTable) {
+            buf.append(key.__repr__());
             buf.append(": ");
-            buf.append((entry.getValue()).__repr__());
+            buf.append(this.entryTable.get(key).__repr__());
             buf.append(", ");
         }
         if(buf.length() > 1){
@@ -473,22 +498,56 @@ public final class PyOrderedDict extends PyDictionary implements Iterable<PyObje
      * @return an ordered list of values
      */
     public PyList getValues() {
-        Collection<PyObject> values = this.linkedHashMap.values();
-        java.util.Vector<PyObject> v = new java.util.Vector<>(values.size());
-        v.addAll(values);
-        return new PyList(v.toArray(new PyObject[0]));
+        return new PyList(this.entryTable.valuesArray());
     }
 
     public CommentMap getCommentMap() {
+        if (commentMap == null) {
+            commentMap = new CommentMap();
+        }
         return commentMap;
     }
 
+    /**
+     * Return true if comments have been added to this dictionary, without creating the comment map.
+     * @return true if the comment map has been created
+     */
+    public boolean hasComments() {
+        return commentMap != null;
+    }
+
     public void addComment(String key, String comment) {
-        commentMap.addComment(key, comment);
+        getCommentMap().addComment(key, comment);
     }
 
     // private methods
 
+    // Add the entries of the entry table, which was copied from another dictionary, to the PyDictionary table.
+    //
+    private void copyTableEntries() {
+        for (int i = 0; i < entryTable.positions(); i++) {
+            PyObject key = entryTable.keyAt(i);
+            if (key != null) {
+                super.__setitem__(key, entryTable.valueAt(i));
+            }
+        }
+    }
+
+    // Set deep copies of the values from the original dictionary, whose keys were copied to the entry table.
+    // The keys are immutable, so they are shared with the original.
+    //
+    private void deepCopyValues(PyOrderedDict original, PyObject memo) {
+        OrderedEntryTable originalTable = original.entryTable;
+        for (int i = 0; i < originalTable.positions(); i++) {
+            PyObject key = originalTable.keyAt(i);
+            if (key != null) {
+                PyObject newValue = doDeepCopy(originalTable.valueAt(i), memo);
+                entryTable.setValueAt(i, newValue);
+                super.__setitem__(key, newValue);
+            }
+        }
+    }
+
     private static PyObject dictFromKeys(PyType type, PyObject keys, PyObject value) {
         if (value == null) {
             value = Py.None;
@@ -507,7 +566,6 @@ public final class PyOrderedDict extends PyDictionary implements Iterable<PyObje
         for (int i = 0; i < pylist.size(); i++) {
             PyTuple tuple = (PyTuple) pylist.get(i);
             this.__setitem__(Py.java2py(tuple.get(0)), Py.java2py(tuple.get(1)));
-            super.__setitem__(Py.java2py(tuple.get(0)), Py.java2py(tuple.get(1)));
         }
     }
 
@@ -519,6 +577,12 @@ public final class PyOrderedDict extends PyDictionary implements Iterable<PyObje
     }
 
     private static PyObject doDeepCopy(PyObject orig, PyObject memo) {
+        // most values are strings and other immutable types, which are shared with the original
+        if (orig instanceof PyString || orig instanceof PyInteger || orig instanceof PyLong
+            || orig instanceof PyFloat || orig instanceof PyRealBoolean || orig == Py.None) {
+            return orig;
+        }
+
         PyObject result;
         PyType origType = orig.getType();
 
@@ -599,13 +663,13 @@ public final class PyOrderedDict extends PyDictionary implements Iterable<PyObje
         private static final int ITEMS = 2;
 
         private PyObject orderedDict;
-        private Set<PyObject> dictKeys;
+        private OrderedEntryTable dictKeys;
         private int type;
-        private transient Iterator iter;
+        private transient Iterator<PyObject> iter;
 
-        private PyOrderedDictIter(PyObject orderedDict, Set<PyObject> dictKeys, int type) {
+        private PyOrderedDictIter(PyObject orderedDict, OrderedEntryTable dictKeys, int type) {
             this.orderedDict = orderedDict;
-            this.dictKeys = new LinkedHashSet<>(dictKeys);
+            this.dictKeys = dictKeys;
             this.type = type;
             this.iter = dictKeys.iterator();
         }
@@ -633,7 +697,7 @@ public final class PyOrderedDict extends PyDictionary implements Iterable<PyObje
         public PyObject next() {
             PyObject result = null;
             if (hasNext()) {
-                PyObject key = (PyObject) this.iter.next();
+                PyObject key = this.iter.next();
                 switch (type) {
                     case VALUES:
                         result = orderedDict.__finditem__(key);
@@ -0,0 +1,358 @@
+/*
+ * Copyright (c) 2022, Oracle Corporation and/or its affiliates.  All rights reserved.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package oracle.weblogic.deploy.util;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import oracle.weblogic.deploy.logging.PlatformLogger;
+import oracle.weblogic.deploy.logging.WLSDeployLogFactory;
+
+import org.python.core.Py;
+import org.python.core.PyDictionary;
+import org.python.core.PyList;
+import org.python.core.PyObject;
+import org.python.core.PyString;
+import org.python.core.PyUnicode;
+
+/**
+ * Substitutes the @@PROP:name@@, @@ENV:name@@, @@SECRET:name:key@@ and @@FILE:path@@ tokens in a model.
+ * <p>
+ * The model is walked once, in place.  Each string that contains @@ is scanned once from left to right, and
+ * each token is replaced with its value.  The values of @@FILE@@ tokens and secrets are cached, so each file
+ * is read once.
+ * <p>
+ * The Python substitution makes a separate pass for each token type, so a value that contains a token, a
+ * nested token such as @@FILE:/dir/@@PROP:name@@.txt@@, or tokens that share their @@ delimiters can give
+ * different results than a single pass.  Strings like those, and strings with tokens that cannot be resolved
+ * or have invalid syntax, are passed to the Python fallback function instead, so that they are substituted,
+ * and their errors are reported, exactly as before.  A string is only substituted here if each @ in it is
+ * part of the delimiters of a token that is resolved to a value without any @.
+ */
+public class VariableTokenSubstituter {
+    private static final String CLASS = VariableTokenSubstituter.class.getName();
+    private static final PlatformLogger LOGGER = WLSDeployLogFactory.getLogger("wlsdeploy.variables");
+
+    private static final String TOKEN_DELIMITER = "@@";
+    private static final String PROPERTY_TYPE = "PROP:";
+    private static final String ENVIRONMENT_TYPE = "ENV:";
+    private static final String SECRET_TYPE = "SECRET:";
+    private static final String FILE_TYPE = "FILE:";
+    private static final String[] TOKEN_TYPES = { PROPERTY_TYPE, ENVIRONMENT_TYPE, SECRET_TYPE, FILE_TYPE };
+
+    private final PyObject variables;
+    private final PyObject environment;
+    private final PyObject secretResolver;
+    private final PyObject fallback;
+
+    private final Map<String, PyObject> secretCache = new HashMap<>();
+    private final Map<String, String> fileCache = new HashMap<>();
+
+    private int substitutedCount = 0;
+    private int fallbackCount = 0;
+
+    /**
+     * Create a substituter for the specified variables and lookups.
+     *
+     * @param variables      the dictionary of variables for @@PROP@@ tokens, or None
+     * @param environment    the dictionary of environment variables for @@ENV@@ tokens
+     * @param secretResolver a function that takes the name and key of a secret, and returns its value or None
+     * @param fallback       a function that takes the text and attribute name (or None), substitutes the tokens
+     *                       in the text with the Python implementation, and returns the result
+     */
+    public VariableTokenSubstituter(PyObject variables, PyObject environment, PyObject secretResolver,
+                                    PyObject fallback) {
+        this.variables = variables;
+        this.environment = environment;
+        this.secretResolver = secretResolver;
+        this.fallback = fallback;
+    }
+
+    /**
+     * Substitute the tokens in the keys and values of the dictionary and its child dictionaries.
+     * Only strings that are dictionary keys, dictionary values or list elements are substituted.
+     *
+     * @param dictionary the model dictionary, which is updated in place
+     */
+    public void substituteModel(PyDictionary dictionary) {
+        final String METHOD = "substituteModel";
+        LOGGER.entering(CLASS, METHOD);
+
+        processDictionary(dictionary);
+
+        LOGGER.fine("WLSDPLY-01747", substitutedCount, fallbackCount);
+        LOGGER.exiting(CLASS, METHOD);
+    }
+
+    /**
+     * Substitute the tokens in a text value.
+     *
+     * @param text          the text value
+     * @param attributeName the name of the attribute for error messages, or None
+     * @return the substituted text, or the same text if there are no tokens
+     */
+    public PyObject substitute(PyObject text, PyObject attributeName) {
+        String value = text.toString();
+        if (value.indexOf(TOKEN_DELIMITER) < 0) {
+            return text;
+        }
+
+        PyObject result = substituteTokens(value, text instanceof PyUnicode);
+        if (result == null) {
+            fallbackCount++;
+            result = fallback.__call__(text, attributeName == null ? Py.None : attributeName);
+        } else {
+            substitutedCount++;
+        }
+        return result;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Private Helper Methods                                                //
+    ///////////////////////////////////////////////////////////////////////////
+
+    private void processDictionary(PyDictionary dictionary) {
+        List<PyObject[]> renamedKeys = null;
+
+        PyObject iterator = dictionary.__iter__();
+        for (PyObject key = iterator.__iternext__(); key != null; key = iterator.__iternext__()) {
+            PyObject value = dictionary.__finditem__(key);
+
+            // replacing the values of existing keys is safe while iterating, so key changes are made afterwards
+            PyObject newKey = key;
+            if (key instanceof PyString) {
+                newKey = substitute(key, null);
+                if (newKey != key) {
+                    if (renamedKeys == null) {
+                        renamedKeys = new ArrayList<>();
+                    }
+                    renamedKeys.add(new PyObject[] { key, newKey });
+                }
+            }
+
+            if (value instanceof PyDictionary) {
+                processDictionary((PyDictionary) value);
+            } else if (value instanceof PyList) {
+                processList((PyList) value, key);
+            } else if (value instanceof PyString) {
+                PyObject newValue = substitute(value, key);
+                if (newValue != value) {
+                    dictionary.__setitem__(key, newValue);
+                }
+            }
+        }
+
+        if (renamedKeys != null) {
+            for (PyObject[] renamedKey : renamedKeys) {
+                PyObject value = dictionary.__finditem__(renamedKey[0]);
+                dictionary.__delitem__(renamedKey[0]);
+                dictionary.__setitem__(renamedKey[1], value);
+            }
+        }
+    }
+
+    private void processList(PyList list, PyObject attributeName) {
+        int size = list.__len__();
+        for (int i = 0; i < size; i++) {
+            PyObject member = list.__getitem__(i);
+            if (member instanceof PyString) {
+                PyObject newMember = substitute(member, attributeName);
+                if (newMember != member) {
+                    list.__setitem__(i, newMember);
+                }
+            }
+        }
+    }
+
+    // Returns the substituted text, or null if the text must be substituted by the fallback function.
+    //
+    private PyObject substituteTokens(String text, boolean isUnicode) {
+        StringBuilder result = new StringBuilder(text.length());
+        boolean unicodeResult = isUnicode;
+        int position = 0;
+        int at;
+        while ((at = text.indexOf('@', position)) >= 0) {
+            int end = findTokenEnd(text, at);
+            if (end < 0 || startsToken(text, end - TOKEN_DELIMITER.length())) {
+                return null;
+            }
+
+            PyObject value = resolveToken(text, at, end);
+            if (!(value instanceof PyString) || value.toString().indexOf('@') >= 0) {
+                return null;
+            }
+            unicodeResult |= value instanceof PyUnicode;
+
+            result.append(text, position, at);
+            result.append(value.toString());
+            position = end;
+        }
+        result.append(text, position, text.length());
+
+        return unicodeResult ? Py.newUnicode(result.toString()) : Py.newString(result.toString());
+    }
+
+    private PyObject resolveToken(String text, int start, int end) {
+        int typeStart = start + TOKEN_DELIMITER.length();
+        int nameEnd = end - TOKEN_DELIMITER.length();
+        if (text.startsWith(PROPERTY_TYPE, typeStart)) {
+            String name = text.substring(typeStart + PROPERTY_TYPE.length(), nameEnd);
+            return lookup(variables, name);
+
+        } else if (text.startsWith(ENVIRONMENT_TYPE, typeStart)) {
+            String name = text.substring(typeStart + ENVIRONMENT_TYPE.length(), nameEnd);
+            return lookup(environment, name);
+
+        } else if (text.startsWith(SECRET_TYPE, typeStart)) {
+            String secretToken = text.substring(typeStart + SECRET_TYPE.length(), nameEnd);
+            return resolveSecret(secretToken);
+
+        } else {
+            String path = text.substring(typeStart + FILE_TYPE.length(), nameEnd);
+            String value = readFile(path);
+            return value == null ? null : Py.newString(value);
+        }
+    }
+
+    private static PyObject lookup(PyObject dictionary, String name) {
+        if (dictionary == null || dictionary == Py.None) {
+            return null;
+        }
+        return dictionary.__finditem__(Py.newString(name));
+    }
+
+    private PyObject resolveSecret(String secretToken) {
+        if (secretCache.containsKey(secretToken)) {
+            return secretCache.get(secretToken);
+        }
+        int separator = secretToken.indexOf(':');
+        PyObject value = secretResolver.__call__(Py.newString(secretToken.substring(0, separator)),
+            Py.newString(secretToken.substring(separator + 1)));
+        secretCache.put(secretToken, value);
+        return value;
+    }
+
+    // Read the first line of the file, stripped as the Python implementation does.  Files that cannot be
+    // read, and lines that the Python str() function may not convert, are left to the fallback function.
+    //
+    private String readFile(String path) {
+        if (fileCache.containsKey(path)) {
+            return fileCache.get(path);
+        }
+
+        String value = null;
+        try (BufferedReader reader = new BufferedReader(new FileReader(path))) {
+            String line = reader.readLine();
+            value = line == null ? "" : strip(line);
+            for (int i = 0; i < value.length(); i++) {
+                if (value.charAt(i) > 127) {
+                    value = null;
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.finest("WLSDPLY-01733", path, e.getLocalizedMessage());
+        }
+        fileCache.put(path, value);
+        return value;
+    }
+
+    // Returns the end of the token that starts at the position, or -1 if there is no token with valid syntax.
+    //
+    private static int findTokenEnd(String text, int start) {
+        if (!text.startsWith(TOKEN_DELIMITER, start)) {
+            return -1;
+        }
+        int typeStart = start + TOKEN_DELIMITER.length();
+        if (text.startsWith(PROPERTY_TYPE, typeStart)) {
+            return findNameEnd(text, typeStart + PROPERTY_TYPE.length(), false);
+
+        } else if (text.startsWith(ENVIRONMENT_TYPE, typeStart)) {
+            return findNameEnd(text, typeStart + ENVIRONMENT_TYPE.length(), false);
+
+        } else if (text.startsWith(SECRET_TYPE, typeStart)) {
+            int keyStart = findNameEnd(text, typeStart + SECRET_TYPE.length(), true);
+            return keyStart < 0 ? -1 : findNameEnd(text, keyStart, false);
+
+        } else if (text.startsWith(FILE_TYPE, typeStart)) {
+            int position = typeStart + FILE_TYPE.length();
+            while (position < text.length() && isPathCharacter(text.charAt(position))) {
+                position++;
+            }
+            return findDelimiterEnd(text, typeStart + FILE_TYPE.length(), position);
+        }
+        return -1;
+    }
+
+    // Find the end of a [\w.-]+ name, and of the ':' or "@@" that follows it.
+    //
+    private static int findNameEnd(String text, int nameStart, boolean colonFollows) {
+        int position = nameStart;
+        while (position < text.length() && isNameCharacter(text.charAt(position))) {
+            position++;
+        }
+        if (colonFollows) {
+            boolean found = position > nameStart && position < text.length() && text.charAt(position) == ':';
+            return found ? position + 1 : -1;
+        }
+        return findDelimiterEnd(text, nameStart, position);
+    }
+
+    private static int findDelimiterEnd(String text, int nameStart, int nameEnd) {
+        if (nameEnd > nameStart && text.startsWith(TOKEN_DELIMITER, nameEnd)) {
+            return nameEnd + TOKEN_DELIMITER.length();
+        }
+        return -1;
+    }
+
+    // Does a token type follow the delimiter at the position?  The Python patterns could match
+    // a token there that shares the delimiter with the preceding token.
+    //
+    private static boolean startsToken(String text, int position) {
+        int typeStart = position + TOKEN_DELIMITER.length();
+        for (String tokenType : TOKEN_TYPES) {
+            if (text.startsWith(tokenType, typeStart)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // The ASCII characters of the Python pattern [\w.-], since the patterns do not use the UNICODE flag
+    //
+    private static boolean isNameCharacter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == '.'
+            || c == '-';
+    }
+
+    // The ASCII characters of the Python pattern [\w.\\/:-]
+    //
+    private static boolean isPathCharacter(char c) {
+        return isNameCharacter(c) || c == '\\' || c == '/' || c == ':';
+    }
+
+    private static String strip(String text) {
+        int start = 0;
+        int end = text.length();
+        while (start < end && isWhitespace(text.charAt(start))) {
+            start++;
+        }
+        while (end > start && isWhitespace(text.charAt(end - 1))) {
+            end--;
+        }
+        return text.substring(start, end);
+    }
+
+    // The characters stripped by the Python str.strip() method
+    //
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\u000b' || c == '\f';
+    }
+}
@@ -12,8 +12,10 @@ import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 import java.util.jar.JarFile;
 import java.util.jar.Manifest;
 import java.util.zip.ZipEntry;
@@ -140,6 +142,10 @@ public class WLSDeployArchive {
 
     private boolean hasArchive = true;
 
+    // The number of threads used to extract multiple files, where zero or less means one per processor.
+    //
+    private int extractThreadCount = 1;
+
     /**
      * Constructor for a JCSLifecycleArchive, which hides the details of the bundle generated by export domain.
      *
@@ -172,6 +178,27 @@ public class WLSDeployArchive {
         return new WLSDeployArchive();
     }
 
+    /**
+     * Get the maximum number of threads used to extract multiple files from the archive.
+     *
+     * @return the number of extraction threads, where zero or less means one thread per processor
+     */
+    public int getExtractThreadCount() {
+        return extractThreadCount;
+    }
+
+    /**
+     * Set the maximum number of threads used to extract multiple files from the archive, such as the
+     * classpath libraries, the custom files or the contents of a directory.  The default is one, which
+     * extracts the files one at a time on the calling thread.
+     *
+     * @param extractThreadCount the number of extraction threads, or zero or less to use one thread per
+     *                           processor, up to a limit of 8
+     */
+    public void setExtractThreadCount(int extractThreadCount) {
+        this.extractThreadCount = extractThreadCount;
+    }
+
     /**
      * Return True if an archive file is to be generated during the discover tool
      * @return False if no archive file will be generated
@@ -358,8 +385,7 @@ public class WLSDeployArchive {
         boolean result = false;
         // Verify that the path is into the binary root directory so that we do not allow random content.
         if (isPathIntoArchive(path)) {
-            List<String> entries = getZipFile().listZipEntries();
-            result = entries.contains(path);
+            result = getZipFile().containsZipEntry(path);
         }
         LOGGER.exiting(CLASS, METHOD, result);
         return result;
@@ -382,8 +408,7 @@ public class WLSDeployArchive {
         boolean result = false;
         // Verify that the path is into the binary root directory so that we do not allow random content.
         if (isPathIntoArchive(path)) {
-            List<String> entries = getZipFile().listZipEntries();
-            result = !entries.contains(path) && zipListContainsPath(entries, path);
+            result = !getZipFile().containsZipEntry(path) && !getZipFile().listZipEntries(path).isEmpty();
         }
         LOGGER.exiting(CLASS, METHOD, result);
         return result;
@@ -407,8 +432,7 @@ public class WLSDeployArchive {
         boolean result = false;
         // Verify that the path is into the binary root directory so that we do not allow random content.
         if (isPathIntoArchive(path)) {
-            List<String> entries = getZipFile().listZipEntries();
-            result = entries.contains(path) || zipListContainsPath(entries, path);
+            result = !getZipFile().listZipEntries(path).isEmpty();
         }
         LOGGER.exiting(CLASS, METHOD, result);
         return result;
@@ -448,6 +472,46 @@ public class WLSDeployArchive {
         return result;
     }
 
+    /**
+     * Extract the specified files to the specified location (which is typically the domain home), using
+     * up to the number of threads specified by setExtractThreadCount().  Each file is written to the same
+     * location as extractFile(path, extractToLocation) would write it.
+     *
+     * @param paths             the paths into the archive file to extract
+     * @param extractToLocation the base directory to which to write the extracted files
+     * @return the canonical extracted file names, in the same order as the paths
+     * @throws WLSDeployArchiveIOException if a path is not in the archive, or an error occurs reading the archive
+     *                                     or writing the files
+     * @throws IllegalArgumentException    if a path is null or empty or the extractToLocation
+     *                                     was not a valid, existing directory
+     */
+    public List<String> extractFiles(List<String> paths, File extractToLocation) throws WLSDeployArchiveIOException {
+        final String METHOD = "extractFiles";
+
+        LOGGER.entering(CLASS, METHOD, paths, extractToLocation);
+        validateExistingDirectory(extractToLocation, "extractToLocation", getArchiveFileName(), METHOD);
+
+        List<String> result = new ArrayList<>();
+        Set<String> uniquePaths = new HashSet<>();
+        ZipEntryExtractor extractor = new ZipEntryExtractor(getZipFile(), getArchiveFileName(), extractThreadCount);
+        for (String path : paths) {
+            validateNonEmptyString(path, "path", METHOD);
+            File targetFile = new File(extractToLocation, path);
+            if (!isPathIntoArchive(path) || path.endsWith(ZIP_SEP) ||
+                (uniquePaths.add(path) && !extractor.addEntry(path, targetFile))) {
+                WLSDeployArchiveIOException aioe =
+                    new WLSDeployArchiveIOException("WLSDPLY-01403", path, getArchiveFileName());
+                LOGGER.throwing(CLASS, METHOD, aioe);
+                throw aioe;
+            }
+            result.add(FileUtils.getCanonicalFile(targetFile).getAbsolutePath());
+        }
+        extractor.extract();
+
+        LOGGER.exiting(CLASS, METHOD, result);
+        return result;
+    }
+
     /**
      * Extract the specified file to the specified location.
      *
@@ -528,44 +592,69 @@ public class WLSDeployArchive {
             throw aioe;
         }
 
-        Map<String, InputStream> zipEntries = getZipFile().getZipEntries(path);
-        if (zipEntries.isEmpty() || !zipEntries.containsKey(path)) {
+        InputStream inputStream = getZipFile().getZipEntry(path);
+        if (inputStream == null) {
             WLSDeployArchiveIOException aioe =
                 new WLSDeployArchiveIOException("WLSDPLY-01406", getArchiveFileName(), path);
             LOGGER.throwing(CLASS, METHOD, aioe);
-            closeMapInputStreams(zipEntries);
-            getZipFile().close();
             throw aioe;
         }
 
-        byte[] fileBytes;
-        try {
-            fileBytes = FileUtils.readInputStreamToByteArray(zipEntries.get(path));
-        } catch (IOException ioe) {
-            WLSDeployArchiveIOException aioe =
-                new WLSDeployArchiveIOException("WLSDPLY-01407", ioe, getArchiveFileName(), path,
-                    ioe.getLocalizedMessage());
-            LOGGER.throwing(CLASS, METHOD, aioe);
-            throw aioe;
-        } finally {
-            closeMapInputStreams(zipEntries);
-            getZipFile().close();
-        }
-
         String result;
         try {
-            result = FileUtils.computeHash(fileBytes);
-        } catch (NoSuchAlgorithmException e) {
+            result = FileUtils.computeHash(inputStream);
+        } catch (IOException | NoSuchAlgorithmException e) {
             WLSDeployArchiveIOException aioe =
                 new WLSDeployArchiveIOException("WLSDPLY-01407", e, getArchiveFileName(), path,
                     e.getLocalizedMessage());
             LOGGER.throwing(CLASS, METHOD, aioe);
             throw aioe;
+        } finally {
+            try {
+                inputStream.close();
+            } catch (IOException ignore) {
+                LOGGER.warning("WLSDPLY-01417", ignore, path, ignore.getLocalizedMessage());
+            }
         }
         LOGGER.exiting(CLASS, METHOD, result);
         return result;
     }
 
+    /**
+     * Get the uncompressed size of the specified archive file entry, as recorded in the archive's
+     * central directory.  The entry content is not read.
+     *
+     * @param path the path into the archive file
+     * @return the size of the entry in bytes, or -1 if the size is not known
+     * @throws WLSDeployArchiveIOException if the entry is a directory or does not exist, or an error occurs
+     */
+    public long getFileSize(String path) throws WLSDeployArchiveIOException {
+        final String METHOD = "getFileSize";
+
+        LOGGER.entering(CLASS, METHOD, path);
+        long result = getFileEntryInfo(path, METHOD).getSize();
+        LOGGER.exiting(CLASS, METHOD, result);
+        return result;
+    }
+
+    /**
+     * Get the CRC-32 checksum of the specified archive file entry, as recorded in the archive's
+     * central directory.  The entry content is not read, so this is a cheap way to detect that
+     * the content of the entry differs from a file with a known checksum.
+     *
+     * @param path the path into the archive file
+     * @return the CRC-32 checksum of the entry, or -1 if the checksum is not known
+     * @throws WLSDeployArchiveIOException if the entry is a directory or does not exist, or an error occurs
+     */
+    public long getFileCrc(String path) throws WLSDeployArchiveIOException {
+        final String METHOD = "getFileCrc";
+
+        LOGGER.entering(CLASS, METHOD, path);
+        long result = getFileEntryInfo(path, METHOD).getCrc();
+        LOGGER.exiting(CLASS, METHOD, result);
+        return result;
+    }
+
     /**
      * This method adds an application to the archive.  If an application with the same name already exists, this
      * method assumes that the new one also needs to be added so it changes the name to prevent conflicts by adding
@@ -1259,7 +1348,45 @@ public class WLSDeployArchive {
     }
 
     /**
-     * Closes the underlying zip file and any open streams.
+     * Start a batch of changes to the archive.  Until commitBatch() is called, the add and remove methods
+     * record their changes without rewriting the archive file, so that a caller making many changes,
+     * such as discovery, writes the archive only once.  Entries added during the batch cannot be
+     * extracted until the batch is committed.
+     *
+     * @throws WLSDeployArchiveIOException if an error occurs while preparing the batch
+     * @throws IllegalStateException if a batch is already in progress
+     */
+    public void beginBatch() throws WLSDeployArchiveIOException {
+        if (hasArchive) {
+            getZipFile().beginBatch();
+        }
+    }
+
+    /**
+     * Write all of the changes made since beginBatch() to the archive file.
+     *
+     * @throws WLSDeployArchiveIOException if an error occurs while writing the archive file
+     * @throws IllegalStateException if no batch is in progress
+     */
+    public void commitBatch() throws WLSDeployArchiveIOException {
+        if (hasArchive) {
+            getZipFile().commitBatch();
+        }
+    }
+
+    /**
+     * Discard all of the changes made since beginBatch(), leaving the archive file unchanged.
+     *
+     * @throws IllegalStateException if no batch is in progress
+     */
+    public void abortBatch() {
+        if (hasArchive) {
+            getZipFile().abortBatch();
+        }
+    }
+
+    /**
+     * Closes the underlying zip file and any open streams, discarding any uncommitted batch of changes.
      */
     public void close() {
         if (getZipFile() != null) {
@@ -1425,50 +1552,13 @@ public class WLSDeployArchive {
         if (!dirName.endsWith(ZIP_SEP)) {
             dirName += ZIP_SEP;
         }
-        Map<String, InputStream> zipEntries = getZipFile().getZipEntries(dirName);
-        FileOutputStream outputStream;
-        File targetFile = null;
-        try {
-            if (zipEntries != null && !zipEntries.isEmpty()) {
-                for (Map.Entry<String, InputStream> zipEntry : zipEntries.entrySet()) {
-                    String entryName = zipEntry.getKey();
-                    String targetFileName = entryName.replace(fromDirectoryName + ZIP_SEP, toDirectoryName + SEP);
-                    targetFile = new File(extractToLocation, targetFileName);
-                    File targetDirectory;
-                    if (entryName.endsWith(ZIP_SEP)) {
-                        targetDirectory = targetFile;
-                    } else {
-                        targetDirectory = targetFile.getParentFile();
-                    }
-                    if (!targetDirectory.exists() && !targetDirectory.mkdirs()) {
-                        WLSDeployArchiveIOException wdaioe =
-                            new WLSDeployArchiveIOException("WLSDPLY-01414", getArchiveFileName(),
-                                targetDirectory.getAbsolutePath());
-                        LOGGER.throwing(CLASS, METHOD, wdaioe);
-                        throw wdaioe;
-                    }
 
-                    // no need to copy a directory entry
-                    //
-                    if (!entryName.endsWith(ZIP_SEP)) {
-                        InputStream inputStream = zipEntry.getValue();
-                        // overwrite any existing file
-                        outputStream = new FileOutputStream(targetFile, false);
-                        copyFile(inputStream, outputStream);
-                        outputStream.close();
-                    }
-                }
-            }
-        } catch (IOException ioe) {
-            WLSDeployArchiveIOException wdaioe =
-                new WLSDeployArchiveIOException("WLSDPLY-01415", ioe, getArchiveFileName(),
-                    targetFile.getAbsolutePath(), ioe.getLocalizedMessage());
-            LOGGER.throwing(CLASS, METHOD, wdaioe);
-            throw wdaioe;
-        } finally {
-            closeMapInputStreams(zipEntries);
-            getZipFile().close();
+        ZipEntryExtractor extractor = new ZipEntryExtractor(getZipFile(), getArchiveFileName(), extractThreadCount);
+        for (String entryName : getZipFile().listZipEntries(dirName)) {
+            String targetFileName = entryName.replace(fromDirectoryName + ZIP_SEP, toDirectoryName + SEP);
+            extractor.addEntry(entryName, new File(extractToLocation, targetFileName));
         }
+        extractor.extract();
         LOGGER.exiting(CLASS, METHOD);
     }
 
@@ -1513,7 +1603,6 @@ public class WLSDeployArchive {
             } catch (IOException ignore) {
                 LOGGER.warning("WLSDPLY-01417", ignore, itemToExtract, ignore.getLocalizedMessage());
             }
-            getZipFile().close();
         }
         LOGGER.exiting(CLASS, METHOD);
     }
@@ -1522,19 +1611,6 @@ public class WLSDeployArchive {
     // Private Helper methods used by the protected methods above...         //
     ///////////////////////////////////////////////////////////////////////////
 
-    private static boolean zipListContainsPath(List<String> entries, String path) {
-        boolean foundInList = false;
-        if (path != null && entries != null) {
-            for (String entry : entries) {
-                if (entry.startsWith(path)) {
-                    foundInList = true;
-                    break;
-                }
-            }
-        }
-        return foundInList;
-    }
-
     private static void copyFile(InputStream input, FileOutputStream output) throws IOException {
         byte[] readBuffer = new byte[READ_BUFFER_SIZE];
 
@@ -1548,20 +1624,20 @@ public class WLSDeployArchive {
         }
     }
 
-    private static void closeMapInputStreams(Map<String, InputStream> map) {
-        if (map != null) {
-            for (Map.Entry<String, InputStream> entry : map.entrySet()) {
-                InputStream stream = entry.getValue();
-                try {
-                    if (stream != null) {
-                        stream.close();
-                    }
-                } catch (IOException ignore) {
-                    // we are just trying to cleanup so ignore this error
-                    LOGGER.warning("WLSDPLY-01417", ignore, entry.getKey(), ignore.getLocalizedMessage());
-                }
-            }
+    private ZipEntry getFileEntryInfo(String path, String callingMethod) throws WLSDeployArchiveIOException {
+        validateNonEmptyString(path, "path", callingMethod);
+
+        ZipEntry entry = null;
+        if (!path.endsWith(ZIP_SEP)) {
+            entry = getZipFile().getZipEntryInfo(path);
+        }
+        if (entry == null || entry.isDirectory()) {
+            WLSDeployArchiveIOException aioe =
+                new WLSDeployArchiveIOException("WLSDPLY-01429", getArchiveFileName(), path);
+            LOGGER.throwing(CLASS, callingMethod, aioe);
+            throw aioe;
         }
+        return entry;
     }
 
     private String addSingleFileToZip(File itemToAdd, String preferredName, String callingMethod)
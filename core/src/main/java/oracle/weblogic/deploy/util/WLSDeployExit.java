@@ -6,6 +6,7 @@ package oracle.weblogic.deploy.util;
 
 import java.util.List;
 
+import oracle.weblogic.deploy.encrypt.EncryptionUtils;
 import oracle.weblogic.deploy.logging.PlatformLogger;
 import oracle.weblogic.deploy.logging.WLSDeployLogEndHandler;
 import oracle.weblogic.deploy.logging.WLSDeployLogFactory;
@@ -31,6 +32,7 @@ public class WLSDeployExit {
     public static void exit(WLSDeployContext deployContext, int errorCode) {
         String METHOD = "exit";
         LOGGER.entering(errorCode, CLASS, METHOD);
+        EncryptionUtils.clearKeyCache();
         logCleanup(deployContext);
         LOGGER.exiting(CLASS, METHOD);
         exit(errorCode);
@@ -6,21 +6,26 @@ package oracle.weblogic.deploy.util;
 
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Enumeration;
-import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
 import java.util.regex.Pattern;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
 import java.util.zip.ZipFile;
-import java.util.zip.ZipOutputStream;
 
 import oracle.weblogic.deploy.exception.ExceptionHelper;
 import oracle.weblogic.deploy.logging.PlatformLogger;
@@ -28,6 +33,14 @@ import oracle.weblogic.deploy.logging.WLSDeployLogFactory;
 
 /**
  * The internal class that does the heavy-lifting with zip files for the WLSDeployArchive class.
+ * <p>
+ * Reads are served from a single open ZipFile and an immutable index of the archive's entries that
+ * is built once and reused until the archive is written.  The open ZipFile is released by close(),
+ * or whenever this class writes a new version of the archive.
+ * <p>
+ * When a new version of the archive is written, unchanged entries are copied as compressed bytes
+ * rather than being inflated and deflated again.  New entries whose content is already compressed,
+ * such as application archives, are written uncompressed (STORED) when their size is known.
  */
 public class WLSDeployZipFile {
     private static final String CLASS = WLSDeployZipFile.class.getName();
@@ -39,7 +52,8 @@ public class WLSDeployZipFile {
     private static final String CLOSE_PAREN = ")";
     private static final char ZIP_SEP_CHAR = '/';
     private static final String ZIP_SEP = "/";
-    private static final int READ_BUFFER_SIZE = 4096;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final List<String> STORED_ENTRY_EXTENSIONS = Arrays.asList(".ear", ".war", ".jar");
 
     private static final int MAX_DIGITS = Integer.toString(Integer.MAX_VALUE).length() - 1;
     private static final String ARCHIVE_RENAME_PATTERN_REGEX = ".+\\([0-9]{1," + MAX_DIGITS + "}\\)/?$";
@@ -52,6 +66,27 @@ public class WLSDeployZipFile {
     private ZipFile openZipFile;
     private boolean newFile;
 
+    // The entry index is immutable once built and is discarded whenever the archive is written.
+    // The sorted index maps each entry name to its position in the archive so that prefix queries
+    // can be answered with a range lookup while still returning entries in archive order.
+    //
+    private Map<String, ZipEntry> entryIndex;
+    private NavigableMap<String, Integer> sortedEntryIndex;
+    private long indexedFileLength;
+    private long indexedFileLastModified;
+
+    // While a batch is in progress, new file content is written to a staging zip file and the
+    // changes are only applied to the real zip file when the batch is committed.
+    //
+    private File batchStagingFile;
+    private WLSDeployZipOutputStream batchStagingStream;
+    private LinkedHashMap<String, ZipEntry> batchSavedEntries;
+    private LinkedHashMap<String, String> batchNewEntries;
+    private TreeMap<String, Integer> batchSortedEntries;
+    private int batchNextPosition;
+    private int batchStagedCount;
+    private int batchChangeCount;
+
     //////////////////////////////////////////////////////////////////////////////////////////////////
     // Public APIs                                                                                  //
     //////////////////////////////////////////////////////////////////////////////////////////////////
@@ -101,19 +136,15 @@ public class WLSDeployZipFile {
         final String METHOD = "getZipEntry";
 
         LOGGER.entering(CLASS, METHOD, key);
-        closeOpenZipFile();
+        checkNotStagedInBatch(key);
 
-        LinkedHashMap<String, ZipEntry> map = getZipFileEntries(getFile());
+        Map<String, ZipEntry> map = getSavedEntries();
         InputStream stream = null;
-        boolean leaveOpen = false;
         try {
-            if (map.containsKey(key)) {
+            ZipEntry ze = map.get(key);
+            if (ze != null) {
                 LOGGER.finer("WLSDPLY-01500", getFileName(), key);
-                openZipFile = new ZipFile(getFile(), ZIP_FILE_OPEN_MODE);
-                ZipEntry ze = new ZipEntry(key);
-                sanitizeZipEntry(ze);
-                stream = openZipFile.getInputStream(ze);
-                leaveOpen = true;
+                stream = getReadZipFile().getInputStream(ze);
                 LOGGER.finer("WLSDPLY-01501", getFileName(), ze.getName(), stream.toString());
             } else {
                 LOGGER.finer("WLSDPLY-01502", getFileName(), key);
@@ -123,15 +154,54 @@ public class WLSDeployZipFile {
                 getFileName(), ioe.getLocalizedMessage());
             LOGGER.throwing(CLASS, METHOD, wdaioe);
             throw wdaioe;
-        } finally {
-            if (!leaveOpen && openZipFile != null) {
-                closeOpenZipFile();
-            }
         }
         LOGGER.exiting(CLASS, METHOD, stream);
         return stream;
     }
 
+    /**
+     * Get the metadata for an entry in the zip file without opening it.  This also opens the zip file
+     * for reading, so that openZipEntry() can then be called concurrently from several threads.
+     *
+     * @param key entry name
+     * @return the entry, or null if the entry does not exist
+     * @throws WLSDeployArchiveIOException if an error occurs while reading the zip file
+     */
+    ZipEntry getZipEntryInfo(String key) throws WLSDeployArchiveIOException {
+        checkNotStagedInBatch(key);
+        ZipEntry ze = getSavedEntries().get(key);
+        if (ze != null) {
+            getReadZipFile();
+        }
+        return ze;
+    }
+
+    /**
+     * Open an entry returned by getZipEntryInfo().  The caller must close the returned stream.
+     *
+     * @param ze the entry
+     * @return an InputStream for the entry content
+     * @throws IOException if an error occurs while opening the entry
+     */
+    InputStream openZipEntry(ZipEntry ze) throws IOException {
+        ZipFile zf = getOpenZipFile();
+        if (zf == null) {
+            throw new IOException(ExceptionHelper.getMessage("WLSDPLY-01550", getFileName(), ze.getName()));
+        }
+        return zf.getInputStream(ze);
+    }
+
+    /**
+     * Determine whether the zip file has an entry with the specified name.
+     *
+     * @param key entry name
+     * @return true if the entry exists, false otherwise
+     * @throws WLSDeployArchiveIOException if an error occurs while reading the zip file
+     */
+    public boolean containsZipEntry(String key) throws WLSDeployArchiveIOException {
+        return getSortedEntryIndex().containsKey(key);
+    }
+
     /**
      * Get the list of entries in the zip file.
      *
@@ -142,10 +212,13 @@ public class WLSDeployZipFile {
         final String METHOD = "listZipEntries";
 
         LOGGER.entering(CLASS, METHOD);
-        closeOpenZipFile();
 
-        Map<String, ZipEntry> zipEntries = getZipFileEntries(file);
-        List<String> result = new ArrayList<>(zipEntries.keySet());
+        List<String> result;
+        if (isBatchInProgress()) {
+            result = getNamesInArchiveOrder(batchSortedEntries);
+        } else {
+            result = new ArrayList<>(getEntryIndex().keySet());
+        }
         LOGGER.exiting(CLASS, METHOD, result);
         return result;
     }
@@ -161,15 +234,8 @@ public class WLSDeployZipFile {
         final String METHOD = "listZipEntries";
 
         LOGGER.entering(CLASS, METHOD, prefix);
-        closeOpenZipFile();
 
-        Map<String, ZipEntry> zipEntries = getZipFileEntries(file);
-        List<String> result = new ArrayList<>();
-        for (String name : zipEntries.keySet()) {
-            if (name.startsWith(prefix)) {
-                result.add(name);
-            }
-        }
+        List<String> result = getEntryNamesWithPrefix(prefix);
         LOGGER.exiting(CLASS, METHOD, result);
         return result;
     }
@@ -185,29 +251,27 @@ public class WLSDeployZipFile {
         final String METHOD = "getZipEntries";
 
         LOGGER.entering(CLASS, METHOD);
-        closeOpenZipFile();
 
-        LinkedHashMap<String, ZipEntry> map = getZipFileEntries(getFile());
+        List<String> keys = listZipEntries();
+        for (String key : keys) {
+            checkNotStagedInBatch(key);
+        }
+
+        Map<String, ZipEntry> map = getSavedEntries();
         LinkedHashMap<String, InputStream> zipEntries = new LinkedHashMap<>();
-        boolean leaveOpen = false;
         try {
             if (!map.isEmpty()) {
                 LOGGER.finer("WLSDPLY-01504", getFileName(), map.size());
-                openZipFile = new ZipFile(getFile(), ZIP_FILE_OPEN_MODE);
-                for (String key : map.keySet()) {
+                for (String key : keys) {
                     addEntryToMap(map, zipEntries, key);
                 }
-                leaveOpen = true;
             }
         } catch (IOException ioe) {
             WLSDeployArchiveIOException wdaioe = new WLSDeployArchiveIOException("WLSDPLY-01503", ioe,
                 getFileName(), ioe.getLocalizedMessage());
             LOGGER.throwing(CLASS, METHOD, wdaioe);
+            closeInputStreams(zipEntries);
             throw wdaioe;
-        } finally {
-            if (!leaveOpen && openZipFile != null) {
-                closeOpenZipFile();
-            }
         }
         LOGGER.exiting(CLASS, METHOD, zipEntries);
         return zipEntries;
@@ -226,33 +290,27 @@ public class WLSDeployZipFile {
         final String METHOD = "getZipEntries";
 
         LOGGER.entering(CLASS, METHOD, key);
-        closeOpenZipFile();
 
-        LinkedHashMap<String, ZipEntry> map = getZipFileEntries(getFile());
+        List<String> keys = getEntryNamesWithPrefix(key);
+        for (String savedKey : keys) {
+            checkNotStagedInBatch(savedKey);
+        }
+
+        Map<String, ZipEntry> map = getSavedEntries();
         LinkedHashMap<String, InputStream> zipEntries = new LinkedHashMap<>();
-        boolean leaveOpen = false;
         try {
             if (!map.isEmpty()) {
                 LOGGER.finer("WLSDPLY-01504", getFileName(), map.size());
-                openZipFile = new ZipFile(getFile(), ZIP_FILE_OPEN_MODE);
-                Iterator<String> savedKeys = map.keySet().iterator();
-                while (savedKeys.hasNext()) {
-                    String savedKey = savedKeys.next();
-                    if (savedKey.startsWith(key)) {
-                        addEntryToMap(map, zipEntries, savedKey);
-                    }
+                for (String savedKey : keys) {
+                    addEntryToMap(map, zipEntries, savedKey);
                 }
-                leaveOpen = true;
             }
         } catch (IOException ioe) {
             WLSDeployArchiveIOException wdaioe = new WLSDeployArchiveIOException("WLSDPLY-01503", ioe,
                 getFileName(), ioe.getLocalizedMessage());
             LOGGER.throwing(CLASS, METHOD, wdaioe);
+            closeInputStreams(zipEntries);
             throw wdaioe;
-        } finally {
-            if (!leaveOpen && openZipFile != null) {
-                closeOpenZipFile();
-            }
         }
         LOGGER.exiting(CLASS, METHOD, zipEntries);
         return zipEntries;
@@ -269,14 +327,11 @@ public class WLSDeployZipFile {
         final String METHOD = "removeZipEntry";
 
         LOGGER.entering(CLASS, METHOD, key);
-        closeOpenZipFile();
 
         boolean removedEntry = false;
-        LinkedHashMap<String, ZipEntry> map = getZipFileEntries(getFile());
-        if (map.containsKey(key)) {
+        if (containsZipEntry(key)) {
             LOGGER.finer("WLSDPLY-01500", getFileName(), key);
-            map.remove(key);
-            saveChangesToZip(map, null);
+            applyChanges(Collections.singletonList(key), null);
             removedEntry = true;
         } else {
             LOGGER.finer("WLSDPLY-01502", getFileName(), key);
@@ -298,23 +353,15 @@ public class WLSDeployZipFile {
         final String METHOD = "removeZipEntries";
 
         LOGGER.entering(CLASS, METHOD, key);
-        closeOpenZipFile();
 
         boolean removedEntry = false;
-        LinkedHashMap<String, ZipEntry> entriesMap = getZipFileEntries(getFile());
-        if (!entriesMap.isEmpty()) {
-            ArrayList<String> matchingKeys = getMatchingKeysFromMap(entriesMap, key);
-            if (!matchingKeys.isEmpty()) {
-                LOGGER.finer("WLSDPLY-01505", getFileName(), key, matchingKeys.size());
-
-                for (String matchingKey : matchingKeys) {
-                    entriesMap.remove(matchingKey);
-                }
-                saveChangesToZip(entriesMap, null);
-                removedEntry = true;
-            } else {
-                LOGGER.finer("WLSDPLY-01506", getFileName(), key);
-            }
+        List<String> matchingKeys = getEntryNamesWithPrefix(key);
+        if (!matchingKeys.isEmpty()) {
+            LOGGER.finer("WLSDPLY-01505", getFileName(), key, matchingKeys.size());
+            applyChanges(matchingKeys, null);
+            removedEntry = true;
+        } else {
+            LOGGER.finer("WLSDPLY-01506", getFileName(), key);
         }
         LOGGER.exiting(CLASS, METHOD, removedEntry);
         return removedEntry;
@@ -334,7 +381,6 @@ public class WLSDeployZipFile {
         final String METHOD = "addZipEntry";
 
         LOGGER.entering(CLASS, METHOD, entryName, inputStream, rename);
-        closeOpenZipFile();
 
         String newEntryName = entryName;
         if (rename && isRenameNecessary(newEntryName)) {
@@ -363,11 +409,9 @@ public class WLSDeployZipFile {
         final String METHOD = "addZipEntry";
 
         LOGGER.entering(CLASS, METHOD, key, inputStream);
-        closeOpenZipFile();
 
         boolean addedEntry = true;
-        LinkedHashMap<String, ZipEntry> zipEntriesMap = getZipFileEntries(getFile());
-        if (zipEntriesMap.containsKey(key)) {
+        if (containsZipEntry(key)) {
             LOGGER.finer("WLSDPLY-01509", getFileName(), key);
             addedEntry = false;
         }
@@ -376,7 +420,7 @@ public class WLSDeployZipFile {
             LOGGER.finer("WLSDPLY-01510", getFileName(), key);
             LinkedHashMap<String, InputStream> newEntries = new LinkedHashMap<>();
             newEntries.put(key, inputStream);
-            saveChangesToZip(zipEntriesMap, newEntries);
+            applyChanges(null, newEntries);
             LOGGER.finer("WLSDPLY-01511", getFileName(), key);
         }
         LOGGER.exiting(CLASS, METHOD, addedEntry);
@@ -395,7 +439,6 @@ public class WLSDeployZipFile {
         final String METHOD = "addZipDirectoryEntry";
 
         LOGGER.entering(CLASS, METHOD, entryName, rename);
-        closeOpenZipFile();
 
         String newEntryName = entryName;
         if (!entryName.endsWith("/")) {
@@ -430,11 +473,9 @@ public class WLSDeployZipFile {
         final String METHOD = "addZipDirectoryEntry";
 
         LOGGER.entering(CLASS, METHOD, key);
-        closeOpenZipFile();
 
         boolean addedEntry = true;
-        LinkedHashMap<String, ZipEntry> zipEntriesMap = getZipFileEntries(getFile());
-        if (zipEntriesMap.containsKey(key)) {
+        if (containsZipEntry(key)) {
             LOGGER.finer("WLSDPLY-01509", getFileName(), key);
             addedEntry = false;
         }
@@ -443,7 +484,7 @@ public class WLSDeployZipFile {
             LOGGER.finer("WLSDPLY-01510", getFileName(), key);
             LinkedHashMap<String, InputStream> newEntries = new LinkedHashMap<>();
             newEntries.put(key, null);
-            saveChangesToZip(zipEntriesMap, newEntries);
+            applyChanges(null, newEntries);
             LOGGER.finer("WLSDPLY-01511", getFileName(), key);
         }
         LOGGER.exiting(CLASS, METHOD, addedEntry);
@@ -464,7 +505,6 @@ public class WLSDeployZipFile {
         final String METHOD = "addDirectoryZipEntries";
 
         LOGGER.entering(CLASS, METHOD, entryName, directory);
-        closeOpenZipFile();
 
         if (!directory.exists()) {
             String message = ExceptionHelper.getMessage("WLSDPLY-01423", directory.getAbsolutePath());
@@ -495,11 +535,10 @@ public class WLSDeployZipFile {
         if (!rootEntryName.endsWith(ZIP_SEP)) {
             rootEntryName += ZIP_SEP;
         }
-        LinkedHashMap<String, ZipEntry> existingEntries = getZipFileEntries(getFile());
         LinkedHashMap<String, InputStream> newEntries = new LinkedHashMap<>();
         try {
             addDirectoryToUnsavedMap(newEntries, directory, rootEntryName);
-            saveChangesToZip(existingEntries, newEntries);
+            applyChanges(null, newEntries);
         } finally {
             cleanupUnsavedEntries(newEntries);
         }
@@ -518,18 +557,12 @@ public class WLSDeployZipFile {
         final String METHOD = "putZipEntry";
 
         LOGGER.entering(CLASS, METHOD, key, inputStream);
-        closeOpenZipFile();
-
-        LinkedHashMap<String, ZipEntry> zipEntriesMap = getZipFileEntries(getFile());
-        if (zipEntriesMap.containsKey(key)) {
-            zipEntriesMap.remove(key);
-        }
 
         LinkedHashMap<String, InputStream> entryToPut = new LinkedHashMap<>();
         entryToPut.put(key, inputStream);
         try {
             LOGGER.finer("WLSDPLY-01510", getFileName(), key);
-            saveChangesToZip(zipEntriesMap, entryToPut);
+            applyChanges(null, entryToPut);
             LOGGER.finer("WLSDPLY-01511", getFileName(), key);
         } finally {
             cleanupUnsavedEntries(entryToPut);
@@ -538,16 +571,140 @@ public class WLSDeployZipFile {
     }
 
     /**
-     * Closes the open zip file from the last call, if any, which in turn closes all open input streams into the zip.
+     * Closes the open zip file, if any, which in turn closes all open input streams into the zip.  The entry
+     * index is kept so that the next read only needs to reopen the file.
      */
     public void close() {
         final String METHOD = "close";
 
         LOGGER.entering(CLASS, METHOD);
+        if (isBatchInProgress()) {
+            LOGGER.warning("WLSDPLY-01543", getFileName(), batchChangeCount);
+            endBatch();
+        }
         closeOpenZipFile();
         LOGGER.exiting(CLASS, METHOD);
     }
 
+    /**
+     * Start a batch of changes.  Until the batch is committed, changes are recorded instead of rewriting
+     * the zip file each time, and the zip file is only rewritten once by commitBatch().  Entries that are
+     * added during the batch cannot be read until the batch is committed.
+     *
+     * @throws WLSDeployArchiveIOException if an error occurs while creating the staging file for the batch
+     * @throws IllegalStateException if a batch is already in progress
+     */
+    public void beginBatch() throws WLSDeployArchiveIOException {
+        final String METHOD = "beginBatch";
+
+        LOGGER.entering(CLASS, METHOD);
+        if (isBatchInProgress()) {
+            String message = ExceptionHelper.getMessage("WLSDPLY-01547", getFileName());
+            IllegalStateException ise = new IllegalStateException(message);
+            LOGGER.throwing(CLASS, METHOD, ise);
+            throw ise;
+        }
+
+        Map<String, ZipEntry> savedEntries = getEntryIndex();
+        try {
+            File stagingFile = File.createTempFile("wdt_tempbatch", DOT + "zip", getFile().getParentFile());
+            batchStagingStream = new WLSDeployZipOutputStream(stagingFile);
+            batchStagingFile = stagingFile;
+        } catch (IOException ioe) {
+            WLSDeployArchiveIOException wdaioe = new WLSDeployArchiveIOException("WLSDPLY-01526", ioe,
+                getFileName(), ioe.getLocalizedMessage());
+            LOGGER.throwing(CLASS, METHOD, wdaioe);
+            throw wdaioe;
+        }
+        batchSavedEntries = new LinkedHashMap<>(savedEntries);
+        batchNewEntries = new LinkedHashMap<>();
+        batchSortedEntries = new TreeMap<>(sortedEntryIndex);
+        batchNextPosition = savedEntries.size();
+        batchStagedCount = 0;
+        batchChangeCount = 0;
+        LOGGER.fine("WLSDPLY-01542", getFileName(), batchStagingFile.getAbsolutePath());
+        LOGGER.exiting(CLASS, METHOD);
+    }
+
+    /**
+     * Write all of the changes made since beginBatch() to the zip file.
+     *
+     * @throws WLSDeployArchiveIOException if an error occurs while writing the zip file
+     * @throws IllegalStateException if no batch is in progress
+     */
+    public void commitBatch() throws WLSDeployArchiveIOException {
+        final String METHOD = "commitBatch";
+
+        LOGGER.entering(CLASS, METHOD);
+        checkBatchInProgress(METHOD);
+
+        int changeCount = batchChangeCount;
+        try {
+            if (changeCount > 0) {
+                batchStagingStream.finish();
+                batchStagingStream.close();
+                batchStagingStream = null;
+
+                // The staged entries were already compressed as they were added, so both the saved and
+                // the staged entries are copied without being compressed again.
+                //
+                File newOutputFile = getNewOutputFile();
+                try (ZipCentralDirectory stagingDirectory = ZipCentralDirectory.read(batchStagingFile);
+                     WLSDeployZipOutputStream zos = new WLSDeployZipOutputStream(newOutputFile)) {
+                    writeSavedEntries(zos, batchSavedEntries, newOutputFile);
+
+                    for (Map.Entry<String, String> newEntry : batchNewEntries.entrySet()) {
+                        String newKey = newEntry.getKey();
+                        String stagedName = newEntry.getValue();
+                        if (stagedName == null) {
+                            writeNewEntry(zos, newKey, null, newOutputFile);
+                        } else {
+                            zos.copyRawEntry(newKey, stagingDirectory, stagingDirectory.getEntry(stagedName));
+                            LOGGER.finer("WLSDPLY-01520", newKey, getFileName(), newOutputFile.getAbsolutePath());
+                        }
+                    }
+                    zos.finish();
+                } finally {
+                    closeOpenZipFile();
+                }
+                replaceWithNewOutputFile(newOutputFile);
+            }
+        } catch (IOException ioe) {
+            WLSDeployArchiveIOException wdaioe = new WLSDeployArchiveIOException("WLSDPLY-01522",
+                ioe, getFileName(), ioe.getLocalizedMessage());
+            LOGGER.throwing(CLASS, METHOD, wdaioe);
+            throw wdaioe;
+        } finally {
+            endBatch();
+        }
+        LOGGER.fine("WLSDPLY-01544", getFileName(), changeCount);
+        LOGGER.exiting(CLASS, METHOD);
+    }
+
+    /**
+     * Discard all of the changes made since beginBatch(), leaving the zip file unchanged.
+     *
+     * @throws IllegalStateException if no batch is in progress
+     */
+    public void abortBatch() {
+        final String METHOD = "abortBatch";
+
+        LOGGER.entering(CLASS, METHOD);
+        checkBatchInProgress(METHOD);
+        LOGGER.fine("WLSDPLY-01543", getFileName(), batchChangeCount);
+        endBatch();
+        LOGGER.exiting(CLASS, METHOD);
+    }
+
+    /**
+     * Determine whether a batch of changes is in progress.
+     *
+     * @return true if beginBatch() has been called without a matching commitBatch() or abortBatch()
+     */
+    public boolean isBatchInProgress() {
+        return batchSortedEntries != null;
+    }
+
     /**
      * Allows the WLSDeployArchive to determine if the file is new or not.
      *
@@ -580,10 +737,6 @@ public class WLSDeployZipFile {
     // Private Helper Methods                                                //
     ///////////////////////////////////////////////////////////////////////////
 
-    private static void sanitizeZipEntry(ZipEntry ze) {
-        ze.setCompressedSize(-1);
-    }
-
     private void logZipEntries(Map<String, ?> entries, String sizeKey) {
         if (entries != null && !entries.isEmpty()) {
             LOGGER.finer(sizeKey, getFileName(), entries.size());
@@ -631,27 +784,213 @@ public class WLSDeployZipFile {
         return value;
     }
 
-    private LinkedHashMap<String, ZipEntry> getZipFileEntries(File zipFile) throws WLSDeployArchiveIOException {
-        final String METHOD = "getZipEntries";
+    private ZipFile getReadZipFile() throws WLSDeployArchiveIOException {
+        final String METHOD = "getReadZipFile";
+
+        if (getOpenZipFile() == null) {
+            try {
+                setOpenZipFile(new ZipFile(getFile(), ZIP_FILE_OPEN_MODE));
+            } catch (IOException ioe) {
+                WLSDeployArchiveIOException wdaioe = new WLSDeployArchiveIOException("WLSDPLY-01503",
+                    ioe, getFileName(), ioe.getLocalizedMessage());
+                LOGGER.throwing(CLASS, METHOD, wdaioe);
+                throw wdaioe;
+            }
+        }
+        return getOpenZipFile();
+    }
+
+    // Returns the entries that exist in the zip file itself, less any removed in the current batch.
+    //
+    private Map<String, ZipEntry> getSavedEntries() throws WLSDeployArchiveIOException {
+        if (isBatchInProgress()) {
+            return batchSavedEntries;
+        }
+        return getEntryIndex();
+    }
+
+    private Map<String, ZipEntry> getEntryIndex() throws WLSDeployArchiveIOException {
+        if (!isEntryIndexCurrent()) {
+            buildEntryIndex();
+        }
+        return entryIndex;
+    }
+
+    // The index is only invalidated by writes made through this class, but a cheap check of the
+    // file length and timestamp guards against the file being replaced out from under us.
+    //
+    private boolean isEntryIndexCurrent() {
+        return entryIndex != null && getFile().length() == indexedFileLength
+            && getFile().lastModified() == indexedFileLastModified;
+    }
+
+    private void buildEntryIndex() throws WLSDeployArchiveIOException {
+        final String METHOD = "buildEntryIndex";
 
-        LinkedHashMap<String, ZipEntry> savedZipEntries = new LinkedHashMap<>();
+        LOGGER.entering(CLASS, METHOD);
+        // Any open zip file was opened against the old content so it cannot be reused.
+        closeOpenZipFile();
+
+        long fileLength = getFile().length();
+        long fileLastModified = getFile().lastModified();
+        LinkedHashMap<String, ZipEntry> entries = new LinkedHashMap<>();
+        TreeMap<String, Integer> sortedEntries = new TreeMap<>();
         if (zipFileIsNotEmpty()) {
-            savedZipEntries = new LinkedHashMap<>();
-            try (ZipFile zipper = new ZipFile(zipFile, ZIP_FILE_OPEN_MODE)) {
-                Enumeration<?> entries = zipper.entries();
-                while (entries.hasMoreElements()) {
-                    ZipEntry entry = (ZipEntry) entries.nextElement();
-                    String key = entry.getName();
-                    savedZipEntries.put(key, entry);
+            Enumeration<? extends ZipEntry> zipEntries = getReadZipFile().entries();
+            while (zipEntries.hasMoreElements()) {
+                ZipEntry entry = zipEntries.nextElement();
+                String key = entry.getName();
+                if (!sortedEntries.containsKey(key)) {
+                    sortedEntries.put(key, sortedEntries.size());
+                }
+                entries.put(key, entry);
+            }
+        }
+        entryIndex = Collections.unmodifiableMap(entries);
+        sortedEntryIndex = sortedEntries;
+        indexedFileLength = fileLength;
+        indexedFileLastModified = fileLastModified;
+        LOGGER.finer("WLSDPLY-01504", getFileName(), entries.size());
+        LOGGER.exiting(CLASS, METHOD);
+    }
+
+    private void invalidateEntryIndex() {
+        entryIndex = null;
+        sortedEntryIndex = null;
+    }
+
+    // Returns the sorted map of entry names to their position in the archive, reflecting any
+    // changes made in the current batch.
+    //
+    private NavigableMap<String, Integer> getSortedEntryIndex() throws WLSDeployArchiveIOException {
+        if (isBatchInProgress()) {
+            return batchSortedEntries;
+        }
+        getEntryIndex();
+        return sortedEntryIndex;
+    }
+
+    // Returns the names of the entries starting with the prefix, in archive order.
+    //
+    private List<String> getEntryNamesWithPrefix(String prefix) throws WLSDeployArchiveIOException {
+        return getNamesInArchiveOrder(
+            getSortedEntryIndex().subMap(prefix, true, prefix + Character.MAX_VALUE, false));
+    }
+
+    private static List<String> getNamesInArchiveOrder(Map<String, Integer> positions) {
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>(positions.entrySet());
+        Collections.sort(entries, new Comparator<Map.Entry<String, Integer>>() {
+            @Override
+            public int compare(Map.Entry<String, Integer> o1, Map.Entry<String, Integer> o2) {
+                return o1.getValue().compareTo(o2.getValue());
+            }
+        });
+
+        List<String> result = new ArrayList<>(entries.size());
+        for (Map.Entry<String, Integer> entry : entries) {
+            result.add(entry.getKey());
+        }
+        return result;
+    }
+
+    // Applies the removals and then the additions (replacing any existing entries with the same names),
+    // either by rewriting the zip file or by recording them in the current batch.
+    //
+    private void applyChanges(List<String> removedKeys, Map<String, InputStream> newEntries)
+        throws WLSDeployArchiveIOException {
+
+        if (isBatchInProgress()) {
+            if (removedKeys != null) {
+                for (String removedKey : removedKeys) {
+                    removeBatchEntry(removedKey);
+                    batchChangeCount++;
+                }
+            }
+            if (newEntries != null) {
+                for (Map.Entry<String, InputStream> newEntry : newEntries.entrySet()) {
+                    stageBatchEntry(newEntry.getKey(), newEntry.getValue());
+                    batchChangeCount++;
                 }
+            }
+        } else {
+            LinkedHashMap<String, ZipEntry> updatedEntries = new LinkedHashMap<>(getEntryIndex());
+            if (removedKeys != null) {
+                for (String removedKey : removedKeys) {
+                    updatedEntries.remove(removedKey);
+                }
+            }
+            saveChangesToZip(updatedEntries, newEntries);
+        }
+    }
+
+    private void removeBatchEntry(String key) {
+        batchSortedEntries.remove(key);
+        if (batchSavedEntries.remove(key) == null) {
+            batchNewEntries.remove(key);
+        }
+    }
+
+    private void stageBatchEntry(String key, InputStream inputStream) throws WLSDeployArchiveIOException {
+        final String METHOD = "stageBatchEntry";
+
+        // Directory entries have no content, so only file entries are written to the staging file.
+        // Each staged entry gets a unique name so that an entry can be replaced later in the batch.
+        //
+        String stagedName = null;
+        if (!key.endsWith(ZIP_SEP)) {
+            stagedName = Integer.toString(batchStagedCount++);
+            try {
+                batchStagingStream.putNextEntry(createNewZipEntry(stagedName, key, inputStream));
+                readWriteBytes(key, inputStream, batchStagingStream);
+                batchStagingStream.closeEntry();
             } catch (IOException ioe) {
-                WLSDeployArchiveIOException wdaioe = new WLSDeployArchiveIOException("WLSDPLY-01503",
+                WLSDeployArchiveIOException wdaioe = new WLSDeployArchiveIOException("WLSDPLY-01522",
                     ioe, getFileName(), ioe.getLocalizedMessage());
                 LOGGER.throwing(CLASS, METHOD, wdaioe);
                 throw wdaioe;
             }
         }
-        return savedZipEntries;
+
+        removeBatchEntry(key);
+        batchNewEntries.put(key, stagedName);
+        batchSortedEntries.put(key, batchNextPosition++);
+        LOGGER.finer("WLSDPLY-01545", key, getFileName());
+    }
+
+    private void checkNotStagedInBatch(String key) throws WLSDeployArchiveIOException {
+        if (isBatchInProgress() && batchNewEntries.containsKey(key)) {
+            WLSDeployArchiveIOException wdaioe =
+                new WLSDeployArchiveIOException("WLSDPLY-01546", getFileName(), key);
+            LOGGER.throwing(wdaioe);
+            throw wdaioe;
+        }
+    }
+
+    private void checkBatchInProgress(String callingMethod) {
+        if (!isBatchInProgress()) {
+            String message = ExceptionHelper.getMessage("WLSDPLY-01548", getFileName());
+            IllegalStateException ise = new IllegalStateException(message);
+            LOGGER.throwing(CLASS, callingMethod, ise);
+            throw ise;
+        }
+    }
+
+    private void endBatch() {
+        if (batchStagingStream != null) {
+            try {
+                batchStagingStream.close();
+            } catch (IOException ioe) {
+                LOGGER.finest("WLSDPLY-01541", ioe, batchStagingFile, ioe.getLocalizedMessage());
+            }
+        }
+        if (batchStagingFile != null && !batchStagingFile.delete()) {
+            batchStagingFile.deleteOnExit();
+        }
+        batchStagingFile = null;
+        batchStagingStream = null;
+        batchSavedEntries = null;
+        batchNewEntries = null;
+        batchSortedEntries = null;
     }
 
     private void saveChangesToZip(Map<String, ZipEntry> updatedZipEntries, Map<String, InputStream> newEntries)
@@ -688,48 +1027,17 @@ public class WLSDeployZipFile {
             }
 
             InputStream inputStream = null;
-            try (ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(newOutputFile, false))) {
-                if (updatedZipEntries != null && !updatedZipEntries.isEmpty()) {
-                    openZipFile = new ZipFile(getFile(), ZIP_FILE_OPEN_MODE);
-
-                    ZipEntry ze;
-                    for (Map.Entry<String, ZipEntry> updatedEntry : updatedZipEntries.entrySet()) {
-                        ze = updatedEntry.getValue();
-                        sanitizeZipEntry(ze);
-                        String updatedKey = updatedEntry.getKey();
-                        if (updatedKey.endsWith("/")) {
-                            zos.putNextEntry(ze);
-                            zos.closeEntry();
-                        } else {
-                            inputStream = openZipFile.getInputStream(ze);
-
-                            zos.putNextEntry(ze);
-                            readWriteBytes(updatedKey, inputStream, zos);
-                            zos.closeEntry();
-                            inputStream = closeZipInputStream(inputStream, getFileName(), ze);
-                        }
-                        LOGGER.finer("WLSDPLY-01519", updatedKey, getFileName(), newOutputFile.getAbsolutePath());
-                    }
-                    closeOpenZipFile();
-                }
+            try (WLSDeployZipOutputStream zos = new WLSDeployZipOutputStream(newOutputFile)) {
+                writeSavedEntries(zos, updatedZipEntries, newOutputFile);
 
                 if (newEntries != null && !newEntries.isEmpty()) {
                     for (Map.Entry<String, InputStream> entry : newEntries.entrySet()) {
                         String newKey = entry.getKey();
                         inputStream = entry.getValue();
-                        ZipEntry ze = new ZipEntry(newKey);
-                        sanitizeZipEntry(ze);
-
-                        if (newKey.endsWith("/")) {
-                            zos.putNextEntry(ze);
-                            zos.closeEntry();
-                        } else {
-                            zos.putNextEntry(ze);
-                            readWriteBytes(newKey, inputStream, zos);
-                            zos.closeEntry();
+                        writeNewEntry(zos, newKey, inputStream, newOutputFile);
+                        if (inputStream != null) {
                             inputStream = closeFileInputStream(inputStream, newKey);
                         }
-                        LOGGER.finer("WLSDPLY-01520", newKey, getFileName(), newOutputFile.getAbsolutePath());
                     }
                     LOGGER.fine("WLSDPLY-01521", newOutputFile.getAbsolutePath(), getFileName());
                 }
@@ -749,8 +1057,7 @@ public class WLSDeployZipFile {
             }
         } else {
             // save empty zip file...
-            try (ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(newOutputFile, false))) {
-                zos.flush();
+            try (WLSDeployZipOutputStream zos = new WLSDeployZipOutputStream(newOutputFile)) {
                 zos.finish();
             } catch (IOException ioe) {
                 WLSDeployArchiveIOException wdaioee =
@@ -763,13 +1070,121 @@ public class WLSDeployZipFile {
                 }
             }
         }
+        replaceWithNewOutputFile(newOutputFile);
+
+        LOGGER.exiting(CLASS, METHOD);
+    }
+
+    // Copies the saved entries from the current zip file as compressed bytes, falling back to
+    // reading them through the ZipFile if the central directory of the zip file cannot be interpreted.
+    //
+    private void writeSavedEntries(WLSDeployZipOutputStream zos, Map<String, ZipEntry> savedEntries,
+        File newOutputFile) throws IOException, WLSDeployArchiveIOException {
+
+        if (savedEntries == null || savedEntries.isEmpty()) {
+            return;
+        }
+
+        ZipCentralDirectory directory = null;
+        try {
+            directory = ZipCentralDirectory.read(getFile());
+        } catch (ZipException ze) {
+            LOGGER.fine("WLSDPLY-01549", getFileName(), ze.getLocalizedMessage());
+        }
+
+        try {
+            for (Map.Entry<String, ZipEntry> savedEntry : savedEntries.entrySet()) {
+                String savedKey = savedEntry.getKey();
+                ZipCentralDirectory.Entry rawEntry = directory == null ? null : directory.getEntry(savedKey);
+                if (rawEntry != null) {
+                    zos.copyRawEntry(savedKey, directory, rawEntry);
+                } else {
+                    copySavedEntry(zos, savedKey, savedEntry.getValue());
+                }
+                LOGGER.finer("WLSDPLY-01519", savedKey, getFileName(), newOutputFile.getAbsolutePath());
+            }
+        } finally {
+            if (directory != null) {
+                directory.close();
+            }
+        }
+    }
+
+    private void copySavedEntry(WLSDeployZipOutputStream zos, String savedKey, ZipEntry savedEntry)
+        throws IOException, WLSDeployArchiveIOException {
+
+        ZipEntry ze = createZipEntry(savedKey, savedKey, savedEntry.getSize());
+        ze.setTime(savedEntry.getTime());
+        zos.putNextEntry(ze);
+        if (!savedKey.endsWith(ZIP_SEP)) {
+            InputStream inputStream = getReadZipFile().getInputStream(savedEntry);
+            try {
+                readWriteBytes(savedKey, inputStream, zos);
+            } finally {
+                closeZipInputStream(inputStream, getFileName(), savedEntry);
+            }
+        }
+        zos.closeEntry();
+    }
+
+    private void writeNewEntry(WLSDeployZipOutputStream zos, String newKey, InputStream inputStream,
+        File newOutputFile) throws IOException, WLSDeployArchiveIOException {
+
+        zos.putNextEntry(createNewZipEntry(newKey, newKey, inputStream));
+        if (!newKey.endsWith(ZIP_SEP)) {
+            readWriteBytes(newKey, inputStream, zos);
+        }
+        zos.closeEntry();
+        LOGGER.finer("WLSDPLY-01520", newKey, getFileName(), newOutputFile.getAbsolutePath());
+    }
+
+    // The size of a new entry is only known up front when its content comes from a file.
+    //
+    private static ZipEntry createNewZipEntry(String name, String key, InputStream inputStream) throws IOException {
+        long size = -1;
+        if (key.endsWith(ZIP_SEP)) {
+            size = 0;
+        } else if (inputStream instanceof FileInputStream) {
+            FileInputStream fileInputStream = (FileInputStream) inputStream;
+            size = fileInputStream.getChannel().size() - fileInputStream.getChannel().position();
+        }
+        return createZipEntry(name, key, size);
+    }
+
+    // Directories and entries with already compressed content are STORED, if their size is known.
+    //
+    private static ZipEntry createZipEntry(String name, String key, long size) {
+        ZipEntry ze = new ZipEntry(name);
+        if (size >= 0 && (key.endsWith(ZIP_SEP) || isStoredEntry(key))) {
+            ze.setMethod(ZipEntry.STORED);
+            ze.setSize(size);
+        } else {
+            ze.setMethod(ZipEntry.DEFLATED);
+        }
+        return ze;
+    }
+
+    private static boolean isStoredEntry(String key) {
+        String lowerCaseKey = key.toLowerCase(Locale.ENGLISH);
+        for (String extension : STORED_ENTRY_EXTENSIONS) {
+            if (lowerCaseKey.endsWith(extension)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Closes the open zip file and discards the index before the new output file takes the place of
+    // the original, since both refer to the old content.
+    //
+    private void replaceWithNewOutputFile(File newOutputFile) throws WLSDeployArchiveIOException {
+        closeOpenZipFile();
+        invalidateEntryIndex();
         if (isNewFile()) {
             setNewFile(false);
         } else {
             swapFiles(getFile(), newOutputFile);
         }
-
-        LOGGER.exiting(CLASS, METHOD);
     }
 
     private File getNewOutputFile() throws WLSDeployArchiveIOException {
@@ -808,7 +1223,7 @@ public class WLSDeployZipFile {
         return newOutputFile;
     }
 
-    private static void readWriteBytes(String inputKeyName, InputStream readStream, ZipOutputStream writeStream)
+    private static void readWriteBytes(String inputKeyName, InputStream readStream, OutputStream writeStream)
         throws IOException, WLSDeployArchiveIOException {
 
         int bytesRead;
@@ -856,31 +1271,11 @@ public class WLSDeployZipFile {
         LOGGER.exiting(CLASS, METHOD);
     }
 
-    private static ArrayList<String> getMatchingKeysFromMap(Map<String, ?> map, String keyToMatch) {
-        final String METHOD = "getMatchingKeysFromMap";
-
-        LOGGER.entering(CLASS, METHOD, map, keyToMatch);
-        ArrayList<String> matchingKeys = new ArrayList<>();
-        Iterator<String> keys = map.keySet().iterator();
-        while (keys.hasNext()) {
-            String key = keys.next();
-            LOGGER.finest("WLSDPLY-01531", key);
-            if (key.startsWith(keyToMatch)) {
-                LOGGER.finest("WLSDPLY-01532", key, keyToMatch);
-                matchingKeys.add(key);
-            } else {
-                LOGGER.finest("WLSDPLY-01533", key, keyToMatch);
-            }
-        }
-        return matchingKeys;
-    }
-
     private boolean isRenameNecessary(String entryName) throws WLSDeployArchiveIOException {
         LOGGER.entering(entryName);
 
         boolean renameNeeded = false;
-        Map<String, ZipEntry> zipEntryMap = getZipFileEntries(getFile());
-        if (zipEntryMap.containsKey(entryName)) {
+        if (containsZipEntry(entryName)) {
             LOGGER.finest("WLSDPLY-01534", entryName);
             renameNeeded = true;
         }
@@ -906,11 +1301,9 @@ public class WLSDeployZipFile {
         }
         LOGGER.finer("WLSDPLY-01535", entryName, entryNameBase, entryNameExtension);
         ArrayList<String> matchingSavedEntries = new ArrayList<>();
-        Map<String, ZipEntry> zipEntriesMap = getZipFileEntries(getFile());
 
-        for (String zipEntryKey : zipEntriesMap.keySet()) {
-            if (zipEntryKey.startsWith(entryNameBase) && entryReallyMatches(zipEntryKey, entryNameBase,
-                entryNameExtension)) {
+        for (String zipEntryKey : getEntryNamesWithPrefix(entryNameBase)) {
+            if (entryReallyMatches(zipEntryKey, entryNameBase, entryNameExtension)) {
                 LOGGER.finer("WLSDPLY-01536", entryName, zipEntryKey);
                 matchingSavedEntries.add(zipEntryKey);
             }
@@ -1066,17 +1459,26 @@ public class WLSDeployZipFile {
         }
     }
 
-    private void addEntryToMap(LinkedHashMap<String, ZipEntry> zipMap, LinkedHashMap<String, InputStream> map,
-        String key) throws IOException {
+    private void addEntryToMap(Map<String, ZipEntry> zipMap, LinkedHashMap<String, InputStream> map,
+        String key) throws IOException, WLSDeployArchiveIOException {
 
         LOGGER.finer("WLSDPLY-01500", getFileName(), key);
         ZipEntry entry = zipMap.get(key);
-        sanitizeZipEntry(entry);
-        InputStream stream = openZipFile.getInputStream(entry);
+        InputStream stream = getReadZipFile().getInputStream(entry);
         LOGGER.finer("WLSDPLY-01501", getFileName(), key, stream);
         map.put(key, stream);
     }
 
+    private static void closeInputStreams(Map<String, InputStream> streams) {
+        for (Map.Entry<String, InputStream> entry : streams.entrySet()) {
+            try {
+                entry.getValue().close();
+            } catch (IOException ignore) {
+                LOGGER.finest("WLSDPLY-01539", ignore, entry.getKey(), ignore.getLocalizedMessage());
+            }
+        }
+    }
+
     private static InputStream closeZipInputStream(InputStream inputStream, String fileName, ZipEntry ze) {
         try {
             inputStream.close();
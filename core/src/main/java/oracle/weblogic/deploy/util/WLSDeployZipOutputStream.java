@@ -0,0 +1,504 @@
+/*
+ * Copyright (c) 2022, Oracle Corporation and/or its affiliates.  All rights reserved.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package oracle.weblogic.deploy.util;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+import static oracle.weblogic.deploy.util.ZipCentralDirectory.CENTRAL_HEADER_SIGNATURE;
+import static oracle.weblogic.deploy.util.ZipCentralDirectory.DATA_DESCRIPTOR_SIGNATURE;
+import static oracle.weblogic.deploy.util.ZipCentralDirectory.END_HEADER_SIGNATURE;
+import static oracle.weblogic.deploy.util.ZipCentralDirectory.LOCAL_HEADER_SIGNATURE;
+import static oracle.weblogic.deploy.util.ZipCentralDirectory.ZIP64_END_HEADER_SIGNATURE;
+import static oracle.weblogic.deploy.util.ZipCentralDirectory.ZIP64_END_HEADER_SIZE;
+import static oracle.weblogic.deploy.util.ZipCentralDirectory.ZIP64_EXTRA_ID;
+import static oracle.weblogic.deploy.util.ZipCentralDirectory.ZIP64_LOCATOR_SIGNATURE;
+import static oracle.weblogic.deploy.util.ZipCentralDirectory.ZIP64_MAGIC;
+import static oracle.weblogic.deploy.util.ZipCentralDirectory.ZIP64_MAGIC_COUNT;
+import static oracle.weblogic.deploy.util.ZipCentralDirectory.ZIP_CHARSET;
+
+/**
+ * A zip file writer used by WLSDeployZipFile in place of java.util.zip.ZipOutputStream.
+ * <p>
+ * Like ZipOutputStream, entries are written with putNextEntry(), write() and closeEntry().  In addition,
+ * copyRawEntry() copies the compressed bytes of an entry from another zip file without inflating and
+ * deflating them, which makes rewriting an archive that is mostly unchanged an I/O-bound operation.
+ * <p>
+ * Because the output is always a file, the local header of a STORED entry is updated with the CRC
+ * once the entry is written, so the caller only needs to supply the size of STORED entries.  DEFLATED
+ * entries are written with a data descriptor, as ZipOutputStream does.  Zip64 records are written
+ * only when the sizes, offsets or entry count require them.
+ */
+final class WLSDeployZipOutputStream extends OutputStream {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int VERSION_STORED = 10;
+    private static final int VERSION_DEFLATED = 20;
+    private static final int VERSION_ZIP64 = 45;
+    private static final int FLAG_DATA_DESCRIPTOR = 0x08;
+    private static final int FLAG_UTF8 = 0x800;
+    private static final int ZIP64_EXTRA_LOCAL_SIZE = 20;
+
+    private final FileOutputStream fileStream;
+    private final FileChannel channel;
+    private final OutputStream out;
+    private final List<EntryRecord> records = new ArrayList<>();
+    private final Set<String> names = new HashSet<>();
+    private final byte[] scratch = new byte[8];
+    private long written;
+    private boolean finished;
+
+    private EntryRecord current;
+    private Deflater deflater;
+    private CRC32 crc;
+    private byte[] deflateBuffer;
+
+    /**
+     * Create a new zip file, replacing any existing file.
+     *
+     * @param file the zip file to write
+     * @throws IOException if the file cannot be opened for writing
+     */
+    WLSDeployZipOutputStream(File file) throws IOException {
+        this.fileStream = new FileOutputStream(file, false);
+        this.channel = fileStream.getChannel();
+        this.out = new BufferedOutputStream(fileStream, BUFFER_SIZE);
+    }
+
+    /**
+     * Start writing a new entry.  STORED entries must have their size set, DEFLATED entries
+     * are compressed with the default compression level.
+     *
+     * @param entry the entry to write, only the name, method, size and time are used
+     * @throws IOException if an error occurs writing the zip file
+     */
+    void putNextEntry(ZipEntry entry) throws IOException {
+        ensureOpen();
+        if (current != null) {
+            closeEntry();
+        }
+
+        EntryRecord record = newRecord(entry.getName());
+        record.method = entry.getMethod() == ZipEntry.STORED ? ZipEntry.STORED : ZipEntry.DEFLATED;
+        record.dosTime = javaToDosTime(entry.getTime() == -1 ? System.currentTimeMillis() : entry.getTime());
+        record.localHeaderOffset = written;
+        if (record.method == ZipEntry.STORED) {
+            if (entry.getSize() < 0) {
+                throw new ZipException("STORED entry missing size: " + record.name);
+            }
+            record.size = entry.getSize();
+            record.compressedSize = record.size;
+            record.zip64 = record.size >= ZIP64_MAGIC;
+            record.versionNeeded = record.zip64 ? VERSION_ZIP64 : VERSION_STORED;
+        } else {
+            record.flags |= FLAG_DATA_DESCRIPTOR;
+            record.versionNeeded = VERSION_DEFLATED;
+            if (deflater == null) {
+                deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+                deflateBuffer = new byte[BUFFER_SIZE];
+            } else {
+                deflater.reset();
+            }
+        }
+        record.versionMadeBy = record.versionNeeded;
+        writeLocalHeader(record, new byte[0]);
+
+        if (crc == null) {
+            crc = new CRC32();
+        } else {
+            crc.reset();
+        }
+        current = record;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[] { (byte) b }, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        ensureOpen();
+        if (current == null) {
+            throw new ZipException("no current zip entry");
+        }
+        if (length == 0) {
+            return;
+        }
+
+        crc.update(bytes, offset, length);
+        if (current.method == ZipEntry.STORED) {
+            writeBytes(bytes, offset, length);
+        } else {
+            deflater.setInput(bytes, offset, length);
+            while (!deflater.needsInput()) {
+                deflate();
+            }
+        }
+    }
+
+    /**
+     * Finish writing the current entry.
+     *
+     * @throws IOException if an error occurs writing the zip file, or if the size of a STORED entry does not
+     *                     match the size given to putNextEntry()
+     */
+    void closeEntry() throws IOException {
+        ensureOpen();
+        if (current == null) {
+            return;
+        }
+
+        EntryRecord record = current;
+        current = null;
+        record.crc = crc.getValue();
+        if (record.method == ZipEntry.STORED) {
+            long actualSize = written - record.dataOffset;
+            if (actualSize != record.size) {
+                throw new ZipException("invalid size for STORED entry " + record.name + ": expected " +
+                    record.size + " but got " + actualSize);
+            }
+            // Update the CRC in the local header now that it is known.
+            out.flush();
+            ByteBuffer crcBytes = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            crcBytes.putInt(0, (int) record.crc);
+            long position = record.localHeaderOffset + 14;
+            while (crcBytes.hasRemaining()) {
+                position += channel.write(crcBytes, position);
+            }
+        } else {
+            deflater.finish();
+            while (!deflater.finished()) {
+                deflate();
+            }
+            record.size = deflater.getBytesRead();
+            record.compressedSize = deflater.getBytesWritten();
+            record.zip64 = record.size >= ZIP64_MAGIC || record.compressedSize >= ZIP64_MAGIC;
+            if (record.zip64) {
+                record.versionNeeded = VERSION_ZIP64;
+                record.versionMadeBy = VERSION_ZIP64;
+            }
+
+            writeInt(DATA_DESCRIPTOR_SIGNATURE);
+            writeInt(record.crc);
+            if (record.zip64) {
+                writeLong(record.compressedSize);
+                writeLong(record.size);
+            } else {
+                writeInt(record.compressedSize);
+                writeInt(record.size);
+            }
+        }
+        records.add(record);
+    }
+
+    /**
+     * Copy an entry from another zip file without decompressing it.
+     *
+     * @param name the name of the entry in this zip file, which may differ from the source entry name
+     * @param source the central directory of the source zip file
+     * @param sourceEntry the source entry
+     * @throws IOException if an error occurs reading the source or writing the zip file
+     */
+    void copyRawEntry(String name, ZipCentralDirectory source, ZipCentralDirectory.Entry sourceEntry)
+        throws IOException {
+
+        ensureOpen();
+        if (current != null) {
+            closeEntry();
+        }
+
+        byte[] localExtra = source.readLocalExtra(sourceEntry);
+        EntryRecord record = newRecord(name);
+        record.flags = (sourceEntry.getFlags() & ~(FLAG_DATA_DESCRIPTOR | FLAG_UTF8)) | record.flags;
+        record.method = sourceEntry.getMethod();
+        record.dosTime = sourceEntry.getDosTime();
+        record.crc = sourceEntry.getCrc();
+        record.size = sourceEntry.getSize();
+        record.compressedSize = sourceEntry.getCompressedSize();
+        record.zip64 = record.size >= ZIP64_MAGIC || record.compressedSize >= ZIP64_MAGIC;
+        record.versionNeeded = record.zip64 ? VERSION_ZIP64 :
+            (record.method == ZipEntry.STORED ? VERSION_STORED : VERSION_DEFLATED);
+        record.versionMadeBy = sourceEntry.getVersionMadeBy();
+        if ((record.versionMadeBy & 0xFF) < record.versionNeeded) {
+            record.versionMadeBy = (record.versionMadeBy & 0xFF00) | record.versionNeeded;
+        }
+        record.centralExtra = sourceEntry.getCentralExtra();
+        record.comment = sourceEntry.getComment();
+        record.internalAttributes = sourceEntry.getInternalAttributes();
+        record.externalAttributes = sourceEntry.getExternalAttributes();
+        record.localHeaderOffset = written;
+        writeLocalHeader(record, localExtra);
+
+        out.flush();
+        FileChannel sourceChannel = source.getChannel();
+        long position = sourceEntry.getDataOffset();
+        long remaining = record.compressedSize;
+        while (remaining > 0) {
+            long transferred = sourceChannel.transferTo(position, remaining, channel);
+            if (transferred <= 0) {
+                throw new ZipException("unable to copy the data for entry " + sourceEntry.getName() +
+                    " from " + source.getFile());
+            }
+            position += transferred;
+            remaining -= transferred;
+        }
+        written += record.compressedSize;
+        records.add(record);
+    }
+
+    /**
+     * Write the central directory.  No more entries can be written afterwards.
+     *
+     * @throws IOException if an error occurs writing the zip file
+     */
+    void finish() throws IOException {
+        ensureOpen();
+        if (current != null) {
+            closeEntry();
+        }
+
+        long directoryOffset = written;
+        for (EntryRecord record : records) {
+            writeCentralHeader(record);
+        }
+        long directorySize = written - directoryOffset;
+
+        int entryCount = records.size();
+        boolean zip64 = entryCount >= ZIP64_MAGIC_COUNT || directoryOffset >= ZIP64_MAGIC ||
+            directorySize >= ZIP64_MAGIC;
+        if (zip64) {
+            long zip64EndOffset = written;
+            writeInt(ZIP64_END_HEADER_SIGNATURE);
+            writeLong(ZIP64_END_HEADER_SIZE - 12);
+            writeShort(VERSION_ZIP64);
+            writeShort(VERSION_ZIP64);
+            writeInt(0);
+            writeInt(0);
+            writeLong(entryCount);
+            writeLong(entryCount);
+            writeLong(directorySize);
+            writeLong(directoryOffset);
+
+            writeInt(ZIP64_LOCATOR_SIGNATURE);
+            writeInt(0);
+            writeLong(zip64EndOffset);
+            writeInt(1);
+        }
+
+        writeInt(END_HEADER_SIGNATURE);
+        writeShort(0);
+        writeShort(0);
+        writeShort(Math.min(entryCount, ZIP64_MAGIC_COUNT));
+        writeShort(Math.min(entryCount, ZIP64_MAGIC_COUNT));
+        writeInt(Math.min(directorySize, ZIP64_MAGIC));
+        writeInt(Math.min(directoryOffset, ZIP64_MAGIC));
+        writeShort(0);
+        out.flush();
+        finished = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (!finished && channel.isOpen()) {
+                finish();
+            }
+        } finally {
+            if (deflater != null) {
+                deflater.end();
+            }
+            fileStream.close();
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Private Helper Methods                                                //
+    ///////////////////////////////////////////////////////////////////////////
+
+    private EntryRecord newRecord(String name) throws ZipException {
+        if (!names.add(name)) {
+            throw new ZipException("duplicate entry: " + name);
+        }
+        EntryRecord record = new EntryRecord();
+        record.name = name;
+        record.nameBytes = name.getBytes(ZIP_CHARSET);
+        if (record.nameBytes.length != name.length()) {
+            record.flags = FLAG_UTF8;
+        }
+        return record;
+    }
+
+    private void writeLocalHeader(EntryRecord record, byte[] extra) throws IOException {
+        boolean knownSizes = (record.flags & FLAG_DATA_DESCRIPTOR) == 0;
+        byte[] localExtra = extra;
+        if (record.zip64) {
+            ByteArrayOutputStream zip64Extra = new ByteArrayOutputStream(ZIP64_EXTRA_LOCAL_SIZE + extra.length);
+            ByteBuffer field = ByteBuffer.allocate(ZIP64_EXTRA_LOCAL_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            field.putShort((short) ZIP64_EXTRA_ID).putShort((short) 16)
+                .putLong(record.size).putLong(record.compressedSize);
+            zip64Extra.write(field.array(), 0, ZIP64_EXTRA_LOCAL_SIZE);
+            zip64Extra.write(extra, 0, extra.length);
+            localExtra = zip64Extra.toByteArray();
+        }
+
+        writeInt(LOCAL_HEADER_SIGNATURE);
+        writeShort(record.versionNeeded);
+        writeShort(record.flags);
+        writeShort(record.method);
+        writeInt(record.dosTime);
+        writeInt(knownSizes ? record.crc : 0);
+        if (record.zip64) {
+            writeInt(ZIP64_MAGIC);
+            writeInt(ZIP64_MAGIC);
+        } else {
+            writeInt(knownSizes ? record.compressedSize : 0);
+            writeInt(knownSizes ? record.size : 0);
+        }
+        writeShort(record.nameBytes.length);
+        writeShort(localExtra.length);
+        writeBytes(record.nameBytes, 0, record.nameBytes.length);
+        writeBytes(localExtra, 0, localExtra.length);
+        record.dataOffset = written;
+    }
+
+    private void writeCentralHeader(EntryRecord record) throws IOException {
+        boolean zip64Size = record.size >= ZIP64_MAGIC;
+        boolean zip64CompressedSize = record.compressedSize >= ZIP64_MAGIC;
+        boolean zip64Offset = record.localHeaderOffset >= ZIP64_MAGIC;
+        int zip64DataLength = (zip64Size ? 8 : 0) + (zip64CompressedSize ? 8 : 0) + (zip64Offset ? 8 : 0);
+        int zip64ExtraLength = zip64DataLength > 0 ? zip64DataLength + 4 : 0;
+
+        int versionNeeded = record.versionNeeded;
+        int versionMadeBy = record.versionMadeBy;
+        if (zip64ExtraLength > 0) {
+            versionNeeded = VERSION_ZIP64;
+            if ((versionMadeBy & 0xFF) < VERSION_ZIP64) {
+                versionMadeBy = (versionMadeBy & 0xFF00) | VERSION_ZIP64;
+            }
+        }
+
+        writeInt(CENTRAL_HEADER_SIGNATURE);
+        writeShort(versionMadeBy);
+        writeShort(versionNeeded);
+        writeShort(record.flags);
+        writeShort(record.method);
+        writeInt(record.dosTime);
+        writeInt(record.crc);
+        writeInt(zip64CompressedSize ? ZIP64_MAGIC : record.compressedSize);
+        writeInt(zip64Size ? ZIP64_MAGIC : record.size);
+        writeShort(record.nameBytes.length);
+        writeShort(zip64ExtraLength + record.centralExtra.length);
+        writeShort(record.comment.length);
+        writeShort(0);
+        writeShort(record.internalAttributes);
+        writeInt(record.externalAttributes);
+        writeInt(zip64Offset ? ZIP64_MAGIC : record.localHeaderOffset);
+        writeBytes(record.nameBytes, 0, record.nameBytes.length);
+        if (zip64ExtraLength > 0) {
+            writeShort(ZIP64_EXTRA_ID);
+            writeShort(zip64DataLength);
+            if (zip64Size) {
+                writeLong(record.size);
+            }
+            if (zip64CompressedSize) {
+                writeLong(record.compressedSize);
+            }
+            if (zip64Offset) {
+                writeLong(record.localHeaderOffset);
+            }
+        }
+        writeBytes(record.centralExtra, 0, record.centralExtra.length);
+        writeBytes(record.comment, 0, record.comment.length);
+    }
+
+    private void deflate() throws IOException {
+        int length = deflater.deflate(deflateBuffer, 0, deflateBuffer.length);
+        if (length > 0) {
+            writeBytes(deflateBuffer, 0, length);
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (finished) {
+            throw new ZipException("zip file has already been finished");
+        }
+    }
+
+    private void writeBytes(byte[] bytes, int offset, int length) throws IOException {
+        out.write(bytes, offset, length);
+        written += length;
+    }
+
+    private void writeShort(int value) throws IOException {
+        scratch[0] = (byte) value;
+        scratch[1] = (byte) (value >>> 8);
+        writeBytes(scratch, 0, 2);
+    }
+
+    private void writeInt(long value) throws IOException {
+        scratch[0] = (byte) value;
+        scratch[1] = (byte) (value >>> 8);
+        scratch[2] = (byte) (value >>> 16);
+        scratch[3] = (byte) (value >>> 24);
+        writeBytes(scratch, 0, 4);
+    }
+
+    private void writeLong(long value) throws IOException {
+        for (int i = 0; i < 8; i++) {
+            scratch[i] = (byte) (value >>> (8 * i));
+        }
+        writeBytes(scratch, 0, 8);
+    }
+
+    private static int javaToDosTime(long time) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(time);
+        int year = calendar.get(Calendar.YEAR);
+        if (year < 1980) {
+            return (1 << 21) | (1 << 16);
+        }
+        return (year - 1980) << 25 | (calendar.get(Calendar.MONTH) + 1) << 21 |
+            calendar.get(Calendar.DAY_OF_MONTH) << 16 | calendar.get(Calendar.HOUR_OF_DAY) << 11 |
+            calendar.get(Calendar.MINUTE) << 5 | calendar.get(Calendar.SECOND) >> 1;
+    }
+
+    // The information needed to write the central directory header for an entry.
+    //
+    private static final class EntryRecord {
+        private String name;
+        private byte[] nameBytes;
+        private int versionMadeBy;
+        private int versionNeeded;
+        private int flags;
+        private int method;
+        private int dosTime;
+        private long crc;
+        private long compressedSize;
+        private long size;
+        private boolean zip64;
+        private byte[] centralExtra = new byte[0];
+        private byte[] comment = new byte[0];
+        private int internalAttributes;
+        private int externalAttributes;
+        private long localHeaderOffset;
+        private long dataOffset;
+    }
+}
@@ -0,0 +1,410 @@
+/*
+ * Copyright (c) 2022, Oracle Corporation and/or its affiliates.  All rights reserved.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package oracle.weblogic.deploy.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipException;
+
+/**
+ * A read-only view of the central directory of a zip file that gives access to the compressed bytes
+ * of each entry, so that WLSDeployZipOutputStream can copy unchanged entries from one zip file to
+ * another without inflating and deflating them.
+ * <p>
+ * Only the structures needed to locate the entry data are interpreted, including the Zip64 records
+ * used by large archives.  Zip files that this class cannot interpret, such as multi-disk archives or
+ * files with data prepended to the first entry, cause a ZipException so that the caller can fall back
+ * to reading the entries through java.util.zip.ZipFile.
+ */
+final class ZipCentralDirectory implements Closeable {
+    static final Charset ZIP_CHARSET = Charset.forName("UTF-8");
+
+    static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    static final int END_HEADER_SIGNATURE = 0x06054b50;
+    static final int ZIP64_END_HEADER_SIGNATURE = 0x06064b50;
+    static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+    static final int DATA_DESCRIPTOR_SIGNATURE = 0x08074b50;
+
+    static final int LOCAL_HEADER_SIZE = 30;
+    static final int CENTRAL_HEADER_SIZE = 46;
+    static final int END_HEADER_SIZE = 22;
+    static final int ZIP64_END_HEADER_SIZE = 56;
+    static final int ZIP64_LOCATOR_SIZE = 20;
+    static final int ZIP64_EXTRA_ID = 0x0001;
+
+    static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+    static final int ZIP64_MAGIC_COUNT = 0xFFFF;
+    private static final int MAX_COMMENT_SIZE = 0xFFFF;
+
+    private final File file;
+    private final RandomAccessFile randomAccessFile;
+    private final Map<String, Entry> entries;
+
+    private ZipCentralDirectory(File file) throws IOException {
+        this.file = file;
+        this.randomAccessFile = new RandomAccessFile(file, "r");
+        boolean success = false;
+        try {
+            this.entries = Collections.unmodifiableMap(readEntries());
+            success = true;
+        } finally {
+            if (!success) {
+                randomAccessFile.close();
+            }
+        }
+    }
+
+    /**
+     * Read the central directory of the specified zip file.  The caller must close the returned object.
+     *
+     * @param file the zip file
+     * @return the central directory of the zip file
+     * @throws ZipException if the zip file cannot be interpreted
+     * @throws IOException if an error occurs reading the zip file
+     */
+    static ZipCentralDirectory read(File file) throws IOException {
+        return new ZipCentralDirectory(file);
+    }
+
+    /**
+     * Get the zip file that this central directory describes.
+     *
+     * @return the zip file
+     */
+    File getFile() {
+        return file;
+    }
+
+    /**
+     * Get the entry with the specified name.
+     *
+     * @param name the entry name
+     * @return the entry, or null if the zip file does not contain an entry with that name
+     */
+    Entry getEntry(String name) {
+        return entries.get(name);
+    }
+
+    /**
+     * Get the entries in the order they appear in the central directory.
+     *
+     * @return the map of entry names to entries
+     */
+    Map<String, Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Get the channel used to read the entry data.
+     *
+     * @return the file channel of the zip file
+     */
+    FileChannel getChannel() {
+        return randomAccessFile.getChannel();
+    }
+
+    /**
+     * Get the extra field of the local header for the entry, which may differ from the one in
+     * the central directory.  This also records where the compressed data of the entry starts.
+     *
+     * @param entry the entry
+     * @return the local extra field data
+     * @throws IOException if the local header is invalid or cannot be read
+     */
+    byte[] readLocalExtra(Entry entry) throws IOException {
+        ByteBuffer header = readBuffer(entry.localHeaderOffset, LOCAL_HEADER_SIZE);
+        if (header.getInt(0) != LOCAL_HEADER_SIGNATURE) {
+            throw new ZipException("invalid local header for entry " + entry.getName());
+        }
+        int nameLength = unsignedShort(header, 26);
+        int extraLength = unsignedShort(header, 28);
+        long extraOffset = entry.localHeaderOffset + LOCAL_HEADER_SIZE + nameLength;
+        entry.dataOffset = extraOffset + extraLength;
+        if (entry.dataOffset + entry.compressedSize > randomAccessFile.length()) {
+            throw new ZipException("invalid data size for entry " + entry.getName());
+        }
+
+        ByteBuffer extra = readBuffer(extraOffset, extraLength);
+        return removeZip64Extra(extra.array());
+    }
+
+    /**
+     * Remove the Zip64 extra field, if present, from the specified extra field data.
+     *
+     * @param extra the extra field data
+     * @return the extra field data without the Zip64 extra field
+     */
+    static byte[] removeZip64Extra(byte[] extra) {
+        ByteArrayOutputStream otherFields = new ByteArrayOutputStream(extra.length);
+        ByteBuffer buffer = ByteBuffer.wrap(extra).order(ByteOrder.LITTLE_ENDIAN);
+        int position = 0;
+        while (position + 4 <= extra.length) {
+            int id = unsignedShort(buffer, position);
+            int length = Math.min(unsignedShort(buffer, position + 2), extra.length - position - 4);
+            if (id != ZIP64_EXTRA_ID) {
+                otherFields.write(extra, position, length + 4);
+            }
+            position += length + 4;
+        }
+        return otherFields.toByteArray();
+    }
+
+    @Override
+    public void close() throws IOException {
+        randomAccessFile.close();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Private Helper Methods                                                //
+    ///////////////////////////////////////////////////////////////////////////
+
+    private Map<String, Entry> readEntries() throws IOException {
+        long fileLength = randomAccessFile.length();
+        if (fileLength < END_HEADER_SIZE) {
+            throw new ZipException("zip file is too short: " + file);
+        }
+
+        int tailLength = (int) Math.min(fileLength, END_HEADER_SIZE + MAX_COMMENT_SIZE);
+        long tailOffset = fileLength - tailLength;
+        ByteBuffer tail = readBuffer(tailOffset, tailLength);
+        int endPosition = findEndHeader(tail);
+        if (endPosition < 0) {
+            throw new ZipException("end of central directory not found: " + file);
+        }
+
+        if (unsignedShort(tail, endPosition + 4) != 0 || unsignedShort(tail, endPosition + 6) != 0) {
+            throw new ZipException("multi-disk zip files are not supported: " + file);
+        }
+        long entryCount = unsignedShort(tail, endPosition + 10);
+        long directorySize = unsignedInt(tail, endPosition + 12);
+        long directoryOffset = unsignedInt(tail, endPosition + 16);
+
+        long locatorOffset = tailOffset + endPosition - ZIP64_LOCATOR_SIZE;
+        if (locatorOffset >= 0 && readBuffer(locatorOffset, 4).getInt(0) == ZIP64_LOCATOR_SIGNATURE) {
+            long zip64EndOffset = readBuffer(locatorOffset + 8, 8).getLong(0);
+            ByteBuffer zip64End = readBuffer(zip64EndOffset, ZIP64_END_HEADER_SIZE);
+            if (zip64End.getInt(0) != ZIP64_END_HEADER_SIGNATURE) {
+                throw new ZipException("invalid Zip64 end of central directory: " + file);
+            }
+            entryCount = zip64End.getLong(32);
+            directorySize = zip64End.getLong(40);
+            directoryOffset = zip64End.getLong(48);
+        }
+
+        if (directorySize > Integer.MAX_VALUE || directoryOffset + directorySize > fileLength) {
+            throw new ZipException("invalid central directory: " + file);
+        }
+
+        ByteBuffer directory = readBuffer(directoryOffset, (int) directorySize);
+        Map<String, Entry> result = new LinkedHashMap<>();
+        int position = 0;
+        for (long i = 0; i < entryCount; i++) {
+            Entry entry = readEntry(directory, position, directoryOffset);
+            position += CENTRAL_HEADER_SIZE + entry.nameLength + entry.centralExtraLength + entry.comment.length;
+            result.put(entry.getName(), entry);
+        }
+        return result;
+    }
+
+    private Entry readEntry(ByteBuffer directory, int position, long directoryOffset) throws IOException {
+        if (position + CENTRAL_HEADER_SIZE > directory.limit() ||
+            directory.getInt(position) != CENTRAL_HEADER_SIGNATURE) {
+            throw new ZipException("invalid central directory header: " + file);
+        }
+
+        Entry entry = new Entry();
+        entry.versionMadeBy = unsignedShort(directory, position + 4);
+        entry.flags = unsignedShort(directory, position + 8);
+        entry.method = unsignedShort(directory, position + 10);
+        entry.dosTime = directory.getInt(position + 12);
+        entry.crc = unsignedInt(directory, position + 16);
+        entry.compressedSize = unsignedInt(directory, position + 20);
+        entry.size = unsignedInt(directory, position + 24);
+        entry.nameLength = unsignedShort(directory, position + 28);
+        entry.centralExtraLength = unsignedShort(directory, position + 30);
+        int commentLength = unsignedShort(directory, position + 32);
+        entry.internalAttributes = unsignedShort(directory, position + 36);
+        entry.externalAttributes = directory.getInt(position + 38);
+        entry.localHeaderOffset = unsignedInt(directory, position + 42);
+
+        int namePosition = position + CENTRAL_HEADER_SIZE;
+        int extraPosition = namePosition + entry.nameLength;
+        int commentPosition = extraPosition + entry.centralExtraLength;
+        if (commentPosition + commentLength > directory.limit()) {
+            throw new ZipException("invalid central directory header: " + file);
+        }
+        entry.name = new String(directory.array(), namePosition, entry.nameLength, ZIP_CHARSET);
+        entry.centralExtra = readZip64Extra(entry, directory, extraPosition);
+        entry.comment = new byte[commentLength];
+        System.arraycopy(directory.array(), commentPosition, entry.comment, 0, commentLength);
+
+        if (entry.localHeaderOffset + LOCAL_HEADER_SIZE > directoryOffset) {
+            throw new ZipException("invalid local header offset for entry " + entry.name);
+        }
+        return entry;
+    }
+
+    // Applies the values from the Zip64 extra field, if any, and returns the extra field without it.
+    //
+    private byte[] readZip64Extra(Entry entry, ByteBuffer directory, int extraPosition) throws ZipException {
+        ByteArrayOutputStream otherFields = new ByteArrayOutputStream();
+        int position = extraPosition;
+        int end = extraPosition + entry.centralExtraLength;
+        while (position + 4 <= end) {
+            int id = unsignedShort(directory, position);
+            int length = unsignedShort(directory, position + 2);
+            int dataPosition = position + 4;
+            if (dataPosition + length > end) {
+                throw new ZipException("invalid extra field for entry " + entry.name);
+            }
+            if (id == ZIP64_EXTRA_ID) {
+                int valuePosition = dataPosition;
+                if (entry.size == ZIP64_MAGIC) {
+                    entry.size = readZip64Value(entry, directory, valuePosition, dataPosition + length);
+                    valuePosition += 8;
+                }
+                if (entry.compressedSize == ZIP64_MAGIC) {
+                    entry.compressedSize = readZip64Value(entry, directory, valuePosition, dataPosition + length);
+                    valuePosition += 8;
+                }
+                if (entry.localHeaderOffset == ZIP64_MAGIC) {
+                    entry.localHeaderOffset = readZip64Value(entry, directory, valuePosition, dataPosition + length);
+                }
+            } else {
+                otherFields.write(directory.array(), position, length + 4);
+            }
+            position = dataPosition + length;
+        }
+        return otherFields.toByteArray();
+    }
+
+    private static long readZip64Value(Entry entry, ByteBuffer buffer, int position, int end) throws ZipException {
+        if (position + 8 > end) {
+            throw new ZipException("invalid Zip64 extra field for entry " + entry.name);
+        }
+        return buffer.getLong(position);
+    }
+
+    private static int findEndHeader(ByteBuffer tail) {
+        for (int position = tail.limit() - END_HEADER_SIZE; position >= 0; position--) {
+            if (tail.getInt(position) == END_HEADER_SIGNATURE &&
+                position + END_HEADER_SIZE + unsignedShort(tail, position + 20) == tail.limit()) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    private ByteBuffer readBuffer(long offset, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        FileChannel channel = randomAccessFile.getChannel();
+        long position = offset;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("unexpected end of zip file " + file);
+            }
+            position += read;
+        }
+        buffer.clear();
+        return buffer;
+    }
+
+    private static int unsignedShort(ByteBuffer buffer, int position) {
+        return buffer.getShort(position) & 0xFFFF;
+    }
+
+    private static long unsignedInt(ByteBuffer buffer, int position) {
+        return buffer.getInt(position) & ZIP64_MAGIC;
+    }
+
+    /**
+     * The central directory information for a single entry, with any Zip64 values already applied.
+     */
+    static final class Entry {
+        private String name;
+        private int nameLength;
+        private int versionMadeBy;
+        private int flags;
+        private int method;
+        private int dosTime;
+        private long crc;
+        private long compressedSize;
+        private long size;
+        private int centralExtraLength;
+        private byte[] centralExtra;
+        private byte[] comment;
+        private int internalAttributes;
+        private int externalAttributes;
+        private long localHeaderOffset;
+        private long dataOffset = -1;
+
+        String getName() {
+            return name;
+        }
+
+        int getVersionMadeBy() {
+            return versionMadeBy;
+        }
+
+        int getFlags() {
+            return flags;
+        }
+
+        int getMethod() {
+            return method;
+        }
+
+        int getDosTime() {
+            return dosTime;
+        }
+
+        long getCrc() {
+            return crc;
+        }
+
+        long getCompressedSize() {
+            return compressedSize;
+        }
+
+        long getSize() {
+            return size;
+        }
+
+        // the central directory extra field, less any Zip64 extra field
+        byte[] getCentralExtra() {
+            return centralExtra;
+        }
+
+        byte[] getComment() {
+            return comment;
+        }
+
+        int getInternalAttributes() {
+            return internalAttributes;
+        }
+
+        int getExternalAttributes() {
+            return externalAttributes;
+        }
+
+        // only valid after ZipCentralDirectory.readLocalExtra() has been called for the entry
+        long getDataOffset() {
+            return dataOffset;
+        }
+    }
+}
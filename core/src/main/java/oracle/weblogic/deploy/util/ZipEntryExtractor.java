@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2022, Oracle Corporation and/or its affiliates.  All rights reserved.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package oracle.weblogic.deploy.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+
+import oracle.weblogic.deploy.logging.PlatformLogger;
+import oracle.weblogic.deploy.logging.WLSDeployLogFactory;
+
+/**
+ * Extracts a set of entries from a WLSDeployZipFile, fanning the entries out across a bounded pool of
+ * worker threads.  Each worker reads its own entry stream from the shared ZipFile and writes the content
+ * through its own FileChannel to a target file that is sized up front from the entry metadata.  The
+ * largest entries are started first so that a few large applications do not leave the other workers idle
+ * at the end.
+ * <p>
+ * The target directories are created before any worker starts.  If any entry fails, the remaining
+ * entries are cancelled and the first failure is reported.
+ */
+class ZipEntryExtractor {
+    private static final String CLASS = ZipEntryExtractor.class.getName();
+    private static final PlatformLogger LOGGER = WLSDeployLogFactory.getLogger("wlsdeploy.archive");
+
+    /**
+     * The upper limit on the number of worker threads when the number is chosen automatically.
+     */
+    static final int MAX_AUTOMATIC_THREADS = 8;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final long BYTES_PER_MEGABYTE = 1024L * 1024L;
+    private static final AtomicInteger POOL_NUMBER = new AtomicInteger(1);
+
+    private final WLSDeployZipFile zipFile;
+    private final String archiveFileName;
+    private final int threadCount;
+    private final List<ExtractTask> tasks = new ArrayList<>();
+    private final Set<File> directories = new LinkedHashSet<>();
+    private long totalBytes;
+
+    /**
+     * Create an extractor for the specified zip file.
+     *
+     * @param zipFile         the zip file to extract from
+     * @param archiveFileName the archive file name used in messages
+     * @param threadCount     the maximum number of worker threads, or zero or less to use one thread
+     *                        per processor up to MAX_AUTOMATIC_THREADS
+     */
+    ZipEntryExtractor(WLSDeployZipFile zipFile, String archiveFileName, int threadCount) {
+        this.zipFile = zipFile;
+        this.archiveFileName = archiveFileName;
+        this.threadCount = getEffectiveThreadCount(threadCount);
+    }
+
+    /**
+     * Determine the number of worker threads to use for the requested count.
+     *
+     * @param threadCount the requested count, or zero or less for the automatic count
+     * @return the number of worker threads
+     */
+    static int getEffectiveThreadCount(int threadCount) {
+        if (threadCount > 0) {
+            return threadCount;
+        }
+        return Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), MAX_AUTOMATIC_THREADS));
+    }
+
+    /**
+     * Add an entry to be extracted.  Directory entries only create the target directory.
+     *
+     * @param entryName  the name of the entry in the zip file
+     * @param targetFile the file or directory to create
+     * @return true if the entry exists, false otherwise
+     * @throws WLSDeployArchiveIOException if an error occurs reading the zip file
+     */
+    boolean addEntry(String entryName, File targetFile) throws WLSDeployArchiveIOException {
+        ZipEntry ze = zipFile.getZipEntryInfo(entryName);
+        if (ze == null) {
+            return false;
+        }
+
+        if (ze.isDirectory()) {
+            directories.add(targetFile);
+        } else {
+            directories.add(targetFile.getParentFile());
+            tasks.add(new ExtractTask(ze, targetFile));
+            totalBytes += Math.max(ze.getSize(), 0);
+        }
+        return true;
+    }
+
+    /**
+     * Extract all of the entries that were added.
+     *
+     * @return the number of files extracted
+     * @throws WLSDeployArchiveIOException if a target directory cannot be created or an entry cannot be extracted
+     */
+    int extract() throws WLSDeployArchiveIOException {
+        final String METHOD = "extract";
+
+        LOGGER.entering(CLASS, METHOD, tasks.size(), totalBytes, threadCount);
+        long startTime = System.nanoTime();
+        createDirectories();
+
+        int workerCount = Math.min(threadCount, tasks.size());
+        if (workerCount <= 1) {
+            for (ExtractTask task : tasks) {
+                runTask(task);
+            }
+        } else {
+            extractInParallel(workerCount);
+        }
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        if (!tasks.isEmpty()) {
+            long megabytesPerSecond = (totalBytes * 1000L) / (Math.max(elapsedMillis, 1L) * BYTES_PER_MEGABYTE);
+            LOGGER.fine("WLSDPLY-01427", tasks.size(), totalBytes, archiveFileName, elapsedMillis,
+                Math.max(workerCount, 1), megabytesPerSecond);
+        }
+        LOGGER.exiting(CLASS, METHOD, tasks.size());
+        return tasks.size();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Private Helper Methods                                                //
+    ///////////////////////////////////////////////////////////////////////////
+
+    private void createDirectories() throws WLSDeployArchiveIOException {
+        final String METHOD = "createDirectories";
+
+        for (File directory : directories) {
+            if (!directory.exists() && !directory.mkdirs() && !directory.isDirectory()) {
+                WLSDeployArchiveIOException wdaioe = new WLSDeployArchiveIOException("WLSDPLY-01414",
+                    archiveFileName, directory.getAbsolutePath());
+                LOGGER.throwing(CLASS, METHOD, wdaioe);
+                throw wdaioe;
+            }
+        }
+    }
+
+    private void extractInParallel(int workerCount) throws WLSDeployArchiveIOException {
+        final String METHOD = "extractInParallel";
+
+        List<ExtractTask> orderedTasks = new ArrayList<>(tasks);
+        Collections.sort(orderedTasks, new Comparator<ExtractTask>() {
+            @Override
+            public int compare(ExtractTask first, ExtractTask second) {
+                return Long.compare(second.entry.getSize(), first.entry.getSize());
+            }
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(workerCount, new ExtractThreadFactory());
+        try {
+            CompletionService<Void> completionService = new ExecutorCompletionService<>(executor);
+            for (final ExtractTask task : orderedTasks) {
+                completionService.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws WLSDeployArchiveIOException {
+                        runTask(task);
+                        return null;
+                    }
+                });
+            }
+
+            for (int i = 0; i < orderedTasks.size(); i++) {
+                completionService.take().get();
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            WLSDeployArchiveIOException wdaioe = new WLSDeployArchiveIOException("WLSDPLY-01428", ie, archiveFileName);
+            LOGGER.throwing(CLASS, METHOD, wdaioe);
+            throw wdaioe;
+        } catch (ExecutionException ee) {
+            Throwable cause = ee.getCause();
+            if (cause instanceof WLSDeployArchiveIOException) {
+                throw (WLSDeployArchiveIOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void runTask(ExtractTask task) throws WLSDeployArchiveIOException {
+        final String METHOD = "runTask";
+
+        try {
+            task.run();
+        } catch (IOException ioe) {
+            WLSDeployArchiveIOException wdaioe = new WLSDeployArchiveIOException("WLSDPLY-01415", ioe,
+                archiveFileName, task.targetFile.getAbsolutePath(), ioe.getLocalizedMessage());
+            LOGGER.throwing(CLASS, METHOD, wdaioe);
+            throw wdaioe;
+        }
+    }
+
+    private final class ExtractTask {
+        private final ZipEntry entry;
+        private final File targetFile;
+
+        ExtractTask(ZipEntry entry, File targetFile) {
+            this.entry = entry;
+            this.targetFile = targetFile;
+        }
+
+        // Overwrites any existing file, sizing it to the entry size before writing the content.
+        //
+        void run() throws IOException {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new IOException(new InterruptedException());
+            }
+
+            try (InputStream inputStream = zipFile.openZipEntry(entry);
+                 RandomAccessFile outputFile = new RandomAccessFile(targetFile, "rw")) {
+                long expectedSize = Math.max(entry.getSize(), 0);
+                outputFile.setLength(expectedSize);
+                FileChannel channel = outputFile.getChannel();
+
+                byte[] buffer = new byte[BUFFER_SIZE];
+                ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+                long written = 0;
+                int bytesRead;
+                while ((bytesRead = inputStream.read(buffer)) >= 0) {
+                    byteBuffer.clear().limit(bytesRead);
+                    while (byteBuffer.hasRemaining()) {
+                        written += channel.write(byteBuffer);
+                    }
+                }
+                if (written != expectedSize) {
+                    outputFile.setLength(written);
+                }
+            }
+        }
+    }
+
+    private static final class ExtractThreadFactory implements ThreadFactory {
+        private final String namePrefix = "wdt-extract-" + POOL_NUMBER.getAndIncrement() + "-";
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, namePrefix + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,437 @@
+/*
+ * Copyright (c) 2022, Oracle Corporation and/or its affiliates.  All rights reserved.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package oracle.weblogic.deploy.yaml;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import oracle.weblogic.deploy.logging.PlatformLogger;
+import oracle.weblogic.deploy.util.PyOrderedDict;
+import oracle.weblogic.deploy.util.PyRealBoolean;
+
+import org.python.core.Py;
+import org.python.core.PyDictionary;
+import org.python.core.PyFloat;
+import org.python.core.PyInteger;
+import org.python.core.PyList;
+import org.python.core.PyLong;
+import org.python.core.PyObject;
+import org.python.core.PyString;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.constructor.Construct;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.error.Mark;
+import org.yaml.snakeyaml.events.AliasEvent;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.NodeEvent;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.parser.Parser;
+import org.yaml.snakeyaml.parser.ParserImpl;
+import org.yaml.snakeyaml.reader.StreamReader;
+import org.yaml.snakeyaml.reader.UnicodeReader;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+/**
+ * A single-pass YAML reader that builds the Python dictionaries, lists and scalar values directly from the
+ * SnakeYAML parser events, without composing a node graph for each document or constructing Java maps and
+ * lists that are then converted.  Scalar values are resolved and constructed by SnakeYAML, so they have the
+ * same types as they do with Yaml.loadAll().
+ * <p>
+ * A mapping with no value is an empty dictionary, and a list element with no value is None.  An alias is
+ * replaced by a copy of the anchored value, and merge keys are supported.  Explicit tags on mappings and
+ * sequences are ignored.
+ */
+class YamlStreamReader {
+    private final Parser parser;
+    private final LoaderOptions loaderOptions;
+    private final boolean useOrderedDict;
+    private final String fileName;
+    private final PlatformLogger logger;
+    private final String className;
+
+    private final Resolver resolver = new Resolver();
+    private final ScalarConstructor scalarConstructor;
+
+    // the values of the anchors in the current document
+    private final Map<String, PyObject> anchors = new HashMap<>();
+    private int collectionAliasCount;
+
+    /**
+     * Create a reader for the specified input stream.  The encoding is detected from the byte order mark,
+     * and is UTF-8 if there is no byte order mark.
+     *
+     * @param inputStream    the YAML input
+     * @param loaderOptions  the options for duplicate keys and aliases
+     * @param useOrderedDict whether to build ordered dictionaries
+     * @param fileName       the file name used in messages
+     * @param logger         the logger
+     * @param className      the class name for logging
+     */
+    YamlStreamReader(InputStream inputStream, LoaderOptions loaderOptions, boolean useOrderedDict, String fileName,
+                     PlatformLogger logger, String className) {
+        this.parser = new ParserImpl(new StreamReader(new UnicodeReader(inputStream)));
+        this.loaderOptions = loaderOptions;
+        this.useOrderedDict = useOrderedDict;
+        this.fileName = fileName;
+        this.logger = logger;
+        this.className = className;
+        this.scalarConstructor = new ScalarConstructor(loaderOptions);
+    }
+
+    /**
+     * Read the documents of the YAML input.  If multiple documents are not allowed, the remaining documents
+     * are only counted once the second document is found.
+     *
+     * @param allowMultiple whether the input may contain more than one document
+     * @return a list of the Python dictionaries for the documents, which is empty if the input has no documents
+     * @throws YamlException if a document is not a mapping, a mapping has a duplicate key, an alias is invalid,
+     *                       or there are multiple documents when they are not allowed
+     */
+    PyList readDocuments(boolean allowMultiple) throws YamlException {
+        final String METHOD = "readDocuments";
+
+        // there are problems using PyList.add(),
+        // so build a java.util.List and construct PyList(javaList).
+        List<PyObject> documents = new ArrayList<>();
+        parser.getEvent();
+        while (!parser.checkEvent(Event.ID.StreamEnd)) {
+            if (!allowMultiple && documents.size() == 1) {
+                YamlException pex = new YamlException("WLSDPLY-18101", fileName, countDocuments() + 1);
+                logger.throwing(className, METHOD, pex);
+                throw pex;
+            }
+            parser.getEvent();
+            documents.add(readDocument(parser.getEvent()));
+            parser.getEvent();
+            anchors.clear();
+        }
+        return new PyList(documents.toArray(new PyObject[0]));
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Private Helper Methods                                                //
+    ///////////////////////////////////////////////////////////////////////////
+
+    private PyDictionary readDocument(Event event) throws YamlException {
+        final String METHOD = "readDocument";
+
+        PyObject document = readNode(event);
+        if (document == null) {
+            YamlException pex = new YamlException("WLSDPLY-18104", fileName);
+            logger.throwing(className, METHOD, pex);
+            throw pex;
+        } else if (!(document instanceof PyDictionary)) {
+            YamlException pex = new YamlException("WLSDPLY-18103", fileName, document.getType().fastGetName());
+            logger.throwing(className, METHOD, pex);
+            throw pex;
+        }
+        return (PyDictionary) document;
+    }
+
+    // Count the documents that have not been read, without building them.
+    //
+    private int countDocuments() {
+        int count = 0;
+        while (!parser.checkEvent(Event.ID.StreamEnd)) {
+            if (parser.getEvent().is(Event.ID.DocumentStart)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Returns null for a null scalar, so the caller can decide how to represent it.
+    //
+    private PyObject readNode(Event event) throws YamlException {
+        PyObject result;
+        switch (event.getEventId()) {
+            case Alias:
+                return readAlias((AliasEvent) event);
+            case Scalar:
+                result = readScalar((ScalarEvent) event);
+                break;
+            case MappingStart:
+                result = readMapping();
+                break;
+            case SequenceStart:
+                result = readSequence();
+                break;
+            default:
+                // the parser only produces node events here
+                throw new IllegalStateException(event.toString());
+        }
+
+        String anchor = ((NodeEvent) event).getAnchor();
+        if (anchor != null) {
+            anchors.put(anchor, result);
+        }
+        return result;
+    }
+
+    private PyObject readAlias(AliasEvent event) throws YamlException {
+        final String METHOD = "readAlias";
+
+        String anchor = event.getAnchor();
+        if (!anchors.containsKey(anchor)) {
+            YamlException pex = new YamlException("WLSDPLY-18111", fileName, anchor, getLine(event), getColumn(event));
+            logger.throwing(className, METHOD, pex);
+            throw pex;
+        }
+
+        PyObject value = anchors.get(anchor);
+        if (value instanceof PyDictionary || value instanceof PyList) {
+            // this limits the growth of the model from aliases to aliases, as SnakeYAML does
+            collectionAliasCount++;
+            if (collectionAliasCount > loaderOptions.getMaxAliasesForCollections()) {
+                YamlException pex = new YamlException("WLSDPLY-18112", fileName,
+                    loaderOptions.getMaxAliasesForCollections(), getLine(event), getColumn(event));
+                logger.throwing(className, METHOD, pex);
+                throw pex;
+            }
+            value = copyValue(value);
+        }
+        return value;
+    }
+
+    // The mapping start event has been read.  Consumes the mapping end event.
+    //
+    private PyDictionary readMapping() throws YamlException {
+        final String METHOD = "readMapping";
+
+        PyDictionary result = newDictionary();
+
+        // the keys from merged mappings, which may be replaced by the keys of this mapping
+        Set<PyObject> mergedKeys = null;
+
+        while (!parser.checkEvent(Event.ID.MappingEnd)) {
+            Event keyEvent = parser.getEvent();
+            if (isMergeKey(keyEvent)) {
+                Event valueEvent = parser.getEvent();
+                if (mergedKeys == null) {
+                    mergedKeys = new HashSet<>();
+                }
+                mergeValue(result, readNode(valueEvent), mergedKeys, valueEvent);
+                continue;
+            }
+
+            PyObject key = readNode(keyEvent);
+            if (key == null) {
+                key = Py.None;
+            } else if (key instanceof PyDictionary || key instanceof PyList) {
+                YamlException pex =
+                    new YamlException("WLSDPLY-18114", fileName, getLine(keyEvent), getColumn(keyEvent));
+                logger.throwing(className, METHOD, pex);
+                throw pex;
+            }
+
+            if (result.has_key(key) && (mergedKeys == null || !mergedKeys.remove(key))
+                && !loaderOptions.isAllowDuplicateKeys()) {
+                YamlException pex =
+                    new YamlException("WLSDPLY-18113", fileName, key, getLine(keyEvent), getColumn(keyEvent));
+                logger.throwing(className, METHOD, pex);
+                throw pex;
+            }
+
+            PyObject value = readNode(parser.getEvent());
+            if (value == null) {
+                // snakeyaml sets the value of an empty map node to null.
+                // WDT relies on it being an empty dictionary so set all
+                // nulls to an empty dictionary and hope this doesn't break
+                // anything else...
+                //
+                value = newDictionary();
+            }
+            result.__setitem__(key, value);
+        }
+        parser.getEvent();
+        return result;
+    }
+
+    // The sequence start event has been read.  Consumes the sequence end event.
+    //
+    private PyList readSequence() throws YamlException {
+        // For whatever reason PyList.pyadd() isn't working here so create a Java List
+        // and once if it populated, convert it to a PyList...
+        //
+        List<PyObject> container = new ArrayList<>();
+        while (!parser.checkEvent(Event.ID.SequenceEnd)) {
+            PyObject element = readNode(parser.getEvent());
+            container.add(element == null ? Py.None : element);
+        }
+        parser.getEvent();
+        return new PyList(container.toArray(new PyObject[0]));
+    }
+
+    private PyObject readScalar(ScalarEvent event) throws YamlException {
+        final String METHOD = "readScalar";
+
+        Tag tag = getScalarTag(event);
+        if (Tag.STR.equals(tag)) {
+            return new PyString(event.getValue());
+        }
+
+        Construct construct = scalarConstructor.getConstruct(tag);
+        if (construct == null) {
+            YamlException pex = new YamlException("WLSDPLY-18102", fileName, tag.getValue());
+            logger.throwing(className, METHOD, pex);
+            throw pex;
+        }
+        ScalarNode node =
+            new ScalarNode(tag, event.getValue(), event.getStartMark(), event.getEndMark(), event.getScalarStyle());
+        return convertScalarToPythonObject(construct.construct(node));
+    }
+
+    private Tag getScalarTag(ScalarEvent event) {
+        String tag = event.getTag();
+        if (tag == null || "!".equals(tag)) {
+            return resolver.resolve(NodeId.scalar, event.getValue(), event.getImplicit().canOmitTagInPlainScalar());
+        }
+        return new Tag(tag);
+    }
+
+    private boolean isMergeKey(Event event) {
+        return event.is(Event.ID.Scalar) && Tag.MERGE.equals(getScalarTag((ScalarEvent) event));
+    }
+
+    // Add the entries of a mapping, or of a list of mappings, for a merge key.  The keys that are already
+    // in the dictionary, and the keys of earlier mappings in the list, take precedence.
+    //
+    private void mergeValue(PyDictionary result, PyObject value, Set<PyObject> mergedKeys, Event valueEvent)
+        throws YamlException {
+        final String METHOD = "mergeValue";
+
+        if (value instanceof PyDictionary) {
+            PyDictionary mergeDict = (PyDictionary) value;
+            PyObject iterator = mergeDict.__iter__();
+            for (PyObject key = iterator.__iternext__(); key != null; key = iterator.__iternext__()) {
+                if (!result.has_key(key)) {
+                    result.__setitem__(key, mergeDict.__getitem__(key));
+                    mergedKeys.add(key);
+                }
+            }
+        } else if (value instanceof PyList) {
+            PyList mergeList = (PyList) value;
+            for (int i = 0; i < mergeList.__len__(); i++) {
+                PyObject element = mergeList.pyget(i);
+                if (!(element instanceof PyDictionary)) {
+                    YamlException pex = new YamlException("WLSDPLY-18115", fileName, getLine(valueEvent),
+                        getColumn(valueEvent));
+                    logger.throwing(className, METHOD, pex);
+                    throw pex;
+                }
+                mergeValue(result, element, mergedKeys, valueEvent);
+            }
+        } else {
+            YamlException pex = new YamlException("WLSDPLY-18115", fileName, getLine(valueEvent),
+                getColumn(valueEvent));
+            logger.throwing(className, METHOD, pex);
+            throw pex;
+        }
+    }
+
+    private PyObject copyValue(PyObject value) {
+        if (value instanceof PyDictionary) {
+            PyDictionary dictionary = (PyDictionary) value;
+            PyDictionary result = newDictionary();
+            PyObject iterator = dictionary.__iter__();
+            for (PyObject key = iterator.__iternext__(); key != null; key = iterator.__iternext__()) {
+                result.__setitem__(key, copyValue(dictionary.__getitem__(key)));
+            }
+            return result;
+        } else if (value instanceof PyList) {
+            PyList list = (PyList) value;
+            PyObject[] elements = new PyObject[list.__len__()];
+            for (int i = 0; i < elements.length; i++) {
+                elements[i] = copyValue(list.pyget(i));
+            }
+            return new PyList(elements);
+        }
+        return value;
+    }
+
+    private PyObject convertScalarToPythonObject(Object object) throws YamlException {
+        final String METHOD = "convertScalarToPythonObject";
+
+        PyObject result = null;
+        if (object != null) {
+            String classname = object.getClass().getName();
+            switch (classname) {
+                case "java.lang.String":
+                    result = new PyString((String) object);
+                    break;
+
+                case "java.lang.Boolean":
+                    result = new PyRealBoolean((Boolean) object);
+                    break;
+
+                case "java.lang.Integer":
+                    result = new PyInteger((Integer) object);
+                    break;
+
+                case "java.lang.Long":
+                    result = new PyLong((Long) object);
+                    break;
+
+                case "java.math.BigInteger":
+                    result = new PyLong((BigInteger) object);
+                    break;
+
+                case "java.lang.Float":
+                    result = new PyFloat((Float) object);
+                    break;
+
+                case "java.lang.Double":
+                    result = new PyFloat((Double) object);
+                    break;
+
+                case "java.math.BigDecimal":
+                    result = new PyFloat(((BigDecimal) object).doubleValue());
+                    break;
+
+                default:
+                    YamlException pex = new YamlException("WLSDPLY-18102", fileName, classname);
+                    logger.throwing(className, METHOD, pex);
+                    throw pex;
+            }
+        }
+        return result;
+    }
+
+    private PyDictionary newDictionary() {
+        return useOrderedDict ? new PyOrderedDict() : new PyDictionary();
+    }
+
+    private static int getLine(Event event) {
+        Mark mark = event.getStartMark();
+        return mark == null ? 0 : mark.getLine() + 1;
+    }
+
+    private static int getColumn(Event event) {
+        Mark mark = event.getStartMark();
+        return mark == null ? 0 : mark.getColumn() + 1;
+    }
+
+    // Exposes the SnakeYAML constructors for the standard scalar tags, such as int, float, bool and null.
+    //
+    private static final class ScalarConstructor extends SafeConstructor {
+        private ScalarConstructor(LoaderOptions loaderOptions) {
+            super(loaderOptions);
+        }
+
+        private Construct getConstruct(Tag tag) {
+            return yamlConstructors.get(tag);
+        }
+    }
+}
@@ -13,6 +13,7 @@ import oracle.weblogic.deploy.logging.PlatformLogger;
 import oracle.weblogic.deploy.logging.WLSDeployLogFactory;
 
 import org.python.core.PyList;
+import org.python.core.PyObject;
 
 /**
  * An implementation of the YAML parser/translator that reads the YAML input from an input stream.
@@ -110,6 +111,33 @@ public class YamlStreamTranslator extends AbstractYamlTranslator {
         LOGGER.exiting(CLASS, METHOD);
     }
 
+    /**
+     * Write a Python dictionary, or a list of Python dictionaries as separate documents, to the YAML output writer.
+     * Note that the writer is closed when it is finished, making the instance no longer viable.
+     *
+     * @param collection the Python dictionary or list of documents
+     * @throws YamlException if an error occurs while writing the output
+     */
+    @Override
+    public void dumpPython(PyObject collection) throws YamlException {
+        final String METHOD = "dumpPython";
+
+        LOGGER.entering(CLASS, METHOD);
+        if (yamlOutputWriter != null) {
+            try {
+                dumpPythonInternal(collection, yamlOutputWriter);
+            } finally {
+                try {
+                    yamlOutputWriter.close();
+                } catch (IOException ioe) {
+                    LOGGER.warning("WLSDPLY-18110", ioe, streamFileName, ioe.getLocalizedMessage());
+                }
+                yamlOutputWriter = null;
+            }
+        }
+        LOGGER.exiting(CLASS, METHOD);
+    }
+
     @Override
     protected String getClassName() {
         return CLASS;
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2022, Oracle Corporation and/or its affiliates.  All rights reserved.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package oracle.weblogic.deploy.yaml;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import oracle.weblogic.deploy.logging.PlatformLogger;
+import oracle.weblogic.deploy.util.CommentMap;
+import oracle.weblogic.deploy.util.PyOrderedDict;
+import oracle.weblogic.deploy.util.PyRealBoolean;
+
+import org.python.core.PyDictionary;
+import org.python.core.PyFloat;
+import org.python.core.PyList;
+import org.python.core.PyObject;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.comments.CommentType;
+import org.yaml.snakeyaml.emitter.Emitter;
+import org.yaml.snakeyaml.events.CommentEvent;
+import org.yaml.snakeyaml.events.DocumentEndEvent;
+import org.yaml.snakeyaml.events.DocumentStartEvent;
+import org.yaml.snakeyaml.events.ImplicitTuple;
+import org.yaml.snakeyaml.events.MappingEndEvent;
+import org.yaml.snakeyaml.events.MappingStartEvent;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.events.SequenceEndEvent;
+import org.yaml.snakeyaml.events.SequenceStartEvent;
+import org.yaml.snakeyaml.events.StreamEndEvent;
+import org.yaml.snakeyaml.events.StreamStartEvent;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+import static oracle.weblogic.deploy.util.CommentMap.BLANK_LINE_KEY;
+
+/**
+ * A YAML writer that walks the Python dictionaries and lists of a model and sends the SnakeYAML events for
+ * them directly to the emitter, without converting the model to Java maps and lists first.  The events are
+ * the same as the ones that Yaml.dumpAll() produces for the converted model with YamlRepresenter, so the
+ * output is the same, including the comments from the CommentMap of each PyOrderedDict.
+ */
+class YamlStreamWriter {
+    // the representer uses the literal style for strings with line breaks
+    private static final Pattern MULTILINE_PATTERN = Pattern.compile("\n|\u0085|\u2028|\u2029");
+
+    private final Emitter emitter;
+    private final DumperOptions dumperOptions;
+    private final Resolver resolver = new Resolver();
+    private final PlatformLogger logger;
+    private final String className;
+
+    /**
+     * Create a writer for the specified output.
+     *
+     * @param writer        the output writer, which should be buffered
+     * @param dumperOptions the options for the output style
+     * @param logger        the logger
+     * @param className     the class name for logging
+     */
+    YamlStreamWriter(Writer writer, DumperOptions dumperOptions, PlatformLogger logger, String className) {
+        this.emitter = new Emitter(writer, dumperOptions);
+        this.dumperOptions = dumperOptions;
+        this.logger = logger;
+        this.className = className;
+    }
+
+    /**
+     * Write the documents to the output, and flush it.
+     *
+     * @param documents the Python values of the documents, usually dictionaries
+     * @throws IOException if an error occurs writing the output
+     * @throws YamlException if a value has a type that cannot be written
+     */
+    void writeDocuments(List<PyObject> documents) throws IOException, YamlException {
+        emitter.emit(new StreamStartEvent(null, null));
+        for (PyObject document : documents) {
+            emitter.emit(new DocumentStartEvent(null, null, dumperOptions.isExplicitStart(),
+                dumperOptions.getVersion(), dumperOptions.getTags()));
+            writeValue(document);
+            emitter.emit(new DocumentEndEvent(null, null, dumperOptions.isExplicitEnd()));
+        }
+        emitter.emit(new StreamEndEvent(null, null));
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Private Helper Methods                                                //
+    ///////////////////////////////////////////////////////////////////////////
+
+    private void writeValue(PyObject value) throws IOException, YamlException {
+        if (value instanceof PyDictionary) {
+            writeDictionary((PyDictionary) value);
+        } else if (value instanceof PyList) {
+            writeList((PyList) value);
+        } else {
+            writeScalar(value);
+        }
+    }
+
+    private void writeDictionary(PyDictionary dictionary) throws IOException, YamlException {
+        emitter.emit(new MappingStartEvent(null, Tag.MAP.getValue(), true, null, null,
+            dumperOptions.getDefaultFlowStyle()));
+
+        CommentMap commentMap = null;
+        if (dictionary instanceof PyOrderedDict && ((PyOrderedDict) dictionary).hasComments()) {
+            commentMap = ((PyOrderedDict) dictionary).getCommentMap();
+        }
+
+        PyObject iterator = dictionary.__iter__();
+        for (PyObject key = iterator.__iternext__(); key != null; key = iterator.__iternext__()) {
+            String keyText = key.toString();
+            if (commentMap != null) {
+                writeComments(commentMap.getComments(keyText));
+            }
+            writeString(keyText);
+            writeValue(dictionary.__finditem__(key));
+        }
+        emitter.emit(new MappingEndEvent(null, null));
+    }
+
+    private void writeList(PyList list) throws IOException, YamlException {
+        emitter.emit(new SequenceStartEvent(null, Tag.SEQ.getValue(), true, null, null,
+            dumperOptions.getDefaultFlowStyle()));
+        PyObject iterator = list.__iter__();
+        for (PyObject element = iterator.__iternext__(); element != null; element = iterator.__iternext__()) {
+            writeValue(element);
+        }
+        emitter.emit(new SequenceEndEvent(null, null));
+    }
+
+    private void writeComments(List<String> comments) throws IOException {
+        for (String comment : comments) {
+            if (BLANK_LINE_KEY.equals(comment)) {
+                emitter.emit(new CommentEvent(CommentType.BLANK_LINE, "", null, null));
+            } else {
+                emitter.emit(new CommentEvent(CommentType.BLOCK, " " + comment, null, null));
+            }
+        }
+    }
+
+    // Write the scalar with the tag and text that the representer would use for its Java value.
+    //
+    private void writeScalar(PyObject value) throws IOException, YamlException {
+        final String METHOD = "writeScalar";
+
+        if (value == null) {
+            writeScalar(Tag.NULL, "null", dumperOptions.getDefaultScalarStyle());
+            return;
+        } else if (value instanceof PyRealBoolean) {
+            writeScalar(Tag.BOOL, value.toString(), dumperOptions.getDefaultScalarStyle());
+            return;
+        }
+
+        String typeName = value.getType().fastGetName();
+        switch (typeName) {
+            case "str":
+            case "unicode":
+                writeString(value.toString());
+                break;
+
+            case "bool":
+                writeScalar(Tag.BOOL, value.__nonzero__() ? "true" : "false", dumperOptions.getDefaultScalarStyle());
+                break;
+
+            case "int":
+            case "long":
+                writeScalar(Tag.INT, value.__str__().toString(), dumperOptions.getDefaultScalarStyle());
+                break;
+
+            case "float":
+                writeScalar(Tag.FLOAT, getFloatText(((PyFloat) value).getValue()),
+                    dumperOptions.getDefaultScalarStyle());
+                break;
+
+            case "NoneType":
+                writeScalar(Tag.NULL, "null", dumperOptions.getDefaultScalarStyle());
+                break;
+
+            default:
+                YamlException pex = new YamlException("WLSDPLY-18201", typeName);
+                logger.throwing(className, METHOD, pex);
+                throw pex;
+        }
+    }
+
+    private void writeString(String text) throws IOException {
+        DumperOptions.ScalarStyle style = dumperOptions.getDefaultScalarStyle();
+        if (style == DumperOptions.ScalarStyle.PLAIN && MULTILINE_PATTERN.matcher(text).find()) {
+            style = DumperOptions.ScalarStyle.LITERAL;
+        }
+        writeScalar(Tag.STR, text, style);
+    }
+
+    private void writeScalar(Tag tag, String text, DumperOptions.ScalarStyle style) throws IOException {
+        // the tag is omitted if it would be resolved from the text, otherwise the emitter quotes the text
+        ImplicitTuple implicit = new ImplicitTuple(tag.equals(resolver.resolve(NodeId.scalar, text, true)),
+            tag.equals(resolver.resolve(NodeId.scalar, text, false)));
+        emitter.emit(new ScalarEvent(null, tag.getValue(), implicit, text, null, null, style));
+    }
+
+    private static String getFloatText(double value) {
+        if (Double.isNaN(value)) {
+            return ".NaN";
+        } else if (value == Double.POSITIVE_INFINITY) {
+            return ".inf";
+        } else if (value == Double.NEGATIVE_INFINITY) {
+            return "-.inf";
+        }
+        return Double.toString(value);
+    }
+}
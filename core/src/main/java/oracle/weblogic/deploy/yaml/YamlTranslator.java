@@ -15,6 +15,7 @@ import oracle.weblogic.deploy.logging.WLSDeployLogFactory;
 import oracle.weblogic.deploy.util.FileUtils;
 
 import org.python.core.PyList;
+import org.python.core.PyObject;
 
 /**
  * An implementation of the YAML parser/translator that reads the YAML input from an input stream.
@@ -87,6 +88,28 @@ public class YamlTranslator extends AbstractYamlTranslator {
         LOGGER.exiting(CLASS, METHOD);
     }
 
+    /**
+     * Write a Python dictionary, or a list of Python dictionaries as separate documents, to the YAML file.
+     *
+     * @param collection the Python dictionary or list of documents
+     * @throws YamlException if an error occurs while writing the output
+     */
+    @Override
+    public void dumpPython(PyObject collection) throws YamlException {
+        final String METHOD = "dumpPython";
+
+        // Don't log the data since it is big and could contain credentials.
+        LOGGER.entering(CLASS, METHOD);
+        try (FileWriter fileWriter = new FileWriter(yamlFile)) {
+            dumpPythonInternal(collection, fileWriter);
+        } catch (IOException ioe) {
+            YamlException ex = new YamlException("WLSDPLY-18109", ioe, yamlFile.getPath(), ioe.getLocalizedMessage());
+            LOGGER.throwing(CLASS, METHOD, ex);
+            throw ex;
+        }
+        LOGGER.exiting(CLASS, METHOD);
+    }
+
     @Override
     protected String getClassName() {
         return CLASS;
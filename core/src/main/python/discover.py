@@ -11,6 +11,7 @@ from java.io import File
 from java.io import IOException
 from java.lang import IllegalArgumentException
 from java.lang import IllegalStateException
+from java.lang import System
 from oracle.weblogic.deploy.aliases import AliasException
 from oracle.weblogic.deploy.discover import DiscoverException
 from oracle.weblogic.deploy.util import CLAException
@@ -205,15 +206,26 @@ def __discover(model_context, aliases, credential_injector, helper):
     __connect_to_domain(model_context, helper)
     try:
         _add_domain_name(base_location, aliases, helper)
-        DomainInfoDiscoverer(model_context, model.get_model_domain_info(), base_location, wlst_mode=__wlst_mode,
-                             aliases=aliases, credential_injector=credential_injector).discover()
-        TopologyDiscoverer(model_context, model.get_model_topology(), base_location, wlst_mode=__wlst_mode,
-                           aliases=aliases, credential_injector=credential_injector).discover()
-        ResourcesDiscoverer(model_context, model.get_model_resources(), base_location, wlst_mode=__wlst_mode,
-                            aliases=aliases, credential_injector=credential_injector).discover()
-        DeploymentsDiscoverer(model_context, model.get_model_app_deployments(), base_location, wlst_mode=__wlst_mode,
-                              aliases=aliases, credential_injector=credential_injector).discover()
-        __discover_multi_tenant(model, model_context, base_location, aliases, credential_injector)
+        # the discoverers share the WLST session, so they run one after another in model order
+        __run_discoverer(model_constants.DOMAIN_INFO,
+                         DomainInfoDiscoverer(model_context, model.get_model_domain_info(), base_location,
+                                              wlst_mode=__wlst_mode, aliases=aliases,
+                                              credential_injector=credential_injector))
+        __run_discoverer(model_constants.TOPOLOGY,
+                         TopologyDiscoverer(model_context, model.get_model_topology(), base_location,
+                                            wlst_mode=__wlst_mode, aliases=aliases,
+                                            credential_injector=credential_injector))
+        __run_discoverer(model_constants.RESOURCES,
+                         ResourcesDiscoverer(model_context, model.get_model_resources(), base_location,
+                                             wlst_mode=__wlst_mode, aliases=aliases,
+                                             credential_injector=credential_injector))
+        __run_discoverer(model_constants.APP_DEPLOYMENTS,
+                         DeploymentsDiscoverer(model_context, model.get_model_app_deployments(), base_location,
+                                               wlst_mode=__wlst_mode, aliases=aliases,
+                                               credential_injector=credential_injector))
+        __run_discoverer('MultiTenant',
+                         MultiTenantDiscoverer(model, model_context, base_location, wlst_mode=__wlst_mode,
+                                               aliases=aliases, credential_injector=credential_injector))
     except AliasException, ae:
         wls_version = WebLogicHelper(__logger).get_actual_weblogic_version()
         wlst_mode = WlstModes.from_value(__wlst_mode)
@@ -245,16 +257,18 @@ def _add_domain_name(location, aliases, helper):
         raise de
 
 
-def __discover_multi_tenant(model, model_context, base_location, aliases, injector):
+def __run_discoverer(section_name, section_discoverer):
     """
-    Discover the multi-tenant-related parts of the domain, if they exist.
-    :param model: the model object to populate
-    :param model_context: the model context object
+    Run the discoverer for a section of the model, and log how long it took.
+    :param section_name: the name of the model section, used in the log message
+    :param section_discoverer: the discoverer for the section
     :raises DiscoverException: if an error occurs during discovery
     """
-    MultiTenantDiscoverer(model, model_context, base_location,
-                          wlst_mode=__wlst_mode, aliases=aliases, credential_injector=injector).discover()
-    return
+    _method_name = '__run_discoverer'
+    start_time = System.currentTimeMillis()
+    section_discoverer.discover()
+    __logger.info('WLSDPLY-06032', section_name, System.currentTimeMillis() - start_time,
+                  class_name=_class_name, method_name=_method_name)
 
 
 def __connect_to_domain(model_context, helper):
@@ -294,6 +308,7 @@ def __connect_to_domain(model_context, helper):
 def __clear_archive_file(model_context):
     """
     Remove any binaries already in the archive file.
+    This starts the batch of archive changes that is written by __commit_archive.
     :param model_context: the model context
     :raises DiscoverException: if an error occurs while removing the binaries
     """
@@ -308,6 +323,7 @@ def __clear_archive_file(model_context):
         raise de
 
     try:
+        archive_file.beginBatch()
         archive_file.removeAllBinaries()
     except WLSDeployArchiveIOException, wioe:
         de = exception_helper.create_discover_exception('WLSDPLY-06005', wioe.getLocalizedMessage())
@@ -317,6 +333,27 @@ def __clear_archive_file(model_context):
     return
 
 
+def __commit_archive(model_context):
+    """
+    Write the changes made to the archive file during discovery.
+    :param model_context: the model context
+    :raises DiscoverException: if an error occurs while writing the archive file
+    """
+    _method_name = '__commit_archive'
+    __logger.entering(class_name=_class_name, method_name=_method_name)
+
+    archive_file = model_context.get_archive_file()
+    try:
+        archive_file.commitBatch()
+    except WLSDeployArchiveIOException, wioe:
+        de = exception_helper.create_discover_exception('WLSDPLY-06030', wioe.getLocalizedMessage())
+        __logger.throwing(class_name=_class_name, method_name=_method_name, error=de)
+        raise de
+
+    __logger.exiting(class_name=_class_name, method_name=_method_name)
+    return
+
+
 def __close_archive(model_context):
     """
     Close the archive object
@@ -557,6 +594,13 @@ def main(args):
                         error=ex, class_name=_class_name, method_name=_method_name)
         __log_and_exit(model_context, CommandLineArgUtil.PROG_ERROR_EXIT_CODE, _class_name, _method_name)
 
+    try:
+        __commit_archive(model_context)
+    except DiscoverException, ex:
+        __logger.severe('WLSDPLY-06031', _program_name, model_context.get_archive_file_name(),
+                        ex.getLocalizedMessage(), error=ex, class_name=_class_name, method_name=_method_name)
+        __log_and_exit(model_context, CommandLineArgUtil.PROG_ERROR_EXIT_CODE, _class_name, _method_name)
+
     __close_archive(model_context)
 
     __log_and_exit(model_context, exit_code, _class_name, _method_name)
@@ -1,5 +1,5 @@
 """
-Copyright (c) 2017, 2020, Oracle Corporation and/or its affiliates.  All rights reserved.
+Copyright (c) 2017, 2022, Oracle Corporation and/or its affiliates.  All rights reserved.
 Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
 
 The main module for the WLSDeploy tool to encrypt passwords.
@@ -164,12 +164,13 @@ def __encrypt_model_and_variables(model_context):
             return CommandLineArgUtil.PROG_ERROR_EXIT_CODE
 
     aliases = Aliases(model_context, wlst_mode=WlstModes.OFFLINE, exception_type=ExceptionType.ENCRYPTION)
+    shared_salt = model_context.get_model_config().get_encrypt_shared_salt()
 
     for model_file, model in models.iteritems():
         try:
             passphrase = model_context.get_encryption_passphrase()
             model_change_count, variable_change_count = \
-                encryption_utils.encrypt_model_dictionary(passphrase, model, aliases, variables)
+                encryption_utils.encrypt_model_dictionary(passphrase, model, aliases, variables, shared_salt)
         except EncryptionException, ee:
             __logger.severe('WLSDPLY-04208', _program_name, ee.getLocalizedMessage(), error=ee,
                             class_name=_class_name, method_name=_method_name)
@@ -75,6 +75,14 @@ from wlsdeploy.util import string_utils
 _class_name = 'AliasEntries'
 _logger = PlatformLogger('wlsdeploy.aliases')
 
+# the keys of the snapshot dictionary saved for each resolved folder
+_SNAPSHOT_FOLDER_KEY = 'folder'
+_SNAPSHOT_UNRESOLVED_KEY = 'unresolved'
+
+# the key of a resolved folder whose attributes and subfolders will be resolved when the folder is first used.
+# the value is the model folder path name of the folder.
+_UNRESOLVED_CONTENTS_KEY = '__unresolved_contents'
+
 
 class AliasEntries(object):
     """
@@ -190,14 +198,28 @@ class AliasEntries(object):
 
     __domain_name_token = 'DOMAIN'
 
-    def __init__(self, wlst_mode=WlstModes.OFFLINE, wls_version=None):
+    def __init__(self, wlst_mode=WlstModes.OFFLINE, wls_version=None, snapshot_store=None):
         """
         The initialization method called when the object is constructed.
         :param wlst_mode: the WLST mode being used, the default is OFFLINE
         :param wls_version: the WLS version to use, the default is the version of WLST being used to run the program.
+        :param snapshot_store: the AliasSnapshotStore for this WLS version and WLST mode, or None to always
+                               resolve the folders from the category modules
         """
         self._category_dict = {}
+        # the raw category dictionaries, kept to resolve the folders that do not have a snapshot
+        self._raw_category_dict = {}
+        # lookups for the model folder path of a location, which do not depend on the name tokens
+        self._folder_cache = {}
+        self._attribute_entries_cache = {}
+        self._wlst_attribute_entries_cache = {}
+        self._lookup_hits = 0
+        self._lookup_misses = 0
+        # the WLS version does not change, so each version range is checked once
+        self._version_range_results = {}
+        self._resolved_folder_count = 0
         self._wlst_mode = wlst_mode
+        self._snapshot_store = snapshot_store
         if wls_version is None:
             from wlsdeploy.util.weblogic_helper import WebLogicHelper
             self._wls_helper = WebLogicHelper(_logger)
@@ -207,6 +229,14 @@ class AliasEntries(object):
 
         return
 
+    def get_resolved_folder_count(self):
+        """
+        Get the number of folders whose attributes and subfolders have been resolved for the current
+        WLS version and WLST mode.  Folders loaded from an alias snapshot are not included.
+        :return: the number of resolved folders
+        """
+        return self._resolved_folder_count
+
     def get_dictionary_for_location(self, location, resolve=True):
         """
         Get the alias dictionary for the specified location with all the context applied to the data.  Note
@@ -670,7 +700,8 @@ class AliasEntries(object):
     def get_alias_attribute_entries_by_location(self, location):
         """
         Get the attribute entries for the specified location.  Note that since this method does not resolve
-        the paths, the wlst_path attribute is removed for the returned attribute entries.
+        the paths, the wlst_path attribute is removed for the returned attribute entries.  The entries are
+        copies, so the caller may modify them.
         :param location: the location
         :return: the dictionary of attribute entries, keyed by the model attribute names
         :raises AliasException: if an error occurs
@@ -679,16 +710,8 @@ class AliasEntries(object):
 
         _logger.entering(str(location), class_name=_class_name, method_name=_method_name)
         folder_dict = self.__get_dictionary_for_location(location, False)
-        model_attr_dict = dict()
         if folder_dict is not None and ATTRIBUTES in folder_dict:
-            attrs = folder_dict[ATTRIBUTES]
-            for attr_name in attrs:
-                attr = copy.deepcopy(attrs[attr_name])
-                if WLST_PATH in attr:
-                    del attr[WLST_PATH]
-                else:
-                    _logger.warning('WLSDPLY-08107', attr_name, location.get_folder_path(), WLST_PATH)
-                model_attr_dict[attr_name] = attr
+            model_attr_dict = alias_utils.copy_lists_and_dicts(self.__get_attribute_entries(location, folder_dict))
         else:
             ex = exception_helper.create_alias_exception('WLSDPLY-08108', location.get_folder_path(), ATTRIBUTES)
             _logger.throwing(ex, class_name=_class_name, method_name=_method_name)
@@ -700,6 +723,7 @@ class AliasEntries(object):
     def get_alias_attribute_entry_by_model_name(self, location, model_attribute_name):
         """
         Get a single alias attribute entry from the specified location by its model name.
+        The entry is a copy, so the caller may modify it.
         :param location: the location
         :param model_attribute_name: the model name for the attribute
         :return: the alias entry for the specified attribute
@@ -710,14 +734,8 @@ class AliasEntries(object):
         _logger.entering(str(location), model_attribute_name, class_name=_class_name, method_name=_method_name)
         folder_dict = self.__get_dictionary_for_location(location, False)
         if folder_dict is not None and ATTRIBUTES in folder_dict:
-            if model_attribute_name in folder_dict[ATTRIBUTES]:
-                model_attr_dict = copy.deepcopy(folder_dict[ATTRIBUTES][model_attribute_name])
-                if WLST_PATH in model_attr_dict:
-                    del model_attr_dict[WLST_PATH]
-                else:
-                    _logger.warning('WLSDPLY-08107', model_attribute_name, location.get_folder_path(), WLST_PATH)
-            else:
-                model_attr_dict = None
+            model_attr_dict = alias_utils.copy_lists_and_dicts(dictionary_utils.get_element(
+                self.__get_attribute_entries(location, folder_dict), model_attribute_name))
         else:
             ex = exception_helper.create_alias_exception('WLSDPLY-08109', model_attribute_name,
                                                          location.get_folder_path(), ATTRIBUTES)
@@ -730,6 +748,7 @@ class AliasEntries(object):
     def get_alias_attribute_entry_by_wlst_name(self, location, wlst_attribute_name):
         """
         Get a single alias attribute entry from the specified location by its WLST name.
+        The entry is a copy, so the caller may modify it.
         :param location: the location
         :param wlst_attribute_name: the WLST name for the attribute
         :return: the alias entry for the specified attribute
@@ -744,11 +763,8 @@ class AliasEntries(object):
             result = None
         elif folder_dict is not None and WLST_NAMES_MAP in folder_dict:
             if wlst_attribute_name in folder_dict[WLST_NAMES_MAP]:
-                result = copy.deepcopy(folder_dict[WLST_NAMES_MAP][wlst_attribute_name])
-                if WLST_PATH in result:
-                    del result[WLST_PATH]
-                else:
-                    _logger.warning('WLSDPLY-08110', wlst_attribute_name, location.get_folder_path(), WLST_PATH)
+                result = alias_utils.copy_lists_and_dicts(
+                    self.__get_wlst_attribute_entry(location, folder_dict, wlst_attribute_name))
             else:
                 if wlst_attribute_name not in self.IGNORE_FOR_MODEL_LIST:
                     ex = exception_helper.create_alias_exception('WLSDPLY-08111', location.get_folder_path(),
@@ -857,7 +873,8 @@ class AliasEntries(object):
         _method_name = 'is_valid_model_attribute_name_for_location'
 
         _logger.entering(str(location), model_attribute_name, class_name=_class_name, method_name=_method_name)
-        folder_dict = self.__get_dictionary_for_location(location, True)
+        # only the attribute names are checked, so the path tokens do not need to be resolved
+        folder_dict = self.__get_dictionary_for_location(location, False)
         valid_version_range = None
         if folder_dict is None:
             result = ValidationCodes.VERSION_INVALID
@@ -993,6 +1010,35 @@ class AliasEntries(object):
             raise ex
 
         location_folders = location.get_model_folders()
+        cache_key = '/'.join(location_folders)
+        if cache_key in self._folder_cache:
+            self._lookup_hits += 1
+            folder_dict, path_name = self._folder_cache[cache_key]
+        else:
+            folder_dict, path_name = self.__find_folder_dictionary(location_folders)
+            self._folder_cache[cache_key] = (folder_dict, path_name)
+            self._lookup_misses += 1
+            _logger.fine('WLSDPLY-08145', '/' + cache_key, self._lookup_hits, self._lookup_misses,
+                         class_name=_class_name, method_name=_method_name)
+
+        if resolve_path_tokens and path_name is not None:
+            resolved_dict = alias_utils.resolve_path_tokens(location, path_name, folder_dict)
+        else:
+            resolved_dict = folder_dict
+
+        _logger.exiting(class_name=_class_name, method_name=_method_name)
+        return resolved_dict
+
+    def __find_folder_dictionary(self, location_folders):
+        """
+        Find the dictionary for the model folders, without the path tokens resolved.
+        :param location_folders: the list of model folders
+        :return: the dictionary, or None if the folder is not relevant to the current WLS version,
+                 and the folder path used to resolve the path tokens, or None if no resolution is needed
+        :raises: AliasException: if an error occurs
+        """
+        _method_name = '__find_folder_dictionary'
+
         if len(location_folders) == 0:
             model_category_name = self.__domain_category
         else:
@@ -1002,31 +1048,74 @@ class AliasEntries(object):
                 _logger.throwing(ex, class_name=_class_name, method_name=_method_name)
                 raise ex
 
-        category_dict = self.__get_category_dictionary(model_category_name)
-        if category_dict is not None and len(location_folders) > 0:
-            path_name = '/' + location_folders[0]
-            location_subfolders = list(location_folders[1:])
-            child_dict = category_dict
-            for location_subfolder in location_subfolders:
-                if FOLDERS in child_dict and location_subfolder in child_dict[FOLDERS]:
-                    child_dict = child_dict[FOLDERS][location_subfolder]
-                else:
-                    ex = exception_helper.create_alias_exception('WLSDPLY-08117', location_subfolder, path_name)
-                    _logger.throwing(ex, class_name=_class_name, method_name=_method_name)
-                    raise ex
-                if child_dict is None:
-                    break
-                path_name += '/' + location_subfolder
+        category_dict = self.__get_resolved_folder(self.__get_category_dictionary(model_category_name))
+        if category_dict is None or len(location_folders) == 0:
+            return category_dict, None
 
-            if resolve_path_tokens:
-                resolved_dict = alias_utils.resolve_path_tokens(location, path_name, child_dict)
+        path_name = '/' + location_folders[0]
+        location_subfolders = list(location_folders[1:])
+        child_dict = category_dict
+        for location_subfolder in location_subfolders:
+            if FOLDERS in child_dict and location_subfolder in child_dict[FOLDERS]:
+                child_dict = self.__get_resolved_folder(child_dict[FOLDERS][location_subfolder])
             else:
-                resolved_dict = child_dict
-        else:
-            resolved_dict = category_dict
+                ex = exception_helper.create_alias_exception('WLSDPLY-08117', location_subfolder, path_name)
+                _logger.throwing(ex, class_name=_class_name, method_name=_method_name)
+                raise ex
+            if child_dict is None:
+                break
+            path_name += '/' + location_subfolder
+        return child_dict, path_name
 
-        _logger.exiting(class_name=_class_name, method_name=_method_name)
-        return resolved_dict
+    def __get_attribute_entries(self, location, folder_dict):
+        """
+        Get the attribute entries for the folder with the wlst_path attribute removed, keyed by the model
+        attribute names.  The entries are created once for the model folders of the location, and are
+        shared by the lookups, so they must be copied before they are returned to a caller.
+        :param location: the location
+        :param folder_dict: the unresolved dictionary for the location
+        :return: the dictionary of attribute entries
+        """
+        cache_key = '/'.join(location.get_model_folders())
+        if cache_key in self._attribute_entries_cache:
+            return self._attribute_entries_cache[cache_key]
+
+        model_attr_dict = dict()
+        attrs = folder_dict[ATTRIBUTES]
+        for attr_name in attrs:
+            attr = _copy_without_wlst_path(attrs[attr_name])
+            if attr is None:
+                _logger.warning('WLSDPLY-08107', attr_name, location.get_folder_path(), WLST_PATH)
+                attr = copy.deepcopy(attrs[attr_name])
+            model_attr_dict[attr_name] = attr
+        self._attribute_entries_cache[cache_key] = model_attr_dict
+        return model_attr_dict
+
+    def __get_wlst_attribute_entry(self, location, folder_dict, wlst_attribute_name):
+        """
+        Get the attribute entry for the WLST attribute name with the wlst_path attribute removed.
+        The entry is created once for the model folders of the location, and is shared by the lookups,
+        so it must be copied before it is returned to a caller.
+        :param location: the location
+        :param folder_dict: the unresolved dictionary for the location
+        :param wlst_attribute_name: the WLST attribute name, which must be in the WLST names map of the folder
+        :return: the attribute entry
+        """
+        cache_key = '/'.join(location.get_model_folders())
+        if cache_key in self._wlst_attribute_entries_cache:
+            wlst_attr_dict = self._wlst_attribute_entries_cache[cache_key]
+        else:
+            wlst_attr_dict = dict()
+            self._wlst_attribute_entries_cache[cache_key] = wlst_attr_dict
+
+        if wlst_attribute_name not in wlst_attr_dict:
+            attr = folder_dict[WLST_NAMES_MAP][wlst_attribute_name]
+            result = _copy_without_wlst_path(attr)
+            if result is None:
+                _logger.warning('WLSDPLY-08110', wlst_attribute_name, location.get_folder_path(), WLST_PATH)
+                result = copy.deepcopy(attr)
+            wlst_attr_dict[wlst_attribute_name] = result
+        return wlst_attr_dict[wlst_attribute_name]
 
     def __get_category_dictionary(self, model_category_name):
         """
@@ -1042,27 +1131,117 @@ class AliasEntries(object):
 
     def __load_category(self, model_category_name):
         """
-        Load the category and apply WLS version and WLST mode context to it.
+        Load the category and apply WLS version and WLST mode context to it.  The attributes and subfolders
+        of the category folder are resolved now, the contents of each subfolder are resolved when it is first used.
         :param model_category_name: the category name
         :raises: AliasException: if an error occurs
         """
         _method_name = '__load_category'
 
         _logger.entering(model_category_name, class_name=_class_name, method_name=_method_name)
-        model_category_file = self._get_category_file_prefix(model_category_name)
-        raw_category_dict = self.__load_category_file(model_category_file)
-        _logger.fine('WLSDPLY-08118', model_category_name, class_name=_class_name, method_name=_method_name)
-
-        # At this point, we need to look for contains elements and replace them accordingly.
-        self.__load_contains_categories(model_category_name, raw_category_dict)
+        if self.__load_category_snapshot(model_category_name):
+            _logger.exiting(class_name=_class_name, method_name=_method_name)
+            return
 
-        # Now that the structure and paths are updated based on loading contains references,
-        # process the folder recursively and resolve everything based on WLS version and WLST mode.
+        raw_category_dict = self.__get_raw_category_dictionary(model_category_name)
         self._category_dict[model_category_name] = \
-            self.__apply_wlst_context_changes(model_category_name, raw_category_dict, self._category_dict)
+            self.__apply_wlst_context_changes(model_category_name, raw_category_dict, self._category_dict, True)
+        self.__save_category_snapshot(model_category_name)
         _logger.exiting(class_name=_class_name, method_name=_method_name)
         return
 
+    def __get_raw_category_dictionary(self, model_category_name):
+        """
+        Get the raw category dictionary, loading it first if required.  The dictionary includes the contained
+        categories, but is not specific to the WLS version and WLST mode.
+        :param model_category_name: the category name
+        :return: the raw category dictionary
+        :raises: AliasException: if an error occurs
+        """
+        _method_name = '__get_raw_category_dictionary'
+
+        if model_category_name not in self._raw_category_dict:
+            model_category_file = self._get_category_file_prefix(model_category_name)
+            raw_category_dict = self.__load_category_file(model_category_file)
+            _logger.fine('WLSDPLY-08118', model_category_name, class_name=_class_name, method_name=_method_name)
+
+            # At this point, we need to look for contains elements and replace them accordingly.
+            self.__load_contains_categories(model_category_name, raw_category_dict)
+            self._raw_category_dict[model_category_name] = raw_category_dict
+        return self._raw_category_dict[model_category_name]
+
+    def __get_raw_folder_dictionary(self, path_name):
+        """
+        Get the raw alias dictionary of a folder from its category dictionary.
+        :param path_name: the model folder path name, starting with the category name
+        :return: the raw folder dictionary
+        :raises: AliasException: if an error occurs
+        """
+        folder_names = path_name.split('/')
+        alias_dict = self.__get_raw_category_dictionary(folder_names[0])
+        for folder_name in folder_names[1:]:
+            alias_dict = alias_dict[FOLDERS][folder_name]
+        return alias_dict
+
+    def __load_category_snapshot(self, model_category_name):
+        """
+        Load the resolved category from its snapshot, if there is a snapshot store and it has a snapshot
+        of the category.  Loading the resolved category may also record the category as an unresolved folder.
+        :param model_category_name: the category name
+        :return: True if the category was loaded, False otherwise
+        """
+        snapshot = self.__load_folder_snapshot(model_category_name)
+        if snapshot is None:
+            return False
+
+        if _SNAPSHOT_UNRESOLVED_KEY in snapshot:
+            _add_to_unresolved_folders(model_category_name, self._category_dict, snapshot[_SNAPSHOT_UNRESOLVED_KEY])
+        self._category_dict[model_category_name] = snapshot[_SNAPSHOT_FOLDER_KEY]
+        return True
+
+    def __save_category_snapshot(self, model_category_name):
+        """
+        Save the resolved category as a snapshot, if there is a snapshot store.  The snapshot includes the
+        unresolved folder entry for the category, if it is not relevant to the current WLS version and WLST mode.
+        :param model_category_name: the category name
+        """
+        if self._snapshot_store is None:
+            return
+
+        snapshot = dict()
+        snapshot[_SNAPSHOT_FOLDER_KEY] = self._category_dict[model_category_name]
+        if UNRESOLVED_FOLDERS_MAP in self._category_dict:
+            unresolved_folders = self._category_dict[UNRESOLVED_FOLDERS_MAP]
+            folder_name = alias_utils.compute_folder_name_from_path(model_category_name)
+            if folder_name in unresolved_folders:
+                # the version range may be None if the folder is only excluded by WLST mode
+                snapshot[_SNAPSHOT_UNRESOLVED_KEY] = unresolved_folders[folder_name]
+        self._snapshot_store.save(model_category_name, snapshot)
+
+    def __load_folder_snapshot(self, path_name):
+        """
+        Load the snapshot of a resolved folder, if there is a snapshot store.
+        :param path_name: the model folder path name
+        :return: the snapshot dictionary, or None if there is no snapshot of the folder
+        """
+        if self._snapshot_store is None:
+            return None
+        return self._snapshot_store.load(path_name)
+
+    def __save_folder_snapshot(self, path_name, folder_dict):
+        """
+        Save the resolved folder as a snapshot, if there is a snapshot store.  The unresolved subfolders
+        in the snapshot keep their path names, so each of them is resolved or loaded when it is first used.
+        :param path_name: the model folder path name
+        :param folder_dict: the filtered folder dictionary
+        """
+        if self._snapshot_store is None:
+            return
+
+        snapshot = dict()
+        snapshot[_SNAPSHOT_FOLDER_KEY] = folder_dict
+        self._snapshot_store.save(path_name, snapshot)
+
     def __load_category_file(self, category_base_file_name):
         """
         Load the category from its data file.
@@ -1154,12 +1333,17 @@ class AliasEntries(object):
         _logger.exiting(class_name=_class_name, method_name=_method_name)
         return
 
-    def __apply_wlst_context_changes(self, path_name, alias_dict, parent_dict):
+    def __apply_wlst_context_changes(self, path_name, alias_dict, parent_dict, resolve_contents):
         """
         Apply the WLS version and WLST mode changes to the alias dictionary so that the resulting
-        dictionary is specific to the current WLST context.
+        dictionary is specific to the current WLST context.  The folder type, names and paths are resolved
+        immediately, since they are read from the parent folder.  The attributes and subfolders are resolved
+        immediately only if resolve_contents is True, otherwise they are resolved when the folder is first used.
+        The contents of the subfolders are always resolved when each subfolder is first used.
         :param path_name: the model folder path name for the alias dictionary
         :param alias_dict: the folder alias dictionary
+        :param parent_dict: the filtered dictionary of the parent folder
+        :param resolve_contents: whether to resolve the attributes and subfolders of the folder now
         :return: the filtered alias dictionary or None if folder is not relevant to the current WLS version
         :raises: AliasException: if an error occurs
         """
@@ -1173,16 +1357,6 @@ class AliasEntries(object):
             return None
 
         result = dict()
-        if FOLDERS in alias_dict:
-            result_folders = dict()
-            folders = alias_dict[FOLDERS]
-            for folder in folders:
-                folder_dict = self.__apply_wlst_context_changes(path_name + '/' + folder, folders[folder], result)
-                # if folder_dict is None, this folder was invalid for this version/mode of WLS
-                if folder_dict is not None:
-                    result_folders[folder] = folder_dict
-            result[FOLDERS] = result_folders
-
         if FLATTENED_FOLDER_DATA in alias_dict:
             result_flattened = dict()
             flattened_data = alias_dict[FLATTENED_FOLDER_DATA]
@@ -1227,6 +1401,58 @@ class AliasEntries(object):
         if WLST_CREATE_PATH in alias_dict:
             result[WLST_CREATE_PATH] = self._resolve_curly_braces(alias_dict[WLST_CREATE_PATH])
 
+        if resolve_contents:
+            self.__resolve_folder_contents(path_name, alias_dict, result)
+        else:
+            result[_UNRESOLVED_CONTENTS_KEY] = path_name
+        return result
+
+    def __get_resolved_folder(self, folder_dict):
+        """
+        Resolve the attributes and subfolders of the filtered folder dictionary, if they have not been resolved.
+        They are loaded from the folder snapshot if there is one, otherwise they are resolved from the raw
+        folder dictionary and saved as a snapshot.
+        :param folder_dict: the filtered folder dictionary, or None
+        :return: the filtered folder dictionary, or None
+        :raises: AliasException: if an error occurs
+        """
+        _method_name = '__get_resolved_folder'
+
+        if folder_dict is not None and _UNRESOLVED_CONTENTS_KEY in folder_dict:
+            path_name = folder_dict[_UNRESOLVED_CONTENTS_KEY]
+            del folder_dict[_UNRESOLVED_CONTENTS_KEY]
+            snapshot = self.__load_folder_snapshot(path_name)
+            if snapshot is not None:
+                folder_dict.update(snapshot[_SNAPSHOT_FOLDER_KEY])
+            else:
+                self.__resolve_folder_contents(path_name, self.__get_raw_folder_dictionary(path_name), folder_dict)
+                _logger.fine('WLSDPLY-08146', path_name, self._resolved_folder_count,
+                             class_name=_class_name, method_name=_method_name)
+                self.__save_folder_snapshot(path_name, folder_dict)
+        return folder_dict
+
+    def __resolve_folder_contents(self, path_name, alias_dict, result):
+        """
+        Apply the WLS version and WLST mode changes to the attributes and subfolders of the alias dictionary,
+        and add them to the filtered folder dictionary.  The contents of the subfolders are not resolved.
+        :param path_name: the model folder path name for the alias dictionary
+        :param alias_dict: the folder alias dictionary
+        :param result: the filtered folder dictionary
+        :raises: AliasException: if an error occurs
+        """
+        _method_name = '__resolve_folder_contents'
+
+        if FOLDERS in alias_dict:
+            result_folders = dict()
+            folders = alias_dict[FOLDERS]
+            for folder in folders:
+                folder_dict = self.__apply_wlst_context_changes(path_name + '/' + folder, folders[folder], result,
+                                                                False)
+                # if folder_dict is None, this folder was invalid for this version/mode of WLS
+                if folder_dict is not None:
+                    result_folders[folder] = folder_dict
+            result[FOLDERS] = result_folders
+
         if ATTRIBUTES in alias_dict:
             result_model_attrs = dict()
             result_wlst_attrs = dict()
@@ -1277,7 +1503,7 @@ class AliasEntries(object):
             result[UNRESOLVED_ATTRIBUTES_MAP] = unresolved_attrs
             result[WLST_SKIP_NAMES] = wlst_skip_attrs
 
-        return result
+        self._resolved_folder_count += 1
 
     def __is_version(self, path_name, alias_dict):
         _method_name = '__is_version'
@@ -1455,7 +1681,10 @@ class AliasEntries(object):
         :return: true if the current version is within the range, false otherwise
         :raises: VersionException: if an error occurs in processing the specified version range
         """
-        return VersionUtils.isVersionInRange(self._wls_version, attr_version_range)
+        if attr_version_range not in self._version_range_results:
+            self._version_range_results[attr_version_range] = \
+                VersionUtils.isVersionInRange(self._wls_version, attr_version_range)
+        return self._version_range_results[attr_version_range]
 
     def __resolve_attribute(self, attr_dict):
         """
@@ -1598,3 +1827,20 @@ def _add_to_unresolved_folders(path_name, parent_dict, unresolved):
         parent_dict[UNRESOLVED_FOLDERS_MAP] = dict()
     alias_dict_folder_name = alias_utils.compute_folder_name_from_path(path_name)
     parent_dict[UNRESOLVED_FOLDERS_MAP][alias_dict_folder_name] = unresolved
+
+
+def _copy_without_wlst_path(attribute_dict):
+    """
+    Copy the attribute entry without its wlst_path attribute.  The lists and dictionaries in the entry are
+    copied, so the copy does not share any values that could be changed with the alias dictionary.
+    :param attribute_dict: the attribute entry
+    :return: the copy, or None if the entry has no wlst_path attribute
+    """
+    if WLST_PATH not in attribute_dict:
+        return None
+    result = dict()
+    for key in attribute_dict:
+        if key != WLST_PATH:
+            result[key] = alias_utils.copy_lists_and_dicts(attribute_dict[key])
+    return result
+
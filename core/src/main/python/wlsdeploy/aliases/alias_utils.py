@@ -33,6 +33,7 @@ from wlsdeploy.aliases.alias_constants import ALIAS_DELIMITED_TYPES
 from wlsdeploy.aliases.alias_constants import ATTRIBUTES
 from wlsdeploy.aliases.alias_constants import COMMA_DELIMITED_STRING
 from wlsdeploy.aliases.alias_constants import DELIMITED_STRING
+from wlsdeploy.aliases.alias_constants import FOLDERS
 from wlsdeploy.aliases.alias_constants import JARRAY
 from wlsdeploy.aliases.alias_constants import JAVA_LANG_BOOLEAN
 from wlsdeploy.aliases.alias_constants import LIST
@@ -48,6 +49,7 @@ from wlsdeploy.aliases.alias_constants import WLST_ATTRIBUTES_PATH
 from wlsdeploy.aliases.alias_constants import WLST_CREATE_PATH
 from wlsdeploy.aliases.alias_constants import WLST_LIST_PATH
 from wlsdeploy.aliases.alias_constants import WLST_MODE
+from wlsdeploy.aliases.alias_constants import WLST_NAMES_MAP
 from wlsdeploy.aliases.alias_constants import WLST_PATH
 from wlsdeploy.aliases.alias_constants import WLST_PATHS
 from wlsdeploy.aliases.alias_constants import WLST_READ_TYPE
@@ -288,7 +290,7 @@ def resolve_path_tokens(location, path_name, folder_dict):
     #
     # Now that we have the target dictionary, we need to make a copy of it and replace the path tokens.
     #
-    resolved_dict = copy.deepcopy(folder_dict)
+    resolved_dict = _copy_folder_for_paths(folder_dict)
     if WLST_PATHS in resolved_dict:
         wlst_paths_dict = resolved_dict[WLST_PATHS]
         for path_key in wlst_paths_dict:
@@ -382,6 +384,26 @@ def resolve_path_tokens(location, path_name, folder_dict):
     return resolved_dict
 
 
+def copy_lists_and_dicts(value):
+    """
+    Copy the lists and dictionaries in the value.  This is much faster than copy.deepcopy(), and is
+    sufficient for the alias dictionaries, whose other values are strings, numbers, and booleans.
+    :param value: the value to copy
+    :return: the copy, or the value if it is not a list or dictionary
+    """
+    if isinstance(value, dict):
+        result = dict()
+        for key in value:
+            result[key] = copy_lists_and_dicts(value[key])
+        return result
+    if isinstance(value, list):
+        result = []
+        for item in value:
+            result.append(copy_lists_and_dicts(item))
+        return result
+    return value
+
+
 def resolve_path_index(folder_dict, paths_index, path_attribute_name_used, location):
     """
     Get the path for the specified path index.
@@ -1146,3 +1168,36 @@ def _create_mbean_array(iterable, subtype):
         myarray[idx] = element
         idx += 1
     return myarray
+
+
+def _copy_folder_for_paths(folder_dict):
+    """
+    Copy the folder dictionary so that its paths can be resolved without changing it.  The subfolders are
+    shared with the folder dictionary, since resolving the paths of this folder does not change them, and
+    copying them would copy all of the folders below it.  The WLST names map refers to the copied attribute
+    entries, as it does to the attribute entries in the folder dictionary.
+    :param folder_dict: the folder dictionary
+    :return: the copy of the folder dictionary
+    """
+    result = copy.copy(folder_dict)
+    for key in folder_dict:
+        if key == FOLDERS:
+            result[key] = copy.copy(folder_dict[key])
+        elif key != WLST_NAMES_MAP:
+            result[key] = copy_lists_and_dicts(folder_dict[key])
+
+    attribute_copies = dict()
+    if ATTRIBUTES in folder_dict:
+        for attribute_name in folder_dict[ATTRIBUTES]:
+            attribute_copies[id(folder_dict[ATTRIBUTES][attribute_name])] = result[ATTRIBUTES][attribute_name]
+
+    if WLST_NAMES_MAP in folder_dict:
+        wlst_names_map = dict()
+        for wlst_name in folder_dict[WLST_NAMES_MAP]:
+            attribute_dict = folder_dict[WLST_NAMES_MAP][wlst_name]
+            if id(attribute_dict) in attribute_copies:
+                wlst_names_map[wlst_name] = attribute_copies[id(attribute_dict)]
+            else:
+                wlst_names_map[wlst_name] = copy_lists_and_dicts(attribute_dict)
+        result[WLST_NAMES_MAP] = wlst_names_map
+    return result
@@ -2,8 +2,10 @@
 Copyright (c) 2017, 2022, Oracle and/or its affiliates.
 Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
 """
+from java.io import File
 from java.lang import String
 from oracle.weblogic.deploy.aliases import AliasException
+from oracle.weblogic.deploy.aliases import AliasSnapshotStore
 from oracle.weblogic.deploy.aliases import TypeUtils
 from oracle.weblogic.deploy.aliases import VersionUtils
 from oracle.weblogic.deploy.encrypt import EncryptionException
@@ -77,9 +79,28 @@ class Aliases(object):
         else:
             self._wls_version = wls_version
 
-        self._alias_entries = AliasEntries(wlst_mode, self._wls_version)
+        self._alias_entries = AliasEntries(wlst_mode, self._wls_version, self.__get_snapshot_store())
         return
 
+    def __get_snapshot_store(self):
+        """
+        Get the store used to cache the resolved alias categories between tool runs.
+        :return: the AliasSnapshotStore, or None if the alias cache is disabled
+        """
+        if self._model_context is None:
+            return None
+
+        model_config = self._model_context.get_model_config()
+        if not model_config.get_alias_cache_enabled():
+            return None
+
+        cache_dir = model_config.get_alias_cache_dir()
+        if string_utils.is_empty(cache_dir):
+            cache_dir_file = None
+        else:
+            cache_dir_file = File(cache_dir)
+        return AliasSnapshotStore(cache_dir_file, self._wls_version, WlstModes.from_value(self._wlst_mode))
+
     ###########################################################################
     #              Model folder navigation-related methods                    #
     ###########################################################################
@@ -604,7 +625,7 @@ class Aliases(object):
         try:
             wlst_attribute_names = []
 
-            module_folder = self._alias_entries.get_dictionary_for_location(location)
+            module_folder = self._alias_entries.get_dictionary_for_location(location, resolve=False)
 
             if ATTRIBUTES not in module_folder:
                 ex = exception_helper.create_alias_exception('WLSDPLY-08400', location.get_folder_path())
@@ -636,7 +657,7 @@ class Aliases(object):
         try:
             model_subfolder_name = None
 
-            module_folder = self._alias_entries.get_dictionary_for_location(location)
+            module_folder = self._alias_entries.get_dictionary_for_location(location, resolve=False)
             is_base_security_provider_type_location = alias_utils.is_base_security_provider_type_location(location)
             for key, value in module_folder[FOLDERS].iteritems():
                 # value will be None if the folder is not the correct version
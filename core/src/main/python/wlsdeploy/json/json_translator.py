@@ -4,17 +4,16 @@ Licensed under the Universal Permissive License v 1.0 as shown at https://oss.or
 
 This model provider translation classes that convert between JSON and Python Dictionaries.
 """
-import types
-
+import java.io.BufferedWriter as JBufferedWriter
 import java.io.FileNotFoundException as JFileNotFoundException
 import java.io.FileOutputStream as JFileOutputStream
 import java.io.IOException as JIOException
-import java.io.PrintWriter as JPrintWriter
-import java.lang.Boolean as JBoolean
+import java.io.OutputStreamWriter as JOutputStreamWriter
 import java.lang.IllegalArgumentException as JIllegalArgumentException
 
 import oracle.weblogic.deploy.util.FileUtils as JFileUtils
 import oracle.weblogic.deploy.json.JsonStreamTranslator as JJsonStreamTranslator
+import oracle.weblogic.deploy.json.JsonStreamWriter as JJsonStreamWriter
 import oracle.weblogic.deploy.json.JsonTranslator as JJsonTranslator
 
 from wlsdeploy.logging.platform_logger import PlatformLogger
@@ -98,8 +97,6 @@ class PythonToJson(object):
     This class writes a Python dictionary out in a JSON format.
     """
     _class_name = 'PythonToJson'
-    # 4 spaces of indent
-    _indent_unit = '    '
 
     def __init__(self, dictionary):
         # Fix error handling for None
@@ -128,8 +125,9 @@ class PythonToJson(object):
         writer = None
         try:
             fos = JFileOutputStream(json_file, False)
-            writer = JPrintWriter(fos, True)
-            self._write_dictionary_to_json_file(self._dictionary, writer)
+            writer = JBufferedWriter(JOutputStreamWriter(fos))
+            # the Java writer walks the dictionary directly, and streams the output to the writer
+            JJsonStreamWriter(writer).write(self._dictionary)
 
         except JFileNotFoundException, fnfe:
             json_ex = exception_helper.create_json_exception('WLSDPLY-18010', file_name,
@@ -148,63 +146,6 @@ class PythonToJson(object):
         self._logger.exiting(class_name=self._class_name, method_name=_method_name, result=json_file)
         return json_file
 
-    def _write_dictionary_to_json_file(self, dictionary, writer, indent=''):
-        """
-        Write the python dictionary in json syntax using the provided writer stream.
-        :param dictionary: python dictionary to convert to json syntax
-        :param writer: where to write the dictionary into json syntax
-        :param indent: current string indentation of the json syntax. If not provided, indent is an empty string
-        """
-        _method_name = '_write_dictionary_to_json_file'
-        _start_dict = '{'
-        _end_dict = '}'
-
-        if dictionary is None:
-            return
-        end_line = ''
-        # writer.print causes print to be flagged with error in ide
-        writer.write(_start_dict)
-        end_indent = indent
-
-        indent += self._indent_unit
-        for key, value in dictionary.iteritems():
-            writer.println(end_line)
-            end_line = ','
-            writer.write(indent + '"' + _escape_text(key) + '" : ')
-            if isinstance(value, dict):
-                self._write_dictionary_to_json_file(value, writer, indent)
-            elif isinstance(value, list):
-                self._write_list_to_json_file(value, writer, indent)
-            else:
-                writer.write(_format_json_value(value))
-        writer.println()
-        writer.write(end_indent + _end_dict)
-
-        return
-
-    def _write_list_to_json_file(self, alist, writer, indent=''):
-        """
-        Write the python list in json syntax using the provided writer stream.
-        :param alist: python list to convert to json syntax
-        :param writer: where to write the list into json syntax
-        :param indent: current string indentation of the json syntax. If not provided, indent is an empty string
-        """
-        writer.write('[')
-        end_line = ''
-        list_indent = indent + self._indent_unit
-        for value in alist:
-            writer.write(end_line)
-            writer.println()
-            if isinstance(value, dict):
-                writer.write(list_indent)
-                self._write_dictionary_to_json_file(value, writer, list_indent)
-            else:
-                writer.write(list_indent)
-                writer.write(_format_json_value(value))
-            end_line = ','
-        writer.println()
-        writer.write(indent + ']')
-
     def _close_streams(self, fos, writer):
         """
         Close the correct output stream.
@@ -213,56 +154,12 @@ class PythonToJson(object):
         """
         _method_name = '_close_streams'
 
-        if writer is not None:
-            writer.close()
-        elif fos is not None:
-            try:
+        try:
+            if writer is not None:
+                writer.close()
+            elif fos is not None:
                 fos.close()
-            except JIOException, ioe:
-                self._logger.fine('WLSDPLY-18016', ioe, ioe.getLocalizedMessage(),
-                                  class_name=self._class_name, method_name=_method_name)
+        except JIOException, ioe:
+            self._logger.fine('WLSDPLY-18016', ioe, ioe.getLocalizedMessage(),
+                              class_name=self._class_name, method_name=_method_name)
         return
-
-
-def _format_json_value(value):
-    """
-    Format the value as a JSON snippet.
-    :param value: the value
-    :return: the JSON snippet
-    """
-    import java.lang.StringBuilder as StringBuilder
-    builder = StringBuilder()
-    if type(value) == bool:
-        builder.append(JBoolean.toString(value))
-    elif isinstance(value, types.StringTypes):
-        builder.append('"').append(_escape_text(value.strip())).append('"')
-    else:
-        builder.append(value)
-    return builder.toString()
-
-
-def _escape_text(text):
-    """
-    Escape the specified text for use in a double-quoted string to become valid json expression.
-    :param text: the text to escape
-    :return: the escaped text
-    """
-    result = text
-    if isinstance(text, types.StringTypes):
-        if '\\' in result:
-            result = result.replace('\\', '\\\\')
-        if '"' in result:
-            result = result.replace('"', '\\"')
-        if '\n' in result:
-            result = result.replace("\n", "\\\\n")
-        if '\b' in result:
-            result = result.replace("\b", "\\\\b")
-        if '\f' in result:
-            result = result.replace("\f", "\\\\f")
-        if '\r' in result:
-            result = result.replace("\r", "\\\\r")
-        if '\t' in result:
-            result = result.replace("\t", "\\\\t")
-        if '\/' in result:
-            result = result.replace("\/", "\\\\/")
-    return result
@@ -1,18 +1,32 @@
 """
-Copyright (c) 2017, 2019, Oracle Corporation and/or its affiliates.  All rights reserved.
+Copyright (c) 2017, 2022, Oracle Corporation and/or its affiliates.  All rights reserved.
 Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
 """
 import java.lang.Object as JObject
 import java.lang.System as JSystem
 import java.lang.Thread as JThread
 import java.lang.Throwable as Throwable
-import java.util.ArrayList as JArrayList
 import java.util.logging.Level as JLevel
 import java.util.logging.Logger as JLogger
 import java.util.logging.LogRecord as JLogRecord
 
+import jarray
+
 import wlsdeploy.exception.exception_helper as exception_helper
 
+_OFF_VALUE = JLevel.OFF.intValue()
+_SEVERE_VALUE = JLevel.SEVERE.intValue()
+_WARNING_VALUE = JLevel.WARNING.intValue()
+_INFO_VALUE = JLevel.INFO.intValue()
+_CONFIG_VALUE = JLevel.CONFIG.intValue()
+_FINE_VALUE = JLevel.FINE.intValue()
+_FINER_VALUE = JLevel.FINER.intValue()
+_FINEST_VALUE = JLevel.FINEST.intValue()
+
+# Incremented when the level of any logger is set, since that can change the effective level of its children.
+# Each logger compares this to the generation of its cached effective level before using it.
+_level_generation = [0]
+
 
 class PlatformLogger(object):
     """
@@ -26,6 +40,9 @@ class PlatformLogger(object):
             self.logger = JLogger.getLogger(logger_name, resource_bundle_name)
         else:
             self.logger = JLogger.getLogger(logger_name)
+
+        self._level_value = _INFO_VALUE
+        self._level_generation = -1
         return
 
     def get_name(self):
@@ -48,6 +65,7 @@ class PlatformLogger(object):
         :param new_level: the new logging level
         """
         self.logger.setLevel(new_level)
+        _level_generation[0] += 1
         return
 
     def is_config_enabled(self):
@@ -55,49 +73,49 @@ class PlatformLogger(object):
         Is config-level logging enabled?
         :return: True if config-level logging is enabled, False otherwise
         """
-        return self.logger.isLoggable(JLevel.CONFIG)
+        return self._is_enabled(_CONFIG_VALUE)
 
     def is_severe_enabled(self):
         """
         Is severe-level logging enabled?
         :return: True if severe-level logging is enabled, False otherwise
         """
-        return self.logger.isLoggable(JLevel.SEVERE)
+        return self._is_enabled(_SEVERE_VALUE)
 
     def is_warning_enabled(self):
         """
         Is warning-level logging enabled?
         :return: True if warning-level logging is enabled, False otherwise
         """
-        return self.logger.isLoggable(JLevel.WARNING)
+        return self._is_enabled(_WARNING_VALUE)
 
     def is_info_enabled(self):
         """
         Is info-level logging enabled?
         :return: True if info-level logging is enabled, False otherwise
         """
-        return self.logger.isLoggable(JLevel.INFO)
+        return self._is_enabled(_INFO_VALUE)
 
     def is_fine_enabled(self):
         """
         Is fine-level logging enabled?
         :return: True if fine-level logging is enabled, False otherwise
         """
-        return self.logger.isLoggable(JLevel.FINE)
+        return self._is_enabled(_FINE_VALUE)
 
     def is_finer_enabled(self):
         """
         Is finer-level logging enabled?
         :return: True if finer-level logging is enabled, False otherwise
         """
-        return self.logger.isLoggable(JLevel.FINER)
+        return self._is_enabled(_FINER_VALUE)
 
     def is_finest_enabled(self):
         """
         Is finest-level logging enabled?
         :return: True if finest-level logging is enabled, False otherwise
         """
-        return self.logger.isLoggable(JLevel.FINEST)
+        return self._is_enabled(_FINEST_VALUE)
 
     def is_loggable(self, level):
         """
@@ -105,7 +123,7 @@ class PlatformLogger(object):
         :param level: the logging level to check
         :return: True if the specified logging level is enabled, False otherwise
         """
-        return self.logger.isLoggable(level)
+        return self._is_enabled(level.intValue())
 
     def config(self, message, *args, **kwargs):
         """
@@ -114,6 +132,8 @@ class PlatformLogger(object):
         :param args: the arguments to use to populate the message placeholders
         :param kwargs: the keyword arguments
         """
+        if not self._is_enabled(_CONFIG_VALUE):
+            return
         method = kwargs.pop('method_name', None)
         clazz = kwargs.pop('class_name', None)
         error = kwargs.pop('error', None)
@@ -129,6 +149,8 @@ class PlatformLogger(object):
         :param args: the arguments to use to populate the message placeholders
         :param kwargs: the keyword arguments
         """
+        if not self._is_enabled(level.intValue()):
+            return
         method = kwargs.pop('method_name', None)
         clazz = kwargs.pop('class_name', None)
         error = kwargs.pop('error', None)
@@ -142,6 +164,8 @@ class PlatformLogger(object):
         :param args: the method args
         :param kwargs: the keyword arguments
         """
+        if not self._is_enabled(_FINER_VALUE):
+            return
         method = kwargs.pop('method_name', None)
         clazz = kwargs.pop('class_name', None)
         self.logger.entering(clazz, method, args)
@@ -154,6 +178,8 @@ class PlatformLogger(object):
         :param method_name: the name of the method
         :param result: the method result, if any
         """
+        if not self._is_enabled(_FINER_VALUE):
+            return
         if result is not None:
             self.logger.exiting(class_name, method_name, result)
         else:
@@ -167,6 +193,8 @@ class PlatformLogger(object):
         :param args: the arguments to use to populate the message placeholders
         :param kwargs: the keyword arguments
         """
+        if not self._is_enabled(_FINE_VALUE):
+            return
         method = kwargs.pop('method_name', None)
         clazz = kwargs.pop('class_name', None)
         error = kwargs.pop('error', None)
@@ -181,6 +209,8 @@ class PlatformLogger(object):
         :param args: the arguments to use to populate the message placeholders
         :param kwargs: the keyword arguments
         """
+        if not self._is_enabled(_FINER_VALUE):
+            return
         method = kwargs.pop('method_name', None)
         clazz = kwargs.pop('class_name', None)
         error = kwargs.pop('error', None)
@@ -195,6 +225,8 @@ class PlatformLogger(object):
         :param args: the arguments to use to populate the message placeholders
         :param kwargs: the keyword arguments
         """
+        if not self._is_enabled(_FINEST_VALUE):
+            return
         method = kwargs.pop('method_name', None)
         clazz = kwargs.pop('class_name', None)
         error = kwargs.pop('error', None)
@@ -209,6 +241,8 @@ class PlatformLogger(object):
         :param args: the arguments to use to populate the message placeholders
         :param kwargs: the keyword arguments
         """
+        if not self._is_enabled(_INFO_VALUE):
+            return
         method = kwargs.pop('method_name', None)
         clazz = kwargs.pop('class_name', None)
         error = kwargs.pop('error', None)
@@ -223,6 +257,8 @@ class PlatformLogger(object):
         :param args: the arguments to use to populate the message placeholders
         :param kwargs: the keyword arguments
         """
+        if not self._is_enabled(_WARNING_VALUE):
+            return
         method = kwargs.pop('method_name', None)
         clazz = kwargs.pop('class_name', None)
         error = kwargs.pop('error', None)
@@ -237,6 +273,8 @@ class PlatformLogger(object):
         :param args: the arguments to use to populate the message placeholders
         :param kwargs: the keyword arguments
         """
+        if not self._is_enabled(_SEVERE_VALUE):
+            return
         method = kwargs.pop('method_name', None)
         clazz = kwargs.pop('class_name', None)
         error = kwargs.pop('error', None)
@@ -251,12 +289,42 @@ class PlatformLogger(object):
         :param method_name: the method name where the exception is being created and thrown
         :param class_name: the Python class name or module name
         """
+        if not self._is_enabled(_FINER_VALUE):
+            return
         if method_name is not None:
             self.logger.throwing(class_name, method_name, error)
         else:
             self.logger.throwing(error)
         return
 
+    def _is_enabled(self, level_value):
+        """
+        Is logging enabled for the specified level value?  This makes the same check as
+        java.util.logging.Logger.isLoggable(), using the cached effective level of the logger.
+        :param level_value: the integer value of the logging level
+        :return: True if the level is enabled, False otherwise
+        """
+        if self._level_generation != _level_generation[0]:
+            self._update_level_value()
+        return level_value >= self._level_value and self._level_value != _OFF_VALUE
+
+    def _update_level_value(self):
+        """
+        Cache the effective level of the logger, which is the level of the nearest logger
+        in its parent chain that has a level set.
+        """
+        self._level_generation = _level_generation[0]
+        level_value = _INFO_VALUE
+        logger = self.logger
+        while logger is not None:
+            level = logger.getLevel()
+            if level is not None:
+                level_value = level.intValue()
+                break
+            logger = logger.getParent()
+        self._level_value = level_value
+        return
+
     def _get_log_record(self, level, clazz, method, message, error, *args):
         record = JLogRecord(level, message)
         record.setLoggerName(self.name)
@@ -281,20 +349,20 @@ class PlatformLogger(object):
 def _get_args_as_java_array(*args):
     """
     Convert the Python args list into a Java array of strings.
+    This is only called for enabled levels, so the arguments are not formatted for messages that are not logged.
     :param args: the args list
     :return: the Java array of strings
     """
-    result = JArrayList()
-    if args is not None and len(args) > 0:
+    result = []
+    if args is not None:
         for arg in args:
-            if arg is not None:
-                if isinstance(arg, unicode) or isinstance(arg, str):
-                    result.add(arg)
-                elif isinstance(arg, JObject):
-                    result.add(arg.toString())
-                else:
-                    result.add(unicode(arg))
+            if arg is None:
+                result.append('None')
+            elif isinstance(arg, str) or isinstance(arg, unicode):
+                result.append(arg)
+            elif isinstance(arg, JObject):
+                result.append(arg.toString())
             else:
-                result.add(str(arg))
-    return result.toArray()
+                result.append(unicode(arg))
+    return jarray.array(result, JObject)
 
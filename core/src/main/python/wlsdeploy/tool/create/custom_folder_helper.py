@@ -131,6 +131,9 @@ class CustomFolderHelper(object):
                 self.logger.throwing(ex, class_name=self.__class_name, method_name=_method_name)
                 raise ex
 
+        # the provider MBean was changed directly, so any saved WLST listings may no longer be current
+        self.wlst_helper.clear_cache()
+
     def is_encrypted(self, text):
         for prefix in self.__cipher_text_prefixes:
             if text.startswith(prefix):
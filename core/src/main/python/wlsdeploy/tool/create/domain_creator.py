@@ -151,7 +151,7 @@ class DomainCreator(Creator):
         archive_file_name = self.model_context.get_archive_file_name()
         if archive_file_name is not None:
             self.archive_helper = ArchiveHelper(archive_file_name, self._domain_home, self.logger,
-                                                exception_helper.ExceptionType.CREATE)
+                                                exception_helper.ExceptionType.CREATE, self.model_context)
 
         self.library_helper = LibraryHelper(self.model, self.model_context, self.aliases, self._domain_home,
                                             ExceptionType.CREATE, self.logger)
@@ -375,8 +375,7 @@ class DomainCreator(Creator):
             self.__extend_domain(self._domain_home)
 
         if len(self.files_to_extract_from_archive) > 0:
-            for file_to_extract in self.files_to_extract_from_archive:
-                self.archive_helper.extract_file(file_to_extract)
+            self.archive_helper.extract_files(self.files_to_extract_from_archive)
 
         self.library_helper.install_domain_libraries()
         self.library_helper.extract_classpath_libraries()
@@ -52,6 +52,8 @@ class ApplicationsDeployer(Deployer):
         self._base_location = base_location
         self._parent_dict, self._parent_name, self._parent_type = self.__get_parent_by_location(self._base_location)
         self.version_helper = ApplicationsVersionHelper(model_context, self.archive_helper)
+        self._hash_cache = None
+        self._crc_precheck = False
 
     def deploy(self):
         """
@@ -63,7 +65,11 @@ class ApplicationsDeployer(Deployer):
             self.__add_applications()
         else:
             deployer_utils.ensure_no_uncommitted_changes_or_edit_sessions(self.model_context.is_discard_current_edit())
-            self.__online_deploy_apps_and_libs(self._base_location)
+            self._crc_precheck = self.model_context.get_model_config().get_deploy_crc_precheck()
+            try:
+                self.__online_deploy_apps_and_libs(self._base_location)
+            finally:
+                deployer_utils.save_file_hash_cache()
         return
 
     def __add_shared_libraries(self):
@@ -424,15 +430,9 @@ class ApplicationsDeployer(Deployer):
 
                 deployment_order = attributes_map['DeploymentOrder']
 
-                app_hash = self.__get_file_hash(absolute_sourcepath)
-                if absolute_planpath is not None:
-                    plan_hash = self.__get_file_hash(absolute_planpath)
-                else:
-                    plan_hash = None
-
-                _update_ref_dictionary(ref_dictionary, app, absolute_sourcepath, app_hash, config_targets,
-                                       absolute_plan_path=absolute_planpath, deploy_order=deployment_order,
-                                       plan_hash=plan_hash)
+                # the content of the existing files is only read if it needs to be compared to the model
+                _update_ref_dictionary(ref_dictionary, app, absolute_sourcepath, config_targets,
+                                       absolute_plan_path=absolute_planpath, deploy_order=deployment_order)
         return ref_dictionary
 
     def __get_library_references(self, base_location):
@@ -482,7 +482,6 @@ class ApplicationsDeployer(Deployer):
                     absolute_source_path = self.model_context.get_domain_home() + '/' + absolute_source_path
 
                 deployment_order = config_attributes[DEPLOYMENT_ORDER]
-                lib_hash = self.__get_file_hash(absolute_source_path)
 
                 if string_utils.to_boolean(runtime_attributes['Referenced']) is True:
                     referenced_path = library_runtime_path + lib + '/ReferencingRuntimes/'
@@ -499,10 +498,10 @@ class ApplicationsDeployer(Deployer):
                         if app_type == 'WebAppComponentRuntime' and 'ApplicationIdentifier' in ref_attrs:
                             app_id = ref_attrs['ApplicationIdentifier']
 
-                        _update_ref_dictionary(existing_libraries, lib, absolute_source_path, lib_hash, config_targets,
+                        _update_ref_dictionary(existing_libraries, lib, absolute_source_path, config_targets,
                                                deploy_order=deployment_order, app_name=app_id)
                 else:
-                    _update_ref_dictionary(existing_libraries, lib, absolute_source_path, lib_hash, config_targets)
+                    _update_ref_dictionary(existing_libraries, lib, absolute_source_path, config_targets)
         return existing_libraries
 
     def __build_library_deploy_strategy(self, location, model_libs, existing_lib_refs, stop_app_list,
@@ -578,9 +577,7 @@ class ApplicationsDeployer(Deployer):
                         continue
 
                     # user libraries
-                    model_lib_hash = self.__get_hash(model_src_path)
-                    existing_lib_hash = self.__get_file_hash(existing_src_path)
-                    if model_lib_hash != existing_lib_hash:
+                    if not self.__has_same_content(model_src_path, existing_src_path):
                         #
                         # updated library and add referencing apps to the stop list
                         #
@@ -662,13 +659,9 @@ class ApplicationsDeployer(Deployer):
                     if model_src_path is None and src_path is not None:
                         model_src_path = src_path
 
-                    model_src_hash = self.__get_hash(model_src_path)
-                    model_plan_hash = self.__get_hash(dictionary_utils.get_element(app_dict, PLAN_PATH))
-
-                    existing_src_hash = self.__get_file_hash(src_path)
-                    existing_plan_hash = self.__get_file_hash(plan_path)
-                    if model_src_hash == existing_src_hash:
-                        if model_plan_hash == existing_plan_hash:
+                    model_plan_path = dictionary_utils.get_element(app_dict, PLAN_PATH)
+                    if self.__has_same_content(model_src_path, src_path):
+                        if self.__has_same_content(model_plan_path, plan_path):
                             if not (os.path.isabs(src_path) and os.path.isabs(model_src_path) and
                                     FileUtils.getCanonicalPath(src_path) == FileUtils.getCanonicalPath(model_src_path)):
                                 # If model hashes match existing hashes, the application did not change.
@@ -780,7 +773,7 @@ class ApplicationsDeployer(Deployer):
             if File(filename).isDirectory():  # can't calculate for exploded apps, libraries, etc.
                 return None
 
-            hash_value = FileUtils.computeHash(filename)
+            hash_value = self.__get_hash_cache().getFileHash(File(filename))
         except (IOException, NoSuchAlgorithmException), e:
             ex = exception_helper.create_deploy_exception('WLSDPLY-09309', filename, e.getLocalizedMessage(), error=e)
             self.logger.throwing(ex, class_name=self._class_name, method_name=_method_name)
@@ -811,6 +804,78 @@ class ApplicationsDeployer(Deployer):
                 raise ex
         return hash_value
 
+    def __has_same_content(self, model_path, existing_path):
+        """
+        Determine if the model file has the same content as the existing file.  Files with different sizes
+        are detected from the archive directory and the file system without reading either file.  If the
+        deploy.crc.precheck tool property is set, the CRC-32 values are compared instead of the hash values,
+        so that archive entries do not need to be read.
+        :param model_path: the model path, which may be a path into the archive
+        :param existing_path: the absolute path of the existing file
+        :return: True if the content is the same, False otherwise
+        """
+        model_size = self.__get_size(model_path)
+        if model_size is not None and model_size >= 0 and existing_path is not None and os.path.isfile(existing_path):
+            if model_size != File(existing_path).length():
+                return False
+
+            if self._crc_precheck:
+                model_crc = self.__get_crc(model_path)
+                if model_crc >= 0:
+                    return model_crc == self.__get_file_crc(existing_path)
+
+        return self.__get_hash(model_path) == self.__get_file_hash(existing_path)
+
+    def __get_size(self, path):
+        """
+        Get the size of the model file without reading it.
+        :param path: the model path, which may be a path into the archive
+        :return: the size of the file, -1 if the archive does not record it, or None if the path is not a file
+        """
+        if string_utils.is_empty(path):
+            return None
+        elif os.path.isabs(path):
+            file_path = path
+        elif deployer_utils.is_path_into_archive(path):
+            if self.archive_helper.contains_path(path):
+                # exploded entry, the hash comparison will always report a change
+                return None
+            return self.archive_helper.get_file_size(path)
+        else:
+            file_path = self.model_context.get_domain_home() + '/' + path
+
+        if os.path.isfile(file_path):
+            return File(file_path).length()
+        return None
+
+    def __get_crc(self, path):
+        """
+        Get the CRC-32 value of a model file, for which __get_size() returned a size.
+        :param path: the model path, which may be a path into the archive
+        :return: the CRC-32 value, or -1 if the archive does not record it
+        """
+        if not os.path.isabs(path) and deployer_utils.is_path_into_archive(path):
+            return self.archive_helper.get_file_crc(path)
+        elif not os.path.isabs(path):
+            path = self.model_context.get_domain_home() + '/' + path
+        return self.__get_file_crc(path)
+
+    def __get_file_crc(self, filename):
+        _method_name = '__get_file_crc'
+
+        try:
+            crc_value = self.__get_hash_cache().getFileCrc(File(filename))
+        except (IOException, NoSuchAlgorithmException), e:
+            ex = exception_helper.create_deploy_exception('WLSDPLY-09309', filename, e.getLocalizedMessage(), error=e)
+            self.logger.throwing(ex, class_name=self._class_name, method_name=_method_name)
+            raise ex
+        return crc_value
+
+    def __get_hash_cache(self):
+        if self._hash_cache is None:
+            self._hash_cache = deployer_utils.get_file_hash_cache(self.model_context)
+        return self._hash_cache
+
     def __get_config_targets(self):
         self.wlst_helper.cd(TARGETS)
         config_targets = self.wlst_helper.lsc()
@@ -1213,26 +1278,22 @@ def _add_ref_apps_to_stoplist(stop_applist, lib_refs, lib_name):
             stop_applist.append(app)
     return
 
-def _update_ref_dictionary(ref_dictionary, lib_name, absolute_sourcepath, lib_hash, configured_targets,
-                           absolute_plan_path=None, plan_hash=None, app_name=None, deploy_order=None):
+def _update_ref_dictionary(ref_dictionary, lib_name, absolute_sourcepath, configured_targets,
+                           absolute_plan_path=None, app_name=None, deploy_order=None):
     """
     Update the reference dictionary for the apps/libraries
     :param ref_dictionary: the reference dictionary to update
     :param lib_name: the library name
     :param absolute_sourcepath: the absolute source path value
-    :param lib_hash: the hash of the library file
     :param configured_targets: the configured targets
     :param absolute_plan_path: the absolute plan path
-    :param plan_hash: the plan hash
     :param app_name: the app name
     :param deploy_order: the deploy order
     """
     if ref_dictionary.has_key(lib_name) is False:
         ref_dictionary[lib_name] = OrderedDict()
         ref_dictionary[lib_name]['sourcePath'] = absolute_sourcepath
-        ref_dictionary[lib_name]['hash'] = lib_hash
         ref_dictionary[lib_name]['planPath'] = absolute_plan_path
-        ref_dictionary[lib_name]['planHash'] = plan_hash
         ref_dictionary[lib_name]['target'] = configured_targets
 
     if app_name is not None:
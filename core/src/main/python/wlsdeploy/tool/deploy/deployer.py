@@ -1,13 +1,21 @@
 """
-Copyright (c) 2017, 2020, Oracle Corporation and/or its affiliates.
+Copyright (c) 2017, 2022, Oracle Corporation and/or its affiliates.
 Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
 """
 import os
 import copy
+import jarray
 
 from array import array
 from java.lang import Class
+from java.lang import String
+from oracle.weblogic.deploy.aliases import AliasException
+from oracle.weblogic.deploy.deploy import DeployException
+from oracle.weblogic.deploy.discover import DiscoverException
+from oracle.weblogic.deploy.discover import MBeanAttributeReader
 from oracle.weblogic.deploy.util import PyWLSTException
+from wlsdeploy.aliases import alias_constants
+from wlsdeploy.aliases import alias_utils
 from wlsdeploy.aliases.model_constants import ABSOLUTE_PLAN_PATH
 from wlsdeploy.aliases.model_constants import ABSOLUTE_SOURCE_PATH
 from wlsdeploy.aliases.model_constants import APP_DEPLOYMENTS
@@ -43,6 +51,10 @@ class Deployer(object):
     _object_name_class = Class.forName('javax.management.ObjectName')
     _list_interface = Class.forName('java.util.List')
 
+    # the attribute types that can be compared with the current value from lsa()
+    _comparable_types = [alias_constants.BOOLEAN, alias_constants.DOUBLE, alias_constants.INTEGER,
+                         alias_constants.LONG, alias_constants.STRING]
+
     def __init__(self, model, model_context, aliases, wlst_mode=WlstModes.OFFLINE):
         self.name = self._class_name
         self.model = model
@@ -54,12 +66,14 @@ class Deployer(object):
         self.wlst_helper = WlstHelper(ExceptionType.DEPLOY)
         self.attribute_setter = AttributeSetter(self.aliases, self.logger, ExceptionType.DEPLOY, wlst_mode=wlst_mode)
         self.topology_helper = TopologyHelper(self.aliases, ExceptionType.DEPLOY, self.logger)
+        self._attribute_reader = None
+        self._attribute_reader_connection = None
 
         self.archive_helper = None
         archive_file_name = self.model_context.get_archive_file_name()
         if archive_file_name is not None:
             self.archive_helper = ArchiveHelper(archive_file_name, self.model_context.get_domain_home(), self.logger,
-                                                exception_helper.ExceptionType.DEPLOY)
+                                                exception_helper.ExceptionType.DEPLOY, self.model_context)
         return
 
     def _add_named_elements(self, type_name, model_nodes, location, delete_now=True):
@@ -175,52 +189,174 @@ class Deployer(object):
         _method_name = 'set_attributes'
         attribute_names = self.aliases.get_model_attribute_names(location)
         uses_path_tokens_attribute_names = self.aliases.get_model_uses_path_tokens_attribute_names(location)
-        restart_attribute_names = self.aliases.get_model_restart_required_attribute_names(location)
         merge_attribute_names = self.aliases.get_model_merge_required_attribute_names(location)
         lsa_required_attribute_names = self.aliases.get_model_lsa_required_attribute_names(location)
         set_method_map = self.aliases.get_model_mbean_set_method_attribute_names_and_types(location)
 
+        attribute_values = []
+        comparable_values = []
         for key in model_nodes:
             key_excluded = (excludes is not None) and (key in excludes)
             if key in attribute_names and not key_excluded:
                 value = model_nodes[key]
                 if key in uses_path_tokens_attribute_names:
                     value = deployer_utils.extract_from_uri(self.model_context, value)
-                    self._extract_from_archive_if_needed(location, key, value)
-
-                wlst_merge_value = None
-                if key in merge_attribute_names:
-                    wlst_merge_value = self._get_existing_wlst_value(location, key, lsa_required_attribute_names)
-
-                if not self._skip_setting_attribute(key, value, wlst_merge_value, restart_attribute_names) and \
-                        (not self.set_special_attribute(location, key, value, wlst_merge_value, set_method_map)):
-                    try:
-                        self.attribute_setter.set_attribute(location, key, value, wlst_merge_value)
-                    except PyWLSTException, pwe:
-                        loc_type, loc_name = self.get_location_type_and_name(location)
-                        ex = exception_helper.create_deploy_exception('WLSDPLY-09200', key, loc_type, loc_name,
-                                                                      pwe.getLocalizedMessage(), error=pwe)
-                        self.logger.throwing(ex, class_name=self._class_name, method_name=_method_name)
-                        raise ex
+                attribute_values.append((key, value))
+                if key not in merge_attribute_names and key not in set_method_map:
+                    comparable_values.append((key, value))
+        unchanged_keys = self._get_unchanged_attribute_keys(location, comparable_values)
+
+        for key, value in attribute_values:
+            if key in uses_path_tokens_attribute_names:
+                self._extract_from_archive_if_needed(location, key, value)
+
+            wlst_merge_value = None
+            if key in merge_attribute_names:
+                wlst_merge_value = self._get_existing_wlst_value(location, key, lsa_required_attribute_names)
+
+            if key in unchanged_keys:
+                deployer_utils.count_attribute_update(True)
+                continue
+
+            if self.wlst_mode == WlstModes.ONLINE:
+                deployer_utils.count_attribute_update(False)
+            if not self.set_special_attribute(location, key, value, wlst_merge_value, set_method_map):
+                try:
+                    self.attribute_setter.set_attribute(location, key, value, wlst_merge_value)
+                except PyWLSTException, pwe:
+                    loc_type, loc_name = self.get_location_type_and_name(location)
+                    ex = exception_helper.create_deploy_exception('WLSDPLY-09200', key, loc_type, loc_name,
+                                                                  pwe.getLocalizedMessage(), error=pwe)
+                    self.logger.throwing(ex, class_name=self._class_name, method_name=_method_name)
+                    raise ex
         return
 
-    def _skip_setting_attribute(self, key, value, wlst_merge_value, restart_attribute_names):
+    def _get_unchanged_attribute_keys(self, location, attribute_values):
         """
-        For the case where a change to an attribute will require restart, verify that the new value is different
-        from the current value in WLST.
-        :param key: the attribute key
+        In online mode, find the model attributes that would not change the domain if they were set.
+        The current values are read with a single lsa() call, and only the attributes whose values look
+        unchanged are checked to see if they are set, with a single reader call for the location.
+        :param location: the location of the attributes, which must be the current WLST location
+        :param attribute_values: a list of (model attribute name, model value) tuples to check
+        :return: the list of model attribute names that do not need to be set
+        """
+        _method_name = '_get_unchanged_attribute_keys'
+        result = []
+        if len(attribute_values) == 0:
+            return result
+
+        current_values = self._get_current_attribute_values(location)
+        if current_values is None:
+            return result
+
+        unchanged_keys = {}
+        for key, value in attribute_values:
+            wlst_name = self._get_unchanged_wlst_name(location, key, value, current_values)
+            if wlst_name is not None:
+                unchanged_keys[wlst_name] = key
+        if len(unchanged_keys) == 0:
+            return result
+
+        unset_names = self._get_unset_attribute_names(location, unchanged_keys.keys())
+        for wlst_name, key in unchanged_keys.items():
+            if unset_names is None:
+                is_set = self.wlst_helper.is_set(wlst_name)
+            else:
+                is_set = not unset_names.contains(wlst_name)
+            if is_set:
+                self.logger.finer('WLSDPLY-09210', key, self.aliases.get_model_folder_path(location),
+                                  class_name=self._class_name, method_name=_method_name)
+                result.append(key)
+        return result
+
+    def _get_current_attribute_values(self, location):
+        """
+        In online mode, read the current values of the attributes at the location with a single lsa() call.
+        :param location: the location of the attributes, which must be the current WLST location
+        :return: the map of current values keyed by WLST attribute name, or None if they were not read
+        """
+        _method_name = '_get_current_attribute_values'
+        if self.wlst_mode != WlstModes.ONLINE:
+            return None
+
+        try:
+            current_values = self.wlst_helper.lsa()
+        except DeployException, de:
+            self.logger.fine('WLSDPLY-09209', self.aliases.get_model_folder_path(location), de.getLocalizedMessage(),
+                             class_name=self._class_name, method_name=_method_name)
+            return None
+
+        # lsa() does not show the real value of attributes that require get()
+        for wlst_name in self.aliases.get_wlst_get_required_attribute_names(location):
+            if wlst_name in current_values:
+                del current_values[wlst_name]
+        return current_values
+
+    def _get_unset_attribute_names(self, location, wlst_names):
+        """
+        Read the names of the attributes that are not set at the current location from the MBean server
+        connection, with a single reader call for the location.
+        :param location: the location of the attributes
+        :param wlst_names: the WLST names of the attributes to check
+        :return: the java set of WLST names that are not set, or None if they could not be read
+        """
+        _method_name = '_get_unset_attribute_names'
+        connection = self.wlst_helper.get_mbean_server_connection()
+        if connection is None:
+            return None
+        if self._attribute_reader is None or self._attribute_reader_connection is not connection:
+            self._attribute_reader = MBeanAttributeReader(connection)
+            self._attribute_reader_connection = connection
+
+        try:
+            object_name = self.wlst_helper.get_object_name()
+            if object_name is None:
+                return None
+            return self._attribute_reader.getUnsetAttributeNames(object_name, jarray.array(wlst_names, String))
+        except DiscoverException, de:
+            self.logger.fine('WLSDPLY-09211', self.aliases.get_model_folder_path(location), de.getLocalizedMessage(),
+                             class_name=self._class_name, method_name=_method_name)
+            return None
+
+    def _get_unchanged_wlst_name(self, location, key, value, current_values):
+        """
+        Determine if the model value of a simple attribute is the same as its current value in WLST.
+        The attribute must also be set for setting it to have no effect, since an attribute that is not set
+        may show a default or template value that it would stop following if it were set.
+        :param location: the location of the attribute
+        :param key: the model attribute name
         :param value: the attribute value from the model
-        :param wlst_merge_value: the WLST value to check for merge
-        :param restart_attribute_names: a list of attribute names that require system restart
-        :return: True if the attribute does not need to be set
+        :param current_values: the current values keyed by WLST attribute name
+        :return: the WLST attribute name if the value is unchanged, otherwise None
         """
-        _method_name = '_skip_setting_attribute'
+        if value is None:
+            return None
 
-        # Needs implementation. Return true if model key in restart attribute_names,
-        # and WLST helper determines that set is required,
-        # based on model key, model value, and the WLST merge value
+        wlst_type = self.aliases.get_model_attribute_type(location, key)
+        if wlst_type not in self._comparable_types or self.aliases.is_model_password_attribute(location, key):
+            return None
 
-        return False
+        wlst_name, wlst_value = self.aliases.get_wlst_attribute_name_and_value(location, key, value)
+        if wlst_name is None or wlst_value is None or wlst_name not in current_values:
+            return None
+        current_value = current_values[wlst_name]
+        if current_value is None:
+            return None
+
+        if wlst_type == alias_constants.BOOLEAN:
+            unchanged = alias_utils.convert_boolean(wlst_value) == alias_utils.convert_boolean(current_value)
+        elif wlst_type == alias_constants.STRING:
+            unchanged = str(wlst_value) == str(current_value)
+        else:
+            try:
+                unchanged = alias_utils.convert_to_type(wlst_type, current_value) == \
+                    alias_utils.convert_to_type(wlst_type, wlst_value)
+            except AliasException:
+                unchanged = False
+
+        if unchanged:
+            return wlst_name
+        return None
 
     def _get_existing_wlst_value(self, location, key, lsa_required_attribute_names):
         """
@@ -392,7 +528,7 @@ class Deployer(object):
                         # compare the hash values to determine if it needs
                         # to be extracted.
                         archive_hash = self.archive_helper.get_file_hash(value)
-                        file_hash = deployer_utils.get_file_hash(fullpath)
+                        file_hash = deployer_utils.get_file_hash(fullpath, self.model_context)
                         if archive_hash != file_hash:
                             self.archive_helper.extract_file(value)
                             result = True
@@ -1,11 +1,12 @@
 """
-Copyright (c) 2017, 2020, Oracle Corporation and/or its affiliates.
+Copyright (c) 2017, 2022, Oracle Corporation and/or its affiliates.
 Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
 """
 import os
 
 from sets import Set
 
+from java.io import File
 from java.io import IOException
 from java.io import PrintStream
 from java.lang import System
@@ -14,6 +15,7 @@ from java.net import URISyntaxException
 from java.security import NoSuchAlgorithmException
 
 from oracle.weblogic.deploy.deploy import DeployException
+from oracle.weblogic.deploy.util import FileHashCache
 from oracle.weblogic.deploy.util import FileUtils
 from oracle.weblogic.deploy.util import StringUtils
 from oracle.weblogic.deploy.util import PyWLSTException
@@ -56,6 +58,14 @@ _class_name = "deployer_utils"
 _logger = platform_logger.PlatformLogger('wlsdeploy.deploy.utils')
 _wlst_helper = WlstHelper(ExceptionType.DEPLOY)
 
+# the number of model attributes that were set, and the number that were skipped because they did not change
+_attribute_update_counts = [0, 0]
+
+# the hash values of deployed files are kept in this file under the domain home between runs
+_FILE_HASH_CACHE_FILE_NAME = 'wlsdeploy/.file-hash-cache.properties'
+_file_hash_cache = None
+_file_hash_cache_path = None
+
 
 def get_existing_object_list(location, aliases):
     """
@@ -434,10 +444,11 @@ def get_library_name_components(name, wlst_mode=WlstModes.OFFLINE):
     return name_tuple
 
 
-def get_file_hash(file_name):
+def get_file_hash(file_name, model_context=None):
     """
     Compute the Base64-encoded hash value for the specified file.
     :param file_name: the file name
+    :param model_context: the model context used to locate the file hash cache, or None to use the current cache
     :return: the Base64-encoded hash value
     :raise: DeployException: if an error occurs
     """
@@ -445,7 +456,7 @@ def get_file_hash(file_name):
 
     _logger.entering(file_name, class_name=_class_name, method_name=_method_name)
     try:
-        result = FileUtils.computeHash(file_name)
+        result = get_file_hash_cache(model_context).getFileHash(File(file_name))
     except (IOException, NoSuchAlgorithmException), e:
         ex = exception_helper.create_deploy_exception('WLSDPLY-09108', file_name, e.getLocalizedMessage(), error=e)
         _logger.throwing(ex, class_name=_class_name, method_name=_method_name)
@@ -454,6 +465,55 @@ def get_file_hash(file_name):
     return result
 
 
+def get_file_hash_cache(model_context=None):
+    """
+    Get the cache of hash values for deployed files.  The cache is persisted under the domain home,
+    if the domain home is writable and the deploy.hash.cache tool property is not disabled, so that
+    files that have not changed since the last run are not read again.
+    :param model_context: the model context used to locate the cache, or None to use the current cache
+    :return: the FileHashCache
+    """
+    global _file_hash_cache, _file_hash_cache_path
+
+    if model_context is None:
+        if _file_hash_cache is None:
+            _file_hash_cache = FileHashCache()
+            _file_hash_cache_path = None
+        return _file_hash_cache
+
+    cache_path = _get_file_hash_cache_path(model_context)
+    if _file_hash_cache is None or cache_path != _file_hash_cache_path:
+        if cache_path is None:
+            _file_hash_cache = FileHashCache()
+        else:
+            _file_hash_cache = FileHashCache(File(cache_path))
+        _file_hash_cache_path = cache_path
+    return _file_hash_cache
+
+
+def save_file_hash_cache():
+    """
+    Save the cache of hash values for deployed files, if it is persisted.  Failures are logged and ignored.
+    """
+    if _file_hash_cache is not None:
+        _file_hash_cache.save()
+
+
+def _get_file_hash_cache_path(model_context):
+    """
+    Get the path of the file used to persist the hash values for deployed files.
+    :param model_context: the model context
+    :return: the path of the cache file, or None if the cache should not be persisted
+    """
+    if not model_context.get_model_config().get_deploy_hash_cache():
+        return None
+
+    domain_home = model_context.get_domain_home()
+    if domain_home is None or not File(domain_home).isDirectory() or not File(domain_home).canWrite():
+        return None
+    return File(domain_home, _FILE_HASH_CACHE_FILE_NAME).getAbsolutePath()
+
+
 def get_cluster_for_server(server_name, aliases):
     """
     Get the Cluster name for the existing server name for additional information to mine for the update action.
@@ -568,6 +628,17 @@ def get_list_of_restarts():
     return restart_list
 
 
+def count_attribute_update(skipped):
+    """
+    Count a model attribute that was set, or that was skipped because its value did not change.
+    :param skipped: True if the attribute was not set
+    """
+    if skipped:
+        _attribute_update_counts[1] += 1
+    else:
+        _attribute_update_counts[0] += 1
+
+
 def online_check_save_activate(model_context):
     """
     For online update and deploy, check if restart is required, then cancel or save and activate.
@@ -578,6 +649,11 @@ def online_check_save_activate(model_context):
     _method_name = 'online_check_save_activate'
     exit_code = 0
 
+    _logger.info('WLSDPLY-09019', _attribute_update_counts[0], _attribute_update_counts[1],
+                 class_name=_class_name, method_name=_method_name)
+    _attribute_update_counts[0] = 0
+    _attribute_update_counts[1] = 0
+
     try:
         # First we enable the stdout again and then redirect the stdoout to a string output stream
         # call isRestartRequired to get the output, capture the string and then silence wlst output again
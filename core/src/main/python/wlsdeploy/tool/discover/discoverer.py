@@ -3,10 +3,13 @@ Copyright (c) 2017, 2022, Oracle Corporation and/or its affiliates.
 Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
 """
 import os
+from org.python.modules import jarray
+from java.lang import String
 from java.net import MalformedURLException
 from java.net import URI
 from java.net import URISyntaxException
 from oracle.weblogic.deploy.discover import DiscoverException
+from oracle.weblogic.deploy.discover import MBeanAttributeReader
 from oracle.weblogic.deploy.util import PyOrderedDict as OrderedDict
 from oracle.weblogic.deploy.util import StringUtils
 
@@ -60,6 +63,8 @@ class Discoverer(object):
         self._wlst_helper = WlstHelper(ExceptionType.DISCOVER)
         self._mbean_utils = MBeanUtils(self._model_context, self._aliases, ExceptionType.DISCOVER)
         self._wls_version = self._weblogic_helper.get_actual_weblogic_version()
+        self._attribute_reader = None
+        self._attribute_reader_connection = None
 
     def discover_domain_mbean(self, model_top_folder_name):
         """
@@ -104,10 +109,11 @@ class Discoverer(object):
         wlst_get_params = self._get_required_attributes(location)
         _logger.finest('WLSDPLY-06103', str(location), wlst_get_params,
                        class_name=_class_name, method_name=_method_name)
+        get_values, unset_params = self._read_mbean_attributes(location, wlst_lsa_params, wlst_get_params)
         if wlst_lsa_params is not None:
             for wlst_lsa_param in wlst_lsa_params:
                 if wlst_lsa_param in wlst_get_params:
-                    success, wlst_value = self._get_attribute_value_with_get(wlst_lsa_param, wlst_path)
+                    success, wlst_value = self._get_attribute_value(wlst_lsa_param, wlst_path, get_values)
                     wlst_did_get.append(wlst_lsa_param)
                     if not success:
                         continue
@@ -116,7 +122,11 @@ class Discoverer(object):
                     wlst_value = wlst_lsa_params[wlst_lsa_param]
 
                 # if attribute was never set (online only), don't add to the model
-                if not self._wlst_helper.is_set(wlst_lsa_param):
+                if unset_params is not None:
+                    is_set = not unset_params.contains(wlst_lsa_param)
+                else:
+                    is_set = self._wlst_helper.is_set(wlst_lsa_param)
+                if not is_set:
                     _logger.finest('WLSDPLY-06157', wlst_lsa_param, str(location), class_name=_class_name,
                                    method_name=_method_name)
                     continue
@@ -127,10 +137,59 @@ class Discoverer(object):
         # Find the attributes that are not in the LSA wlst map but are in the alias definitions with GET access
         get_attributes = [get_param for get_param in wlst_get_params if not get_param in wlst_did_get]
         for get_attribute in get_attributes:
-            success, wlst_value = self._get_attribute_value_with_get(get_attribute, wlst_path)
+            success, wlst_value = self._get_attribute_value(get_attribute, wlst_path, get_values)
             if success:
                 self._add_to_dictionary(dictionary, location, get_attribute, wlst_value, wlst_path)
 
+    def _read_mbean_attributes(self, location, wlst_lsa_params, wlst_get_params):
+        """
+        In online mode, read the values of the attributes that require get, and the set state of the attributes
+        in the lsa map, from the MBean server connection.  This replaces the separate WLST calls for each attribute.
+        :param location: context with the current location information
+        :param wlst_lsa_params: the map of attributes returned by lsa, or None
+        :param wlst_get_params: the list of attributes that require get
+        :return: the java map of the get attribute values that were read, and the java set of the attribute names
+                 that are not set, or None, None if the attributes must be read with WLST
+        """
+        _method_name = '_read_mbean_attributes'
+        if self._wlst_mode != WlstModes.ONLINE:
+            return None, None
+
+        connection = self._wlst_helper.get_mbean_server_connection()
+        if connection is None:
+            return None, None
+        if self._attribute_reader is None or self._attribute_reader_connection is not connection:
+            self._attribute_reader = MBeanAttributeReader(connection)
+            self._attribute_reader_connection = connection
+
+        lsa_names = list()
+        if wlst_lsa_params:
+            lsa_names = wlst_lsa_params.keys()
+        try:
+            object_name = self._wlst_helper.get_object_name()
+            if object_name is None:
+                return None, None
+            get_values = self._attribute_reader.getAttributeValues(object_name, jarray.array(wlst_get_params, String))
+            unset_params = self._attribute_reader.getUnsetAttributeNames(object_name, jarray.array(lsa_names, String))
+        except DiscoverException, de:
+            _logger.fine('WLSDPLY-06158', location.get_folder_path(), de.getLocalizedMessage(),
+                         class_name=_class_name, method_name=_method_name)
+            return None, None
+        return get_values, unset_params
+
+    def _get_attribute_value(self, wlst_get_param, wlst_path, get_values):
+        """
+        Get the value of an attribute that requires get, from the values read from the MBean server connection
+        if it is there, or with WLST.
+        :param wlst_get_param: the attribute name
+        :param wlst_path: the WLST path of the MBean
+        :param get_values: the java map of attribute values read from the MBean server connection, or None
+        :return: whether the value was read, and the value
+        """
+        if get_values is not None and get_values.containsKey(wlst_get_param):
+            return True, get_values.get(wlst_get_param)
+        return self._get_attribute_value_with_get(wlst_get_param, wlst_path)
+
     def _get_attribute_value_with_get(self, wlst_get_param, wlst_path):
         _method_name = '_get_attribute_value_with_get'
         _logger.finest('WLSDPLY-06104', wlst_get_param, class_name=_class_name, method_name=_method_name)
@@ -1,8 +1,10 @@
 """
-Copyright (c) 2017, 2020, Oracle Corporation and/or its affiliates.  All rights reserved.
+Copyright (c) 2017, 2022, Oracle Corporation and/or its affiliates.  All rights reserved.
 Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
 """
 from java.lang import String
+from java.util import ArrayList
+from oracle.weblogic.deploy.encrypt import EncryptionException
 from oracle.weblogic.deploy.encrypt import EncryptionUtils
 
 from wlsdeploy.aliases.location_context import LocationContext
@@ -12,6 +14,9 @@ from wlsdeploy.logging.platform_logger import PlatformLogger
 from wlsdeploy.util import model
 from wlsdeploy.util import variables as variable_helper
 
+__logger = PlatformLogger('wlsdeploy.encrypt')
+_class_name = 'encryption_utils'
+
 
 class _ModelEncrypter(object):
     """
@@ -22,19 +27,26 @@ class _ModelEncrypter(object):
     _class_name = '_ModelEncrypter'
     _logger = PlatformLogger('wlsdeploy.encrypt')
 
-    def __init__(self, passphrase, aliases, variables=None):
+    def __init__(self, passphrase, aliases, variables=None, shared_salt=False):
         """
         Initialize variables for use throughout.
         :param passphrase: the passphrase used to encrypt/decrypt the passwords
         :param aliases: the alias helper for the tool
         :param variables: the variables property object
+        :param shared_salt: if True, encrypt all of the values with one salt, so the key is derived only once
         :raises EncryptionException if an error occurs
         """
         self.passphrase = passphrase
         self.aliases = aliases
         self.variables = variables
+        self.salt = None
+        if shared_salt:
+            self.salt = EncryptionUtils.createSharedSalt()
         self.model_changes = 0
         self.variable_changes = 0
+        # values are collected during the model walk, and encrypted together by _encrypt_pending_values()
+        self.pending_attributes = []
+        self.pending_variable_names = []
 
     def encrypt_model_dictionary(self, model_dict):
         """
@@ -66,6 +78,7 @@ class _ModelEncrypter(object):
             location = LocationContext()
             self._encrypt_nodes(location, deployments_nodes, top_folder_names)
 
+        self._encrypt_pending_values()
         return self.model_changes, self.variable_changes
 
     def _encrypt_info_nodes(self, info_nodes):
@@ -135,6 +148,7 @@ class _ModelEncrypter(object):
         Encrypt a specific attribute that was flagged as password type.
         If the attribute value uses a variable, encrypt the variable and replace the value,
         otherwise replace the value in the dictionary with the encrypted value.
+        The value is added to the pending values, and replaced when those are encrypted.
         :param folder_name: text describing the folder location, used for logging
         :param model_nodes: the dictionary containing the attribute
         :param key: the key of the model attribute
@@ -145,8 +159,7 @@ class _ModelEncrypter(object):
         variable_names = variable_helper.get_variable_names(value)
         if len(variable_names) == 0:
             if not EncryptionUtils.isEncryptedString(value):
-                encrypted_value = EncryptionUtils.encryptString(value, String(self.passphrase).toCharArray())
-                model_nodes[key] = encrypted_value
+                self.pending_attributes.append((model_nodes, key))
                 self._logger.fine('WLSDPLY-04103', folder_name, key,
                                   class_name=self._class_name, method_name=_method_name)
                 self.model_changes += 1
@@ -162,6 +175,7 @@ class _ModelEncrypter(object):
     def _encrypt_variable_value(self, folder_name, field_name, var_name):
         """
         Encrypt the variable value, and replace it in the variable set.
+        The variable is added to the pending values, and replaced when those are encrypted.
         :param folder_name: text describing the folder location, used for logging
         :param field_name: the attribute name
         :param var_name: the variable name
@@ -179,12 +193,11 @@ class _ModelEncrypter(object):
             if len(var_value) > 0:
 
                 # don't encrypt an already encrypted variable. Matches logic in model
-                if EncryptionUtils.isEncryptedString(var_value):
+                if EncryptionUtils.isEncryptedString(var_value) or var_name in self.pending_variable_names:
                     self._logger.fine('WLSDPLY-04109', folder_name, field_name, var_name)
                     return
 
-                encrypted_value = EncryptionUtils.encryptString(var_value, String(self.passphrase).toCharArray())
-                self.variables[var_name] = encrypted_value
+                self.pending_variable_names.append(var_name)
                 self.variable_changes += 1
                 self._logger.fine('WLSDPLY-04106', folder_name, field_name, var_name,
                                   class_name=self._class_name, method_name=_method_name)
@@ -193,18 +206,50 @@ class _ModelEncrypter(object):
             self._logger.throwing(ex, class_name=self._class_name, method_name=_method_name)
             raise ex
 
+    def _encrypt_pending_values(self):
+        """
+        Encrypt the pending attribute and variable values in one call, so the values are processed in parallel,
+        and replace them in the model and the variable set.
+        """
+        clear_texts = ArrayList()
+        for model_nodes, key in self.pending_attributes:
+            clear_texts.add(model_nodes[key])
+        for var_name in self.pending_variable_names:
+            clear_texts.add(self.variables[var_name])
+
+        if clear_texts.isEmpty():
+            return
 
-def encrypt_model_dictionary(passphrase, model_dict, aliases, variables):
+        passphrase_chars = String(self.passphrase).toCharArray()
+        if self.salt is None:
+            encrypted_values = EncryptionUtils.encryptAll(clear_texts, passphrase_chars)
+        else:
+            encrypted_values = EncryptionUtils.encryptAll(clear_texts, passphrase_chars, self.salt)
+
+        index = 0
+        for model_nodes, key in self.pending_attributes:
+            model_nodes[key] = encrypted_values.get(index)
+            index += 1
+        for var_name in self.pending_variable_names:
+            self.variables[var_name] = encrypted_values.get(index)
+            index += 1
+
+        self.pending_attributes = []
+        self.pending_variable_names = []
+
+
+def encrypt_model_dictionary(passphrase, model_dict, aliases, variables, shared_salt=False):
     """
     Encrypt password attributes and replace them in the specified model.
     :param passphrase: the password to use for encryption
     :param model_dict: the model dictionary
     :param aliases: the alias helper for the tool
     :param variables: the variables property object
+    :param shared_salt: if True, encrypt all of the values with one salt, so the key is derived only once
     :return: the number of model elements encrypted, and the number of variables encrypted
     :raises EncryptionException if an error occurs
     """
-    encrypter = _ModelEncrypter(passphrase, aliases, variables)
+    encrypter = _ModelEncrypter(passphrase, aliases, variables, shared_salt)
     return encrypter.encrypt_model_dictionary(model_dict)
 
 
@@ -217,3 +262,48 @@ def encrypt_one_password(passphrase, text):
     :raises EncryptionException if an error occurs
     """
     return EncryptionUtils.encryptString(text, passphrase.toCharArray())
+
+
+def derive_model_keys(passphrase, model_dict):
+    """
+    Derive the keys for all of the encrypted values in the model dictionary in one call, so the keys are derived
+    in parallel and cached for the attribute decryption that follows.  The values are not decrypted here.
+    A key that cannot be derived is logged, and the error is reported when that attribute is decrypted.
+    :param passphrase: the passphrase used to encrypt the values
+    :param model_dict: the model dictionary, after variable substitution
+    :return: the number of encrypted values
+    """
+    _method_name = 'derive_model_keys'
+
+    cipher_texts = ArrayList()
+    _collect_encrypted_values(model_dict, cipher_texts)
+    if cipher_texts.isEmpty():
+        return 0
+
+    try:
+        EncryptionUtils.deriveKeys(cipher_texts, String(passphrase).toCharArray())
+    except EncryptionException, ee:
+        __logger.fine('WLSDPLY-04110', cipher_texts.size(), ee.getLocalizedMessage(),
+                      class_name=_class_name, method_name=_method_name)
+    return cipher_texts.size()
+
+
+def _collect_encrypted_values(model_nodes, cipher_texts):
+    """
+    Add the encrypted string values from the model nodes and their children to the list.
+    :param model_nodes: the model dictionary or list to search
+    :param cipher_texts: the Java list of encrypted strings
+    """
+    if isinstance(model_nodes, dict):
+        values = model_nodes.values()
+    elif isinstance(model_nodes, list):
+        values = model_nodes
+    else:
+        return
+
+    for value in values:
+        if isinstance(value, basestring):
+            if EncryptionUtils.isEncryptedString(value):
+                cipher_texts.add(value)
+        else:
+            _collect_encrypted_values(value, cipher_texts)
@@ -8,6 +8,7 @@ import shutil
 from java.io import File
 from java.lang import IllegalArgumentException
 from java.lang import IllegalStateException
+from java.util import ArrayList
 
 from oracle.weblogic.deploy.util import FileUtils
 from oracle.weblogic.deploy.util import WLSDeployArchive
@@ -24,12 +25,13 @@ class ArchiveHelper(object):
     """
     __class_name = 'ArchiveHelper'
 
-    def __init__(self, archive_files_text, domain_home, logger, exception_type):
+    def __init__(self, archive_files_text, domain_home, logger, exception_type, model_context=None):
         """
         :param archive_files_text: a comma-separated list of one or more file names
         :param domain_home: the domain home
         :param logger: the logger to use
         :param exception_type: the exception type for the associated tool
+        :param model_context: optional, the model context used to configure extraction from the archives
         """
         _method_name = '__init__'
 
@@ -43,11 +45,19 @@ class ArchiveHelper(object):
         self.__logger = logger
         self.__exception_type = exception_type
 
+        self.__model_context = model_context
+        extract_threads = None
+        if model_context is not None:
+            extract_threads = model_context.get_model_config().get_archive_extract_threads()
+
         self.__archive_files = []
         file_names = archive_files_text.split(CommandLineArgUtil.ARCHIVE_FILES_SEPARATOR)
         for file_name in file_names:
             try:
-                self.__archive_files.append(WLSDeployArchive(file_name))
+                archive_file = WLSDeployArchive(file_name)
+                if extract_threads is not None:
+                    archive_file.setExtractThreadCount(int(extract_threads))
+                self.__archive_files.append(archive_file)
             except (IllegalArgumentException, IllegalStateException), e:
                 ex = exception_helper.create_exception(exception_type, 'WLSDPLY-19300', file_name,
                                                        e.getLocalizedMessage(), error=e)
@@ -209,6 +219,44 @@ class ArchiveHelper(object):
         self.__logger.exiting(class_name=self.__class_name, method_name=_method_name, result=result)
         return result
 
+    def extract_files(self, paths):
+        """
+        Extract the specified files from the archives into Domain Home.
+        The files from each archive are extracted together, using multiple threads if configured.
+        :param paths: the list of paths into the archives
+        :return: the list of paths to the extracted files
+        :raises: BundleAwareException of the appropriate type: if an error occurs
+        """
+        _method_name = 'extract_files'
+        self.__logger.entering(paths, class_name=self.__class_name, method_name=_method_name)
+
+        result = []
+        paths_by_archive = []
+        path = None
+        try:
+            for path in paths:
+                archive_file = self._find_archive_for_path(path, True)
+                archive_paths = None
+                for archive_entry in paths_by_archive:
+                    if archive_entry[0] is archive_file:
+                        archive_paths = archive_entry[1]
+                if archive_paths is None:
+                    archive_paths = ArrayList()
+                    paths_by_archive.append([archive_file, archive_paths])
+                archive_paths.add(path)
+
+            for archive_file, archive_paths in paths_by_archive:
+                path = archive_paths.get(0)
+                for extracted_path in archive_file.extractFiles(archive_paths, self.__domain_home):
+                    result.append(extracted_path)
+        except (IllegalArgumentException, WLSDeployArchiveIOException), e:
+            ex = exception_helper.create_exception(self.__exception_type, "WLSDPLY-19303", path,
+                                                   self.__archive_files_text, e.getLocalizedMessage(), error=e)
+            self.__logger.throwing(ex, class_name=self.__class_name, method_name=_method_name)
+            raise ex
+        self.__logger.exiting(class_name=self.__class_name, method_name=_method_name, result=result)
+        return result
+
     def extract_directory(self, path, location=None):
         """
         Extract the specified directory from the archive into the specified directory, or into Domain Home.
@@ -256,6 +304,48 @@ class ArchiveHelper(object):
         self.__logger.exiting(class_name=self.__class_name, method_name=_method_name, result=result)
         return result
 
+    def get_file_size(self, path):
+        """
+        Get the size of the file at the specified path within the archive, without reading the file.
+        :param path: the path in the archive
+        :return: the size of the file in bytes, or -1 if the size is not known
+        :raises: BundleAwareException of the appropriate type: if an error occurs
+        """
+        _method_name = 'get_file_size'
+        self.__logger.entering(path, class_name=self.__class_name, method_name=_method_name)
+
+        try:
+            archive_file = self._find_archive_for_path(path, True)
+            result = archive_file.getFileSize(path)
+        except (IllegalArgumentException, WLSDeployArchiveIOException), e:
+            ex = exception_helper.create_exception(self.__exception_type, "WLSDPLY-19313", path,
+                                                   self.__archive_files_text, e.getLocalizedMessage(), error=e)
+            self.__logger.throwing(ex, class_name=self.__class_name, method_name=_method_name)
+            raise ex
+        self.__logger.exiting(class_name=self.__class_name, method_name=_method_name, result=result)
+        return result
+
+    def get_file_crc(self, path):
+        """
+        Get the CRC-32 checksum of the file at the specified path within the archive, without reading the file.
+        :param path: the path in the archive
+        :return: the CRC-32 checksum, or -1 if the checksum is not known
+        :raises: BundleAwareException of the appropriate type: if an error occurs
+        """
+        _method_name = 'get_file_crc'
+        self.__logger.entering(path, class_name=self.__class_name, method_name=_method_name)
+
+        try:
+            archive_file = self._find_archive_for_path(path, True)
+            result = archive_file.getFileCrc(path)
+        except (IllegalArgumentException, WLSDeployArchiveIOException), e:
+            ex = exception_helper.create_exception(self.__exception_type, "WLSDPLY-19313", path,
+                                                   self.__archive_files_text, e.getLocalizedMessage(), error=e)
+            self.__logger.throwing(ex, class_name=self.__class_name, method_name=_method_name)
+            raise ex
+        self.__logger.exiting(class_name=self.__class_name, method_name=_method_name, result=result)
+        return result
+
     def extract_domain_library(self, lib_path):
         """
         Extract the specified domain library to the $DOMAIN_HOME/lib directory.
@@ -477,7 +567,8 @@ class ArchiveHelper(object):
             new_file_name = self._copy_file(file_name, target_directory)
             new_file_names.append(new_file_name)
         new_archive_file_text = CommandLineArgUtil.ARCHIVE_FILES_SEPARATOR.join(new_file_names)
-        return ArchiveHelper(new_archive_file_text, self.__domain_home, self.__logger, self.__exception_type)
+        return ArchiveHelper(new_archive_file_text, self.__domain_home, self.__logger, self.__exception_type,
+                             self.__model_context)
 
     def _copy_file(self, source_file_name, target_directory):
         """
@@ -431,6 +431,7 @@ class AttributeSetter(object):
             location_mbean = self.__wlst_helper.cd(self.__wlst_helper.get_pwd())
             for action_mbean in action_mbeans:
                 location_mbean.addNotification(action_mbean)
+            self.__wlst_helper.clear_cache()
         else:
             self.set_attribute(location, key, action_mbeans, wlst_merge_value=wlst_value, use_raw_value=True)
         return
@@ -967,7 +968,7 @@ class AttributeSetter(object):
                 token = self.__aliases.get_name_token(location)
                 location.add_name_token(token, name)
                 path = self.__aliases.get_wlst_attributes_path(location)
-                return self.__wlst_helper.get_mbean_for_wlst_path(path)
+                return self.__wlst_helper.get_reference_mbean(path)
 
         if required:
             ex = exception_helper.create_exception(self.__exception_type, 'WLSDPLY-19210', element_type, name,
@@ -1024,7 +1025,7 @@ class AttributeSetter(object):
 
         self.__logger.entering(str(location), class_name=self._class_name, method_name=_method_name)
         list_path = self.__aliases.get_wlst_list_path(location)
-        existing_names = self.__wlst_helper.get_existing_object_list(list_path)
+        existing_names = self.__wlst_helper.get_existing_reference_names(list_path)
         self.__logger.exiting(class_name=self._class_name, method_name=_method_name, result=existing_names)
         return existing_names
 
@@ -7,6 +7,8 @@ import types
 
 from java.io import PrintStream
 from java.lang import System
+from java.util import ArrayList
+from java.util import List
 
 import com.oracle.cie.domain.script.jython.WLSTException as offlineWLSTException
 import oracle.weblogic.deploy.util.StringUtils as StringUtils
@@ -18,6 +20,13 @@ from wlsdeploy.tool.util.string_output_stream import StringOutputStream
 
 wlst_functions = None
 
+# the type used to save the result of path_exists() with the ls listings
+_PATH_EXISTS_TYPE = 'e'
+
+# the types of the saved references
+_REFERENCE_NAMES = 'names'
+_REFERENCE_MBEAN = 'mbean'
+
 
 class WlstHelper(object):
     """
@@ -42,6 +51,7 @@ class WlstHelper(object):
         :raises: Exception for the specified tool type: if a WLST error occurs
         """
         _method_name = 'assign'
+        _session_cache.clear()
         self.__logger.entering(source_type, source_name, target_type, target_name,
                                class_name=self.__class_name, method_name=_method_name)
 
@@ -115,7 +125,7 @@ class WlstHelper(object):
 
         try:
             mbean_path = self.get_pwd()
-            mbean = self.get_mbean_for_wlst_path(mbean_path)
+            mbean = self.__get_mbean_for_wlst_path(mbean_path)
             if 'isSet' not in dir(mbean):
                 return True
 
@@ -129,6 +139,26 @@ class WlstHelper(object):
         self.__logger.finest('WLSDPLY-00126', attribute, class_name=self.__class_name, method_name=_method_name)
         return result
 
+    def get_mbean_server_connection(self):
+        """
+        Get the MBean server connection of the current MBean tree in online WLST.
+        :return: the MBeanServerConnection, or None if WLST is not connected
+        """
+        if wlst_functions is None or 'mbs' not in wlst_functions or not self.__check_online_connection():
+            return None
+        return wlst_functions['mbs']
+
+    def get_object_name(self):
+        """
+        Get the object name of the current MBean in online WLST.
+        :return: the ObjectName of the current MBean, or None if it is not available
+        :raises: Exception for the specified tool type: if a WLST error occurs
+        """
+        cmo = self.__get_cmo()
+        if cmo is None or 'getObjectName' not in dir(cmo):
+            return None
+        return cmo.getObjectName()
+
     def set_if_needed(self, wlst_name, wlst_value, masked=False):
         """
         Set the WLST attribute to the specified value if the name and value are not None.
@@ -152,6 +182,7 @@ class WlstHelper(object):
         :raises: Exception for the specified tool type: if a WLST error occurs
         """
         _method_name = 'set'
+        _session_cache.clear()
         log_value = value
         if masked:
             log_value = '<masked>'
@@ -177,6 +208,7 @@ class WlstHelper(object):
         :raises: Exception for the specified tool type: if a WLST error occurs
         """
         _method_name = 'set_with_cmo'
+        _session_cache.clear()
         value = wlst_value
         if masked:
             value = '<masked>'
@@ -226,6 +258,16 @@ class WlstHelper(object):
         :return: updated cmo
         :raises: Exception for the specified tool type: if a WLST error occurs
         """
+        # the caller may change the MBean directly, so the saved listings may no longer be current
+        _clear_listings_and_references(self.get_pwd())
+        return self.__get_cmo()
+
+    def __get_cmo(self):
+        """
+        Update the Current Management Object (cmo) to the current MBean, without clearing the saved listings.
+        :return: updated cmo
+        :raises: Exception for the specified tool type: if a WLST error occurs
+        """
         _method_name = 'get_cmo'
         self.__logger.entering(class_name=self.__class_name, method_name=_method_name)
 
@@ -247,6 +289,13 @@ class WlstHelper(object):
             self.__logger.exiting(class_name=self.__class_name, method_name=_method_name, result=load_cmo)
         return load_cmo
 
+    def clear_cache(self):
+        """
+        Clear the directory listings and attribute maps saved during the WLST session.  This must be called
+        after an MBean returned by cd() is changed directly.
+        """
+        _session_cache.clear()
+
     def is_connected(self):
         """
         Determine if wlst is currently connected to the admin server - from the WlstContext
@@ -265,6 +314,7 @@ class WlstHelper(object):
         """
         Cancel current edit session
         """
+        _session_cache.clear_all()
         self.__load_global('cancelEdit')('y')
 
     def create(self, name, folder, base_provider_type=None):
@@ -278,6 +328,8 @@ class WlstHelper(object):
         :raises: Exception for the specified tool type: if a WLST error occurs
         """
         _method_name = 'create'
+        # the new MBean is added below the current location, so existing MBeans are still valid
+        _clear_listings_and_references(self.get_pwd(), names_only=True)
         self.__logger.entering(name, folder, base_provider_type, class_name=self.__class_name, method_name=_method_name)
 
         load_create = self.__load_global('create')
@@ -329,6 +381,7 @@ class WlstHelper(object):
         :raises: Exception for the specified tool type: if a WLST error occurs
         """
         _method_name = 'delete'
+        _clear_listings_and_references(self.get_pwd())
         self.__logger.entering(name, folder, class_name=self.__class_name, method_name=_method_name)
 
         try:
@@ -365,6 +418,7 @@ class WlstHelper(object):
         :raises: Exception for the specified tool type: if a WLST error occurs
         """
         _method_name = 'modifyBootStrapCredentials'
+        _session_cache.clear()
         self.__logger.entering(class_name=self.__class_name, method_name=_method_name)
 
         try:
@@ -386,6 +440,7 @@ class WlstHelper(object):
         :raises: Exception for the specified tool type: if a WLST error occurs
         """
         _method_name = 'set_server_groups'
+        _session_cache.clear_all()
         self.__logger.entering(server_groups, server, timeout, class_name=self.__class_name, method_name=_method_name)
 
         try:
@@ -407,6 +462,7 @@ class WlstHelper(object):
         :raises: Exception for the specified tool type: if a WLST error occurs
         """
         _method_name = 'set_server_group_dynamic_cluster'
+        _session_cache.clear_all()
         self.__logger.entering(server_group, cluster, class_name=self.__class_name, method_name=_method_name)
 
         try:
@@ -500,6 +556,10 @@ class WlstHelper(object):
         _method_name = 'path_exists'
         self.__logger.finest('WLSDPLY-00025', path, class_name=self.__class_name, method_name=_method_name)
 
+        cache_path = _get_cache_path(path)
+        if _session_cache.contains(_PATH_EXISTS_TYPE, cache_path):
+            return _session_cache.get(_PATH_EXISTS_TYPE, cache_path)
+
         exists = True
         try:
             self.__load_global('ls')(path)
@@ -507,6 +567,7 @@ class WlstHelper(object):
             self.__logger.finest('WLSDPLY-00026', path, e.getLocalizedMessage(),
                                  class_name=self.__class_name, method_name=_method_name)
             exists = False
+        _session_cache.put(_PATH_EXISTS_TYPE, cache_path, exists)
         self.__logger.finest('WLSDPLY-00027', path, exists, class_name=self.__class_name, method_name=_method_name)
         return exists
 
@@ -559,6 +620,7 @@ class WlstHelper(object):
         mbean_path = wlst_path
         if mbean_path is None:
             mbean_path = current_dir
+        _clear_listings_and_references(mbean_path)
         self.__logger.finest('WLSDPLY-00097', mbean_path, class_name=self.__class_name, method_name=_method_name)
         self.cd(current_dir)
         cmo = self.get_cmo()
@@ -581,6 +643,16 @@ class WlstHelper(object):
         :return: mbean object
         :raises: Exception for the specified tool type: if a WLST error occurs
         """
+        _clear_listings_and_references(path)
+        return self.__get_mbean_for_wlst_path(path)
+
+    def __get_mbean_for_wlst_path(self, path):
+        """
+        Return the mbean object for the provided path, without clearing the saved listings.
+        :param path: to return mbean object
+        :return: mbean object
+        :raises: Exception for the specified tool type: if a WLST error occurs
+        """
         _method_name = 'get_mbean_for_wlst_path'
         self.__logger.finest(path, class_name=self.__class_name, method_name=_method_name)
 
@@ -598,6 +670,7 @@ class WlstHelper(object):
         :raises: Exception for the specified tool type: if a WLST error occurs
         """
         _method_name = 'read_template'
+        _session_cache.clear_all()
         self.__logger.entering(template, class_name=self.__class_name, method_name=_method_name)
 
         try:
@@ -616,6 +689,7 @@ class WlstHelper(object):
         :raises: Exception for the specified tool type: if a WLST error occurs
         """
         _method_name = 'add_template'
+        _session_cache.clear_all()
         self.__logger.entering(template, class_name=self.__class_name, method_name=_method_name)
 
         try:
@@ -633,6 +707,7 @@ class WlstHelper(object):
         :raises: Exception for the specified tool type: if a WLST error occurs
         """
         _method_name = 'close_template'
+        _session_cache.clear_all()
         self.__logger.entering(class_name=self.__class_name, method_name=_method_name)
         try:
             self.__load_global('closeTemplate')()
@@ -651,6 +726,7 @@ class WlstHelper(object):
         :raises: Exception for the specified tool type: if a WLST error occurs
         """
         _method_name = 'select_template'
+        _session_cache.clear_all()
         self.__logger.entering(template, class_name=self.__class_name, method_name=_method_name)
         try:
             self.__load_global('selectTemplate')(template)
@@ -669,6 +745,7 @@ class WlstHelper(object):
         :raises: Exception for the specified tool type: if a WLST error occurs
         """
         _method_name = 'select_custom_template'
+        _session_cache.clear_all()
         self.__logger.entering(template, class_name=self.__class_name, method_name=_method_name)
 
         try:
@@ -686,6 +763,7 @@ class WlstHelper(object):
         :raises: Exception for the specified tool type: if a WLST error occurs
         """
         _method_name = 'load_templates'
+        _session_cache.clear_all()
         self.__logger.entering(class_name=self.__class_name, method_name=_method_name)
         try:
             self.__load_global('loadTemplates')()
@@ -703,6 +781,7 @@ class WlstHelper(object):
         :raises: Exception for the specified tool type: if a WLST error occurs
         """
         _method_name = 'set-topology_profile'
+        _session_cache.clear_all()
 
         self.__logger.entering(profile, class_name=self.__class_name, method_name=_method_name)
         try:
@@ -721,6 +800,7 @@ class WlstHelper(object):
         :raises: Exception for the specified tool type: if a WLST error occurs
         """
         _method_name = 'read_domain'
+        _session_cache.clear_all()
         self.__logger.entering(domain_home, class_name=self.__class_name, method_name=_method_name)
         try:
             self.__load_global('readDomain')(domain_home)
@@ -763,6 +843,7 @@ class WlstHelper(object):
         :raises: Exception for the specified tool type: if a WLST error occurs
         """
         _method_name = 'update_domain'
+        _session_cache.clear_all()
         self.__logger.entering(class_name=self.__class_name, method_name=_method_name)
         try:
             self.__load_global('updateDomain')()
@@ -779,6 +860,7 @@ class WlstHelper(object):
         :raises: Exception for the specified tool type: if a WLST error occurs
         """
         _method_name = 'close_domain'
+        self.__end_session_cache()
         self.__logger.entering(class_name=self.__class_name, method_name=_method_name)
         try:
             self.__load_global('closeDomain')()
@@ -799,6 +881,7 @@ class WlstHelper(object):
         :raises: Exception for the specified tool type: if a WLST error occurs
         """
         _method_name = 'connect'
+        _session_cache.clear_all()
         self.__logger.entering(username, url, timeout, class_name=self.__class_name, method_name=_method_name)
 
         try:
@@ -817,6 +900,7 @@ class WlstHelper(object):
         :raises: Exception for the specified tool type: if a WLST error occurs
         """
         _method_name = 'disconnect'
+        self.__end_session_cache()
         self.__logger.entering(class_name=self.__class_name, method_name=_method_name)
 
         try:
@@ -834,6 +918,7 @@ class WlstHelper(object):
         :raises: Exception for the specified tool type: if a WLST error occurs
         """
         _method_name = 'edit'
+        _session_cache.clear_all()
         self.__logger.entering(class_name=self.__class_name, method_name=_method_name)
 
         try:
@@ -851,6 +936,7 @@ class WlstHelper(object):
         :raises: Exception for the specified tool type: if a WLST error occurs
         """
         _method_name = 'start_edit'
+        _session_cache.clear_all()
         self.__logger.entering(class_name=self.__class_name, method_name=_method_name)
 
         try:
@@ -868,6 +954,7 @@ class WlstHelper(object):
         :raises: Exception for the specified tool type: if a WLST error occurs
         """
         _method_name = 'stop_edit'
+        _session_cache.clear_all()
         self.__logger.entering(class_name=self.__class_name, method_name=_method_name)
 
         try:
@@ -885,6 +972,7 @@ class WlstHelper(object):
         :raises: Exception for the specified tool type: if a WLST error occurs
         """
         _method_name = 'undo'
+        _session_cache.clear_all()
         self.__logger.entering(class_name=self.__class_name, method_name=_method_name)
 
         try:
@@ -921,6 +1009,7 @@ class WlstHelper(object):
         :raises: Exception for the specified tool type: if a WLST error occurs
         """
         _method_name = 'activate'
+        _session_cache.clear_all()
         self.__logger.entering(timeout, class_name=self.__class_name, method_name=_method_name)
         try:
             activate_status = self.__load_global('activate')(timeout)
@@ -952,6 +1041,33 @@ class WlstHelper(object):
                              class_name=self.__class_name, method_name=_method_name)
         return result
 
+    def get_existing_reference_names(self, wlst_objects_path):
+        """
+        Get the existing directory list at the provided WLST path, to find an MBean that is referenced by name.
+        The list is saved until an MBean could be added or removed, so the caller must not change it.
+        :param wlst_objects_path: the WLST list path
+        :return: the list of directory objects
+        """
+        result = _session_cache.get_reference(_REFERENCE_NAMES, wlst_objects_path)
+        if result is None:
+            result = self.get_existing_object_list(wlst_objects_path)
+            _session_cache.put_reference(_REFERENCE_NAMES, wlst_objects_path, result)
+        return result
+
+    def get_reference_mbean(self, wlst_path):
+        """
+        Return the MBean for the provided path, to be used as the value of a reference attribute.
+        The MBean is saved until an MBean could be added or removed, so the caller must not change it.
+        :param wlst_path: the WLST attributes path of the MBean
+        :return: the MBean
+        :raises: Exception for the specified tool type: if a WLST error occurs
+        """
+        result = _session_cache.get_reference(_REFERENCE_MBEAN, wlst_path)
+        if result is None:
+            result = self.__get_mbean_for_wlst_path(wlst_path)
+            _session_cache.put_reference(_REFERENCE_MBEAN, wlst_path, result)
+        return result
+
     def subfolder_exists(self, wlst_mbean_type, wlst_objects_path=None):
         """
         Determine if the child exists in the current mbean.
@@ -981,6 +1097,7 @@ class WlstHelper(object):
         :raises: Exception for the specified tool type: if a WLST error occurs
         """
         _method_name = 'start_application'
+        _session_cache.clear_all()
         self.__logger.entering(application_name, args, kwargs, class_name=self.__class_name, method_name=_method_name)
 
         try:
@@ -1003,6 +1120,7 @@ class WlstHelper(object):
         :raises: Exception for the specified tool type: if a WLST error occurs
         """
         _method_name = 'stop_application'
+        _session_cache.clear_all()
         self.__logger.entering(application_name, args, kwargs, class_name=self.__class_name, method_name=_method_name)
 
         try:
@@ -1025,6 +1143,7 @@ class WlstHelper(object):
         :raises: Exception for the specified tool type: if a WLST error occurs
         """
         _method_name = 'deploy_application'
+        _session_cache.clear_all()
         self.__logger.entering(application_name, args, kwargs, class_name=self.__class_name, method_name=_method_name)
         deploy_error = None
         sostream = None
@@ -1056,6 +1175,7 @@ class WlstHelper(object):
         :raises: Exception for the specified tool type: if a WLST error occurs
         """
         _method_name = 'undeploy_application'
+        _session_cache.clear_all()
         self.__logger.entering(application_name, args, kwargs, class_name=self.__class_name, method_name=_method_name)
         undeploy_error = None
         sostream = None
@@ -1087,6 +1207,7 @@ class WlstHelper(object):
         :raises: Exception for the specified tool type: if a WLST error occurs
         """
         _method_name = 'redeploy_application'
+        _session_cache.clear_all()
         self.__logger.entering(application_name, args, kwargs, class_name=self.__class_name, method_name=_method_name)
         redeploy_error = None
         sostream = None
@@ -1127,6 +1248,7 @@ class WlstHelper(object):
         :raises: Exception for the specified tool type: if a WLST error occurs
         """
         _method_name = 'apply_jrf'
+        _session_cache.clear_all()
         self.__logger.entering(jrf_target, domain_home, class_name=self.__class_name, method_name=_method_name)
         self.__logger.fine('WLSDPLY-00073', jrf_target, domain_home,
                            class_name=self.__class_name, method_name=_method_name)
@@ -1265,6 +1387,7 @@ class WlstHelper(object):
         :throws Exception for the specified tool type: if in the wrong state to activate the changes
         """
         _method_name = 'cm_activate'
+        _session_cache.clear_all()
         self.__logger.entering(class_name=self.__class_name, method_name=_method_name)
         timeout = 300000L
         try:
@@ -1283,6 +1406,7 @@ class WlstHelper(object):
         :raises Exception for the specified tool type: If in wrong state to start an edit session
         """
         _method_name = 'cm_edit'
+        _session_cache.clear_all()
         self.__logger.entering(class_name=self.__class_name, method_name=_method_name)
 
         try:
@@ -1336,6 +1460,7 @@ class WlstHelper(object):
         :raises Exception for the specified tool type: if a WLST error occurs
         """
         _method_name = 'server_config'
+        _session_cache.clear_all()
         self.__logger.entering(class_name=self.__class_name, method_name=_method_name)
 
         try:
@@ -1354,6 +1479,7 @@ class WlstHelper(object):
         :raises Exception for the specified tool type: if a WLST error occurs
         """
         _method_name = 'domain_runtime'
+        _session_cache.clear_all()
         self.__logger.entering(class_name=self.__class_name, method_name=_method_name)
 
         try:
@@ -1372,6 +1498,7 @@ class WlstHelper(object):
         :raises Exception for the specified tool type: if a WLST error occurs
         """
         _method_name = 'custom'
+        _session_cache.clear_all()
         self.__logger.entering(class_name=self.__class_name, method_name=_method_name)
 
         try:
@@ -1413,6 +1540,7 @@ class WlstHelper(object):
         :param password:  opss store extraction time password
         """
         _method_name = 'set_shared_secret_store_with_password'
+        _session_cache.clear_all()
         self.__logger.entering(wallet_path, class_name=self.__class_name, method_name=_method_name)
         self.__load_global('setSharedSecretStoreWithPassword')(wallet_path, password)
         self.__logger.exiting(class_name=self.__class_name, method_name=_method_name)
@@ -1548,6 +1676,15 @@ class WlstHelper(object):
         self.__logger.finest('WLSDPLY-00028', method_name, ls_type, path,
                              class_name=self.__class_name, method_name=_method_name)
 
+        if path is None:
+            cache_path = self.get_pwd()
+        else:
+            cache_path = _get_cache_path(path)
+        if _session_cache.contains(ls_type, cache_path):
+            self.__logger.finest('WLSDPLY-00129', method_name, ls_type, cache_path,
+                                 class_name=self.__class_name, method_name=_method_name)
+            return _copy_listing(_session_cache.get(ls_type, cache_path))
+
         load_ls = self.__load_global('ls')
         if path is not None:
             # ls(path, returnMap='true') is busted in earlier versions of WLST so go ahead and
@@ -1565,7 +1702,7 @@ class WlstHelper(object):
                 raise pwe
             self.cd(current_path)
         else:
-            current_path = self.get_pwd()
+            current_path = cache_path
             try:
                 result = load_ls(ls_type, returnMap='true', returnType=ls_type)
             except (self.__load_global('WLSTException'), offlineWLSTException), e:
@@ -1575,7 +1712,18 @@ class WlstHelper(object):
                 raise pwe
         self.__logger.finest('WLSDPLY-00030', method_name, ls_type, current_path, result,
                              class_name=self.__class_name, method_name=_method_name)
-        return result
+        _session_cache.put(ls_type, cache_path, result)
+        return _copy_listing(result)
+
+    def __end_session_cache(self):
+        """
+        Log how well the saved listings were reused during the WLST session, and clear them.
+        """
+        _method_name = '__end_session_cache'
+        hits, misses = _session_cache.get_statistics()
+        if hits + misses > 0:
+            self.__logger.info('WLSDPLY-00130', hits, misses, class_name=self.__class_name, method_name=_method_name)
+        _session_cache.reset()
 
     def __check_online_connection(self):
         return self.__load_global('WLS_ON').isConnected()
@@ -1611,6 +1759,144 @@ class WlstHelper(object):
         return 'unknown'
 
 
+class _SessionCache(object):
+    """
+    The directory listings, attribute maps, and path checks read with ls() during the WLST session, keyed by
+    the ls type and the WLST path.  The WLST session is shared by all the WlstHelper instances, so the cache is
+    too.  Any call that could change the domain, or the MBean tree that WLST is in, clears the cache.
+
+    The cache also holds the names and MBeans that are looked up to resolve references to other MBeans,
+    keyed by WLST path.  Setting attributes does not add or remove MBeans, so these are kept until a call could
+    add or remove them.  create() and delete() only change the MBeans below the current location, so they only
+    remove the entries for that part of the tree.  Changing the MBean tree removes all the entries.
+    """
+
+    def __init__(self):
+        self.__entries = dict()
+        self.__references = dict()
+        self.__hits = 0
+        self.__misses = 0
+
+    def contains(self, ls_type, path):
+        """
+        Determine if there is a saved result for the ls type and path, and count the lookup.
+        :param ls_type: the ls type
+        :param path: the absolute WLST path, or None if the result for the path cannot be saved
+        :return: True if there is a saved result
+        """
+        if path is None:
+            return False
+        if self.__entries.has_key((ls_type, path)):
+            self.__hits += 1
+            return True
+        self.__misses += 1
+        return False
+
+    def get(self, ls_type, path):
+        return self.__entries[(ls_type, path)]
+
+    def put(self, ls_type, path, value):
+        if path is not None:
+            self.__entries[(ls_type, path)] = value
+
+    def get_reference(self, reference_type, path):
+        """
+        Get the saved names or MBean for the WLST path, and count the lookup.
+        :param reference_type: _REFERENCE_NAMES or _REFERENCE_MBEAN
+        :param path: the WLST path
+        :return: the saved names or MBean, or None if there are none
+        """
+        result = self.__references.get((reference_type, path))
+        if result is None:
+            self.__misses += 1
+        else:
+            self.__hits += 1
+        return result
+
+    def put_reference(self, reference_type, path, value):
+        if value is not None:
+            self.__references[(reference_type, path)] = value
+
+    def evict_references(self, path, names_only=False):
+        """
+        Remove the saved names and MBeans for the WLST path, and for the paths below it.
+        :param path: the absolute WLST path
+        :param names_only: if True, only remove the saved names, since no MBeans were removed
+        """
+        prefix = path
+        if not prefix.endswith('/'):
+            prefix = prefix + '/'
+        for key in self.__references.keys():
+            reference_type, key_path = key
+            if names_only and reference_type != _REFERENCE_NAMES:
+                continue
+            if key_path == path or key_path.startswith(prefix):
+                del self.__references[key]
+
+    def clear(self):
+        self.__entries.clear()
+
+    def clear_all(self):
+        self.__entries.clear()
+        self.__references.clear()
+
+    def get_statistics(self):
+        """
+        Get the number of lookups that found a saved result, and the number that did not.
+        :return: the hits and misses
+        """
+        return self.__hits, self.__misses
+
+    def reset(self):
+        self.__entries.clear()
+        self.__references.clear()
+        self.__hits = 0
+        self.__misses = 0
+
+
+_session_cache = _SessionCache()
+
+
+def _clear_listings_and_references(path, names_only=False):
+    """
+    Clear the saved listings, and remove the saved references for the part of the MBean tree at the WLST path,
+    since MBeans could be added or removed there.  All the references are removed if the path is not absolute.
+    :param path: the WLST path of the MBean that could change
+    :param names_only: if True, only remove the saved names, since no MBeans could be removed
+    """
+    if path is None or not path.startswith('/'):
+        _session_cache.clear_all()
+    else:
+        _session_cache.clear()
+        _session_cache.evict_references(path, names_only)
+
+
+def _get_cache_path(path):
+    """
+    Get the key for an absolute WLST path.  Relative paths depend on the current location, so they are not saved.
+    :param path: the WLST path
+    :return: the path without a trailing slash, or None if the path is not absolute
+    """
+    if path is None or not path.startswith('/') or path.find('..') != -1:
+        return None
+    if len(path) > 1 and path.endswith('/'):
+        return path[:-1]
+    return path
+
+
+def _copy_listing(listing):
+    """
+    Copy a saved ls listing, so that the caller can change the list it is given.
+    :param listing: the listing returned by ls
+    :return: a copy of a list, or the listing itself
+    """
+    if isinstance(listing, types.ListType):
+        return list(listing)
+    if isinstance(listing, List):
+        return ArrayList(listing)
+    return listing
+
+
 def _format_exception(e):
     """
     Format the exception
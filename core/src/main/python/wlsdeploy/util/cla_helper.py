@@ -20,6 +20,7 @@ from wlsdeploy.aliases.wlst_modes import WlstModes
 from wlsdeploy.exception import exception_helper
 from wlsdeploy.logging.platform_logger import PlatformLogger
 from wlsdeploy.tool.util import filter_helper
+from wlsdeploy.tool.encrypt import encryption_utils
 from wlsdeploy.tool.util.archive_helper import ArchiveHelper
 from wlsdeploy.tool.validate.validator import Validator
 from wlsdeploy.util import cla_utils
@@ -243,6 +244,10 @@ def load_model(program_name, model_context, aliases, filter_type, wlst_mode):
         clean_up_temp_files()
         tool_exit.end(model_context, CommandLineArgUtil.PROG_ERROR_EXIT_CODE)
 
+    # derive the keys for the encrypted values in parallel, before the attributes are decrypted one at a time
+    if model_context.is_using_encryption():
+        encryption_utils.derive_model_keys(model_context.get_encryption_passphrase(), model_dictionary)
+
     filter_helper.apply_filters(model_dictionary, filter_type, model_context)
 
     persist_model(model_context, model_dictionary)
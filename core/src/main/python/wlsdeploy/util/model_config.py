@@ -37,6 +37,28 @@ STOP_APP_TIMEOUT_DEFAULT = '180000'
 SET_SERVER_GRPS_TIMEOUT_PROP = 'set.server.groups.timeout'
 SET_SERVER_GRPS_TIMEOUT_DEFAULT = '30000'
 
+# ARCHIVE PROPERTIES
+# zero or less means one extraction thread per processor, up to a limit of 8
+ARCHIVE_EXTRACT_THREADS_PROP = 'archive.extract.threads'
+ARCHIVE_EXTRACT_THREADS_DEFAULT = '0'
+
+# DEPLOY PROPERTIES
+DEPLOY_HASH_CACHE_PROP = 'deploy.hash.cache'
+DEPLOY_HASH_CACHE_DEFAULT = 'true'
+DEPLOY_CRC_PRECHECK_PROP = 'deploy.crc.precheck'
+DEPLOY_CRC_PRECHECK_DEFAULT = 'false'
+
+# ALIAS PROPERTIES
+ALIAS_CACHE_ENABLED_PROP = 'alias.cache.enabled'
+ALIAS_CACHE_ENABLED_DEFAULT = 'true'
+# an empty directory means the .wlsdeploy/cache/aliases directory under the user's home directory
+ALIAS_CACHE_DIR_PROP = 'alias.cache.dir'
+ALIAS_CACHE_DIR_DEFAULT = ''
+
+# ENCRYPTION PROPERTIES
+ENCRYPT_SHARED_SALT_PROP = 'encrypt.shared.salt'
+ENCRYPT_SHARED_SALT_DEFAULT = 'false'
+
 
 class ModelConfiguration(object):
     """
@@ -107,6 +129,49 @@ class ModelConfiguration(object):
         """
         return self._get_from_dict_as_long(SET_SERVER_GRPS_TIMEOUT_PROP, SET_SERVER_GRPS_TIMEOUT_DEFAULT)
 
+    def get_archive_extract_threads(self):
+        """
+        Return the number of threads used to extract files from the archive from tool properties.
+        :return: archive extract threads
+        """
+        return self._get_from_dict_as_long(ARCHIVE_EXTRACT_THREADS_PROP, ARCHIVE_EXTRACT_THREADS_DEFAULT)
+
+    def get_deploy_hash_cache(self):
+        """
+        Return whether the hash values of deployed files are saved in the domain home from tool properties.
+        :return: True if the hash values are saved, False otherwise
+        """
+        return self._get_from_dict_as_boolean(DEPLOY_HASH_CACHE_PROP, DEPLOY_HASH_CACHE_DEFAULT)
+
+    def get_deploy_crc_precheck(self):
+        """
+        Return whether the archive CRC-32 values are compared to deployed files instead of hash values
+        from tool properties.
+        :return: True if the CRC-32 values are compared, False otherwise
+        """
+        return self._get_from_dict_as_boolean(DEPLOY_CRC_PRECHECK_PROP, DEPLOY_CRC_PRECHECK_DEFAULT)
+
+    def get_alias_cache_enabled(self):
+        """
+        Return whether the resolved aliases are cached between tool runs from tool properties.
+        :return: True if the resolved aliases are cached, False otherwise
+        """
+        return self._get_from_dict_as_boolean(ALIAS_CACHE_ENABLED_PROP, ALIAS_CACHE_ENABLED_DEFAULT)
+
+    def get_alias_cache_dir(self):
+        """
+        Return the directory used to cache the resolved aliases from tool properties.
+        :return: the alias cache directory, or an empty string to use the default directory
+        """
+        return self._get_from_dict(ALIAS_CACHE_DIR_PROP, ALIAS_CACHE_DIR_DEFAULT)
+
+    def get_encrypt_shared_salt(self):
+        """
+        Return whether the values in a model are encrypted with a shared salt from tool properties.
+        :return: True if the values share a salt, False if each value has its own salt
+        """
+        return self._get_from_dict_as_boolean(ENCRYPT_SHARED_SALT_PROP, ENCRYPT_SHARED_SALT_DEFAULT)
+
     def _get_from_dict(self, name, default_value=None):
         _method_name = '_get_from_dict'
         _logger.entering(name, default_value, class_name=_class_name, method_name=_method_name)
@@ -127,6 +192,10 @@ class ModelConfiguration(object):
             result = Long(default_value).longValue()
         return result
 
+    def _get_from_dict_as_boolean(self, name, default_value=None):
+        result = self._get_from_dict(name, default_value)
+        return string_utils.to_boolean(str(result).strip().lower())
+
 
 def _load_properties_file():
     """
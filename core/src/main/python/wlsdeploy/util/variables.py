@@ -14,6 +14,7 @@ from java.io import PrintWriter
 from java.io import IOException
 
 from oracle.weblogic.deploy.util import PyOrderedDict as OrderedDict
+from oracle.weblogic.deploy.util import VariableTokenSubstituter
 
 from wlsdeploy.util import path_utils
 from wlsdeploy.util import string_utils
@@ -178,7 +179,7 @@ def substitute_value(text, variables, model_context):
     """
     method_name = 'substitute_value'
     error_info = {'errorCount': 0}
-    result = _substitute(text, variables, model_context, error_info)
+    result = _create_substituter(variables, model_context, error_info).substitute(text, None)
     error_count = error_info['errorCount']
     if error_count:
         ex = exception_helper.create_variable_exception("WLSDPLY-01740", error_count)
@@ -197,7 +198,7 @@ def substitute(dictionary, variables, model_context):
     """
     method_name = '_substitute'
     error_info = {'errorCount': 0}
-    _process_node(dictionary, variables, model_context, error_info)
+    _create_substituter(variables, model_context, error_info).substituteModel(dictionary)
     error_count = error_info['errorCount']
     if error_count:
         ex = exception_helper.create_variable_exception("WLSDPLY-01740", error_count)
@@ -205,39 +206,23 @@ def substitute(dictionary, variables, model_context):
         raise ex
 
 
-def _process_node(nodes, variables, model_context, error_info):
+def _create_substituter(variables, model_context, error_info):
     """
-    Process variables in the node.
-    :param nodes: the dictionary to process
+    Create the Java substituter that walks the model and replaces the tokens in a single pass.
+    Text with nested or unresolved tokens is passed back to _substitute(), so that it is substituted
+    and its errors are reported as before.
     :param variables: the variables to use
     :param model_context: used to resolve variables in file paths
     :param error_info: collects information about errors encountered
+    :return: the substituter
     """
-    # iterate over copy to avoid concurrent change for add/delete
-    if isinstance(nodes, OrderedDict):
-        nodes_iterator = OrderedDict(nodes)
-    else:
-        nodes_iterator = dict(nodes)
-    for key in nodes_iterator:
-        value = nodes[key]
-
-        # if the key changes with substitution, remove old key and map value to new key
-        new_key = _substitute(key, variables, model_context, error_info)
-        if new_key is not key:
-            del nodes[key]
-            nodes[new_key] = value
-
-        if isinstance(value, dict):
-            _process_node(value, variables, model_context, error_info)
-
-        elif isinstance(value, list):
-            for member in value:
-                if type(member) in [str, unicode]:
-                    index = value.index(member)
-                    value[index] = _substitute(member, variables, model_context, error_info, key)
-
-        elif type(value) in [str, unicode]:
-            nodes[key] = _substitute(value, variables, model_context, error_info, key)
+    def resolve_secret(name, key):
+        return _resolve_secret_token(name, key, model_context)
+
+    def substitute_text(text, attribute_name):
+        return _substitute(text, variables, model_context, error_info, attribute_name)
+
+    return VariableTokenSubstituter(variables, os.environ, resolve_secret, substitute_text)
 
 
 def _substitute(text, variables, model_context, error_info, attribute_name=None):
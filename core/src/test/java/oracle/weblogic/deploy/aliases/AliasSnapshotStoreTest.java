@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2022, Oracle Corporation and/or its affiliates.  All rights reserved.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package oracle.weblogic.deploy.aliases;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+
+import oracle.weblogic.deploy.util.PyRealBoolean;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.python.core.Py;
+import org.python.core.PyDictionary;
+import org.python.core.PyInteger;
+import org.python.core.PyList;
+import org.python.core.PyLong;
+import org.python.core.PyObject;
+import org.python.core.PyString;
+import org.python.core.PySystemState;
+import org.python.core.PyTuple;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AliasSnapshotStoreTest {
+    private static final File CACHE_DIR = new File("target/unit-tests/alias-cache");
+
+    @BeforeAll
+    static void initialize() {
+        // Py.None is only set once the interpreter state is initialized
+        PySystemState.initialize();
+    }
+
+    @Test
+    void testRoundTripPreservesValuesAndSharedReferences() throws Exception {
+        PyDictionary attribute = new PyDictionary();
+        attribute.__setitem__("wlst_name", new PyString("ListenPort"));
+        attribute.__setitem__("default_value", new PyLong(BigInteger.valueOf(7001L)));
+        attribute.__setitem__("restart_required", new PyRealBoolean(true));
+        attribute.__setitem__("get_method", Py.None);
+        attribute.__setitem__("count", new PyInteger(3));
+
+        PyDictionary modelAttributes = new PyDictionary();
+        modelAttributes.__setitem__("ListenPort", attribute);
+        PyDictionary wlstAttributes = new PyDictionary();
+        wlstAttributes.__setitem__("ListenPort", attribute);
+
+        PyDictionary category = new PyDictionary();
+        category.__setitem__("attributes", modelAttributes);
+        category.__setitem__("wlst_names_map", wlstAttributes);
+        category.__setitem__("wlst_skip_names", new PyList(new PyObject[] { new PyString("Password") }));
+
+        PyDictionary result = (PyDictionary) roundTrip("Server", category);
+        assertTrue(category.__eq__(result).__nonzero__(), "expected equal snapshot");
+        assertSame(result.__finditem__("attributes").__finditem__("ListenPort"),
+            result.__finditem__("wlst_names_map").__finditem__("ListenPort"), "expected shared attribute dictionary");
+        assertTrue(result.__finditem__("attributes").__finditem__("ListenPort").__finditem__("restart_required")
+            instanceof PyRealBoolean, "expected boolean value");
+    }
+
+    @Test
+    void testCategoryMismatchRejected() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        AliasSnapshotStore.writeSnapshot(outputStream, "Server", new PyDictionary());
+        assertThrows(IOException.class, () -> AliasSnapshotStore.readSnapshot(
+            new ByteArrayInputStream(outputStream.toByteArray()), "Cluster"));
+    }
+
+    @Test
+    void testSaveAndLoad() {
+        AliasSnapshotStore store = new AliasSnapshotStore(CACHE_DIR, "12.2.1.4.0", "OFFLINE");
+        PyDictionary snapshot = new PyDictionary();
+        snapshot.__setitem__("category", Py.None);
+        store.save("Machine", snapshot);
+
+        PyObject result = new AliasSnapshotStore(CACHE_DIR, "12.2.1.4.0", "OFFLINE").load("Machine");
+        assertNotNull(result, "expected saved snapshot");
+        assertEquals(Py.None, result.__finditem__("category"), "unexpected category value");
+        assertNull(new AliasSnapshotStore(CACHE_DIR, "12.2.1.4.0", "ONLINE").load("Machine"),
+            "expected no snapshot for another WLST mode");
+    }
+
+    @Test
+    void testUnsupportedValueNotSaved() {
+        AliasSnapshotStore store = new AliasSnapshotStore(CACHE_DIR, "14.1.1.0.0", "OFFLINE");
+        PyDictionary snapshot = new PyDictionary();
+        snapshot.__setitem__("category", new PyTuple(new PyObject[] { new PyString("value") }));
+        store.save("JMSServer", snapshot);
+
+        assertNull(store.load("JMSServer"), "expected no snapshot for unsupported value");
+        File[] files = store.getSnapshotDirectory().listFiles();
+        assertTrue(files == null || files.length == 0, "expected no files left behind");
+    }
+
+    private static PyObject roundTrip(String categoryName, PyObject snapshot) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        AliasSnapshotStore.writeSnapshot(outputStream, categoryName, snapshot);
+        return AliasSnapshotStore.readSnapshot(new ByteArrayInputStream(outputStream.toByteArray()), categoryName);
+    }
+}
@@ -8,6 +8,8 @@ import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class VersionUtilsTest {
@@ -257,4 +259,25 @@ public class VersionUtilsTest {
         answer = VersionUtils.isVersionInRange(VERSION_18, RANGE_BETWEEN_1212_AND_12213);
         assertFalse(answer, "expected " + VERSION_18 + " to not be in range " + RANGE_BETWEEN_1212_AND_12213);
     }
+
+    @Test
+    public void testParsedVersionsAndRangesAreReused() throws Exception {
+        assertSame(VersionUtils.getParsedRange(RANGE_LESS_THAN_1212), VersionUtils.getParsedRange(RANGE_LESS_THAN_1212));
+        assertSame(VersionUtils.getParsedVersion(VERSION_1213), VersionUtils.getParsedVersion(VERSION_1213));
+
+        // the returned array is a copy, so the cached range cannot be changed by the caller
+        String[] versions = VersionUtils.getLowerAndUpperVersionStrings(RANGE_LESS_THAN_1212);
+        versions[0] = "12.2.1";
+        assertTrue(VersionUtils.isVersionInRange(VERSION_1036, RANGE_LESS_THAN_1212));
+        assertEquals("10", VersionUtils.getLowerAndUpperVersionStrings(RANGE_LESS_THAN_1212)[0]);
+    }
+
+    @Test
+    public void testInvalidVersionField() throws Exception {
+        // the invalid field is only reported if the comparison reaches it
+        assertTrue(VersionUtils.compareVersions("12.3.x", "12.2.1") > 0);
+        assertThrows(VersionException.class, () -> VersionUtils.compareVersions("12.2.x", "12.2.1"));
+        assertThrows(VersionException.class, () -> VersionUtils.isVersionInRange("12.x", RANGE_ALL_VERSIONS + "x"));
+        assertThrows(IllegalArgumentException.class, () -> VersionUtils.isVersionInRange(VERSION_1213, ""));
+    }
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2022, Oracle Corporation and/or its affiliates.  All rights reserved.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package oracle.weblogic.deploy.discover;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MBeanAttributeReaderTest {
+    private static final String[] NAMES = { "ListenPort", "Notes", "MissingAttribute" };
+
+    private MBeanServer server;
+    private ObjectName serverName;
+    private ObjectName clusterName;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = MBeanServerFactory.newMBeanServer();
+        serverName = new ObjectName("com.bea:Name=server1,Type=Server");
+        clusterName = new ObjectName("com.bea:Name=cluster1,Type=Cluster");
+        server.registerMBean(new ServerConfig(), serverName);
+        server.registerMBean(new ClusterConfig(), clusterName);
+    }
+
+    @Test
+    public void testGetAttributeValues() throws Exception {
+        Map<String, Object> values = new MBeanAttributeReader(server).getAttributeValues(serverName, NAMES);
+
+        assertEquals(2, values.size(), "the missing attribute should be left out");
+        assertEquals(7001, values.get("ListenPort"));
+        assertEquals("notes", values.get("Notes"));
+    }
+
+    @Test
+    public void testGetUnsetAttributeNames() throws Exception {
+        MBeanAttributeReader reader = new MBeanAttributeReader(server);
+
+        Set<String> unset = reader.getUnsetAttributeNames(serverName, new String[] { "ListenPort", "Notes" });
+        assertEquals(Collections.singleton("Notes"), unset);
+
+        // without an isSet operation, every attribute is set
+        unset = reader.getUnsetAttributeNames(clusterName, new String[] { "ClusterAddress" });
+        assertTrue(unset.isEmpty());
+    }
+
+    @Test
+    public void testUnknownMBean() throws Exception {
+        final MBeanAttributeReader reader = new MBeanAttributeReader(server);
+        final ObjectName unknownName = new ObjectName("com.bea:Name=server2,Type=Server");
+
+        assertThrows(DiscoverException.class, () -> reader.getAttributeValues(unknownName, NAMES));
+        assertFalse(reader.getUnsetAttributeNames(serverName, new String[] { "ListenPort" }).contains("ListenPort"));
+        assertThrows(DiscoverException.class,
+            () -> reader.getUnsetAttributeNames(unknownName, new String[] { "ListenPort" }));
+    }
+
+    public interface ServerConfigMBean {
+        int getListenPort();
+
+        String getNotes();
+
+        boolean isSet(String attributeName);
+    }
+
+    public static class ServerConfig implements ServerConfigMBean {
+        @Override
+        public int getListenPort() {
+            return 7001;
+        }
+
+        @Override
+        public String getNotes() {
+            return "notes";
+        }
+
+        @Override
+        public boolean isSet(String attributeName) {
+            return "ListenPort".equals(attributeName);
+        }
+    }
+
+    public interface ClusterConfigMBean {
+        String getClusterAddress();
+    }
+
+    public static class ClusterConfig implements ClusterConfigMBean {
+        @Override
+        public String getClusterAddress() {
+            return "localhost:7003";
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2022, Oracle Corporation and/or its affiliates.  All rights reserved.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package oracle.weblogic.deploy.encrypt;
+
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class DerivedKeyCacheTest {
+    private static final char[] PASSPHRASE = "My dog is a rottweiler".toCharArray();
+    private static final byte[] SALT1 = { 1, 2, 3, 4, 5, 6, 7, 8 };
+    private static final byte[] SALT2 = { 8, 7, 6, 5, 4, 3, 2, 1 };
+    private static final byte[] KEY = { 10, 11, 12, 13 };
+
+    @Test
+    public void testCacheKey() throws Exception {
+        ByteBuffer key1 = DerivedKeyCache.getCacheKey(PASSPHRASE, SALT1);
+
+        assertEquals(key1, DerivedKeyCache.getCacheKey(PASSPHRASE.clone(), SALT1.clone()));
+        assertNotEquals(key1, DerivedKeyCache.getCacheKey(PASSPHRASE, SALT2));
+        assertNotEquals(key1, DerivedKeyCache.getCacheKey("another passphrase".toCharArray(), SALT1));
+    }
+
+    @Test
+    public void testGetReturnsCopy() throws Exception {
+        DerivedKeyCache cache = new DerivedKeyCache(2);
+        ByteBuffer cacheKey = DerivedKeyCache.getCacheKey(PASSPHRASE, SALT1);
+        byte[] keyBytes = KEY.clone();
+        cache.put(cacheKey, keyBytes);
+        keyBytes[0] = 0;
+
+        byte[] result = cache.get(cacheKey);
+        assertArrayEquals(KEY, result);
+        result[0] = 0;
+        assertNotSame(result, cache.get(cacheKey));
+        assertArrayEquals(KEY, cache.get(cacheKey));
+        assertEquals(3, cache.getHitCount());
+    }
+
+    @Test
+    public void testEvictionAndClear() throws Exception {
+        DerivedKeyCache cache = new DerivedKeyCache(1);
+        ByteBuffer cacheKey1 = DerivedKeyCache.getCacheKey(PASSPHRASE, SALT1);
+        ByteBuffer cacheKey2 = DerivedKeyCache.getCacheKey(PASSPHRASE, SALT2);
+        cache.put(cacheKey1, KEY);
+        cache.put(cacheKey2, KEY);
+
+        assertNull(cache.get(cacheKey1));
+        assertArrayEquals(KEY, cache.get(cacheKey2));
+        assertEquals(1, cache.size());
+
+        cache.clear();
+        assertNull(cache.get(cacheKey2));
+        assertEquals(0, cache.size());
+        assertEquals(2, cache.getMissCount());
+    }
+}
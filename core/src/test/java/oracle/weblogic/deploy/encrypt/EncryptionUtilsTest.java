@@ -4,11 +4,16 @@
  */
 package oracle.weblogic.deploy.encrypt;
 
+import java.util.Arrays;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class EncryptionUtilsTest {
@@ -47,4 +52,72 @@ public class EncryptionUtilsTest {
         result = new String(password);
         assertEquals(PASSWORD1, result, "Excepted decrypted password to match");
     }
+
+    @Test
+    public void sharedSaltTest() throws Exception {
+        byte[] salt = EncryptionUtils.createSharedSalt();
+        String result1 = EncryptionUtils.encryptString(PASSWORD1, PASSPHRASE, salt);
+        String result2 = EncryptionUtils.encryptString(PASSWORD1, PASSPHRASE, salt);
+        assertTrue(result1.startsWith(CIPHER_TEXT_PREFIX), "Excepted encrypted password to start with " + CIPHER_TEXT_PREFIX + " marker");
+        assertNotEquals(result1, result2, "Expected a different nonce for each encrypted value");
+
+        assertEquals(PASSWORD1, new String(EncryptionUtils.decryptString(result1, PASSPHRASE)), "Excepted decrypted password to match");
+        assertEquals(PASSWORD1, new String(EncryptionUtils.decryptString(result2, PASSPHRASE)), "Excepted decrypted password to match");
+    }
+
+    @Test
+    public void clearKeyCacheTest() throws Exception {
+        String result = EncryptionUtils.encryptString(PASSWORD1, PASSPHRASE);
+        EncryptionUtils.clearKeyCache();
+        assertEquals(PASSWORD1, new String(EncryptionUtils.decryptString(result, PASSPHRASE)), "Excepted decrypted password to match");
+        assertThrows(EncryptionException.class, () -> EncryptionUtils.decryptString(result, "wrong passphrase".toCharArray()));
+    }
+
+    @Test
+    public void encryptAllTest() throws Exception {
+        List<String> values = Arrays.asList(PASSWORD1, "", null, "welcome2", "welcome3");
+        List<String> results = EncryptionUtils.encryptAll(values, PASSPHRASE);
+        assertEquals(values.size(), results.size(), "Expected a result for each value");
+        assertEquals("", results.get(1), "Expected empty value to be unchanged");
+        assertNull(results.get(2), "Expected null value to be unchanged");
+
+        List<char[]> decrypted = EncryptionUtils.decryptAll(results, PASSPHRASE);
+        assertEquals(PASSWORD1, new String(decrypted.get(0)), "Excepted decrypted password to match");
+        assertNull(decrypted.get(1), "Expected no result for empty value");
+        assertNull(decrypted.get(2), "Expected no result for null value");
+        assertEquals("welcome2", new String(decrypted.get(3)), "Excepted decrypted password to match");
+        assertEquals("welcome3", new String(decrypted.get(4)), "Excepted decrypted password to match");
+    }
+
+    @Test
+    public void encryptAllSharedSaltTest() throws Exception {
+        List<String> values = Arrays.asList(PASSWORD1, "welcome2", "welcome3", "welcome4");
+        List<String> results = EncryptionUtils.encryptAll(values, PASSPHRASE, EncryptionUtils.createSharedSalt());
+
+        for (int i = 0; i < values.size(); i++) {
+            assertEquals(values.get(i), new String(EncryptionUtils.decryptString(results.get(i), PASSPHRASE)), "Excepted decrypted password to match");
+        }
+    }
+
+    @Test
+    public void decryptAllFailureTest() throws Exception {
+        List<String> values = Arrays.asList(ENCRYPTED_PASSWORD1_1, ENCRYPTED_PASSWORD1_2, "welcome2");
+        List<char[]> results = EncryptionUtils.decryptAll(values, PASSPHRASE);
+        assertEquals(PASSWORD1, new String(results.get(0)), "Excepted decrypted password to match");
+        assertEquals(PASSWORD1, new String(results.get(1)), "Excepted decrypted password to match");
+        assertNull(results.get(2), "Expected no result for unencrypted value");
+
+        assertThrows(EncryptionException.class, () -> EncryptionUtils.decryptAll(values, "wrong passphrase".toCharArray()));
+        assertThrows(EncryptionException.class, () -> EncryptionUtils.encryptAll(values, new char[0]));
+    }
+
+    @Test
+    public void deriveKeysTest() throws Exception {
+        List<String> values = EncryptionUtils.encryptAll(Arrays.asList(PASSWORD1, "welcome2"), PASSPHRASE);
+        EncryptionUtils.clearKeyCache();
+        List<String> mixed = Arrays.asList(values.get(0), values.get(1), values.get(0), "", null, "welcome3");
+        assertEquals(2, EncryptionUtils.deriveKeys(mixed, PASSPHRASE), "Expected a key for each distinct salt");
+        assertEquals(PASSWORD1, new String(EncryptionUtils.decryptString(values.get(0), PASSPHRASE)), "Excepted decrypted password to match");
+        assertThrows(EncryptionException.class, () -> EncryptionUtils.deriveKeys(mixed, new char[0]));
+    }
 }
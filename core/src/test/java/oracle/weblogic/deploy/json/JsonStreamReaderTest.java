@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2022, Oracle Corporation and/or its affiliates.  All rights reserved.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package oracle.weblogic.deploy.json;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import oracle.weblogic.deploy.util.PyOrderedDict;
+import oracle.weblogic.deploy.util.PyRealBoolean;
+
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.python.core.Py;
+import org.python.core.PyDictionary;
+import org.python.core.PyFloat;
+import org.python.core.PyList;
+import org.python.core.PyLong;
+import org.python.core.PyObject;
+import org.python.core.PyString;
+import org.python.core.PySystemState;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JsonStreamReaderTest {
+    private static final File CATEGORY_DIR =
+        new File("src/main/resources/oracle/weblogic/deploy/aliases/category_modules");
+    private static final File TEST_RESOURCES_DIR = new File("src/test/resources");
+
+    @BeforeAll
+    static void initialize() {
+        PySystemState.initialize();
+    }
+
+    @Test
+    void testMatchesParseTreeForAliasFiles() throws Exception {
+        File[] files = CATEGORY_DIR.listFiles();
+        assertNotNull(files);
+        assertTrue(files.length > 0);
+        for (File file : files) {
+            assertMatchesParseTree(file);
+        }
+    }
+
+    @Test
+    void testMatchesParseTreeForModelFiles() throws Exception {
+        String[] names = { "Test.json", "custom.json", "jmsMail.json", "model_filters.json", "singleApp.json",
+            "test_jms_mail.json" };
+        for (String name : names) {
+            assertMatchesParseTree(new File(TEST_RESOURCES_DIR, name));
+        }
+    }
+
+    @Test
+    void testValueTypes() throws Exception {
+        PyDictionary result = parse("{\"s\": \"text\", \"i\": -12, \"f\": 1.5, \"e\": 2e3, \"t\": true, "
+            + "\"n\": null, \"l\": [1, [], {}], \"o\": {\"x\": false}}");
+
+        assertEquals(new PyString("text"), result.__getitem__(new PyString("s")));
+        assertEquals(new PyLong(-12L), result.__getitem__(new PyString("i")));
+        assertEquals(new PyFloat(1.5), result.__getitem__(new PyString("f")));
+        assertEquals(new PyFloat(2000.0), result.__getitem__(new PyString("e")));
+        assertTrue(result.__getitem__(new PyString("t")) instanceof PyRealBoolean);
+        assertSame(Py.None, result.__getitem__(new PyString("n")));
+
+        PyObject list = result.__getitem__(new PyString("l"));
+        assertTrue(list instanceof PyList);
+        assertEquals(3, list.__len__());
+        assertTrue(result.__getitem__(new PyString("o")) instanceof PyOrderedDict);
+    }
+
+    @Test
+    void testEscapeSequences() throws Exception {
+        PyDictionary result = parse("{\"k\\\"ey\": \"a\\\\nb\\t\\u00e9\\/\\u0041\"}");
+
+        assertEquals(new PyString("a\\nb\t\u00e9/A"), result.__getitem__(new PyString("k\"ey")));
+    }
+
+    @Test
+    void testTopLevelNonObject() throws Exception {
+        assertEquals(0, parse("  \"text\"  ").__len__());
+    }
+
+    @Test
+    void testDuplicateObjectKey() {
+        assertThrows(ParseCancellationException.class, () -> parse("{\"a\": {}, \"a\": {}}"));
+    }
+
+    @Test
+    void testDuplicateScalarKeyOverwrites() throws Exception {
+        PyDictionary result = parse("{\"a\": 1, \"a\": 2}");
+
+        assertEquals(new PyLong(2L), result.__getitem__(new PyString("a")));
+    }
+
+    @Test
+    void testSyntaxErrors() {
+        String[] texts = { "", "{", "{\"a\" 1}", "{\"a\": 1,}", "{\"a\": tru}", "{\"a\": \"open",
+            "{\"a\": \"\\x\"}", "{\"a\": \"\\u12g4\"}", "{\"a\": [1 2]}", "{\"a\": 01}", "{\"a\": 1.}", "{\"a\": -}" };
+
+        Logger logger = Logger.getLogger("wlsdeploy.json");
+        Level originalLevel = logger.getLevel();
+        logger.setLevel(Level.OFF);
+        try {
+            for (String text : texts) {
+                assertThrows(JsonException.class, () -> parse(text), text);
+            }
+        } finally {
+            logger.setLevel(originalLevel);
+        }
+    }
+
+    private static PyDictionary parse(String text) throws JsonException {
+        InputStream stream = new ByteArrayInputStream(text.getBytes(UTF_8));
+        return new JsonStreamTranslator("String", stream, true).parse();
+    }
+
+    private static void assertMatchesParseTree(File file) throws Exception {
+        PyDictionary expected;
+        try (InputStream stream = new FileInputStream(file)) {
+            expected = new JsonStreamTranslator(file.getName(), stream, true)
+                .parseInternalWithParseTree(file.getName(), stream);
+        }
+        PyDictionary actual;
+        try (InputStream stream = new FileInputStream(file)) {
+            actual = new JsonStreamTranslator(file.getName(), stream, true).parse();
+        }
+        assertEquals(expected.toString(), actual.toString(), file.getName());
+    }
+}
@@ -6,17 +6,30 @@ package oracle.weblogic.deploy.json;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.io.StringWriter;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
+import org.python.core.PyDictionary;
+import org.python.core.PyInteger;
+import org.python.core.PyList;
+import org.python.core.PyString;
+import org.python.core.PySystemState;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class JsonTranslatorTest {
 
+    @BeforeAll
+    static void initialize() {
+        PySystemState.initialize();
+    }
+
     /**
      * Verify that a lexical error will throw an Exception
      */
@@ -40,4 +53,30 @@ public class JsonTranslatorTest {
 
         logger.setLevel(originalLevel);
     }
+
+    @Test
+    public void testStreamWriterRoundTrip() throws Exception {
+        PyList nested = new PyList();
+        nested.append(new PyString("b"));
+        PyList list = new PyList();
+        list.append(new PyString(" a \"quoted\" "));
+        list.append(nested);
+
+        PyDictionary server = new PyDictionary();
+        server.__setitem__(new PyString("ListenPort"), new PyInteger(7001));
+        server.__setitem__(new PyString("Values"), list);
+        PyDictionary model = new PyDictionary();
+        model.__setitem__(new PyString("AdminServer"), server);
+
+        StringWriter writer = new StringWriter();
+        new JsonStreamWriter(writer).write(model);
+
+        InputStream stream = new ByteArrayInputStream(writer.toString().getBytes(UTF_8));
+        PyDictionary actual = new JsonStreamTranslator("String", stream).parse();
+        PyDictionary actualServer = (PyDictionary) actual.__getitem__(new PyString("AdminServer"));
+        assertEquals(new PyInteger(7001), actualServer.__getitem__(new PyString("ListenPort")));
+        PyList actualList = (PyList) actualServer.__getitem__(new PyString("Values"));
+        assertEquals(new PyString("a \"quoted\""), actualList.pyget(0), "strings should be stripped");
+        assertEquals(nested, actualList.pyget(1), "nested lists should be written as arrays");
+    }
 }
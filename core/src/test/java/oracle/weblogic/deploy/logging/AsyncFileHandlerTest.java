@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2022, Oracle Corporation and/or its affiliates.  All rights reserved.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package oracle.weblogic.deploy.logging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AsyncFileHandlerTest {
+
+    @Test
+    public void testRecordsAreWrittenInOrder() {
+        CollectingHandler target = new CollectingHandler(null);
+        AsyncFileHandler handler = new AsyncFileHandler(target, 64);
+
+        for (int i = 0; i < 1000; i++) {
+            handler.publish(new LogRecord(Level.SEVERE, "message " + i));
+        }
+        handler.flush();
+
+        List<LogRecord> records = target.getRecords();
+        assertEquals(1000, records.size(), "all records should be written");
+        for (int i = 0; i < records.size(); i++) {
+            assertEquals("message " + i, records.get(i).getMessage());
+        }
+        assertEquals(1000, handler.getQueuedCount());
+        assertEquals(0, handler.getDroppedCount());
+        handler.close();
+    }
+
+    @Test
+    public void testFullQueueDropsRecordsBelowWarning() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CollectingHandler target = new CollectingHandler(release);
+        final AsyncFileHandler handler = new AsyncFileHandler(target, 4);
+
+        // the writer thread takes the first record and waits in the target handler
+        handler.publish(new LogRecord(Level.INFO, "first"));
+        assertTrue(target.awaitFirstRecord(), "the writer should take the first record");
+
+        for (int i = 0; i < 10; i++) {
+            handler.publish(new LogRecord(Level.FINE, "fine " + i));
+        }
+        assertEquals(6, handler.getDroppedCount(), "records that do not fit in the queue should be dropped");
+        assertEquals(4, handler.getPendingCount());
+
+        Thread warningThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                handler.publish(new LogRecord(Level.WARNING, "warning"));
+            }
+        });
+        warningThread.start();
+        release.countDown();
+        warningThread.join(TimeUnit.SECONDS.toMillis(10));
+        handler.flush();
+
+        List<LogRecord> records = target.getRecords();
+        assertEquals(6, records.size());
+        assertEquals("warning", records.get(5).getMessage(), "a warning should wait for room in the queue");
+        assertEquals(6, handler.getDroppedCount());
+        handler.close();
+    }
+
+    @Test
+    public void testFlushWaitsForRecordBeingWritten() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CollectingHandler target = new CollectingHandler(release);
+        final AsyncFileHandler handler = new AsyncFileHandler(target, 4);
+
+        // the writer thread has taken the record from the queue, but has not finished writing it
+        handler.publish(new LogRecord(Level.INFO, "only"));
+        assertTrue(target.awaitFirstRecord(), "the writer should take the record");
+        assertEquals(0, handler.getPendingCount());
+
+        final CountDownLatch flushed = new CountDownLatch(1);
+        Thread flushThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                handler.flush();
+                flushed.countDown();
+            }
+        });
+        flushThread.start();
+        assertFalse(flushed.await(200, TimeUnit.MILLISECONDS), "flush should wait for the record to be written");
+
+        release.countDown();
+        assertTrue(flushed.await(10, TimeUnit.SECONDS));
+        assertEquals(1, target.getRecords().size());
+        handler.close();
+    }
+
+    private static class CollectingHandler extends Handler {
+        private final List<LogRecord> records = new ArrayList<>();
+        private final CountDownLatch release;
+        private final CountDownLatch firstRecord = new CountDownLatch(1);
+
+        CollectingHandler(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void publish(LogRecord logRecord) {
+            firstRecord.countDown();
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            synchronized (records) {
+                records.add(logRecord);
+            }
+        }
+
+        @Override
+        public void flush() {
+            // nothing to flush
+        }
+
+        @Override
+        public void close() {
+            // nothing to close
+        }
+
+        boolean awaitFirstRecord() throws InterruptedException {
+            return firstRecord.await(10, TimeUnit.SECONDS);
+        }
+
+        List<LogRecord> getRecords() {
+            synchronized (records) {
+                return new ArrayList<>(records);
+            }
+        }
+    }
+}
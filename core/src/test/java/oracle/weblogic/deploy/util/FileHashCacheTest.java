@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2022, Oracle Corporation and/or its affiliates.  All rights reserved.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package oracle.weblogic.deploy.util;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FileHashCacheTest {
+    private static final File UNIT_TEST_DIR = new File(WLSDeployZipFileTest.UNIT_TEST_TARGET_DIR, "hash-cache");
+    private static final long ONE_HOUR_MILLIS = 60L * 60L * 1000L;
+
+    @BeforeAll
+    static void initialize() {
+        UNIT_TEST_DIR.mkdirs();
+    }
+
+    @Test
+    void testValuesMatchFileContent() throws Exception {
+        File file = writeFile("content.txt", "some application content");
+        FileHashCache cache = new FileHashCache();
+
+        CRC32 crc32 = new CRC32();
+        crc32.update(FileUtils.readFileToByteArray(file));
+        assertEquals(FileUtils.computeHash(file), cache.getFileHash(file), "unexpected hash");
+        assertEquals(crc32.getValue(), cache.getFileCrc(file), "unexpected CRC");
+    }
+
+    @Test
+    void testPersistedValuesReused() throws Exception {
+        File file = writeFile("persisted.txt", "original content");
+        long lastModified = System.currentTimeMillis() - ONE_HOUR_MILLIS;
+        assertTrue(file.setLastModified(lastModified), "unable to set last modified time");
+        File cacheFile = new File(UNIT_TEST_DIR, "persisted-cache.properties");
+        cacheFile.delete();
+
+        FileHashCache cache = new FileHashCache(cacheFile);
+        String originalHash = cache.getFileHash(file);
+        cache.save();
+        assertTrue(cacheFile.isFile(), "expected cache file to be written");
+
+        // same size and last modified time, so the persisted value is used without reading the file
+        writeFile("persisted.txt", "modified content");
+        assertTrue(file.setLastModified(lastModified), "unable to set last modified time");
+        FileHashCache reloaded = new FileHashCache(cacheFile);
+        assertEquals(originalHash, reloaded.getFileHash(file), "expected persisted hash");
+
+        // a new last modified time invalidates the persisted value
+        assertTrue(file.setLastModified(lastModified + 1000L), "unable to set last modified time");
+        String modifiedHash = reloaded.getFileHash(file);
+        assertNotEquals(originalHash, modifiedHash, "expected hash to be recomputed");
+        assertEquals(FileUtils.computeHash(file), modifiedHash, "unexpected recomputed hash");
+    }
+
+    @Test
+    void testRecentlyModifiedFileNotPersisted() throws Exception {
+        File file = writeFile("recent.txt", "recently modified content");
+        File cacheFile = new File(UNIT_TEST_DIR, "recent-cache.properties");
+        cacheFile.delete();
+
+        FileHashCache cache = new FileHashCache(cacheFile);
+        cache.getFileHash(file);
+        cache.save();
+        assertTrue(!cacheFile.exists(), "expected no cache file for recently modified files");
+    }
+
+    private static File writeFile(String name, String content) throws Exception {
+        File file = new File(UNIT_TEST_DIR, name);
+        try (FileOutputStream outputStream = new FileOutputStream(file)) {
+            outputStream.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return file;
+    }
+}
@@ -6,6 +6,7 @@ package oracle.weblogic.deploy.util;
 
 import org.junit.jupiter.api.Test;
 import org.python.core.PyDictionary;
+import org.python.core.PyException;
 import org.python.core.PyInteger;
 import org.python.core.PyList;
 import org.python.core.PyObject;
@@ -13,6 +14,9 @@ import org.python.core.PyString;
 import org.python.core.PyTuple;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class PyOrderedDictTest {
@@ -106,6 +110,61 @@ public class PyOrderedDictTest {
         assertEquals(myOrderedDict.keys(), anotherOrderedDict.keys());
     }
 
+    @Test
+    void testCopyIsIndependent() {
+        PyOrderedDict original = new PyOrderedDict();
+        for (int i = 0; i < 10; i++) {
+            original.__setitem__("key" + i, new PyInteger(i));
+        }
+        PyOrderedDict copy = original.copy();
+        PyOrderedDict secondCopy = new PyOrderedDict(original);
+
+        copy.__setitem__("key0", new PyInteger(-1));
+        copy.__setitem__("added", new PyInteger(10));
+        copy.__delitem__(new PyString("key1"));
+        original.__delitem__(new PyString("key2"));
+        original.__setitem__("key3", new PyInteger(-3));
+
+        assertEquals(new PyInteger(0), original.get(new PyString("key0")));
+        assertFalse(original.has_key(new PyString("added")));
+        assertTrue(original.has_key(new PyString("key1")));
+        assertEquals(9, original.__len__());
+
+        assertEquals(new PyInteger(-1), copy.get(new PyString("key0")));
+        assertEquals(new PyInteger(2), copy.get(new PyString("key2")));
+        assertEquals(new PyInteger(3), copy.get(new PyString("key3")));
+        assertEquals(new PyString("added"), copy.keys().pyget(9));
+        assertEquals(10, copy.__len__());
+
+        assertEquals(10, secondCopy.__len__());
+        assertEquals(new PyInteger(3), secondCopy.get(new PyString("key3")));
+    }
+
+    @Test
+    void testDeepCopyIsIndependent() {
+        PyOrderedDict server = new PyOrderedDict();
+        server.__setitem__("ListenPort", new PyInteger(7001));
+        PyOrderedDict servers = new PyOrderedDict();
+        servers.__setitem__("server1", server);
+        PyOrderedDict original = new PyOrderedDict();
+        original.__setitem__("Server", servers);
+
+        PyOrderedDict copy = original.__deepcopy__(new PyDictionary());
+        PyOrderedDict copiedServer = (PyOrderedDict) copy.get(new PyString("Server")).__finditem__("server1");
+        copiedServer.__setitem__("ListenPort", new PyInteger(8001));
+        copiedServer.__setitem__("ListenAddress", new PyString("localhost"));
+        servers.__setitem__("server2", new PyOrderedDict());
+
+        assertEquals(new PyInteger(7001), server.get(new PyString("ListenPort")));
+        assertFalse(server.has_key(new PyString("ListenAddress")));
+        assertEquals(1, ((PyOrderedDict) copy.get(new PyString("Server"))).__len__());
+        assertEquals(new PyString("ListenAddress"), copiedServer.keys().pyget(1));
+
+        PyDictionary plainCopy = new PyDictionary();
+        plainCopy.update(copiedServer);
+        assertEquals(new PyInteger(8001), plainCopy.get(new PyString("ListenPort")));
+    }
+
     @Test
     void testUpdate() {
         PyOrderedDict myOrderedDict = new PyOrderedDict();
@@ -126,4 +185,91 @@ public class PyOrderedDictTest {
 
         assertEquals(myOrderedDictKeys, expected);
     }
+
+    @Test
+    void testDeleteAndReinsert() {
+        PyOrderedDict myOrderedDict = new PyOrderedDict();
+        for (int i = 0; i < 100; i++) {
+            myOrderedDict.__setitem__("key" + i, new PyInteger(i));
+        }
+        for (int i = 0; i < 100; i += 2) {
+            myOrderedDict.__delitem__(new PyString("key" + i));
+        }
+        myOrderedDict.__setitem__("key0", new PyInteger(0));
+        myOrderedDict.__setitem__("key1", new PyInteger(-1));
+
+        assertEquals(51, myOrderedDict.__len__());
+        PyList keys = myOrderedDict.keys();
+        assertEquals(new PyString("key1"), keys.pyget(0), "replacing a value keeps the key position");
+        assertEquals(new PyString("key99"), keys.pyget(49));
+        assertEquals(new PyString("key0"), keys.pyget(50), "a key added again goes at the end");
+        assertEquals(new PyInteger(-1), myOrderedDict.get(new PyString("key1")));
+        assertFalse(myOrderedDict.has_key(new PyString("key2")));
+        assertThrows(PyException.class, () -> myOrderedDict.__delitem__(new PyString("key2")));
+    }
+
+    @Test
+    void testSetdefaultAndPopitem() {
+        PyOrderedDict myOrderedDict = new PyOrderedDict();
+        myOrderedDict.__setitem__("one", new PyInteger(1));
+
+        assertEquals(new PyInteger(1), myOrderedDict.setdefault(new PyString("one"), new PyInteger(5)));
+        assertEquals(new PyInteger(2), myOrderedDict.setdefault(new PyString("two"), new PyInteger(2)));
+        assertEquals(new PyString("two"), myOrderedDict.keys().pyget(1));
+
+        PyTuple item = (PyTuple) myOrderedDict.popitem();
+        assertEquals(new PyString("two"), item.pyget(0));
+        assertEquals(1, myOrderedDict.__len__());
+        myOrderedDict.popitem();
+        assertThrows(PyException.class, myOrderedDict::popitem);
+    }
+
+    @Test
+    void testReadAsPyDictionary() {
+        PyOrderedDict myOrderedDict = new PyOrderedDict();
+        myOrderedDict.__setitem__("network_type", new PyString("ETHERNET"));
+        myOrderedDict.__setitem__("modem_type", new PyString("Motorola MB8600"));
+        myOrderedDict.__delitem__(new PyString("network_type"));
+
+        // a plain dictionary reads the entries from the PyDictionary table
+        PyDictionary anotherDict = new PyDictionary();
+        anotherDict.update(myOrderedDict);
+        assertEquals(1, anotherDict.__len__());
+        assertEquals(new PyString("Motorola MB8600"), anotherDict.__finditem__(new PyString("modem_type")));
+    }
+
+    @Test
+    void testIterateWhileChanging() {
+        PyOrderedDict myOrderedDict = new PyOrderedDict();
+        myOrderedDict.__setitem__("one", new PyInteger(1));
+        myOrderedDict.__setitem__("two", new PyInteger(2));
+        myOrderedDict.__setitem__("three", new PyInteger(3));
+
+        PyObject iterator = myOrderedDict.iterkeys();
+        assertEquals(new PyString("one"), iterator.__iternext__());
+        myOrderedDict.__delitem__(new PyString("two"));
+        myOrderedDict.__setitem__("four", new PyInteger(4));
+        assertEquals(new PyString("three"), iterator.__iternext__());
+        assertNull(iterator.__iternext__());
+    }
+
+    @Test
+    void testComments() {
+        PyOrderedDict myOrderedDict = new PyOrderedDict();
+        assertTrue(myOrderedDict.getCommentMap().getComments("one").isEmpty());
+
+        myOrderedDict.addComment("one", "the first key");
+        assertEquals("the first key", myOrderedDict.getCommentMap().getComments("one").get(0));
+    }
+
+    @Test
+    void testHasComments() {
+        PyOrderedDict myOrderedDict = new PyOrderedDict();
+        myOrderedDict.__setitem__("one", new PyInteger(1));
+        assertFalse(myOrderedDict.hasComments(), "new dictionary has no comments");
+        assertFalse(myOrderedDict.hasComments(), "checking for comments does not create them");
+
+        myOrderedDict.addComment("one", "the first key");
+        assertTrue(myOrderedDict.hasComments(), "dictionary has comments after one is added");
+    }
 }
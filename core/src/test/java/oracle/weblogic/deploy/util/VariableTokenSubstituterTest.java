@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2022, Oracle Corporation and/or its affiliates.  All rights reserved.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package oracle.weblogic.deploy.util;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.python.core.Py;
+import org.python.core.PyDictionary;
+import org.python.core.PyList;
+import org.python.core.PyObject;
+import org.python.core.PyString;
+import org.python.core.PySystemState;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class VariableTokenSubstituterTest {
+    private static final String FILE_TOKEN =
+        "@@FILE:" + new File("src/test/resources/file-variable.txt").getAbsolutePath() + "@@";
+
+    @BeforeAll
+    static void initialize() {
+        PySystemState.initialize();
+    }
+
+    @Test
+    public void testSubstituteModel() {
+        PyOrderedDict server = new PyOrderedDict();
+        server.__setitem__("ListenPort", new PyString("@@PROP:port@@"));
+        server.__setitem__("Notes", new PyString("user @@ENV:user@@ password @@SECRET:creds:password@@"));
+        server.__setitem__("Targets", list("plain", "@@PROP:port@@-@@PROP:port@@"));
+        server.__setitem__("Value", new PyString(FILE_TOKEN));
+        PyOrderedDict servers = new PyOrderedDict();
+        servers.__setitem__("@@PROP:name@@", server);
+        servers.__setitem__("other", new PyOrderedDict());
+        PyOrderedDict model = new PyOrderedDict();
+        model.__setitem__("Server", servers);
+
+        FallbackFunction fallback = new FallbackFunction();
+        newSubstituter(fallback).substituteModel(model);
+
+        assertEquals(list("other", "server1"), servers.keys(), "the substituted key should be added last");
+        assertSame(server, servers.__getitem__(new PyString("server1")));
+        assertEquals(new PyString("7001"), server.__getitem__(new PyString("ListenPort")));
+        assertEquals(new PyString("user weblogic password welcome1"), server.__getitem__(new PyString("Notes")));
+        assertEquals(list("plain", "7001-7001"), server.__getitem__(new PyString("Targets")));
+        assertEquals(new PyString("file-variable-value"), server.__getitem__(new PyString("Value")));
+        assertEquals(0, fallback.texts.size(), "no text should need the fallback");
+    }
+
+    @Test
+    public void testFallback() {
+        FallbackFunction fallback = new FallbackFunction();
+        VariableTokenSubstituter substituter = newSubstituter(fallback);
+
+        String[] texts = {
+            "@@PROP:missing@@",
+            "@@PROP:nested@@",
+            "@@FILE:/dir/@@PROP:name@@.txt@@",
+            "@@ENV:user@@PROP:port@@",
+            "@@ENV:user!@@",
+            "admin@example.com @@PROP:port@@",
+            "@@FILE:/no/such/file.txt@@"
+        };
+        for (String text : texts) {
+            assertEquals(new PyString("fallback"), substituter.substitute(new PyString(text), Py.None), text);
+        }
+        assertEquals(texts.length, fallback.texts.size());
+
+        PyString plain = new PyString("admin@example.com");
+        assertSame(plain, substituter.substitute(plain, Py.None), "text without tokens should not change");
+    }
+
+    private static VariableTokenSubstituter newSubstituter(PyObject fallback) {
+        PyDictionary variables = new PyDictionary();
+        variables.__setitem__("port", new PyString("7001"));
+        variables.__setitem__("name", new PyString("server1"));
+        variables.__setitem__("nested", new PyString("@@ENV:user@@"));
+        PyDictionary environment = new PyDictionary();
+        environment.__setitem__("user", new PyString("weblogic"));
+        return new VariableTokenSubstituter(variables, environment, new SecretFunction(), fallback);
+    }
+
+    private static PyList list(String... values) {
+        PyList result = new PyList();
+        for (String value : values) {
+            result.append(new PyString(value));
+        }
+        return result;
+    }
+
+    private static class SecretFunction extends PyObject {
+        @Override
+        public PyObject __call__(PyObject name, PyObject key) {
+            if ("creds".equals(name.toString()) && "password".equals(key.toString())) {
+                return new PyString("welcome1");
+            }
+            return Py.None;
+        }
+    }
+
+    private static class FallbackFunction extends PyObject {
+        private final List<String> texts = new ArrayList<>();
+
+        @Override
+        public PyObject __call__(PyObject text, PyObject attributeName) {
+            texts.add(text.toString());
+            return new PyString("fallback");
+        }
+    }
+}
@@ -5,6 +5,10 @@
 package oracle.weblogic.deploy.util;
 
 import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -12,6 +16,7 @@ import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class WLSDeployArchiveTest {
@@ -36,6 +41,9 @@ public class WLSDeployArchiveTest {
     private static final String ZIP_FILE_EXISTING_BINARIES_FILE = "DiscoveredDemoDomain.zip";
     private static final String EMPTY_MODEL_ZIP_TARGET_NAME = WLSDeployZipFileTest.UNIT_TEST_TARGET_DIR +
         '/' + ZIP_FILE_EXISTING_EMPTY_FILE;
+    private static final String BATCH_ARCHIVE_FILE_NAME = "target/unit-tests/batchArchive.zip";
+    private static final String HASH_ARCHIVE_FILE_NAME = "target/unit-tests/hashArchive.zip";
+    private static final String EXTRACT_ARCHIVE_FILE_NAME = "target/unit-tests/extractArchive.zip";
     private static final String BINARIES_MODEL_ZIP_TARGET_NAME = WLSDeployZipFileTest.UNIT_TEST_TARGET_DIR +
         '/' + ZIP_FILE_EXISTING_BINARIES_FILE;
 
@@ -48,6 +56,14 @@ public class WLSDeployArchiveTest {
         if (appsArchiveFile.exists()) {
             appsArchiveFile.delete();
         }
+        File batchArchiveFile = new File(BATCH_ARCHIVE_FILE_NAME).getCanonicalFile();
+        if (batchArchiveFile.exists()) {
+            batchArchiveFile.delete();
+        }
+        File extractArchiveFile = new File(EXTRACT_ARCHIVE_FILE_NAME).getCanonicalFile();
+        if (extractArchiveFile.exists()) {
+            extractArchiveFile.delete();
+        }
     }
 
     @Test
@@ -152,4 +168,91 @@ public class WLSDeployArchiveTest {
         WLSDeployArchive archive = WLSDeployArchive.noArchiveFile();
         archive.removeAllBinaries();
     }
+
+    @Test
+    void testFileHashSizeAndCrc() throws Exception {
+        WLSDeployArchive archive = new WLSDeployArchive(HASH_ARCHIVE_FILE_NAME);
+        String appName = archive.addApplication(new File(APP1_TO_ADD));
+        File appFile = new File(APP1_TO_ADD);
+        byte[] appBytes = FileUtils.readFileToByteArray(appFile);
+        CRC32 crc32 = new CRC32();
+        crc32.update(appBytes);
+
+        assertEquals(FileUtils.computeHash(appBytes), archive.getFileHash(appName), "unexpected hash");
+        assertEquals(appFile.length(), archive.getFileSize(appName), "unexpected size");
+        assertEquals(crc32.getValue(), archive.getFileCrc(appName), "unexpected CRC");
+        assertThrows(WLSDeployArchiveIOException.class, () -> archive.getFileSize(INVALID_APP_ENTRY_NAME));
+        assertThrows(WLSDeployArchiveIOException.class, () -> archive.getFileCrc(APP_DIR_ENTRY_NAME));
+        archive.close();
+    }
+
+    @Test
+    void testBatchCommitAndAbort() throws Exception {
+        WLSDeployArchive archive = new WLSDeployArchive(BATCH_ARCHIVE_FILE_NAME);
+        archive.addModel(new File(APPS_MODEL));
+        File archiveFile = new File(BATCH_ARCHIVE_FILE_NAME).getCanonicalFile();
+        long committedLength = archiveFile.length();
+
+        archive.beginBatch();
+        assertThrows(IllegalStateException.class, archive::beginBatch);
+        String appName = archive.addApplication(new File(APP1_TO_ADD));
+        assertEquals(APP1_ENTRY_NAME1, appName, "unexpected app name: " + appName);
+        appName = archive.addApplication(new File(APP1_TO_ADD));
+        assertEquals(APP1_ENTRY_NAME2, appName, "staged entry not seen by name conflict check: " + appName);
+        archive.addApplication(new File(APP2_TO_ADD));
+        assertTrue(archive.containsFile(APP1_ENTRY_NAME2), "staged entry not listed: " + APP1_ENTRY_NAME2);
+        archive.getZipFile().removeZipEntry(APP1_ENTRY_NAME2);
+        assertFalse(archive.containsFile(APP1_ENTRY_NAME2), "removed staged entry still listed");
+        assertEquals(committedLength, archiveFile.length(), "archive file was rewritten before commit");
+
+        archive.commitBatch();
+        assertThrows(IllegalStateException.class, archive::commitBatch);
+        assertTrue(archive.containsFile(APP1_ENTRY_NAME1), "File not found in archive: " + APP1_ENTRY_NAME1);
+        assertTrue(archive.containsFile(APP2_ENTRY_NAME1), "File not found in archive: " + APP2_ENTRY_NAME1);
+        assertFalse(archive.containsFile(APP1_ENTRY_NAME2), "removed entry found in archive");
+
+        committedLength = archiveFile.length();
+        archive.beginBatch();
+        archive.getZipFile().removeZipEntry(APP1_ENTRY_NAME1);
+        archive.addApplication(new File(APP_DIR_TO_ADD));
+        archive.abortBatch();
+        assertEquals(committedLength, archiveFile.length(), "aborted batch changed the archive file");
+        assertTrue(archive.containsFile(APP1_ENTRY_NAME1), "aborted removal was applied");
+        assertFalse(archive.containsPath(APP_DIR_ENTRY_NAME), "aborted addition was applied");
+        archive.close();
+    }
+
+    @Test
+    void testParallelExtraction() throws Exception {
+        WLSDeployArchive archive = new WLSDeployArchive(EXTRACT_ARCHIVE_FILE_NAME);
+        archive.beginBatch();
+        archive.addApplication(new File(APP_DIR_TO_ADD));
+        archive.addApplication(new File(APP1_TO_ADD));
+        archive.addApplication(new File(APP2_TO_ADD));
+        archive.commitBatch();
+        archive.setExtractThreadCount(4);
+
+        File extractDir = new File(WLSDeployZipFileTest.UNIT_TEST_TARGET_DIR, "parallel-extract").getCanonicalFile();
+        FileUtils.deleteDirectory(extractDir);
+        extractDir.mkdirs();
+        archive.extractDirectory(WLSDeployArchive.ARCHIVE_APPS_TARGET_DIR, extractDir);
+
+        File appsDir = new File(extractDir, WLSDeployArchive.ARCHIVE_APPS_TARGET_DIR);
+        assertEquals(new File(APP1_TO_ADD).length(), new File(appsDir, "my-app.war").length(), "unexpected war size");
+        assertEquals(new File(APP2_TO_ADD).length(), new File(appsDir, "my-other-app.war").length(),
+            "unexpected war size");
+        File webXml = new File(APP_DIR_TO_ADD, "WEB-INF/web.xml");
+        assertEquals(webXml.length(), new File(appsDir, "my-app/WEB-INF/web.xml").length(), "unexpected file size");
+        assertTrue(new File(appsDir, "my-app/META-INF/MANIFEST.MF").isFile(), "expected manifest to be extracted");
+
+        File filesDir = new File(WLSDeployZipFileTest.UNIT_TEST_TARGET_DIR, "parallel-extract-files").getCanonicalFile();
+        FileUtils.deleteDirectory(filesDir);
+        filesDir.mkdirs();
+        List<String> extracted = archive.extractFiles(Arrays.asList(APP1_ENTRY_NAME1, APP2_ENTRY_NAME1), filesDir);
+        assertEquals(2, extracted.size(), "unexpected number of extracted files");
+        assertEquals(new File(APP2_TO_ADD).length(), new File(extracted.get(1)).length(), "unexpected war size");
+        assertThrows(WLSDeployArchiveIOException.class,
+            () -> archive.extractFiles(Collections.singletonList(INVALID_APP_ENTRY_NAME), filesDir));
+        archive.close();
+    }
 }
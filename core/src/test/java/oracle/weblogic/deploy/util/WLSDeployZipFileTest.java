@@ -9,10 +9,18 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -48,6 +56,9 @@ public class WLSDeployZipFileTest {
        "wlsdeploy/applications/get-listen-address-app.war", "wlsdeploy/applications/simpleear.ear" };
 
     private static final String ZIP_FILE_SIMPLE_APPS_MODEL_FILE3 = "sample-apps-archive3.zip";
+    private static final String ZIP_FILE_SIMPLE_APPS_MODEL_FILE4 = "sample-apps-archive4.zip";
+    private static final String ZIP_FILE_SIMPLE_APPS_MODEL_FILE5 = "sample-apps-archive5.zip";
+    private static final String WAR_FILE_SOURCE_LOCATION = UNIT_TEST_SOURCE_DIR + File.separator + "my-app.war";
     private static final String LOG_PROPERTIES_SOURCE_LOCATION =
         UNIT_TEST_SOURCE_DIR + File.separator + "log.properties";
 
@@ -82,6 +93,8 @@ public class WLSDeployZipFileTest {
         copyFile(ZIP_FILE_SIMPLE_APPS_MODEL_FILE);
         copyFile(ZIP_FILE_SIMPLE_APPS_MODEL_FILE, ZIP_FILE_SIMPLE_APPS_MODEL_FILE2);
         copyFile(ZIP_FILE_SIMPLE_APPS_MODEL_FILE, ZIP_FILE_SIMPLE_APPS_MODEL_FILE3);
+        copyFile(ZIP_FILE_SIMPLE_APPS_MODEL_FILE, ZIP_FILE_SIMPLE_APPS_MODEL_FILE4);
+        copyFile(ZIP_FILE_SIMPLE_APPS_MODEL_FILE, ZIP_FILE_SIMPLE_APPS_MODEL_FILE5);
     }
 
     @Test
@@ -208,6 +221,98 @@ public class WLSDeployZipFileTest {
         zf.close();
     }
 
+    @Test
+    void testEntryIndex() throws Exception {
+        File f = new File(UNIT_TEST_TARGET_DIR + File.separator + ZIP_FILE_SIMPLE_APPS_MODEL_FILE4);
+        WLSDeployZipFile zf = new WLSDeployZipFile(f);
+
+        List<String> allEntries = zf.listZipEntries();
+        List<String> expectedEntries = new ArrayList<>();
+        for (String entry : allEntries) {
+            if (entry.startsWith("wlsdeploy/")) {
+                expectedEntries.add(entry);
+            }
+        }
+        assertFalse(expectedEntries.isEmpty(), "expected wlsdeploy/ entries in the archive");
+        assertEquals(expectedEntries, zf.listZipEntries("wlsdeploy/"), "expected prefix entries in archive order");
+        assertTrue(zf.containsZipEntry("model/"), "expected model/ entry");
+        assertFalse(zf.containsZipEntry("model"), "expected no model entry");
+
+        // streams from earlier reads remain usable after later reads
+        InputStream first = zf.getZipEntry(ZIP_FILE_SIMPLE_APPS_MODEL_FILE2_APSS_ENTRIES[0]);
+        InputStream second = zf.getZipEntry(ZIP_FILE_SIMPLE_APPS_MODEL_FILE2_APSS_ENTRIES[1]);
+        assertTrue(readInputStream(first) > 0, "expected to read the first entry");
+        assertTrue(readInputStream(second) > 0, "expected to read the second entry");
+        first.close();
+        second.close();
+
+        // writing the archive refreshes the index
+        File logPropertiesFile = new File(LOG_PROPERTIES_SOURCE_LOCATION);
+        try (FileInputStream inputStream = new FileInputStream(logPropertiesFile)) {
+            assertTrue(zf.addZipEntry("wlsdeploy/custom/log.properties", inputStream), "expected entry to be added");
+        }
+        assertTrue(zf.containsZipEntry("wlsdeploy/custom/log.properties"), "expected new entry in index");
+        assertEquals(expectedEntries.size() + 1, zf.listZipEntries("wlsdeploy/").size(),
+            "expected new entry in prefix index");
+        assertTrue(zf.removeZipEntries("wlsdeploy/custom/"), "expected entry to be removed");
+        assertEquals(expectedEntries, zf.listZipEntries("wlsdeploy/"), "expected original prefix entries");
+        zf.close();
+    }
+
+    @Test
+    void testRewriteCopiesUnchangedEntries() throws Exception {
+        File f = new File(UNIT_TEST_TARGET_DIR + File.separator + ZIP_FILE_SIMPLE_APPS_MODEL_FILE5);
+        Map<String, ZipEntry> originalEntries = readZipEntries(f);
+        Map<String, Long> originalCrcs = new HashMap<>();
+        for (ZipEntry ze : originalEntries.values()) {
+            originalCrcs.put(ze.getName(), ze.getCrc());
+        }
+
+        WLSDeployZipFile zf = new WLSDeployZipFile(f);
+        try (FileInputStream inputStream = new FileInputStream(WAR_FILE_SOURCE_LOCATION)) {
+            assertTrue(zf.addZipEntry("wlsdeploy/applications/my-app.war", inputStream), "expected war to be added");
+        }
+        try (FileInputStream inputStream = new FileInputStream(LOG_PROPERTIES_SOURCE_LOCATION)) {
+            assertTrue(zf.addZipEntry("wlsdeploy/custom/log.properties", inputStream), "expected file to be added");
+        }
+        assertTrue(zf.removeZipEntry("model/SingleAppDomain.yaml"), "expected model to be removed");
+        zf.close();
+
+        Map<String, ZipEntry> rewrittenEntries = readZipEntries(f);
+        assertFalse(rewrittenEntries.containsKey("model/SingleAppDomain.yaml"), "expected model to be removed");
+        for (ZipEntry original : originalEntries.values()) {
+            ZipEntry rewritten = rewrittenEntries.get(original.getName());
+            if (rewritten != null) {
+                assertEquals(original.getMethod(), rewritten.getMethod(), "unexpected method " + original.getName());
+                assertEquals(original.getCompressedSize(), rewritten.getCompressedSize(),
+                    "expected entry to be copied without recompression: " + original.getName());
+                assertEquals((long) originalCrcs.get(original.getName()), rewritten.getCrc(),
+                    "unexpected CRC for " + original.getName());
+            }
+        }
+
+        ZipEntry war = rewrittenEntries.get("wlsdeploy/applications/my-app.war");
+        assertEquals(ZipEntry.STORED, war.getMethod(), "expected war to be stored");
+        assertEquals(new File(WAR_FILE_SOURCE_LOCATION).length(), war.getCompressedSize(), "unexpected war size");
+        assertEquals(ZipEntry.DEFLATED, rewrittenEntries.get("wlsdeploy/custom/log.properties").getMethod(),
+            "expected properties file to be deflated");
+
+        // the local headers and entry data must agree with the central directory
+        int entryCount = 0;
+        try (ZipInputStream zis = new ZipInputStream(new FileInputStream(f))) {
+            for (ZipEntry ze = zis.getNextEntry(); ze != null; ze = zis.getNextEntry()) {
+                CRC32 crc = new CRC32();
+                byte[] buffer = new byte[4096];
+                for (int read = zis.read(buffer); read >= 0; read = zis.read(buffer)) {
+                    crc.update(buffer, 0, read);
+                }
+                assertEquals(rewrittenEntries.get(ze.getName()).getCrc(), crc.getValue(), "bad CRC " + ze.getName());
+                entryCount++;
+            }
+        }
+        assertEquals(rewrittenEntries.size(), entryCount, "unexpected number of entries read from the stream");
+    }
+
     @Test
     void testReallyMatches() {
         File f = new File(UNIT_TEST_TARGET_DIR + File.separator + ZIP_FILE_EXISTING_EMPTY_FILE);
@@ -309,6 +414,18 @@ public class WLSDeployZipFileTest {
         }
     }
 
+    private static Map<String, ZipEntry> readZipEntries(File file) throws IOException {
+        Map<String, ZipEntry> result = new LinkedHashMap<>();
+        try (ZipFile zipFile = new ZipFile(file)) {
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry ze = entries.nextElement();
+                result.put(ze.getName(), ze);
+            }
+        }
+        return result;
+    }
+
     public static void copyFile(String filename) throws IOException {
         copyFile(filename, filename);
     }
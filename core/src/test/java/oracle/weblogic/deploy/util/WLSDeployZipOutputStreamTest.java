@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2022, Oracle Corporation and/or its affiliates.  All rights reserved.
+ * Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+ */
+package oracle.weblogic.deploy.util;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class WLSDeployZipOutputStreamTest {
+    private static final File UNIT_TEST_DIR = new File(WLSDeployZipFileTest.UNIT_TEST_TARGET_DIR);
+    private static final int ZIP64_ENTRY_COUNT = 70000;
+
+    @BeforeAll
+    static void initialize() {
+        UNIT_TEST_DIR.mkdirs();
+    }
+
+    @Test
+    void testRawCopyWithRename() throws Exception {
+        File source = new File(UNIT_TEST_DIR, "raw-copy-source.zip");
+        byte[] content = "some content that is compressed, some content that is compressed"
+            .getBytes(StandardCharsets.UTF_8);
+        try (WLSDeployZipOutputStream zos = new WLSDeployZipOutputStream(source)) {
+            ZipEntry stored = new ZipEntry("stored.jar");
+            stored.setMethod(ZipEntry.STORED);
+            stored.setSize(content.length);
+            zos.putNextEntry(stored);
+            zos.write(content, 0, content.length);
+            zos.putNextEntry(new ZipEntry("dir/deflated-é.txt"));
+            zos.write(content, 0, content.length);
+            zos.closeEntry();
+        }
+
+        File target = new File(UNIT_TEST_DIR, "raw-copy-target.zip");
+        try (ZipCentralDirectory directory = ZipCentralDirectory.read(source);
+             WLSDeployZipOutputStream zos = new WLSDeployZipOutputStream(target)) {
+            zos.copyRawEntry("renamed.jar", directory, directory.getEntry("stored.jar"));
+            zos.copyRawEntry("dir/deflated-é.txt", directory, directory.getEntry("dir/deflated-é.txt"));
+            zos.finish();
+        }
+
+        try (ZipFile zipFile = new ZipFile(target)) {
+            assertEquals(2, zipFile.size(), "unexpected entry count");
+            ZipEntry renamed = zipFile.getEntry("renamed.jar");
+            assertNotNull(renamed, "expected renamed entry");
+            assertEquals(ZipEntry.STORED, renamed.getMethod(), "expected stored entry");
+            assertEquals(content.length, readFully(zipFile.getInputStream(renamed)).length, "unexpected size");
+            ZipEntry deflated = zipFile.getEntry("dir/deflated-é.txt");
+            assertEquals(ZipEntry.DEFLATED, deflated.getMethod(), "expected deflated entry");
+            assertEquals(new String(content, StandardCharsets.UTF_8),
+                new String(readFully(zipFile.getInputStream(deflated)), StandardCharsets.UTF_8), "unexpected content");
+        }
+    }
+
+    @Test
+    void testStoredSizeMismatch() throws Exception {
+        File file = new File(UNIT_TEST_DIR, "stored-size-mismatch.zip");
+        try (WLSDeployZipOutputStream zos = new WLSDeployZipOutputStream(file)) {
+            ZipEntry stored = new ZipEntry("app.ear");
+            stored.setMethod(ZipEntry.STORED);
+            stored.setSize(10);
+            zos.putNextEntry(stored);
+            zos.write(new byte[5], 0, 5);
+            assertThrows(ZipException.class, zos::closeEntry);
+        }
+    }
+
+    @Test
+    void testZip64EntryCount() throws Exception {
+        File file = new File(UNIT_TEST_DIR, "zip64-entry-count.zip");
+        try (WLSDeployZipOutputStream zos = new WLSDeployZipOutputStream(file)) {
+            for (int i = 0; i < ZIP64_ENTRY_COUNT; i++) {
+                zos.putNextEntry(new ZipEntry("entries/" + i + "/"));
+            }
+        }
+
+        try (ZipFile zipFile = new ZipFile(file)) {
+            assertEquals(ZIP64_ENTRY_COUNT, zipFile.size(), "unexpected entry count");
+        }
+        try (ZipCentralDirectory directory = ZipCentralDirectory.read(file)) {
+            assertEquals(ZIP64_ENTRY_COUNT, directory.getEntries().size(), "unexpected central directory size");
+        }
+    }
+
+    private static byte[] readFully(InputStream inputStream) throws Exception {
+        try {
+            return FileUtils.readInputStreamToByteArray(inputStream);
+        } finally {
+            inputStream.close();
+        }
+    }
+}
@@ -7,6 +7,7 @@ package oracle.weblogic.deploy.yaml;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.InputStream;
+import java.io.StringWriter;
 import java.math.BigInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -14,8 +15,10 @@ import java.util.logging.Logger;
 import oracle.weblogic.deploy.util.PyOrderedDict;
 
 import oracle.weblogic.deploy.util.PyRealBoolean;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import org.python.core.Py;
 import org.python.core.PyDictionary;
 import org.python.core.PyFloat;
 import org.python.core.PyInteger;
@@ -23,15 +26,24 @@ import org.python.core.PyList;
 import org.python.core.PyLong;
 import org.python.core.PyObject;
 import org.python.core.PyString;
+import org.python.core.PySystemState;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 public class YamlTranslatorTest {
 
+    @BeforeAll
+    static void initialize() {
+        PySystemState.initialize();
+    }
+
     @Test
     public void testEmptyModelReturnsPyDictionary() throws Exception {
         File yamlFile = new File("src/test/resources/yaml/empty.yaml").getAbsoluteFile();
@@ -467,6 +479,90 @@ public class YamlTranslatorTest {
         assertTrue(((PyRealBoolean) value).getValue(), "RejectEqualOrContainReverseUsername value should be true");
     }
 
+    @Test
+    public void testMultipleDocuments() throws Exception {
+        File yamlFile = new File("src/test/resources/yaml/multiple-docs.yaml").getAbsoluteFile();
+
+        PyList documents = new YamlTranslator(yamlFile.getAbsolutePath(), true).parseDocuments(true);
+        assertEquals(3, documents.__len__(), "all documents should be returned");
+        PyDictionary third = (PyDictionary) documents.pyget(2);
+        assertEquals(new PyInteger(3), third.__getitem__(new PyString("three")));
+
+        YamlTranslator translator = new YamlTranslator(yamlFile.getAbsolutePath(), true);
+        YamlException ex = assertThrows(YamlException.class, translator::parse);
+        assertEquals("WLSDPLY-18101", ex.getMessageID());
+        assertTrue(ex.getLocalizedMessage().contains("contains 3 documents"), ex.getLocalizedMessage());
+    }
+
+    @Test
+    public void testDuplicateKey() {
+        String text = "topology:\n  Name: one\n  Name: two\n";
+        YamlException ex = assertThrows(YamlException.class, () -> parseText(text));
+        assertEquals("WLSDPLY-18113", ex.getMessageID());
+    }
+
+    @Test
+    public void testEmptyValues() throws Exception {
+        PyDictionary actual = parseText("empty:\nlist:\n  - \n  - one\n");
+
+        assertEquals(new PyOrderedDict(), actual.__getitem__(new PyString("empty")), "empty value should be a dict");
+        PyList list = (PyList) actual.__getitem__(new PyString("list"));
+        assertEquals(Py.None, list.pyget(0), "empty list element should be None");
+    }
+
+    @Test
+    public void testAliasesAndMergeKeys() throws Exception {
+        String text = "defaults: &defaults\n  ListenPort: 7001\n  Notes: [ a, b ]\n"
+            + "server1:\n  <<: *defaults\n  ListenPort: 8001\n"
+            + "server2: *defaults\n";
+        PyDictionary actual = parseText(text);
+
+        PyDictionary server1 = (PyDictionary) actual.__getitem__(new PyString("server1"));
+        assertEquals(new PyInteger(8001), server1.__getitem__(new PyString("ListenPort")));
+        assertEquals(2, ((PyList) server1.__getitem__(new PyString("Notes"))).__len__());
+
+        PyDictionary server2 = (PyDictionary) actual.__getitem__(new PyString("server2"));
+        assertEquals(new PyInteger(7001), server2.__getitem__(new PyString("ListenPort")));
+        assertNotSame(actual.__getitem__(new PyString("defaults")), server2, "an alias should be a copy");
+
+        YamlException ex = assertThrows(YamlException.class, () -> parseText("server: *undefined\n"));
+        assertEquals("WLSDPLY-18111", ex.getMessageID());
+    }
+
+    @Test
+    public void testDumpPython() throws Exception {
+        PyOrderedDict server = new PyOrderedDict();
+        server.__setitem__(new PyString("ListenPort"), new PyInteger(7001));
+        server.__setitem__(new PyString("Notes"), new PyString("line one\nline two"));
+        server.__setitem__(new PyString("Enabled"), new PyRealBoolean(true));
+        server.__setitem__(new PyString("Port"), new PyString("8001"));
+        server.addComment("ListenPort", "the admin port");
+
+        PyList targets = new PyList();
+        targets.append(new PyString("cluster1"));
+        targets.append(new PyFloat(1.5));
+        server.__setitem__(new PyString("Targets"), targets);
+
+        PyOrderedDict model = new PyOrderedDict();
+        model.__setitem__(new PyString("AdminServer"), server);
+
+        StringWriter writer = new StringWriter();
+        new YamlStreamTranslator("String", writer).dumpPython(model);
+        String text = writer.toString();
+        assertTrue(text.contains("# the admin port"), text);
+        assertTrue(text.contains("Notes: |-"), text);
+        assertTrue(text.contains("Port: '8001'"), text);
+
+        PyDictionary actual = parseText(text);
+        PyDictionary actualServer = (PyDictionary) actual.__getitem__(new PyString("AdminServer"));
+        assertEquals(new PyInteger(7001), actualServer.__getitem__(new PyString("ListenPort")));
+        assertEquals(new PyString("8001"), actualServer.__getitem__(new PyString("Port")));
+        assertEquals(new PyString("line one\nline two"), actualServer.__getitem__(new PyString("Notes")));
+        assertTrue(((PyRealBoolean) actualServer.__getitem__(new PyString("Enabled"))).getValue());
+        assertEquals(targets, actualServer.__getitem__(new PyString("Targets")));
+        assertFalse(text.startsWith("---"), text);
+    }
+
     /**
      * Verify that a lexical error will throw an Exception
      */
@@ -495,4 +591,9 @@ public class YamlTranslatorTest {
             logger.setLevel(originalLevel);
         }
     }
+
+    private static PyDictionary parseText(String text) throws YamlException {
+        InputStream stream = new ByteArrayInputStream(text.getBytes(UTF_8));
+        return new YamlStreamTranslator("String", stream, true).parse();
+    }
 }
@@ -5,6 +5,7 @@ Licensed under the Universal Permissive License v 1.0 as shown at https://oss.or
 import unittest
 
 from wlsdeploy.aliases import alias_utils
+from wlsdeploy.aliases.location_context import LocationContext
 
 
 class ListTestCase(unittest.TestCase):
@@ -136,6 +137,32 @@ class ListTestCase(unittest.TestCase):
         self.assertEqual(lists_equal, True, message)
         return
 
+    def testResolvePathTokensCopiesFolder(self):
+        attribute = {'wlst_name': 'ListenPort', 'wlst_path': 'WP001', 'default_value': [7001]}
+        subfolder = {'attributes': {}}
+        folder = {
+            'wlst_paths': {'WP001': '/Server/%SERVER%'},
+            'wlst_attributes_path': 'WP001',
+            'attributes': {'ListenPort': attribute},
+            '__wlst_names__': {'ListenPort': attribute},
+            'folders': {'SSL': subfolder}
+        }
+        location = LocationContext()
+        location.append_location('Server')
+        location.add_name_token('SERVER', 'server1')
+
+        resolved = alias_utils.resolve_path_tokens(location, '/Server', folder)
+        self.assertEqual('/Server/server1', resolved['wlst_attributes_path'])
+        self.assertEqual('/Server/server1', resolved['attributes']['ListenPort']['wlst_path'])
+        self.assertEqual(True, resolved['__wlst_names__']['ListenPort'] is resolved['attributes']['ListenPort'])
+        self.assertEqual(True, resolved['folders']['SSL'] is subfolder)
+
+        resolved['attributes']['ListenPort']['default_value'].append(7002)
+        self.assertEqual('WP001', folder['wlst_attributes_path'])
+        self.assertEqual('WP001', attribute['wlst_path'])
+        self.assertEqual([7001], attribute['default_value'])
+        return
+
     def __lists_are_equal(self, actual, expected):
         if actual is None and expected is None:
             return True, 'ok'
@@ -10,9 +10,12 @@ from java.lang import String, Long
 from java.util import Properties
 
 from oracle.weblogic.deploy.aliases import AliasException
+from oracle.weblogic.deploy.aliases import AliasSnapshotStore
 from oracle.weblogic.deploy.aliases import TypeUtils
+from oracle.weblogic.deploy.util import FileUtils
 
 from wlsdeploy.aliases import alias_utils
+from wlsdeploy.aliases.alias_entries import AliasEntries
 from wlsdeploy.aliases.aliases import Aliases
 from wlsdeploy.aliases.location_context import LocationContext
 import wlsdeploy.aliases.model_constants as FOLDERS
@@ -1362,6 +1365,100 @@ class AliasesTestCase(unittest.TestCase):
         self.assertEquals(expected_list[0], actual_list[0])
         self.assertEquals(expected_list[1], actual_list[1])
 
+    def testLookupsAreSharedByLocationsWithSameFolders(self):
+        alias_entries = self.aliases._alias_entries
+        locations = []
+        for server_name in ['server1', 'server2']:
+            location = LocationContext()
+            location.append_location(FOLDERS.SERVER)
+            location.add_name_token(self.aliases.get_name_token(location), server_name)
+            locations.append(location)
+
+        # the WLST paths are still resolved for each location
+        self.assertEquals('/Server/server1', self.aliases.get_wlst_attributes_path(locations[0]))
+        self.assertEquals('/Server/server2', self.aliases.get_wlst_attributes_path(locations[1]))
+
+        first = alias_entries.get_alias_attribute_entry_by_model_name(locations[0], FOLDERS.LISTEN_PORT)
+        second = alias_entries.get_alias_attribute_entry_by_model_name(locations[1], FOLDERS.LISTEN_PORT)
+        self.assertEquals(first, second)
+        self.assertEquals('ListenPort', first['wlst_name'])
+        self.assertEquals(False, 'wlst_path' in first)
+
+        entries = alias_entries.get_alias_attribute_entries_by_location(locations[1])
+        self.assertEquals(first, entries[FOLDERS.LISTEN_PORT])
+        first = alias_entries.get_alias_attribute_entry_by_wlst_name(locations[0], 'ListenPort')
+        self.assertEquals(first, alias_entries.get_alias_attribute_entry_by_wlst_name(locations[1], 'ListenPort'))
+        self.assertEquals(False, 'wlst_path' in first)
+        self.assertEquals(None, alias_entries.get_alias_attribute_entry_by_model_name(locations[0], 'NoSuchName'))
+
+    def testFoldersAreResolvedWhenUsed(self):
+        # without a snapshot store, only the folders on the path to the location are resolved
+        alias_entries = AliasEntries(WlstModes.OFFLINE, self.wls_version)
+        location = LocationContext()
+        location.append_location(FOLDERS.SERVER)
+        location.add_name_token(alias_entries.get_name_token_for_location(location), 'server1')
+        location.append_location(FOLDERS.SSL)
+        # the name token lookup only used the Server folder
+        self.assertEquals(1, alias_entries.get_resolved_folder_count())
+
+        ssl_attributes = alias_entries.get_alias_attribute_entries_by_location(location)
+        self.assertEquals(2, alias_entries.get_resolved_folder_count())
+        self.assertEquals(True, FOLDERS.ENABLED in ssl_attributes)
+
+        expected = self.aliases._alias_entries.get_alias_attribute_entries_by_location(location)
+        self.assertEquals(expected, ssl_attributes)
+
+    def testFolderSnapshotsAreLoadedWhenUsed(self):
+        # with a snapshot store, each folder is resolved and saved when it is first used
+        cache_dir = FileUtils.createTempDirectory('alias-snapshots')
+        try:
+            snapshot_store = AliasSnapshotStore(cache_dir, self.wls_version, WlstModes.from_value(WlstModes.OFFLINE))
+            alias_entries = AliasEntries(WlstModes.OFFLINE, self.wls_version, snapshot_store)
+            location = LocationContext()
+            location.append_location(FOLDERS.SERVER)
+            location.add_name_token(alias_entries.get_name_token_for_location(location), 'server1')
+            location.append_location(FOLDERS.SSL)
+
+            expected = alias_entries.get_alias_attribute_entries_by_location(location)
+            self.assertEquals(2, alias_entries.get_resolved_folder_count())
+
+            # a later run loads the saved folders, and resolves the folders that were not saved
+            alias_entries = AliasEntries(WlstModes.OFFLINE, self.wls_version, snapshot_store)
+            self.assertEquals(expected, alias_entries.get_alias_attribute_entries_by_location(location))
+            self.assertEquals(0, alias_entries.get_resolved_folder_count())
+
+            location.pop_location()
+            location.append_location(FOLDERS.LOG)
+            alias_entries.get_alias_attribute_entries_by_location(location)
+            self.assertEquals(1, alias_entries.get_resolved_folder_count())
+        finally:
+            FileUtils.deleteDirectory(cache_dir)
+
+    def testChangingLookupResultDoesNotChangeNextLookup(self):
+        alias_entries = self.online_aliases._alias_entries
+        location = LocationContext()
+        location.append_location(FOLDERS.MIGRATABLE_TARGET)
+        location.add_name_token(self.online_aliases.get_name_token(location), 'target1')
+
+        entry = alias_entries.get_alias_attribute_entry_by_model_name(location, 'AllCandidateServers')
+        self.assertEquals([], entry['default_value'])
+        entry['default_value'].append('server1')
+        entry['wlst_name'] = 'Changed'
+
+        entry = alias_entries.get_alias_attribute_entry_by_model_name(location, 'AllCandidateServers')
+        self.assertEquals([], entry['default_value'])
+        self.assertEquals('AllCandidateServers', entry['wlst_name'])
+
+        entries = alias_entries.get_alias_attribute_entries_by_location(location)
+        entries['AllCandidateServers']['default_value'].append('server1')
+        del entries['AllCandidateServers']
+        entries = alias_entries.get_alias_attribute_entries_by_location(location)
+        self.assertEquals([], entries['AllCandidateServers']['default_value'])
+
+        entry = alias_entries.get_alias_attribute_entry_by_wlst_name(location, 'AllCandidateServers')
+        entry['default_value'].append('server1')
+        entry = alias_entries.get_alias_attribute_entry_by_wlst_name(location, 'AllCandidateServers')
+        self.assertEquals([], entry['default_value'])
 
 def get_jdbc_ds_params_location(name, aliases):
     location = get_jdbc_resource_location(name, aliases)
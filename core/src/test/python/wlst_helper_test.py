@@ -0,0 +1,112 @@
+"""
+Copyright (c) 2022, Oracle Corporation and/or its affiliates.  All rights reserved.
+The Universal Permissive License (UPL), Version 1.0
+"""
+
+import unittest
+
+from wlsdeploy.exception.expection_types import ExceptionType
+from wlsdeploy.tool.util import wlst_helper
+from wlsdeploy.tool.util.wlst_helper import WlstHelper
+
+
+class FakeWlstException(Exception):
+    def getLocalizedMessage(self):
+        return str(self)
+
+
+class WlstHelperTestCase(unittest.TestCase):
+    """
+    Test that the references saved for the WLST session are only removed for the part of the
+    MBean tree that a create() or delete() changes.
+    """
+
+    _servers_path = '/Servers'
+    _queues_path = '/JMSSystemResources/MyModule/JmsResource/MyModule/Queues'
+
+    def setUp(self):
+        self._calls = []
+        self._pwd = '/'
+        self._names = {
+            self._servers_path: ['AdminServer', 'ms1'],
+            self._queues_path: ['Queue1']
+        }
+        self._saved_wlst_functions = wlst_helper.wlst_functions
+        wlst_helper.wlst_functions = {
+            'cd': self._cd,
+            'create': self._create,
+            'delete': self._delete,
+            'ls': self._ls,
+            'pwd': self._get_pwd,
+            'WLSTException': FakeWlstException,
+            'connected': 'false'
+        }
+        wlst_helper._session_cache.reset()
+        self._helper = WlstHelper(ExceptionType.DEPLOY)
+
+    def tearDown(self):
+        wlst_helper._session_cache.reset()
+        wlst_helper.wlst_functions = self._saved_wlst_functions
+
+    def testReferencesKeptAfterUnrelatedCreate(self):
+        self.assertEquals(['AdminServer', 'ms1'], self._helper.get_existing_reference_names(self._servers_path))
+        self._helper.get_reference_mbean(self._servers_path + '/ms1')
+
+        self._helper.cd(self._queues_path + '/..')
+        self._helper.create('Queue2', 'Queue')
+        lookups = len(self._calls)
+
+        self.assertEquals(['AdminServer', 'ms1'], self._helper.get_existing_reference_names(self._servers_path))
+        self.assertEquals('mbean:' + self._servers_path + '/ms1',
+                          self._helper.get_reference_mbean(self._servers_path + '/ms1'))
+        self.assertEquals(lookups, len(self._calls))
+
+    def testReferencesRefreshedAfterCreateInSubtree(self):
+        self.assertEquals(['Queue1'], self._helper.get_existing_reference_names(self._queues_path))
+
+        self._helper.cd(self._queues_path + '/..')
+        self._helper.create('Queue2', 'Queue')
+
+        self.assertEquals(['Queue1', 'Queue2'], self._helper.get_existing_reference_names(self._queues_path))
+
+    def testReferencesRefreshedAfterDeleteInSubtree(self):
+        self._helper.get_existing_reference_names(self._servers_path)
+        self._helper.get_reference_mbean(self._servers_path + '/ms1')
+
+        self._helper.cd('/')
+        self._helper.delete('ms1', 'Server')
+        lookups = len(self._calls)
+
+        self.assertEquals(['AdminServer'], self._helper.get_existing_reference_names(self._servers_path))
+        self._helper.get_reference_mbean(self._servers_path + '/ms1')
+        self.assertNotEquals(lookups, len(self._calls))
+
+    def _cd(self, path):
+        self._calls.append(('cd', path))
+        if path.endswith('/..'):
+            path = path[:path.rfind('/')]
+            path = path[:path.rfind('/')]
+        self._pwd = path
+        return 'mbean:' + path
+
+    def _create(self, name, folder):
+        self._calls.append(('create', name))
+        self._names[self._pwd + '/' + folder + 's'] = self._names[self._pwd + '/' + folder + 's'] + [name]
+        return 'mbean:' + self._pwd + '/' + folder + 's/' + name
+
+    def _delete(self, name, folder):
+        self._calls.append(('delete', name))
+        names = list(self._names[self._pwd.rstrip('/') + '/' + folder + 's'])
+        names.remove(name)
+        self._names[self._pwd.rstrip('/') + '/' + folder + 's'] = names
+
+    def _ls(self, ls_type, returnMap=None, returnType=None):
+        self._calls.append(('ls', self._pwd))
+        return list(self._names[self._pwd])
+
+    def _get_pwd(self):
+        return '/base_domain' + self._pwd
+
+
+if __name__ == '__main__':
+    unittest.main()